@@ -33,4 +33,76 @@ public class DLEJenaParameters {
      */
     public static boolean SHOW_MESSAGES_IN_STANDARD_OUTPUT = false;
 
+    /**
+     * A true value would cause the ABox deductions to be maintained
+     * incrementally, that is, additions and deletions on the ABox would be
+     * propagated through the ABox rules using the DRed (Delete and Rederive)
+     * truth maintenance approach, instead of re-materializing the ABox
+     * inferences after each deletion. This parameter should be set
+     * <b>before</b> creating the DLEJenaReasoner instance. The default value is
+     * false.
+     */
+    public static boolean INCREMENTAL_ABOX_MAINTENANCE = false;
+
+    /**
+     * A true value would cause the ABox rules to be split into strata according
+     * to their predicate dependencies and the independent rules of each
+     * stratum to be materialized concurrently. This parameter is ignored if
+     * the {@link #INCREMENTAL_ABOX_MAINTENANCE INCREMENTAL_ABOX_MAINTENANCE}
+     * parameter is enabled and it should be set <b>before</b> creating the
+     * DLEJenaReasoner instance. The default value is false.
+     */
+    public static boolean PARALLEL_ABOX_REASONING = false;
+
+    /**
+     * The maximum number of threads used for the parallel ABox reasoning (see
+     * the {@link #PARALLEL_ABOX_REASONING PARALLEL_ABOX_REASONING} parameter).
+     * The default value is the number of the available processors.
+     */
+    public static int ABOX_REASONING_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The directory where the dynamically generated ABox rules are cached. The
+     * rules are stored per TBox, keyed by a hash of the TBox content and of the
+     * template rules, so that a subsequent initialization over an unchanged
+     * TBox loads the rules from the cache, skipping the Pellet TBox reasoning
+     * and the entailment generation. A null value disables the cache. The
+     * default value is null.
+     */
+    public static String RULE_CACHE_DIRECTORY = null;
+
+    /**
+     * A true value would cause Pellet to perform only the TBox part of the
+     * reasoning, that is, the classification of the TBox. The realization of
+     * the TBox individuals is skipped and the unsatisfiable classes are
+     * obtained directly from the BOTTOM node of the class taxonomy, instead
+     * of checking the satisfiability of every class one at a time. The default
+     * value is false.
+     */
+    public static boolean TBOX_ONLY_REASONING = false;
+
+    /**
+     * A true value would cause the ABox reasoner to load only the dynamic ABox
+     * rules that can fire over the ABox, that is, the rules whose body
+     * predicates occur in the ABox or are produced by other such rules. The
+     * rules are selected at initialization and in every
+     * {@link DLEJenaReasoner#updateABoxRules() updateABoxRules} call, so
+     * statements with a new predicate that are added to the ABox in between
+     * would not be considered by the skipped rules. The default value is
+     * false.
+     */
+    public static boolean PRUNE_UNREACHABLE_ABOX_RULES = false;
+
+    /**
+     * A true value would cause the registered ontologies to be parsed by the
+     * Jena streaming parsers and their triples to be separated directly into
+     * the TBox and the ABox models, instead of loading the ontologies through
+     * the OWLAPI. The separation is based on the RDF vocabulary of the triples
+     * (see {@link opensource.dlejena.utils.OntologyManager#separate
+     * OntologyManager.separate}). It requires much less memory for large
+     * ABoxes and supports RDF/XML, N-Triples (.nt), Turtle (.ttl) and N3 (.n3)
+     * documents. The default value is false.
+     */
+    public static boolean STREAMING_ONTOLOGY_SEPARATION = false;
+
 }
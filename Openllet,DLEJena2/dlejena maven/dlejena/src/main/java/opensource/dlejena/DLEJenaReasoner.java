@@ -1,6 +1,8 @@
 package opensource.dlejena;
 
 import aterm.ATermAppl;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
 import com.hp.hpl.jena.ontology.OntModel;
 import com.hp.hpl.jena.ontology.OntModelSpec;
 import com.hp.hpl.jena.rdf.model.Model;
@@ -15,8 +17,10 @@ import com.hp.hpl.jena.reasoner.ValidityReport.Report;
 import com.hp.hpl.jena.reasoner.rulesys.FBRuleInfGraph;
 import com.hp.hpl.jena.reasoner.rulesys.FBRuleReasoner;
 import com.hp.hpl.jena.reasoner.rulesys.Rule;
+import com.hp.hpl.jena.util.iterator.ExtendedIterator;
 import com.hp.hpl.jena.vocabulary.OWL;
 import com.hp.hpl.jena.vocabulary.RDF;
+import com.hp.hpl.jena.vocabulary.ReasonerVocabulary;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.File;
@@ -25,12 +29,15 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.Vector;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import opensource.dlejena.cache.RuleCache;
+import opensource.dlejena.cache.TBoxSignature;
 import opensource.dlejena.dynamicentailments.TemplateProcessor;
 import opensource.dlejena.dynamicentailments.impl.D_Intersection;
 import opensource.dlejena.dynamicentailments.impl.D_PropertyChain;
@@ -38,10 +45,14 @@ import opensource.dlejena.exceptions.ABoxValidationException;
 import opensource.dlejena.exceptions.InconsistentTBoxException;
 import opensource.dlejena.exceptions.NoAttachedOntologiesException;
 import opensource.dlejena.exceptions.UpdateTBoxException;
+import opensource.dlejena.incremental.IncrementalRuleReasoner;
+import opensource.dlejena.parallel.ParallelRuleReasoner;
 import opensource.dlejena.utils.OntologyManager;
 import opensource.dlejena.utils.Print;
+import org.mindswap.pellet.KnowledgeBase;
 import org.mindswap.pellet.jena.PelletInfGraph;
 import org.mindswap.pellet.jena.PelletReasonerFactory;
+import org.mindswap.pellet.utils.ATermUtils;
 import org.semanticweb.owlapi.model.IRI;
 
 /**
@@ -69,6 +80,7 @@ public class DLEJenaReasoner {
     private Vector<Rule> customTemplateRules;
     private boolean initialized = false;
     private final TemplateProcessor gp;
+    private final DynamicRuleRegistry ruleRegistry = new DynamicRuleRegistry();
 
     /**
      * The constructor
@@ -82,7 +94,13 @@ public class DLEJenaReasoner {
         //customExceptionalRules = new Vector<Rule>();
         customTemplateRules = new Vector<Rule>();
 
-        aboxReasoner = new FBRuleReasoner(new Vector<Rule>());
+        if (DLEJenaParameters.INCREMENTAL_ABOX_MAINTENANCE) {
+            aboxReasoner = new IncrementalRuleReasoner(new Vector<Rule>());
+        } else if (DLEJenaParameters.PARALLEL_ABOX_REASONING) {
+            aboxReasoner = new ParallelRuleReasoner(new Vector<Rule>(), DLEJenaParameters.ABOX_REASONING_THREADS);
+        } else {
+            aboxReasoner = new FBRuleReasoner(new Vector<Rule>());
+        }
         OntModelSpec foms2 = new OntModelSpec(OntModelSpec.OWL_MEM);
         foms2.setReasoner(aboxReasoner);
 
@@ -184,19 +202,31 @@ public class DLEJenaReasoner {
             throw new NoAttachedOntologiesException("There are no ontologies attached to the DLEJena reasoner");
         }
         double separatingTime = System.currentTimeMillis();
-        if (DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT) {
-            System.out.print("OWLAPI: Separating TBox from ABox axioms...\n");
-        }
-        OntologyManager sep = new OntologyManager(ontologies);
-        if (DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT) {
-            System.out.println(" -completed (Time: " + (System.currentTimeMillis() - separatingTime) + " ms)");
+        if (DLEJenaParameters.STREAMING_ONTOLOGY_SEPARATION) {
+            if (DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT) {
+                System.out.print("Jena: Separating TBox from ABox triples...\n");
+            }
+            aboxBaseOntModel.removeAll();
+            tboxBaseOntModel.removeAll();
+            OntologyManager.separate(ontologies, tboxBaseOntModel.getGraph(), aboxBaseOntModel.getGraph());
+            if (DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT) {
+                System.out.println(" -completed (Time: " + (System.currentTimeMillis() - separatingTime) + " ms)");
+            }
+        } else {
+            if (DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT) {
+                System.out.print("OWLAPI: Separating TBox from ABox axioms...\n");
+            }
+            OntologyManager sep = new OntologyManager(ontologies);
+            if (DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT) {
+                System.out.println(" -completed (Time: " + (System.currentTimeMillis() - separatingTime) + " ms)");
+            }
+            aboxBaseOntModel.removeAll();
+            aboxBaseOntModel.add(sep.getAbox());
+            tboxBaseOntModel.removeAll();
+            tboxBaseOntModel.add(sep.getTbox());
         }
-        aboxBaseOntModel.removeAll();
-        aboxBaseOntModel.add(sep.getAbox());
-        tboxBaseOntModel.removeAll();
-        tboxBaseOntModel.add(sep.getTbox());
 
-        tboxReasoning();
+        generateABoxRules();
         aboxReasoning();
         initialized = true;
     }
@@ -262,9 +292,11 @@ public class DLEJenaReasoner {
     /**
      * Remove oneOf-related statements from the TBox and copy them to the base
      * ABox model
+     *
+     * @param model The TBox model the statements are collected from
      */
-    private void cleanTBox() {
-        List<Statement> oneOfStatements = collectOneOfStatements(tboxInfOntModel);
+    private void cleanTBox(Model model) {
+        List<Statement> oneOfStatements = collectOneOfStatements(model);
         tboxInfOntModel.remove(oneOfStatements);
         aboxBaseOntModel.add(oneOfStatements);
     }
@@ -303,14 +335,85 @@ public class DLEJenaReasoner {
         return result;
     }
 
-    private void aboxReasoning() {
+    /**
+     * Fills the rule registry with the ABox rules of the current TBox. If the
+     * {@link DLEJenaParameters#RULE_CACHE_DIRECTORY RULE_CACHE_DIRECTORY}
+     * parameter is defined and the cache contains the rules of an identical
+     * TBox, the rules are loaded from the cache and the TBox reasoning and the
+     * entailment generation are skipped. Otherwise, the rules are generated
+     * and stored in the cache.
+     */
+    private void generateABoxRules() {
+        if (DLEJenaParameters.RULE_CACHE_DIRECTORY == null) {
+            tboxReasoning();
+            performEntailmentReduction(); //..handles also class intersection generating dynamically rules.
+            return;
+        }
+        RuleCache cache = new RuleCache(new File(DLEJenaParameters.RULE_CACHE_DIRECTORY));
+        TBoxSignature signature = new TBoxSignature(tboxBaseOntModel.getGraph(), templateRulesContent());
+
+        List<Rule> cached = cache.load(signature);
+        if (cached != null) {
+            if (DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT) {
+                System.out.println("DLEJena: Loaded " + cached.size() + " ABox rules from the rule cache (TBox " + signature.getKey() + ")");
+            }
+            //the same model as in tboxReasoning, since the inferred TBox may contain further oneOf statements
+            cleanTBox(tboxInfOntModel);
+            ruleRegistry.clear();
+            for (Rule rule : cached) {
+                ruleRegistry.register(rule);
+            }
+            return;
+        }
+
+        tboxReasoning();
         performEntailmentReduction(); //..handles also class intersection generating dynamically rules.
+        boolean stored = cache.store(signature, ruleRegistry.getRepository());
+        if (DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT) {
+            if (stored) {
+                System.out.println("DLEJena: Stored the ABox rules in the rule cache (TBox " + signature.getKey() + ")");
+            } else {
+                System.out.println("DLEJena: The ABox rules of the TBox cannot be cached");
+            }
+        }
+    }
+
+    /**
+     * The content of the template rules, which affects the generated rules as
+     * much as the TBox does.
+     *
+     * @return The lines of the template rules file, followed by the registered
+     * custom template rules.
+     */
+    private List<String> templateRulesContent() {
+        List<String> content = new ArrayList<String>();
+        BufferedReader br = new BufferedReader(new InputStreamReader(this.getClass().getResourceAsStream(TEMPLATE_RULES_FILE)));
+        try {
+            String line;
+            while ((line = br.readLine()) != null) {
+                content.add(line);
+            }
+            br.close();
+        } catch (IOException ex) {
+            Logger.getLogger(DLEJenaReasoner.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        for (Rule rule : customTemplateRules) {
+            content.add(rule.toString());
+        }
+        return content;
+    }
+
+    private void aboxReasoning() {
         double aboxT = System.currentTimeMillis();
         if (DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT) {
             System.out.println("Jena: Performing ABox reasoning...");
         }
         ArrayList<Rule> aboxRules = new ArrayList<Rule>();
-        aboxRules.addAll(DynamicRuleRegistry.getRepository());
+        if (DLEJenaParameters.PRUNE_UNREACHABLE_ABOX_RULES) {
+            aboxRules.addAll(ruleRegistry.getReachableRules(aboxPredicates()));
+        } else {
+            aboxRules.addAll(ruleRegistry.getRepository());
+        }
         //aboxRules.addAll(loadExceptionalABoxRules());
         resetRuleBase(aboxRules);
         aboxInfOntModel.prepare();
@@ -319,12 +422,28 @@ public class DLEJenaReasoner {
         }
     }
 
+    /**
+     * The predicates of the base ABox triples, as well as the validation
+     * predicate that is added by the Jena validation procedure.
+     *
+     * @return The set of the predicates
+     */
+    private Set<Node> aboxPredicates() {
+        Set<Node> predicates = new HashSet<Node>();
+        predicates.add(ReasonerVocabulary.RB_VALIDATION.asNode());
+        ExtendedIterator<Triple> it = aboxBaseOntModel.getGraph().find(Node.ANY, Node.ANY, Node.ANY);
+        while (it.hasNext()) {
+            predicates.add(it.next().getPredicate());
+        }
+        return predicates;
+    }
+
     private void performEntailmentReduction() {
         double entailT = System.currentTimeMillis();
         if (DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT) {
             System.out.print("DLEJena: Generating entailments...\n");
         }
-        DynamicRuleRegistry.clear();
+        ruleRegistry.clear();
         BufferedReader br = new BufferedReader(new InputStreamReader(this.getClass().getResourceAsStream(TEMPLATE_RULES_FILE)));
         List rules = Rule.parseRules(Rule.rulesParserFromReader(br));
         rules.addAll(customTemplateRules);
@@ -337,21 +456,21 @@ public class DLEJenaReasoner {
 //        temp.prepare(); //adds the dynamic rules to the registry
         List<Rule> dynamic = gp.start(rules);
         for (Rule rule : dynamic) {
-            DynamicRuleRegistry.register(rule);
+            ruleRegistry.register(rule);
         }
 
         D_Intersection inter1 = new D_Intersection("D_intersection");
         inter1.formABoxRules(tboxInfOntModel);
         List<Rule> interRules = inter1.getRules();
         for (Rule r : interRules) {
-            DynamicRuleRegistry.register(r);
+            ruleRegistry.register(r);
         }
 
         D_PropertyChain chain = new D_PropertyChain("D_prp-spo2");
         chain.formABoxRules(tboxInfOntModel);
         List<Rule> chainRules = chain.getRules();
         for (Rule r : chainRules) {
-            DynamicRuleRegistry.register(r);
+            ruleRegistry.register(r);
         }
 
         if (DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT) {
@@ -394,19 +513,30 @@ public class DLEJenaReasoner {
             System.out.print("Pellet: Performing TBox inferencing...\n");
         }
         tboxInfOntModel.prepare();
-        ((PelletInfGraph) tboxInfOntModel.getGraph()).getKB().classify();
-        ((PelletInfGraph) tboxInfOntModel.getGraph()).getKB().realize();
+        KnowledgeBase kb = ((PelletInfGraph) tboxInfOntModel.getGraph()).getKB();
+        kb.classify();
+
+        if (DLEJenaParameters.TBOX_ONLY_REASONING) {
+            //the classification has already placed the unsatisfiable classes under the BOTTOM node
+            for (ATermAppl c : kb.getTaxonomy().getBottom().getEquivalents()) {
+                if (!c.equals(ATermUtils.BOTTOM)) {
+                    throw new InconsistentTBoxException("Pellet has determined an unsatisfiable concept: " + c.getName());
+                }
+            }
+        } else {
+            kb.realize();
 
-        Set<ATermAppl> classes = ((PelletInfGraph) tboxInfOntModel.getGraph()).getKB().getClasses();
-        for (ATermAppl c : classes) {
-            if (!((PelletInfGraph) tboxInfOntModel.getGraph()).getKB().isSatisfiable(c)) {
-                throw new InconsistentTBoxException("Pellet has determined an unsatisfiable concept: " + c.getName());
+            Set<ATermAppl> classes = kb.getClasses();
+            for (ATermAppl c : classes) {
+                if (!kb.isSatisfiable(c)) {
+                    throw new InconsistentTBoxException("Pellet has determined an unsatisfiable concept: " + c.getName());
+                }
             }
         }
         if (DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT) {
             System.out.println(" -completed (Time: " + (System.currentTimeMillis() - tboxTime) + " ms)");
         }
-        cleanTBox();
+        cleanTBox(tboxInfOntModel);
     }
 
     /**
@@ -425,7 +555,7 @@ public class DLEJenaReasoner {
             throw new UpdateTBoxException("TBox updates are valid only after having initialized the DLEJena instance.");
         }
 
-        tboxReasoning();
+        generateABoxRules();
         aboxReasoning();
     }
 
@@ -456,7 +586,10 @@ public class DLEJenaReasoner {
 
     /**
      * Returns the ABox OntModel created by the application of the ABox
-     * production rules.
+     * production rules. If the
+     * {@link DLEJenaParameters#INCREMENTAL_ABOX_MAINTENANCE INCREMENTAL_ABOX_MAINTENANCE}
+     * parameter is enabled, any statement added to or removed from this model
+     * is propagated incrementally through the ABox rules.
      *
      * @return The ABox Jena OntModel.
      */
@@ -1,25 +1,69 @@
 package opensource.dlejena;
 
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.reasoner.TriplePattern;
+import com.hp.hpl.jena.reasoner.rulesys.ClauseEntry;
+import com.hp.hpl.jena.reasoner.rulesys.Functor;
 import com.hp.hpl.jena.reasoner.rulesys.Rule;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * The registry for storing the dynamic ABox rules. This registry is used by the
- * TemplateProcessor in order to register the ABox rules that produces.
+ * The registry for storing the dynamic ABox rules. Every DLEJenaReasoner has
+ * its own registry, where it registers the ABox rules that are produced by the
+ * TemplateProcessor and by the procedural generators. The registry can be
+ * shared by threads that register rules concurrently. A rule that is
+ * registered more than once (e.g. the same rule produced by different
+ * templates) is stored only once. The rules are also indexed by the predicates
+ * of their body triple patterns.
  *
  * @author George Meditskos
  */
 public class DynamicRuleRegistry {
 
-    private static ArrayList<Rule> repository = new ArrayList<Rule>();
+    /**
+     * The index key of the rules with a variable predicate in their body.
+     */
+    private static final Node VARIABLE_PREDICATE = Node.ANY;
+
+    private final ConcurrentMap<Rule, Boolean> rules = new ConcurrentHashMap<Rule, Boolean>();
+    private final Queue<Rule> repository = new ConcurrentLinkedQueue<Rule>();
+    private final ConcurrentMap<Node, Queue<Rule>> index = new ConcurrentHashMap<Node, Queue<Rule>>();
 
     /**
      * The method for registering a rule
      *
      * @param r The rule
+     * @return true if the rule has been registered, false if the same rule has
+     * already been registered
      */
-    public static void register(Rule r) {
+    public boolean register(Rule r) {
+        if (rules.putIfAbsent(r, Boolean.TRUE) != null) {
+            return false;
+        }
         repository.add(r);
+        for (Node predicate : bodyPredicates(r)) {
+            Queue<Rule> list = index.get(predicate);
+            if (list == null) {
+                Queue<Rule> created = new ConcurrentLinkedQueue<Rule>();
+                list = index.putIfAbsent(predicate, created);
+                if (list == null) {
+                    list = created;
+                }
+            }
+            list.add(r);
+        }
+        return true;
     }
 
     /**
@@ -27,23 +71,164 @@ public class DynamicRuleRegistry {
      *
      * @return The size of the registry
      */
-    public static int getRegistrySize() {
-        return getRepository().size();
+    public int getRegistrySize() {
+        return rules.size();
     }
 
     /**
      * The method for retrieving the dynamic rule repository.
      *
-     * @return The list of the registered rules.
+     * @return A copy of the list of the registered rules, in the order of
+     * their registration.
+     */
+    public List<Rule> getRepository() {
+        return new ArrayList<Rule>(repository);
+    }
+
+    /**
+     * Returns the rules that have a body triple pattern with the given
+     * predicate or with a variable predicate.
+     *
+     * @param predicate The predicate.
+     * @return The list of the rules.
+     */
+    public List<Rule> getRules(Node predicate) {
+        Set<Rule> result = new LinkedHashSet<Rule>();
+        Queue<Rule> list = index.get(predicate);
+        if (list != null) {
+            result.addAll(list);
+        }
+        list = index.get(VARIABLE_PREDICATE);
+        if (list != null) {
+            result.addAll(list);
+        }
+        return new ArrayList<Rule>(result);
+    }
+
+    /**
+     * Returns the rules that can fire over data that use the given predicates.
+     * A rule can fire if every predicate of its body triple patterns either
+     * occurs in the data or is produced by another rule that can fire. The
+     * rest of the rules can be skipped by the forward engine, as long as no
+     * triple with a new predicate is added to the data.
+     *
+     * @param predicates The predicates that occur in the data.
+     * @return The list of the rules that can fire, in the order of their
+     * registration.
      */
-    public static ArrayList<Rule> getRepository() {
-        return repository;
+    public List<Rule> getReachableRules(Collection<Node> predicates) {
+        Map<Rule, Integer> missing = new HashMap<Rule, Integer>();
+        Set<Rule> reachable = new HashSet<Rule>();
+        List<Node> agenda = new ArrayList<Node>();
+        for (Rule r : repository) {
+            Set<Node> body = bodyPredicates(r);
+            body.remove(VARIABLE_PREDICATE);
+            int count = body.size();
+            missing.put(r, count);
+            if (count == 0) {
+                reachable.add(r);
+                if (addHeadPredicates(r, agenda)) {
+                    return getRepository();
+                }
+            }
+        }
+
+        Set<Node> available = new HashSet<Node>();
+        agenda.addAll(predicates);
+        while (!agenda.isEmpty()) {
+            Node predicate = agenda.remove(agenda.size() - 1);
+            if (!available.add(predicate)) {
+                continue;
+            }
+            Queue<Rule> list = index.get(predicate);
+            if (list == null) {
+                continue;
+            }
+            for (Rule r : list) {
+                Integer count = missing.get(r);
+                if (count == null) {
+                    //registered after the computation has started
+                    continue;
+                }
+                missing.put(r, count - 1);
+                if (count == 1) {
+                    reachable.add(r);
+                    if (addHeadPredicates(r, agenda)) {
+                        return getRepository();
+                    }
+                }
+            }
+        }
+
+        List<Rule> result = new ArrayList<Rule>();
+        for (Rule r : repository) {
+            if (reachable.contains(r)) {
+                result.add(r);
+            }
+        }
+        return result;
     }
 
     /**
      * A method for removing all the registered rules.
      */
-    public static void clear() {
-        getRepository().clear();
+    public void clear() {
+        rules.clear();
+        repository.clear();
+        index.clear();
+    }
+
+    /**
+     * The distinct predicates of the body triple patterns of a rule. A
+     * variable predicate is represented by the VARIABLE_PREDICATE key.
+     */
+    private static Set<Node> bodyPredicates(Rule r) {
+        Set<Node> result = new HashSet<Node>();
+        for (ClauseEntry clause : r.getBody()) {
+            if (clause instanceof TriplePattern) {
+                Node predicate = ((TriplePattern) clause).getPredicate();
+                result.add(predicate.isConcrete() ? predicate : VARIABLE_PREDICATE);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the predicates of the head triple patterns of a rule to the agenda.
+     * A variable head predicate that is bound by a body predicate (e.g. in the
+     * sameAs replacement rules) produces only predicates that are already
+     * available. The predicates of the triples that are added by the builtins
+     * of the head (e.g. listMapAsSubject) and by the backward rules of the head
+     * are not known statically, so these clauses may produce any predicate.
+     *
+     * @return true if the rule may produce triples with any predicate, that
+     * is, if it has an unbound variable head predicate, a builtin or a backward
+     * rule in its head.
+     */
+    private static boolean addHeadPredicates(Rule r, List<Node> agenda) {
+        Set<Node> boundPredicates = null;
+        for (ClauseEntry clause : r.getHead()) {
+            if (clause instanceof TriplePattern) {
+                Node predicate = ((TriplePattern) clause).getPredicate();
+                if (predicate.isConcrete()) {
+                    agenda.add(predicate);
+                    continue;
+                }
+                if (boundPredicates == null) {
+                    boundPredicates = new HashSet<Node>();
+                    for (ClauseEntry body : r.getBody()) {
+                        if (body instanceof TriplePattern) {
+                            boundPredicates.add(((TriplePattern) body).getPredicate());
+                        }
+                    }
+                }
+                if (!boundPredicates.contains(predicate)) {
+                    return true;
+                }
+            } else if (clause instanceof Functor || clause instanceof Rule) {
+                return true;
+            }
+        }
+        return false;
     }
 }
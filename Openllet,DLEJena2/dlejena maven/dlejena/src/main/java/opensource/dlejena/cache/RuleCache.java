@@ -0,0 +1,326 @@
+package opensource.dlejena.cache;
+
+import com.hp.hpl.jena.datatypes.TypeMapper;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.reasoner.TriplePattern;
+import com.hp.hpl.jena.reasoner.rulesys.ClauseEntry;
+import com.hp.hpl.jena.reasoner.rulesys.Functor;
+import com.hp.hpl.jena.reasoner.rulesys.Node_RuleVariable;
+import com.hp.hpl.jena.reasoner.rulesys.Rule;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A persistent cache of the dynamically generated ABox rules. The rules are
+ * stored in a binary file per TBox, named after the key of the
+ * {@link TBoxSignature} of the TBox, so that a TBox whose content has not
+ * changed can reuse the rules generated by a previous execution, without
+ * performing the TBox reasoning and the entailment generation again.
+ * <p>
+ * The rules may refer to blank nodes of the TBox (e.g. restrictions), whose
+ * identifiers change every time an ontology is loaded. Such nodes are stored by
+ * their canonical labels and they are mapped to the blank nodes of the current
+ * TBox when the rules are loaded. A rule set that refers to an ambiguous or to
+ * an unknown blank node is not cached.
+ * </p>
+ */
+public class RuleCache {
+
+    private static final int MAGIC = 0x444C4552;
+    private static final int VERSION = 1;
+
+    private static final byte URI = 0;
+    private static final byte BLANK = 1;
+    private static final byte LITERAL = 2;
+    private static final byte VARIABLE = 3;
+    private static final byte FUNCTOR = 4;
+    private static final byte ANY = 5;
+
+    private static final byte TRIPLE_CLAUSE = 0;
+    private static final byte FUNCTOR_CLAUSE = 1;
+    private static final byte RULE_CLAUSE = 2;
+
+    private final File directory;
+
+    /**
+     * The constructor.
+     *
+     * @param directory The directory where the rule files are stored. It is
+     * created if it does not exist.
+     */
+    public RuleCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Loads the rules that have been generated for a TBox.
+     *
+     * @param signature The signature of the TBox.
+     * @return The cached rules, or null if there are no rules for the TBox or
+     * if the cached rules cannot be mapped to the TBox.
+     */
+    public List<Rule> load(TBoxSignature signature) {
+        File file = fileOf(signature);
+        if (!file.isFile()) {
+            return null;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            int size = in.readInt();
+            List<Rule> rules = new ArrayList<Rule>(size);
+            for (int i = 0; i < size; i++) {
+                rules.add(readRule(in, signature));
+            }
+            return rules;
+        } catch (UnresolvedNodeException ex) {
+            return null;
+        } catch (IOException ex) {
+            Logger.getLogger(RuleCache.class.getName()).log(Level.WARNING, "Ignoring the invalid rule cache file " + file, ex);
+            return null;
+        } finally {
+            close(in);
+        }
+    }
+
+    /**
+     * Stores the rules that have been generated for a TBox.
+     *
+     * @param signature The signature of the TBox.
+     * @param rules The generated rules.
+     * @return true if the rules have been stored, false if they cannot be
+     * cached (they refer to an ambiguous blank node of the TBox) or if an I/O
+     * error occurred.
+     */
+    public boolean store(TBoxSignature signature, List<Rule> rules) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Logger.getLogger(RuleCache.class.getName()).log(Level.WARNING, "Cannot create the rule cache directory {0}", directory);
+            return false;
+        }
+        File file = fileOf(signature);
+        File temp = new File(directory, file.getName() + ".tmp");
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(rules.size());
+            for (Rule rule : rules) {
+                writeRule(out, rule, signature);
+            }
+            out.close();
+            out = null;
+            //replace the previous file (if any) only with a complete one
+            file.delete();
+            return temp.renameTo(file);
+        } catch (UnresolvedNodeException ex) {
+            return false;
+        } catch (IOException ex) {
+            Logger.getLogger(RuleCache.class.getName()).log(Level.SEVERE, null, ex);
+            return false;
+        } finally {
+            close(out);
+            temp.delete();
+        }
+    }
+
+    private File fileOf(TBoxSignature signature) {
+        return new File(directory, signature.getKey() + ".rules");
+    }
+
+    private static void writeRule(DataOutputStream out, Rule rule, TBoxSignature signature) throws IOException {
+        writeString(out, rule.getName());
+        out.writeBoolean(rule.isBackward());
+        out.writeInt(rule.getNumVars());
+        writeClauses(out, rule.getHead(), signature);
+        writeClauses(out, rule.getBody(), signature);
+    }
+
+    private static void writeClauses(DataOutputStream out, ClauseEntry[] clauses, TBoxSignature signature) throws IOException {
+        out.writeInt(clauses.length);
+        for (ClauseEntry clause : clauses) {
+            if (clause instanceof TriplePattern) {
+                TriplePattern pattern = (TriplePattern) clause;
+                out.writeByte(TRIPLE_CLAUSE);
+                writeNode(out, pattern.getSubject(), signature);
+                writeNode(out, pattern.getPredicate(), signature);
+                writeNode(out, pattern.getObject(), signature);
+            } else if (clause instanceof Functor) {
+                out.writeByte(FUNCTOR_CLAUSE);
+                writeFunctor(out, (Functor) clause, signature);
+            } else {
+                out.writeByte(RULE_CLAUSE);
+                writeRule(out, (Rule) clause, signature);
+            }
+        }
+    }
+
+    private static void writeFunctor(DataOutputStream out, Functor functor, TBoxSignature signature) throws IOException {
+        writeString(out, functor.getName());
+        Node[] args = functor.getArgs();
+        out.writeInt(args.length);
+        for (Node arg : args) {
+            writeNode(out, arg, signature);
+        }
+    }
+
+    private static void writeNode(DataOutputStream out, Node node, TBoxSignature signature) throws IOException {
+        if (node instanceof Node_RuleVariable) {
+            out.writeByte(VARIABLE);
+            writeString(out, node.getName());
+            out.writeInt(((Node_RuleVariable) node).getIndex());
+        } else if (Functor.isFunctor(node)) {
+            out.writeByte(FUNCTOR);
+            writeFunctor(out, (Functor) node.getLiteralValue(), signature);
+        } else if (node.isURI()) {
+            out.writeByte(URI);
+            writeString(out, node.getURI());
+        } else if (node.isBlank()) {
+            String label = signature.labelOf(node);
+            if (label == null) {
+                throw new UnresolvedNodeException();
+            }
+            out.writeByte(BLANK);
+            writeString(out, label);
+        } else if (node.isLiteral()) {
+            out.writeByte(LITERAL);
+            writeString(out, node.getLiteralLexicalForm());
+            writeString(out, node.getLiteralLanguage());
+            writeString(out, node.getLiteralDatatypeURI());
+        } else {
+            out.writeByte(ANY);
+        }
+    }
+
+    private static Rule readRule(DataInputStream in, TBoxSignature signature) throws IOException {
+        String name = readString(in);
+        boolean backward = in.readBoolean();
+        int numVars = in.readInt();
+        Map<String, Node_RuleVariable> variables = new HashMap<String, Node_RuleVariable>();
+        ClauseEntry[] head = readClauses(in, signature, variables);
+        ClauseEntry[] body = readClauses(in, signature, variables);
+        Rule rule = new Rule(name, head, body);
+        rule.setBackward(backward);
+        rule.setNumVars(numVars);
+        return rule;
+    }
+
+    private static ClauseEntry[] readClauses(DataInputStream in, TBoxSignature signature, Map<String, Node_RuleVariable> variables) throws IOException {
+        ClauseEntry[] clauses = new ClauseEntry[in.readInt()];
+        for (int i = 0; i < clauses.length; i++) {
+            byte type = in.readByte();
+            if (type == TRIPLE_CLAUSE) {
+                Node subject = readNode(in, signature, variables);
+                Node predicate = readNode(in, signature, variables);
+                Node object = readNode(in, signature, variables);
+                clauses[i] = new TriplePattern(subject, predicate, object);
+            } else if (type == FUNCTOR_CLAUSE) {
+                clauses[i] = readFunctor(in, signature, variables);
+            } else if (type == RULE_CLAUSE) {
+                clauses[i] = readRule(in, signature);
+            } else {
+                throw new IOException("Unknown clause type " + type);
+            }
+        }
+        return clauses;
+    }
+
+    private static Functor readFunctor(DataInputStream in, TBoxSignature signature, Map<String, Node_RuleVariable> variables) throws IOException {
+        String name = readString(in);
+        Node[] args = new Node[in.readInt()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = readNode(in, signature, variables);
+        }
+        return new Functor(name, args);
+    }
+
+    private static Node readNode(DataInputStream in, TBoxSignature signature, Map<String, Node_RuleVariable> variables) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case URI:
+                return Node.createURI(readString(in));
+            case BLANK:
+                Node blank = signature.blankOf(readString(in));
+                if (blank == null) {
+                    throw new UnresolvedNodeException();
+                }
+                return blank;
+            case LITERAL:
+                String lexical = readString(in);
+                String language = readString(in);
+                String datatype = readString(in);
+                return Node.createLiteral(lexical, language, datatype == null ? null : TypeMapper.getInstance().getSafeTypeByName(datatype));
+            case VARIABLE:
+                String name = readString(in);
+                int index = in.readInt();
+                if (index < 0 && Node_RuleVariable.WILD.getName().equals(name)) {
+                    return Node_RuleVariable.WILD;
+                }
+                String id = name + "#" + index;
+                Node_RuleVariable variable = variables.get(id);
+                if (variable == null) {
+                    variable = new Node_RuleVariable(name, index);
+                    variables.put(id, variable);
+                }
+                return variable;
+            case FUNCTOR:
+                return Functor.makeFunctorNode(readFunctor(in, signature, variables));
+            case ANY:
+                return Node.ANY;
+            default:
+                throw new IOException("Unknown node type " + type);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] bytes = value.getBytes("UTF-8");
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+
+    private static void close(java.io.Closeable stream) {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException ex) {
+                Logger.getLogger(RuleCache.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Thrown when a rule refers to a blank node that cannot be mapped between
+     * the cached rules and the TBox.
+     */
+    private static class UnresolvedNodeException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,199 @@
+package opensource.dlejena.cache;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.util.iterator.ExtendedIterator;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The content signature of a TBox graph. The signature consists of a key (a
+ * SHA-256 hash of the TBox triples) and of a canonical label for every blank
+ * node of the TBox.
+ * <p>
+ * The blank node identifiers change every time an ontology is loaded, so they
+ * cannot be hashed directly. Instead, the blank nodes are labeled by iterative
+ * color refinement: every blank node starts with the same label and, in each
+ * round, it is relabeled with the hash of its current label and of the labels
+ * of its outgoing and incoming triples, until the number of the distinct labels
+ * stops growing. Therefore, the key and the labels depend only on the content
+ * of the TBox and not on the identifiers of its blank nodes. Blank nodes that
+ * cannot be distinguished from each other (i.e. they share the same label) are
+ * considered ambiguous.
+ * </p>
+ */
+public class TBoxSignature {
+
+    /**
+     * The maximum number of refinement rounds.
+     */
+    private static final int MAX_ROUNDS = 64;
+
+    private final String key;
+    private final Map<Node, String> labels = new HashMap<Node, String>();
+    private final Map<String, Node> blanks = new HashMap<String, Node>();
+
+    /**
+     * The constructor.
+     *
+     * @param tbox The TBox graph.
+     * @param extras Additional content that affects the generated rules (e.g.
+     * the template rules), which is included in the key.
+     */
+    public TBoxSignature(Graph tbox, List<String> extras) {
+        List<Triple> triples = new ArrayList<Triple>();
+        Map<Node, List<Triple>> outgoing = new HashMap<Node, List<Triple>>();
+        Map<Node, List<Triple>> incoming = new HashMap<Node, List<Triple>>();
+        ExtendedIterator<Triple> it = tbox.find(Node.ANY, Node.ANY, Node.ANY);
+        try {
+            while (it.hasNext()) {
+                Triple t = it.next();
+                triples.add(t);
+                if (t.getSubject().isBlank()) {
+                    index(outgoing, t.getSubject(), t);
+                    index(incoming, t.getSubject(), null);
+                }
+                if (t.getObject().isBlank()) {
+                    index(incoming, t.getObject(), t);
+                    index(outgoing, t.getObject(), null);
+                }
+            }
+        } finally {
+            it.close();
+        }
+
+        refineLabels(outgoing, incoming);
+
+        Set<String> seen = new HashSet<String>();
+        Set<String> ambiguous = new HashSet<String>();
+        for (Map.Entry<Node, String> entry : labels.entrySet()) {
+            if (!seen.add(entry.getValue())) {
+                ambiguous.add(entry.getValue());
+            }
+        }
+        for (Map.Entry<Node, String> entry : labels.entrySet()) {
+            if (!ambiguous.contains(entry.getValue())) {
+                blanks.put(entry.getValue(), entry.getKey());
+            }
+        }
+
+        List<String> lines = new ArrayList<String>(triples.size());
+        for (Triple t : triples) {
+            lines.add(encode(t.getSubject()) + " " + encode(t.getPredicate()) + " " + encode(t.getObject()));
+        }
+        Collections.sort(lines);
+        lines.add("");
+        lines.addAll(extras);
+        key = hash(lines);
+    }
+
+    /**
+     * Returns the content key of the TBox.
+     *
+     * @return A hexadecimal SHA-256 hash.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the canonical label of a TBox blank node.
+     *
+     * @param blank The blank node.
+     * @return The label, or null if the node is not a blank node of the TBox
+     * or if it is ambiguous.
+     */
+    public String labelOf(Node blank) {
+        String label = labels.get(blank);
+        return label != null && blanks.containsKey(label) ? label : null;
+    }
+
+    /**
+     * Returns the TBox blank node that has the given canonical label.
+     *
+     * @param label The canonical label.
+     * @return The blank node, or null if there is no such (unambiguous) node.
+     */
+    public Node blankOf(String label) {
+        return blanks.get(label);
+    }
+
+    private void refineLabels(Map<Node, List<Triple>> outgoing, Map<Node, List<Triple>> incoming) {
+        for (Node blank : outgoing.keySet()) {
+            labels.put(blank, "_");
+        }
+        int distinct = 1;
+        for (int round = 0; round < MAX_ROUNDS && !labels.isEmpty(); round++) {
+            Map<Node, String> refined = new HashMap<Node, String>();
+            for (Node blank : labels.keySet()) {
+                List<String> lines = new ArrayList<String>();
+                for (Triple t : outgoing.get(blank)) {
+                    lines.add("> " + encode(t.getPredicate()) + " " + encode(t.getObject()));
+                }
+                for (Triple t : incoming.get(blank)) {
+                    lines.add("< " + encode(t.getSubject()) + " " + encode(t.getPredicate()));
+                }
+                Collections.sort(lines);
+                lines.add(0, labels.get(blank));
+                refined.put(blank, hash(lines));
+            }
+            labels.putAll(refined);
+            int count = new HashSet<String>(labels.values()).size();
+            if (count == distinct) {
+                break;
+            }
+            distinct = count;
+        }
+    }
+
+    private String encode(Node node) {
+        if (node.isBlank()) {
+            return "_:" + labels.get(node);
+        }
+        return node.toString(null, true);
+    }
+
+    /**
+     * Adds a triple to the list of a node. A null triple only makes sure that
+     * the node has a (possibly empty) list.
+     */
+    private static void index(Map<Node, List<Triple>> map, Node node, Triple t) {
+        List<Triple> list = map.get(node);
+        if (list == null) {
+            list = new ArrayList<Triple>();
+            map.put(node, list);
+        }
+        if (t != null) {
+            list.add(t);
+        }
+    }
+
+    private static String hash(List<String> lines) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String line : lines) {
+                digest.update(line.getBytes("UTF-8"));
+                digest.update((byte) '\n');
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+                hex.append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
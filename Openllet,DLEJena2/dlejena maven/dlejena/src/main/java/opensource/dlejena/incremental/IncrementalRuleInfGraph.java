@@ -0,0 +1,652 @@
+package opensource.dlejena.incremental;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.GraphEvents;
+import com.hp.hpl.jena.graph.GraphListener;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.graph.compose.Polyadic;
+import com.hp.hpl.jena.reasoner.InfGraph;
+import com.hp.hpl.jena.reasoner.Reasoner;
+import com.hp.hpl.jena.reasoner.TriplePattern;
+import com.hp.hpl.jena.reasoner.rulesys.BindingEnvironment;
+import com.hp.hpl.jena.reasoner.rulesys.ClauseEntry;
+import com.hp.hpl.jena.reasoner.rulesys.FBRuleInfGraph;
+import com.hp.hpl.jena.reasoner.rulesys.Functor;
+import com.hp.hpl.jena.reasoner.rulesys.Node_RuleVariable;
+import com.hp.hpl.jena.reasoner.rulesys.Rule;
+import com.hp.hpl.jena.reasoner.rulesys.RuleContext;
+import com.hp.hpl.jena.reasoner.rulesys.impl.BindingVector;
+import com.hp.hpl.jena.reasoner.rulesys.impl.RETEEngine;
+import com.hp.hpl.jena.util.iterator.ClosableIterator;
+import com.hp.hpl.jena.util.iterator.ExtendedIterator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An FBRuleInfGraph that maintains its forward deductions incrementally. The
+ * Jena FBRuleInfGraph already handles additions incrementally through the RETE
+ * network, but any deletion forces the complete re-materialization of the
+ * deductions on the next query. This graph implements the DRed (Delete and
+ * Rederive) truth maintenance approach instead:
+ * <ol>
+ * <li><b>Overdelete:</b> the deleted triple is retracted from the RETE network,
+ * which removes every deduction that has been produced by a rule match
+ * involving it, recursively.</li>
+ * <li><b>Rederive:</b> every overdeleted deduction that still has an
+ * alternative derivation over the remaining data is asserted again as a
+ * deduction.</li>
+ * <li><b>Propagate:</b> the rederived triples are propagated through the RETE
+ * network, restoring their consequences.</li>
+ * </ol>
+ * Therefore, the cost of an update depends on the size of the change and not
+ * on the size of the ABox. The graph also listens to the bound base graph, so
+ * that triples added to or removed from the base model directly (and not
+ * through this graph) are propagated in the same manner. If the bound graph is
+ * a union (e.g. the graph of an OntModel), the listener is registered to its
+ * innermost base graph, since the modifications of the base model of the
+ * OntModel are not notified to the union.
+ * <p>
+ * Rules with head actions (builtins in their head, such as listMapAsSubject)
+ * cannot be retracted. If a deletion reaches the body of such a rule, the graph
+ * falls back to the complete re-materialization of the deductions.
+ * </p>
+ */
+public class IncrementalRuleInfGraph extends FBRuleInfGraph {
+
+    /**
+     * The forward rules indexed by the predicate of their head triple patterns.
+     * Rules whose head predicate is a variable are stored under Node.ANY.
+     */
+    private Map<Node, List<Rule>> headIndex;
+
+    /**
+     * The body predicates of the rules that have head actions. If a variable
+     * predicate appears in such a rule, Node.ANY is added to the set.
+     */
+    private Set<Node> actionPredicates;
+
+    /**
+     * The number of variables of each indexed rule.
+     */
+    private Map<Rule, Integer> ruleVariables;
+
+    /**
+     * The listener of the base graph.
+     */
+    private final GraphListener baseListener = new BaseGraphListener();
+
+    /**
+     * The innermost base graph of the bound data, which the listener is
+     * registered to.
+     */
+    private Graph listenedGraph;
+
+    /**
+     * True while this graph modifies the base graph itself, so that the
+     * listener ignores the modification.
+     */
+    private boolean updatingBase = false;
+
+    /**
+     * The constructor.
+     *
+     * @param reasoner The reasoner that created the graph.
+     * @param rules The rules of the reasoner.
+     * @param schema The (optional) schema graph.
+     */
+    public IncrementalRuleInfGraph(Reasoner reasoner, List<Rule> rules, Graph schema) {
+        super(reasoner, rules, schema);
+    }
+
+    @Override
+    public void rebind(Graph data) {
+        if (listenedGraph != null) {
+            listenedGraph.getEventManager().unregister(baseListener);
+            listenedGraph = null;
+        }
+        super.rebind(data);
+        headIndex = null;
+        if (data != null) {
+            listenedGraph = baseGraphOf(data);
+            listenedGraph.getEventManager().register(baseListener);
+        }
+    }
+
+    /**
+     * Finds the graph that actually stores the triples added to the given
+     * graph. The unions delegate the additions and removals to their base
+     * graph, so every modification, either through the union or directly on
+     * the base graph, is notified by the innermost base graph.
+     */
+    private static Graph baseGraphOf(Graph graph) {
+        while (graph instanceof Polyadic && ((Polyadic) graph).getBaseGraph() != null) {
+            graph = ((Polyadic) graph).getBaseGraph();
+        }
+        return graph;
+    }
+
+    @Override
+    public void rebind() {
+        headIndex = null;
+        super.rebind();
+    }
+
+    @Override
+    public void rebindAll() {
+        headIndex = null;
+        super.rebindAll();
+    }
+
+    @Override
+    public void close() {
+        if (listenedGraph != null) {
+            listenedGraph.getEventManager().unregister(baseListener);
+            listenedGraph = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public synchronized void performAdd(Triple t) {
+        updatingBase = true;
+        try {
+            super.performAdd(t);
+        } finally {
+            updatingBase = false;
+        }
+    }
+
+    @Override
+    public synchronized void performDelete(Triple t) {
+        if (!isPrepared) {
+            super.performDelete(t);
+            return;
+        }
+        Graph base = fdata.getGraph();
+        if (!base.contains(t)) {
+            //only asserted triples can be retracted, deductions would be derived again
+            return;
+        }
+        updatingBase = true;
+        try {
+            base.delete(t);
+        } finally {
+            updatingBase = false;
+        }
+        retract(t);
+    }
+
+    /**
+     * Propagates a triple that has been added to the base graph.
+     */
+    private synchronized void baseTripleAdded(Triple t) {
+        if (updatingBase || !isPrepared) {
+            return;
+        }
+        version++;
+        engine.add(t);
+        bEngine.reset();
+    }
+
+    /**
+     * Propagates a triple that has been removed from the base graph.
+     */
+    private synchronized void baseTripleRemoved(Triple t) {
+        if (updatingBase || !isPrepared) {
+            return;
+        }
+        retract(t);
+    }
+
+    /**
+     * Applies the DRed procedure for a triple that has already been removed
+     * from the base graph.
+     *
+     * @param t The removed triple.
+     */
+    private void retract(Triple t) {
+        version++;
+        if (!(engine instanceof RETEEngine) || useTGCCaching) {
+            requestRematerialization();
+            return;
+        }
+        indexRules();
+        if (feedsHeadAction(t)) {
+            requestRematerialization();
+            return;
+        }
+
+        RETEEngine rete = (RETEEngine) engine;
+        Graph deductions = fdeductions.getGraph();
+
+        //overdelete: record what the RETE network retracts
+        DeletionRecorder recorder = new DeletionRecorder();
+        deductions.getEventManager().register(recorder);
+        try {
+            rete.delete(t);
+        } finally {
+            deductions.getEventManager().unregister(recorder);
+        }
+
+        Set<Triple> candidates = new LinkedHashSet<Triple>();
+        candidates.add(t);
+        candidates.addAll(recorder.getDeleted());
+        for (Triple d : candidates) {
+            if (feedsHeadAction(d)) {
+                requestRematerialization();
+                return;
+            }
+        }
+
+        //rederive: alternative derivations over the remaining data
+        Graph base = fdata.getGraph();
+        for (Triple d : candidates) {
+            if (base.contains(d) || deductions.contains(d)) {
+                continue;
+            }
+            if (isDerivable(d)) {
+                rete.addTriple(d, true);
+            }
+        }
+
+        //propagate the rederived triples
+        rete.runAll();
+        bEngine.reset();
+    }
+
+    /**
+     * Forces the complete re-materialization of the deductions on the next
+     * query, exactly as the FBRuleInfGraph does for any deletion.
+     */
+    private void requestRematerialization() {
+        bEngine.deleteAllRules();
+        bEngine.reset();
+        isPrepared = false;
+    }
+
+    /**
+     * Checks whether the triple has a derivation through a single rule
+     * application over the current data and deductions.
+     */
+    private boolean isDerivable(Triple t) {
+        List<Rule> candidates = new ArrayList<Rule>();
+        List<Rule> byPredicate = headIndex.get(t.getPredicate());
+        if (byPredicate != null) {
+            candidates.addAll(byPredicate);
+        }
+        List<Rule> byVariable = headIndex.get(Node.ANY);
+        if (byVariable != null) {
+            candidates.addAll(byVariable);
+        }
+        for (Rule rule : candidates) {
+            for (ClauseEntry clause : rule.getHead()) {
+                if (!(clause instanceof TriplePattern)) {
+                    continue;
+                }
+                BindingVector env = new BindingVector(ruleVariables.get(rule));
+                if (bind((TriplePattern) clause, t, env) && matchBody(rule, 0, env)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searches for a solution of the rule body, starting from the clause at
+     * the given index.
+     */
+    private boolean matchBody(Rule rule, int index, BindingVector env) {
+        if (index == rule.bodyLength()) {
+            return true;
+        }
+        ClauseEntry clause = rule.getBodyElement(index);
+        if (clause instanceof TriplePattern) {
+            TriplePattern pattern = env.partInstantiate((TriplePattern) clause);
+            ExtendedIterator<Triple> matches = findDataMatches(queryNode(pattern.getSubject()),
+                    queryNode(pattern.getPredicate()), queryNode(pattern.getObject()));
+            try {
+                while (matches.hasNext()) {
+                    BindingVector next = new BindingVector(env);
+                    if (bind(pattern, matches.next(), next) && matchBody(rule, index + 1, next)) {
+                        return true;
+                    }
+                }
+            } finally {
+                matches.close();
+            }
+            return false;
+        }
+        if (clause instanceof Functor) {
+            BindingVector next = new BindingVector(env);
+            return ((Functor) clause).evalAsBodyClause(new MatchContext(rule, next)) && matchBody(rule, index + 1, next);
+        }
+        return false;
+    }
+
+    /**
+     * Binds the nodes of the pattern to the nodes of the triple.
+     */
+    private static boolean bind(TriplePattern pattern, Triple t, BindingVector env) {
+        return bind(pattern.getSubject(), t.getSubject(), env)
+                && bind(pattern.getPredicate(), t.getPredicate(), env)
+                && bind(pattern.getObject(), t.getObject(), env);
+    }
+
+    private static boolean bind(Node pattern, Node value, BindingVector env) {
+        if (pattern instanceof Node_RuleVariable) {
+            return ((Node_RuleVariable) pattern).getIndex() < 0 || env.bind(pattern, value);
+        }
+        if (pattern.isVariable() || pattern == Node.ANY) {
+            return true;
+        }
+        if (Functor.isFunctor(pattern)) {
+            if (!Functor.isFunctor(value)) {
+                return false;
+            }
+            Functor f1 = (Functor) pattern.getLiteralValue();
+            Functor f2 = (Functor) value.getLiteralValue();
+            if (!f1.getName().equals(f2.getName()) || f1.getArgLength() != f2.getArgLength()) {
+                return false;
+            }
+            Node[] args1 = f1.getArgs();
+            Node[] args2 = f2.getArgs();
+            for (int i = 0; i < args1.length; i++) {
+                if (!bind(args1[i], args2[i], env)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return pattern.sameValueAs(value);
+    }
+
+    private static Node queryNode(Node node) {
+        if (node.isVariable()) {
+            return Node.ANY;
+        }
+        if (Functor.isFunctor(node) && !((Functor) node.getLiteralValue()).isGround()) {
+            return Node.ANY;
+        }
+        return node;
+    }
+
+    /**
+     * Checks whether the triple may match the body of a rule with head
+     * actions.
+     */
+    private boolean feedsHeadAction(Triple t) {
+        return actionPredicates.contains(Node.ANY) || actionPredicates.contains(t.getPredicate());
+    }
+
+    /**
+     * Builds the rule indexes, if they are not up to date.
+     */
+    private void indexRules() {
+        if (headIndex != null) {
+            return;
+        }
+        headIndex = new HashMap<Node, List<Rule>>();
+        actionPredicates = new HashSet<Node>();
+        ruleVariables = new HashMap<Rule, Integer>();
+        for (Rule rule : getRules()) {
+            if (rule.isBackward()) {
+                continue;
+            }
+            ruleVariables.put(rule, countVariables(rule));
+            boolean hasAction = false;
+            for (ClauseEntry clause : rule.getHead()) {
+                if (clause instanceof TriplePattern) {
+                    Node predicate = ((TriplePattern) clause).getPredicate();
+                    Node key = predicate.isVariable() ? Node.ANY : predicate;
+                    List<Rule> rules = headIndex.get(key);
+                    if (rules == null) {
+                        rules = new ArrayList<Rule>();
+                        headIndex.put(key, rules);
+                    }
+                    if (!rules.contains(rule)) {
+                        rules.add(rule);
+                    }
+                } else {
+                    hasAction = true;
+                }
+            }
+            if (hasAction) {
+                for (ClauseEntry clause : rule.getBody()) {
+                    if (clause instanceof TriplePattern) {
+                        Node predicate = ((TriplePattern) clause).getPredicate();
+                        actionPredicates.add(predicate.isVariable() ? Node.ANY : predicate);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the size of the binding environment that the rule needs.
+     */
+    private static int countVariables(Rule rule) {
+        int max = -1;
+        for (ClauseEntry clause : rule.getHead()) {
+            max = Math.max(max, maxIndex(clause));
+        }
+        for (ClauseEntry clause : rule.getBody()) {
+            max = Math.max(max, maxIndex(clause));
+        }
+        return Math.max(max + 1, rule.getNumVars());
+    }
+
+    private static int maxIndex(ClauseEntry clause) {
+        int max = -1;
+        if (clause instanceof TriplePattern) {
+            TriplePattern pattern = (TriplePattern) clause;
+            max = Math.max(max, maxIndex(pattern.getSubject()));
+            max = Math.max(max, maxIndex(pattern.getPredicate()));
+            max = Math.max(max, maxIndex(pattern.getObject()));
+        } else if (clause instanceof Functor) {
+            for (Node arg : ((Functor) clause).getArgs()) {
+                max = Math.max(max, maxIndex(arg));
+            }
+        }
+        return max;
+    }
+
+    private static int maxIndex(Node node) {
+        if (node instanceof Node_RuleVariable) {
+            return ((Node_RuleVariable) node).getIndex();
+        }
+        int max = -1;
+        if (Functor.isFunctor(node)) {
+            for (Node arg : ((Functor) node.getLiteralValue()).getArgs()) {
+                max = Math.max(max, maxIndex(arg));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * The context used for evaluating builtins during rederivation. Like the
+     * context of the backward engine, the additions go to the deductions graph
+     * and the removals are made through this graph.
+     */
+    private class MatchContext implements RuleContext {
+
+        private Rule rule;
+        private final BindingEnvironment env;
+
+        MatchContext(Rule rule, BindingEnvironment env) {
+            this.rule = rule;
+            this.env = env;
+        }
+
+        public BindingEnvironment getEnv() {
+            return env;
+        }
+
+        public InfGraph getGraph() {
+            return IncrementalRuleInfGraph.this;
+        }
+
+        public Rule getRule() {
+            return rule;
+        }
+
+        public void setRule(Rule rule) {
+            this.rule = rule;
+        }
+
+        public boolean contains(Triple t) {
+            return contains(t.getSubject(), t.getPredicate(), t.getObject());
+        }
+
+        public boolean contains(Node s, Node p, Node o) {
+            ClosableIterator<Triple> it = find(s, p, o);
+            try {
+                return it.hasNext();
+            } finally {
+                it.close();
+            }
+        }
+
+        public ClosableIterator<Triple> find(Node s, Node p, Node o) {
+            return findDataMatches(s, p, o);
+        }
+
+        public void silentAdd(Triple t) {
+            IncrementalRuleInfGraph.this.silentAdd(t);
+        }
+
+        public void add(Triple t) {
+            IncrementalRuleInfGraph.this.silentAdd(t);
+        }
+
+        public void remove(Triple t) {
+            IncrementalRuleInfGraph.this.delete(t);
+        }
+    }
+
+    /**
+     * Records the triples that the RETE network removes from the deductions
+     * graph.
+     */
+    private static class DeletionRecorder extends GraphListenerAdapter {
+
+        private final List<Triple> deleted = new ArrayList<Triple>();
+
+        List<Triple> getDeleted() {
+            return deleted;
+        }
+
+        @Override
+        protected void added(Triple t) {
+        }
+
+        @Override
+        protected void removed(Triple t) {
+            deleted.add(t);
+        }
+    }
+
+    /**
+     * Propagates the modifications of the base graph that have not been made
+     * through this graph.
+     */
+    private class BaseGraphListener extends GraphListenerAdapter {
+
+        @Override
+        protected void added(Triple t) {
+            baseTripleAdded(t);
+        }
+
+        @Override
+        protected void removed(Triple t) {
+            baseTripleRemoved(t);
+        }
+
+        @Override
+        public void notifyEvent(Graph source, Object value) {
+            //bulk removals (removeAll, remove(s, p, o)) are handled by re-materialization
+            if (value instanceof GraphEvents && "remove".equals(((GraphEvents) value).getTitle())
+                    || GraphEvents.removeAll.equals(value)) {
+                synchronized (IncrementalRuleInfGraph.this) {
+                    if (!updatingBase && isPrepared) {
+                        requestRematerialization();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A GraphListener that breaks every bulk notification into single triple
+     * notifications.
+     */
+    private abstract static class GraphListenerAdapter implements GraphListener {
+
+        protected abstract void added(Triple t);
+
+        protected abstract void removed(Triple t);
+
+        public void notifyAddTriple(Graph g, Triple t) {
+            added(t);
+        }
+
+        public void notifyAddArray(Graph g, Triple[] triples) {
+            for (Triple t : triples) {
+                added(t);
+            }
+        }
+
+        public void notifyAddList(Graph g, List<Triple> triples) {
+            for (Triple t : triples) {
+                added(t);
+            }
+        }
+
+        public void notifyAddIterator(Graph g, Iterator<Triple> it) {
+            while (it.hasNext()) {
+                added(it.next());
+            }
+        }
+
+        public void notifyAddGraph(Graph g, Graph added) {
+            notifyAddIterator(g, added.find(Node.ANY, Node.ANY, Node.ANY));
+        }
+
+        public void notifyDeleteTriple(Graph g, Triple t) {
+            removed(t);
+        }
+
+        public void notifyDeleteList(Graph g, List<Triple> triples) {
+            for (Triple t : triples) {
+                removed(t);
+            }
+        }
+
+        public void notifyDeleteArray(Graph g, Triple[] triples) {
+            for (Triple t : triples) {
+                removed(t);
+            }
+        }
+
+        public void notifyDeleteIterator(Graph g, Iterator<Triple> it) {
+            while (it.hasNext()) {
+                removed(it.next());
+            }
+        }
+
+        public void notifyDeleteGraph(Graph g, Graph removed) {
+            notifyDeleteIterator(g, removed.find(Node.ANY, Node.ANY, Node.ANY));
+        }
+
+        public void notifyEvent(Graph source, Object value) {
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package opensource.dlejena.incremental;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.reasoner.InfGraph;
+import com.hp.hpl.jena.reasoner.ReasonerException;
+import com.hp.hpl.jena.reasoner.rulesys.FBRuleReasoner;
+import com.hp.hpl.jena.reasoner.rulesys.Rule;
+import java.util.List;
+
+/**
+ * A forward-chaining rule reasoner that binds its data to an
+ * {@link IncrementalRuleInfGraph}. It behaves exactly as the Jena
+ * FBRuleReasoner, apart from the fact that ABox deletions (and changes made
+ * directly to the bound base graph) are propagated incrementally through the
+ * RETE network, instead of forcing a complete re-materialization of the
+ * deductions.
+ * <p>
+ * DLEJena uses this reasoner for ABox reasoning when the
+ * {@link opensource.dlejena.DLEJenaParameters#INCREMENTAL_ABOX_MAINTENANCE INCREMENTAL_ABOX_MAINTENANCE}
+ * parameter is enabled.
+ * </p>
+ */
+public class IncrementalRuleReasoner extends FBRuleReasoner {
+
+    /**
+     * The constructor.
+     *
+     * @param rules The forward-chaining rules of the reasoner.
+     */
+    public IncrementalRuleReasoner(List<Rule> rules) {
+        super(rules);
+    }
+
+    /**
+     * Attaches the reasoner to a set of RDF data. The returned graph maintains
+     * its deductions incrementally.
+     *
+     * @param data The RDF data to reason over.
+     * @return An IncrementalRuleInfGraph over the data.
+     * @throws ReasonerException
+     */
+    @Override
+    public InfGraph bind(Graph data) throws ReasonerException {
+        IncrementalRuleInfGraph graph = new IncrementalRuleInfGraph(this, rules, getPreload());
+        graph.setDerivationLogging(recordDerivations);
+        graph.setTraceOn(isTraceOn());
+        graph.rebind(data);
+        return graph;
+    }
+}
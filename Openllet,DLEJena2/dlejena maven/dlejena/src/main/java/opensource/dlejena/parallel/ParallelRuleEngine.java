@@ -0,0 +1,410 @@
+package opensource.dlejena.parallel;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.graph.compose.Union;
+import com.hp.hpl.jena.reasoner.Derivation;
+import com.hp.hpl.jena.reasoner.Finder;
+import com.hp.hpl.jena.reasoner.rulesys.ForwardRuleInfGraphI;
+import com.hp.hpl.jena.reasoner.rulesys.Rule;
+import com.hp.hpl.jena.reasoner.rulesys.impl.FRuleEngineI;
+import com.hp.hpl.jena.util.iterator.ExtendedIterator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A forward rule engine that materializes the deductions of a rule set in
+ * parallel. The rules are split into strata by the {@link RuleStratifier}. The
+ * independent components of every stratum are distributed over a number of
+ * partitions, each one with its own RETE network, and the partitions of a
+ * stratum are prepared concurrently on a fork-join pool over a shared,
+ * read-only view of the data and of the deductions of the previous strata.
+ * When all the partitions of a stratum have finished, their deductions are
+ * moved into the deductions graph of the inference graph, before the next
+ * stratum starts. From then on, the partitions add their deductions directly
+ * to the deductions graph of the inference graph, so the deductions are held
+ * only once.
+ * <p>
+ * The global rules (rules with variable predicates, e.g. the sameAs
+ * replacement rules, or with head actions) are executed after the last
+ * stratum. Their deductions, as well as any triple added afterwards, are
+ * propagated incrementally to the partitions that consume them, until no new
+ * triple is derived.
+ * </p>
+ */
+public class ParallelRuleEngine implements FRuleEngineI {
+
+    /**
+     * The inference graph that receives the deductions.
+     */
+    private final ForwardRuleInfGraphI infGraph;
+
+    /**
+     * The rules of the engine.
+     */
+    private final List<Rule> rules;
+
+    /**
+     * The maximum number of partitions that are prepared concurrently.
+     */
+    private final int parallelism;
+
+    /**
+     * The partitions of all the strata.
+     */
+    private final List<PartitionInfGraph> partitions = new ArrayList<PartitionInfGraph>();
+
+    /**
+     * The partitions that consume the triples of each key.
+     */
+    private final Map<Triple, List<PartitionInfGraph>> consumers = new HashMap<Triple, List<PartitionInfGraph>>();
+
+    /**
+     * The partitions that consume any triple.
+     */
+    private final List<PartitionInfGraph> globalConsumers = new ArrayList<PartitionInfGraph>();
+
+    /**
+     * The new deductions that have to be propagated to the partitions that
+     * consume them.
+     */
+    private final Deque<Deduction> agenda = new ArrayDeque<Deduction>();
+
+    /**
+     * The pool that prepares the partitions of a stratum, created on the first
+     * stratum with more than one partition and reused by every
+     * materialization. Its worker threads are daemon threads that terminate
+     * when they remain idle.
+     */
+    private ForkJoinPool pool;
+
+    private boolean derivationLogging = false;
+
+    /**
+     * The constructor.
+     *
+     * @param infGraph The inference graph that receives the deductions.
+     * @param rules The forward rules.
+     * @param parallelism The maximum number of partitions that are prepared
+     * concurrently.
+     */
+    public ParallelRuleEngine(ForwardRuleInfGraphI infGraph, List<Rule> rules, int parallelism) {
+        this.infGraph = infGraph;
+        this.rules = rules;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Materializes the deductions of the rules over the data of the inference
+     * graph.
+     *
+     * @param ignoreBrules Set to true if the backward rules should be ignored.
+     * @param inserts The data of the inference graph. The partitions read the
+     * raw data and the deductions graph of the inference graph directly.
+     */
+    public void init(boolean ignoreBrules, Finder inserts) {
+        partitions.clear();
+        consumers.clear();
+        globalConsumers.clear();
+
+        List<Rule> forward = new ArrayList<Rule>();
+        for (Rule rule : rules) {
+            if (!(ignoreBrules && rule.isBackward())) {
+                forward.add(rule);
+            }
+        }
+        RuleStratifier stratifier = new RuleStratifier(forward);
+        Graph data = new Union(infGraph.getRawGraph(), infGraph.getCurrentDeductionsGraph());
+
+        for (List<List<Rule>> stratum : stratifier.getStrata()) {
+            List<PartitionInfGraph> stratumPartitions = partition(stratum, data);
+            prepare(stratumPartitions);
+            for (PartitionInfGraph partition : stratumPartitions) {
+                merge(partition, false);
+            }
+        }
+
+        if (!stratifier.getGlobalRules().isEmpty()) {
+            PartitionInfGraph global = createPartition(stratifier.getGlobalRules(), null, data);
+            global.prepare();
+            merge(global, true);
+            propagate();
+        }
+    }
+
+    /**
+     * Materializes the deductions of the rules over the data of the inference
+     * graph. The partitions do not preserve any state between the
+     * materializations, so this is the same as {@link #init(boolean, Finder)}.
+     *
+     * @param inserts The data of the inference graph.
+     */
+    public void fastInit(Finder inserts) {
+        init(true, inserts);
+    }
+
+    /**
+     * Propagates a triple that has been added to the inference graph to the
+     * partitions that consume it.
+     *
+     * @param t The new triple.
+     */
+    public synchronized void add(Triple t) {
+        if (infGraph.getCurrentDeductionsGraph().contains(t)) {
+            //an existing deduction has already been propagated
+            return;
+        }
+        agenda.add(new Deduction(t, null));
+        propagate();
+    }
+
+    /**
+     * Deletions are not propagated by this engine. The FBRuleInfGraph
+     * re-materializes its deductions after any deletion.
+     *
+     * @param t The deleted triple.
+     * @return Always false.
+     */
+    public boolean delete(Triple t) {
+        return false;
+    }
+
+    public long getNRulesFired() {
+        long fired = 0;
+        for (PartitionInfGraph partition : partitions) {
+            fired += partition.getNRulesFired();
+        }
+        return fired;
+    }
+
+    public boolean shouldTrace() {
+        return infGraph.shouldTrace();
+    }
+
+    public void setDerivationLogging(boolean recordDerivations) {
+        derivationLogging = recordDerivations;
+        for (PartitionInfGraph partition : partitions) {
+            partition.setDerivationLogging(recordDerivations);
+        }
+    }
+
+    /**
+     * The partitions compile their own rules, so there is no shared rule
+     * store.
+     *
+     * @return Always null.
+     */
+    public Object getRuleStore() {
+        return null;
+    }
+
+    public void setRuleStore(Object ruleStore) {
+    }
+
+    /**
+     * Distributes the components of a stratum over at most parallelism
+     * partitions, assigning the largest components first to the least loaded
+     * partition.
+     */
+    private List<PartitionInfGraph> partition(List<List<Rule>> components, Graph data) {
+        List<List<Rule>> sorted = new ArrayList<List<Rule>>(components);
+        Collections.sort(sorted, new Comparator<List<Rule>>() {
+            public int compare(List<Rule> c1, List<Rule> c2) {
+                return c2.size() - c1.size();
+            }
+        });
+        int count = Math.min(parallelism, sorted.size());
+        List<List<Rule>> buckets = new ArrayList<List<Rule>>(count);
+        for (int i = 0; i < count; i++) {
+            buckets.add(new ArrayList<Rule>());
+        }
+        for (List<Rule> component : sorted) {
+            List<Rule> smallest = buckets.get(0);
+            for (List<Rule> bucket : buckets) {
+                if (bucket.size() < smallest.size()) {
+                    smallest = bucket;
+                }
+            }
+            smallest.addAll(component);
+        }
+
+        List<PartitionInfGraph> result = new ArrayList<PartitionInfGraph>(count);
+        for (List<Rule> bucket : buckets) {
+            Set<Triple> keys = new HashSet<Triple>();
+            for (Rule rule : bucket) {
+                keys.addAll(RuleStratifier.bodyKeys(rule));
+            }
+            result.add(createPartition(bucket, keys, data));
+        }
+        return result;
+    }
+
+    private PartitionInfGraph createPartition(List<Rule> partitionRules, Set<Triple> keys, Graph data) {
+        PartitionInfGraph partition = new PartitionInfGraph(infGraph, partitionRules, keys, data);
+        partition.setDerivationLogging(derivationLogging);
+        partition.setTraceOn(infGraph.shouldTrace());
+        partitions.add(partition);
+        if (keys == null) {
+            globalConsumers.add(partition);
+        } else {
+            for (Triple key : keys) {
+                List<PartitionInfGraph> list = consumers.get(key);
+                if (list == null) {
+                    list = new ArrayList<PartitionInfGraph>();
+                    consumers.put(key, list);
+                }
+                list.add(partition);
+            }
+        }
+        return partition;
+    }
+
+    /**
+     * Prepares the partitions of a stratum concurrently.
+     */
+    private void prepare(List<PartitionInfGraph> stratumPartitions) {
+        if (stratumPartitions.size() == 1) {
+            stratumPartitions.get(0).prepare();
+            return;
+        }
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+        for (PartitionInfGraph partition : stratumPartitions) {
+            tasks.add(pool.submit(new PrepareTask(partition)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    /**
+     * Moves the deductions that a partition has made while it was prepared to
+     * the deductions graph of the inference graph. Afterwards, the partition
+     * passes its deductions directly to {@link #deduced(PartitionInfGraph, Triple)}.
+     *
+     * @param propagate Set to true if the triples that are new to the
+     * inference graph should be propagated to the other partitions.
+     */
+    private void merge(PartitionInfGraph partition, boolean propagate) {
+        Graph deductions = infGraph.getCurrentDeductionsGraph();
+        Graph raw = infGraph.getRawGraph();
+        ExtendedIterator<Triple> it = partition.listDeductions();
+        try {
+            while (it.hasNext()) {
+                Triple t = it.next();
+                if (deductions.contains(t) || raw.contains(t)) {
+                    continue;
+                }
+                addDeduction(partition, t);
+                if (propagate) {
+                    agenda.add(new Deduction(t, partition));
+                }
+            }
+        } finally {
+            it.close();
+        }
+        partition.clearDeductions();
+        partition.streamTo(this);
+    }
+
+    /**
+     * Receives a deduction of a partition that has already been prepared. The
+     * partition has already passed the triple through its own RETE network, so
+     * it is propagated only to the other partitions.
+     *
+     * @param partition The partition that made the deduction.
+     * @param t The deduction.
+     */
+    void deduced(PartitionInfGraph partition, Triple t) {
+        if (infGraph.getCurrentDeductionsGraph().contains(t) || infGraph.getRawGraph().contains(t)) {
+            return;
+        }
+        addDeduction(partition, t);
+        agenda.add(new Deduction(t, partition));
+    }
+
+    private void addDeduction(PartitionInfGraph partition, Triple t) {
+        infGraph.addDeduction(t);
+        if (infGraph.shouldLogDerivations()) {
+            Iterator<Derivation> derivations = partition.getDerivation(t);
+            while (derivations != null && derivations.hasNext()) {
+                infGraph.logDerivation(t, derivations.next());
+            }
+        }
+    }
+
+    /**
+     * Passes every triple of the agenda to the partitions that consume it,
+     * until no new triple is derived.
+     */
+    private void propagate() {
+        while (!agenda.isEmpty()) {
+            Deduction deduction = agenda.poll();
+            for (PartitionInfGraph partition : consumersOf(deduction.triple)) {
+                if (partition != deduction.partition) {
+                    partition.propagate(deduction.triple);
+                }
+            }
+        }
+    }
+
+    private Set<PartitionInfGraph> consumersOf(Triple t) {
+        Set<PartitionInfGraph> result = new LinkedHashSet<PartitionInfGraph>(globalConsumers);
+        for (Triple key : RuleStratifier.keysOf(t)) {
+            List<PartitionInfGraph> list = consumers.get(key);
+            if (list != null) {
+                result.addAll(list);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A new triple of the inference graph and the partition that derived it,
+     * if any.
+     */
+    private static class Deduction {
+
+        private final Triple triple;
+        private final PartitionInfGraph partition;
+
+        Deduction(Triple triple, PartitionInfGraph partition) {
+            this.triple = triple;
+            this.partition = partition;
+        }
+    }
+
+    /**
+     * Prepares (materializes) a single partition.
+     */
+    private static class PrepareTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PartitionInfGraph partition;
+
+        PrepareTask(PartitionInfGraph partition) {
+            this.partition = partition;
+        }
+
+        @Override
+        protected void compute() {
+            partition.prepare();
+        }
+    }
+}
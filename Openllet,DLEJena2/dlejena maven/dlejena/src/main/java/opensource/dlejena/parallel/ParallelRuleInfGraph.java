@@ -0,0 +1,34 @@
+package opensource.dlejena.parallel;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.reasoner.rulesys.FBRuleInfGraph;
+import com.hp.hpl.jena.reasoner.rulesys.Rule;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An FBRuleInfGraph whose forward deductions are materialized by a
+ * {@link ParallelRuleEngine}, instead of a single RETE network. Queries,
+ * backward rules, validation and incremental additions behave exactly as in
+ * the Jena FBRuleInfGraph, whereas a deletion forces the re-materialization of
+ * the deductions on the next query, as usual.
+ */
+public class ParallelRuleInfGraph extends FBRuleInfGraph {
+
+    /**
+     * The constructor.
+     *
+     * @param reasoner The reasoner that created the graph.
+     * @param rules The rules of the graph.
+     * @param schema The (optional) schema graph to be included.
+     */
+    public ParallelRuleInfGraph(ParallelRuleReasoner reasoner, List<Rule> rules, Graph schema) {
+        super(reasoner, rules, schema);
+    }
+
+    @Override
+    protected void instantiateRuleEngine(List<Rule> rules) {
+        int parallelism = ((ParallelRuleReasoner) getReasoner()).getParallelism();
+        engine = new ParallelRuleEngine(this, rules == null ? new ArrayList<Rule>() : rules, parallelism);
+    }
+}
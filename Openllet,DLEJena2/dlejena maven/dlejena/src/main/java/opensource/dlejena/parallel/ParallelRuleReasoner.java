@@ -0,0 +1,63 @@
+package opensource.dlejena.parallel;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.reasoner.InfGraph;
+import com.hp.hpl.jena.reasoner.ReasonerException;
+import com.hp.hpl.jena.reasoner.rulesys.FBRuleReasoner;
+import com.hp.hpl.jena.reasoner.rulesys.Rule;
+import java.util.List;
+
+/**
+ * A forward-chaining rule reasoner that binds its data to a
+ * {@link ParallelRuleInfGraph}. It behaves exactly as the Jena FBRuleReasoner,
+ * apart from the fact that the forward deductions are materialized in parallel
+ * by a {@link ParallelRuleEngine}.
+ * <p>
+ * DLEJena uses this reasoner for ABox reasoning when the
+ * {@link opensource.dlejena.DLEJenaParameters#PARALLEL_ABOX_REASONING PARALLEL_ABOX_REASONING}
+ * parameter is enabled.
+ * </p>
+ */
+public class ParallelRuleReasoner extends FBRuleReasoner {
+
+    private final int parallelism;
+
+    /**
+     * The constructor.
+     *
+     * @param rules The forward-chaining rules of the reasoner.
+     * @param parallelism The maximum number of rule partitions that are
+     * materialized concurrently.
+     */
+    public ParallelRuleReasoner(List<Rule> rules, int parallelism) {
+        super(rules);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the maximum number of rule partitions that are materialized
+     * concurrently.
+     *
+     * @return The parallelism of the reasoner.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Attaches the reasoner to a set of RDF data. The deductions of the
+     * returned graph are materialized in parallel.
+     *
+     * @param data The RDF data to reason over.
+     * @return A ParallelRuleInfGraph over the data.
+     * @throws ReasonerException
+     */
+    @Override
+    public InfGraph bind(Graph data) throws ReasonerException {
+        ParallelRuleInfGraph graph = new ParallelRuleInfGraph(this, rules, getPreload());
+        graph.setDerivationLogging(recordDerivations);
+        graph.setTraceOn(isTraceOn());
+        graph.rebind(data);
+        return graph;
+    }
+}
@@ -0,0 +1,136 @@
+package opensource.dlejena.parallel;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.reasoner.Reasoner;
+import com.hp.hpl.jena.reasoner.rulesys.FBRuleInfGraph;
+import com.hp.hpl.jena.reasoner.rulesys.ForwardRuleInfGraphI;
+import com.hp.hpl.jena.reasoner.rulesys.Rule;
+import com.hp.hpl.jena.util.iterator.ExtendedIterator;
+import com.hp.hpl.jena.util.iterator.NullIterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The rule graph of a single partition of a {@link ParallelRuleEngine}. A
+ * partition holds a subset of the rules of a stratum and reads the (shared)
+ * data and deductions of the parallel graph. While the partitions of a stratum
+ * are prepared concurrently, each one records its deductions in its own graph,
+ * until they are moved to the deductions of the parallel graph. Afterwards, the
+ * deductions are passed directly to the engine.
+ */
+class PartitionInfGraph extends FBRuleInfGraph {
+
+    /**
+     * The parallel graph the partition belongs to.
+     */
+    private final ForwardRuleInfGraphI owner;
+
+    /**
+     * The body keys of the partition rules, or null if the partition consumes
+     * any triple.
+     */
+    private final Set<Triple> keys;
+
+    /**
+     * The engine that receives the deductions, once the partition has been
+     * prepared and its own deductions have been moved.
+     */
+    private ParallelRuleEngine sink;
+
+    /**
+     * The constructor.
+     *
+     * @param owner The parallel graph the partition belongs to.
+     * @param rules The rules of the partition.
+     * @param keys The body keys of the rules, or null for a global partition.
+     * @param data The shared view over the data and the deductions of the
+     * parallel graph.
+     */
+    PartitionInfGraph(ForwardRuleInfGraphI owner, List<Rule> rules, Set<Triple> keys, Graph data) {
+        super(owner.getReasoner(), rules, null);
+        this.owner = owner;
+        this.keys = keys;
+        rebind(data);
+    }
+
+    /**
+     * Returns the body keys of the partition rules.
+     *
+     * @return The keys, or null if the partition consumes any triple.
+     */
+    Set<Triple> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Passes a triple that is new to the parallel graph to the RETE network of
+     * the partition. The triple is already visible through the shared data
+     * view, so it is not added to the data of the partition.
+     *
+     * @param t The new triple.
+     */
+    void propagate(Triple t) {
+        engine.add(t);
+        bEngine.reset();
+    }
+
+    /**
+     * Returns the deductions the partition has recorded in its own graph.
+     *
+     * @return The recorded deductions.
+     */
+    ExtendedIterator<Triple> listDeductions() {
+        if (fdeductions == null) {
+            return NullIterator.instance();
+        }
+        return fdeductions.getGraph().find(Node.ANY, Node.ANY, Node.ANY);
+    }
+
+    /**
+     * Removes the deductions the partition has recorded in its own graph, once
+     * they have been moved to the deductions of the parallel graph.
+     */
+    void clearDeductions() {
+        if (fdeductions != null) {
+            fdeductions.getGraph().getBulkUpdateHandler().removeAll();
+        }
+    }
+
+    /**
+     * Passes the following deductions directly to the engine, which adds them
+     * to the deductions of the parallel graph. The deductions are visible to
+     * the partition through the shared data view, so they are not recorded
+     * again.
+     *
+     * @param engine The engine.
+     */
+    void streamTo(ParallelRuleEngine engine) {
+        sink = engine;
+    }
+
+    @Override
+    public void addDeduction(Triple t) {
+        if (sink == null) {
+            super.addDeduction(t);
+        } else {
+            sink.deduced(this, t);
+        }
+    }
+
+    /**
+     * Backward rules that are produced by hybrid rules are registered to the
+     * parallel graph, which answers the queries. Hybrid rules are global, so
+     * they are always executed by the thread that owns the parallel graph.
+     */
+    @Override
+    public void addBRule(Rule brule) {
+        owner.addBRule(brule);
+    }
+
+    @Override
+    public void deleteBRule(Rule brule) {
+        owner.deleteBRule(brule);
+    }
+}
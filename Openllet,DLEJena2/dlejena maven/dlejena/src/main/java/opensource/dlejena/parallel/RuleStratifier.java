@@ -0,0 +1,378 @@
+package opensource.dlejena.parallel;
+
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.reasoner.TriplePattern;
+import com.hp.hpl.jena.reasoner.rulesys.Builtin;
+import com.hp.hpl.jena.reasoner.rulesys.ClauseEntry;
+import com.hp.hpl.jena.reasoner.rulesys.Functor;
+import com.hp.hpl.jena.reasoner.rulesys.Rule;
+import com.hp.hpl.jena.vocabulary.RDF;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits a set of forward rules into strata, according to the triples their
+ * bodies consume and the triples their heads produce. Every triple pattern is
+ * summarized by a <i>key</i>: its predicate and, for rdf:type patterns with a
+ * named class, the class itself (so that the rules of the different class
+ * hierarchies do not depend on each other just because they all use
+ * rdf:type).
+ * <p>
+ * A rule depends on another rule if a head key of the latter may match a body
+ * key of the former. The strongly connected components of this dependency
+ * graph are the components of the rule set, and every component is assigned to
+ * the stratum that follows the strata of all the components it depends on.
+ * Therefore, the components of a stratum are independent of each other and
+ * depend only on the components of the previous strata.
+ * </p>
+ * <p>
+ * Rules whose keys cannot be determined statically (a variable predicate in
+ * the body or in the head, or head actions such as builtins and backward rules)
+ * may depend on, and feed, any other rule. These rules are not stratified, but
+ * they are returned separately as the global rules.
+ * </p>
+ * <p>
+ * The non-monotonic body clauses (e.g. noValue) are negative dependencies: a
+ * rule that checks for the absence of a key must not run before the rules that
+ * produce this key have finished, so it depends on them like on any body key.
+ * If the key may be produced by a global rule, which runs after the last
+ * stratum, the rule becomes global too.
+ * </p>
+ */
+class RuleStratifier {
+
+    /**
+     * The components of each stratum.
+     */
+    private final List<List<List<Rule>>> strata = new ArrayList<List<List<Rule>>>();
+
+    /**
+     * The rules that cannot be stratified.
+     */
+    private final List<Rule> globalRules = new ArrayList<Rule>();
+
+    /**
+     * The constructor.
+     *
+     * @param rules The forward rules to be stratified.
+     */
+    RuleStratifier(List<Rule> rules) {
+        List<Rule> stratified = new ArrayList<Rule>();
+        for (Rule rule : rules) {
+            if (isGlobal(rule)) {
+                globalRules.add(rule);
+            } else {
+                stratified.add(rule);
+            }
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Iterator<Rule> it = stratified.iterator(); it.hasNext();) {
+                Rule rule = it.next();
+                if (negatesGlobalHead(rule)) {
+                    it.remove();
+                    globalRules.add(rule);
+                    changed = true;
+                }
+            }
+        }
+        stratify(stratified);
+    }
+
+    /**
+     * Returns the strata of the rules in evaluation order.
+     *
+     * @return The components of each stratum.
+     */
+    List<List<List<Rule>>> getStrata() {
+        return strata;
+    }
+
+    /**
+     * Returns the rules that may depend on, and feed, any other rule.
+     *
+     * @return The global rules.
+     */
+    List<Rule> getGlobalRules() {
+        return globalRules;
+    }
+
+    /**
+     * Returns the keys of the body triple patterns of a rule.
+     *
+     * @param rule A rule that is not global.
+     * @return The body keys of the rule.
+     */
+    static Set<Triple> bodyKeys(Rule rule) {
+        Set<Triple> keys = new HashSet<Triple>();
+        for (ClauseEntry clause : rule.getBody()) {
+            if (clause instanceof TriplePattern) {
+                keys.add(key((TriplePattern) clause));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the keys whose absence is checked by the non-monotonic body
+     * clauses of a rule.
+     *
+     * @param rule A rule that is not global.
+     * @return The negative keys of the rule.
+     */
+    static Set<Triple> negativeKeys(Rule rule) {
+        Set<Triple> keys = new HashSet<Triple>();
+        for (ClauseEntry clause : rule.getBody()) {
+            if (isNonMonotonic(clause)) {
+                Node[] args = ((Functor) clause).getArgs();
+                keys.add(key(args[1], args.length > 2 ? args[2] : Node.ANY));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the keys that a triple matches.
+     *
+     * @param t The triple.
+     * @return The generic key of the predicate of the triple and, for rdf:type
+     * triples, the key of the class.
+     */
+    static List<Triple> keysOf(Triple t) {
+        List<Triple> keys = new ArrayList<Triple>(2);
+        keys.add(key(t.getPredicate(), Node.ANY));
+        if (isTypeKey(t.getPredicate(), t.getObject())) {
+            keys.add(key(t.getPredicate(), t.getObject()));
+        }
+        return keys;
+    }
+
+    private static Triple key(TriplePattern pattern) {
+        return key(pattern.getPredicate(), pattern.getObject());
+    }
+
+    private static Triple key(Node predicate, Node object) {
+        if (!isTypeKey(predicate, object)) {
+            object = Node.ANY;
+        }
+        return Triple.create(Node.ANY, predicate, object);
+    }
+
+    private static boolean isTypeKey(Node predicate, Node object) {
+        return predicate.equals(RDF.Nodes.type) && object.isURI();
+    }
+
+    /**
+     * Checks whether the keys of a rule cannot be determined statically.
+     */
+    private static boolean isGlobal(Rule rule) {
+        if (rule.isBackward()) {
+            return true;
+        }
+        for (ClauseEntry clause : rule.getBody()) {
+            if (clause instanceof TriplePattern && !((TriplePattern) clause).getPredicate().isConcrete()) {
+                return true;
+            }
+            if (isNonMonotonic(clause)) {
+                Node[] args = ((Functor) clause).getArgs();
+                if (args.length < 2 || !args[1].isConcrete()) {
+                    return true;
+                }
+            }
+        }
+        for (ClauseEntry clause : rule.getHead()) {
+            if (!(clause instanceof TriplePattern) || !((TriplePattern) clause).getPredicate().isConcrete()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a body clause is a builtin whose result may change when
+     * new triples are added (e.g. noValue). Unknown builtins are considered
+     * non-monotonic.
+     */
+    private static boolean isNonMonotonic(ClauseEntry clause) {
+        if (!(clause instanceof Functor)) {
+            return false;
+        }
+        Builtin builtin = ((Functor) clause).getImplementor();
+        return builtin == null || !builtin.isMonotonic();
+    }
+
+    /**
+     * Checks whether a negative key of a rule may be produced by a global
+     * rule.
+     */
+    private boolean negatesGlobalHead(Rule rule) {
+        Set<Triple> negative = negativeKeys(rule);
+        if (negative.isEmpty()) {
+            return false;
+        }
+        for (Rule global : globalRules) {
+            for (ClauseEntry clause : global.getHead()) {
+                if (!(clause instanceof TriplePattern) || !((TriplePattern) clause).getPredicate().isConcrete()) {
+                    return true;
+                }
+                Triple head = key((TriplePattern) clause);
+                for (Triple key : negative) {
+                    if (head.getPredicate().equals(key.getPredicate())
+                            && (head.getObject().equals(Node.ANY) || key.getObject().equals(Node.ANY)
+                            || head.getObject().equals(key.getObject()))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the strongly connected components of the rule dependency graph
+     * (using the Tarjan algorithm) and assigns them to strata.
+     */
+    private void stratify(List<Rule> rules) {
+        int size = rules.size();
+        List<List<Integer>> edges = dependencies(rules);
+
+        //iterative Tarjan, since the dependency chains may be arbitrarily long
+        int[] index = new int[size];
+        int[] low = new int[size];
+        int[] component = new int[size];
+        boolean[] onStack = new boolean[size];
+        int[] stack = new int[size];
+        int[] callStack = new int[size];
+        int[] nextEdge = new int[size];
+        int stackSize = 0;
+        int counter = 0;
+        List<List<Integer>> components = new ArrayList<List<Integer>>();
+        for (int i = 0; i < size; i++) {
+            index[i] = -1;
+        }
+        for (int root = 0; root < size; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                List<Integer> out = edges.get(v);
+                if (nextEdge[v] < out.size()) {
+                    int w = out.get(nextEdge[v]++);
+                    if (index[w] == -1) {
+                        index[w] = low[w] = counter++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[depth++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+                if (low[v] == index[v]) {
+                    List<Integer> members = new ArrayList<Integer>();
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        component[w] = components.size();
+                        members.add(w);
+                    } while (w != v);
+                    components.add(members);
+                }
+            }
+        }
+
+        //Tarjan returns the components in reverse topological order
+        int[] level = new int[components.size()];
+        int height = 0;
+        for (int c = components.size() - 1; c >= 0; c--) {
+            for (int v : components.get(c)) {
+                for (int w : edges.get(v)) {
+                    if (component[w] != c) {
+                        level[component[w]] = Math.max(level[component[w]], level[c] + 1);
+                    }
+                }
+            }
+            height = Math.max(height, level[c] + 1);
+        }
+        for (int i = 0; i < height; i++) {
+            strata.add(new ArrayList<List<Rule>>());
+        }
+        for (int c = components.size() - 1; c >= 0; c--) {
+            List<Rule> members = new ArrayList<Rule>();
+            for (int v : components.get(c)) {
+                members.add(rules.get(v));
+            }
+            strata.get(level[c]).add(members);
+        }
+    }
+
+    /**
+     * Computes the rules that consume, or check the absence of, the triples
+     * produced by each rule.
+     */
+    private static List<List<Integer>> dependencies(List<Rule> rules) {
+        Map<Triple, Set<Integer>> byKey = new HashMap<Triple, Set<Integer>>();
+        Map<Node, Set<Integer>> byPredicate = new HashMap<Node, Set<Integer>>();
+        for (int i = 0; i < rules.size(); i++) {
+            for (Triple key : bodyKeys(rules.get(i))) {
+                index(byKey, key, i);
+                index(byPredicate, key.getPredicate(), i);
+            }
+            for (Triple key : negativeKeys(rules.get(i))) {
+                index(byKey, key, i);
+                index(byPredicate, key.getPredicate(), i);
+            }
+        }
+
+        List<List<Integer>> edges = new ArrayList<List<Integer>>(rules.size());
+        for (Rule rule : rules) {
+            Set<Integer> consumers = new HashSet<Integer>();
+            for (ClauseEntry clause : rule.getHead()) {
+                Triple key = key((TriplePattern) clause);
+                if (key.getObject().equals(Node.ANY)) {
+                    //a variable class may match the key of any class
+                    addAll(consumers, byPredicate.get(key.getPredicate()));
+                } else {
+                    addAll(consumers, byKey.get(key));
+                    addAll(consumers, byKey.get(key(key.getPredicate(), Node.ANY)));
+                }
+            }
+            edges.add(new ArrayList<Integer>(consumers));
+        }
+        return edges;
+    }
+
+    private static <K> void index(Map<K, Set<Integer>> map, K key, int rule) {
+        Set<Integer> rules = map.get(key);
+        if (rules == null) {
+            rules = new HashSet<Integer>();
+            map.put(key, rules);
+        }
+        rules.add(rule);
+    }
+
+    private static void addAll(Set<Integer> target, Set<Integer> source) {
+        if (source != null) {
+            target.addAll(source);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package opensource.dlejena.utils;
 
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
 import com.hp.hpl.jena.ontology.OntModel;
 import com.hp.hpl.jena.ontology.OntModelSpec;
+import com.hp.hpl.jena.rdf.model.Model;
 import com.hp.hpl.jena.rdf.model.ModelFactory;
 import com.hp.hpl.jena.rdf.model.RDFNode;
 import com.hp.hpl.jena.rdf.model.SimpleSelector;
@@ -11,6 +15,7 @@ import com.hp.hpl.jena.vocabulary.OWL;
 import com.hp.hpl.jena.vocabulary.RDF;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -93,6 +98,58 @@ public class OntologyManager {
         }
     }
 
+    /**
+     * Separates the TBox from the ABox triples of the ontologies while they are
+     * parsed, without loading them through the OWLAPI. Every triple is added
+     * directly to the TBox or to the ABox graph, so no intermediate copy of the
+     * ontologies is kept in memory. The triples are separated according to
+     * their RDF, RDFS and OWL vocabulary, rather than to the OWLAPI axiom
+     * types. The imported ontologies are also loaded. The syntax of every
+     * document is determined by its extension: .nt for N-Triples, .ttl for
+     * Turtle, .n3 for N3 and RDF/XML otherwise.
+     *
+     * @param ontologies The list of the ontology URIs.
+     * @param tbox The graph that receives the TBox triples.
+     * @param abox The graph that receives the ABox triples.
+     */
+    public static void separate(List<IRI> ontologies, Graph tbox, Graph abox) {
+        tbox.add(new Triple(Node.createURI(DLEJenaParameters.TBOX_ONTOLOGY_BASE_URI), RDF.type.asNode(), OWL.Ontology.asNode()));
+        abox.add(new Triple(Node.createURI(DLEJenaParameters.ABOX_ONTOLOGY_BASE_URI), RDF.type.asNode(), OWL.Ontology.asNode()));
+        SeparatingGraph separator = new SeparatingGraph(tbox, abox);
+        Model model = ModelFactory.createModelForGraph(separator);
+
+        List<String> documents = new ArrayList<String>();
+        for (IRI ont : ontologies) {
+            documents.add(ont.toString());
+        }
+        Set<String> loaded = new HashSet<String>();
+        for (int i = 0; i < documents.size(); i++) {
+            String document = documents.get(i);
+            if (!loaded.add(document)) {
+                continue;
+            }
+            model.read(document, syntaxOf(document));
+            for (String imported : separator.getImports()) {
+                if (!documents.contains(imported)) {
+                    documents.add(imported);
+                }
+            }
+        }
+        separator.finish();
+    }
+
+    private static String syntaxOf(String document) {
+        String lower = document.toLowerCase();
+        if (lower.endsWith(".nt")) {
+            return "N-TRIPLE";
+        } else if (lower.endsWith(".ttl")) {
+            return "TURTLE";
+        } else if (lower.endsWith(".n3")) {
+            return "N3";
+        }
+        return "RDF/XML";
+    }
+
     /**
      * Returns the TBox of the ontology in the form of a Jena OntModel
      *
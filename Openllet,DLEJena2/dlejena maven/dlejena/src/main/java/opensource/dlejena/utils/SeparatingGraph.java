@@ -0,0 +1,393 @@
+package opensource.dlejena.utils;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.graph.TripleMatch;
+import com.hp.hpl.jena.graph.impl.GraphBase;
+import com.hp.hpl.jena.util.iterator.ExtendedIterator;
+import com.hp.hpl.jena.util.iterator.NullIterator;
+import com.hp.hpl.jena.vocabulary.OWL2;
+import com.hp.hpl.jena.vocabulary.RDF;
+import com.hp.hpl.jena.vocabulary.RDFS;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A write-only graph that separates the triples that are added to it into a
+ * TBox and an ABox graph, as soon as they are parsed. The separation is based
+ * on the RDF vocabulary of the triples, rather than on the OWLAPI axioms, but
+ * it gives the same TBox and ABox as the OWLAPI rendering of the axioms:
+ * <ul>
+ * <li>rdf:type triples are TBox triples if their object is an RDF, RDFS or OWL
+ * term that declares a class, a property, a datatype or a TBox axiom. Any
+ * other type, including the unknown terms of these vocabularies (e.g.
+ * owl:Datatype), is an ABox type, as for the OWLAPI.</li>
+ * <li>Triples with an RDF, RDFS or OWL predicate are TBox triples, apart from
+ * owl:sameAs, owl:differentFrom and the negative property assertion
+ * predicates. Every owl:differentFrom triple is written as an owl:AllDifferent
+ * axiom with two members.</li>
+ * <li>The rest of the triples are ABox triples, apart from the triples whose
+ * predicate is declared as an owl:AnnotationProperty.</li>
+ * <li>The ontology headers are dropped. The legacy owl:propertyChain syntax
+ * is written as an owl:propertyChainAxiom and the cardinality restrictions
+ * with an owl:onClass or owl:onDataRange are written as qualified cardinality
+ * restrictions.</li>
+ * </ul>
+ * Every named individual of the ABox, as well as every named individual that
+ * is referred to by a TBox axiom (owl:hasValue and owl:oneOf), is declared as
+ * an owl:NamedIndividual in the respective graph. The RDF lists and the
+ * owl:members/owl:distinctMembers triples are kept until {@link #finish()} is
+ * called, since they belong to the ABox only if they describe an
+ * owl:AllDifferent axiom.
+ */
+class SeparatingGraph extends GraphBase {
+
+    private static final String RDF_NS = RDF.getURI();
+    private static final String RDFS_NS = RDFS.getURI();
+    private static final String OWL_NS = OWL2.getURI();
+
+    /**
+     * The legacy property chain predicate, which is not part of OWL 2.
+     */
+    private static final Node PROPERTY_CHAIN = Node.createURI(OWL_NS + "propertyChain");
+
+    private static final Set<Node> ABOX_PREDICATES = new HashSet<Node>();
+    private static final Set<Node> TBOX_TYPES = new HashSet<Node>();
+
+    static {
+        ABOX_PREDICATES.add(OWL2.sameAs.asNode());
+        ABOX_PREDICATES.add(OWL2.differentFrom.asNode());
+        ABOX_PREDICATES.add(OWL2.sourceIndividual.asNode());
+        ABOX_PREDICATES.add(OWL2.assertionProperty.asNode());
+        ABOX_PREDICATES.add(OWL2.targetIndividual.asNode());
+        ABOX_PREDICATES.add(OWL2.targetValue.asNode());
+        TBOX_TYPES.add(OWL2.Class.asNode());
+        TBOX_TYPES.add(OWL2.Restriction.asNode());
+        TBOX_TYPES.add(OWL2.DataRange.asNode());
+        TBOX_TYPES.add(OWL2.ObjectProperty.asNode());
+        TBOX_TYPES.add(OWL2.DatatypeProperty.asNode());
+        TBOX_TYPES.add(OWL2.AnnotationProperty.asNode());
+        TBOX_TYPES.add(OWL2.OntologyProperty.asNode());
+        TBOX_TYPES.add(OWL2.FunctionalProperty.asNode());
+        TBOX_TYPES.add(OWL2.InverseFunctionalProperty.asNode());
+        TBOX_TYPES.add(OWL2.TransitiveProperty.asNode());
+        TBOX_TYPES.add(OWL2.SymmetricProperty.asNode());
+        TBOX_TYPES.add(OWL2.AsymmetricProperty.asNode());
+        TBOX_TYPES.add(OWL2.ReflexiveProperty.asNode());
+        TBOX_TYPES.add(OWL2.IrreflexiveProperty.asNode());
+        TBOX_TYPES.add(OWL2.AllDisjointClasses.asNode());
+        TBOX_TYPES.add(OWL2.AllDisjointProperties.asNode());
+        TBOX_TYPES.add(OWL2.Axiom.asNode());
+        TBOX_TYPES.add(OWL2.Annotation.asNode());
+        TBOX_TYPES.add(OWL2.DeprecatedClass.asNode());
+        TBOX_TYPES.add(OWL2.DeprecatedProperty.asNode());
+        TBOX_TYPES.add(RDFS.Class.asNode());
+        TBOX_TYPES.add(RDFS.Datatype.asNode());
+        TBOX_TYPES.add(RDF.Property.asNode());
+        TBOX_TYPES.add(RDF.List.asNode());
+    }
+
+    private final Graph tbox;
+    private final Graph abox;
+
+    /**
+     * The owl:AllDifferent axioms.
+     */
+    private final Set<Node> allDifferent = new HashSet<Node>();
+
+    /**
+     * The pairs of the owl:differentFrom triples.
+     */
+    private final Set<Set<Node>> different = new LinkedHashSet<Set<Node>>();
+
+    /**
+     * The ontology headers.
+     */
+    private final Set<Node> headers = new HashSet<Node>();
+
+    /**
+     * The list and owl:members/owl:distinctMembers triples, by subject.
+     */
+    private final Map<Node, List<Triple>> pending = new HashMap<Node, List<Triple>>();
+
+    /**
+     * The ontologies that are imported by the parsed triples.
+     */
+    private final List<String> imports = new ArrayList<String>();
+
+    /**
+     * The constructor.
+     *
+     * @param tbox The graph that receives the TBox triples.
+     * @param abox The graph that receives the ABox triples.
+     */
+    SeparatingGraph(Graph tbox, Graph abox) {
+        this.tbox = tbox;
+        this.abox = abox;
+    }
+
+    @Override
+    public void performAdd(Triple t) {
+        Node p = t.getPredicate();
+        if (p.equals(RDF.first.asNode()) || p.equals(RDF.rest.asNode())
+                || p.equals(OWL2.members.asNode()) || p.equals(OWL2.distinctMembers.asNode())) {
+            List<Triple> list = pending.get(t.getSubject());
+            if (list == null) {
+                list = new ArrayList<Triple>(2);
+                pending.put(t.getSubject(), list);
+            }
+            list.add(t);
+            return;
+        }
+        if (p.equals(RDF.type.asNode())) {
+            Node type = t.getObject();
+            if (type.equals(OWL2.Ontology.asNode())) {
+                headers.add(t.getSubject());
+            } else if (TBOX_TYPES.contains(type)) {
+                tbox.add(t);
+            } else {
+                if (type.equals(OWL2.AllDifferent.asNode())) {
+                    allDifferent.add(t.getSubject());
+                }
+                abox.add(t);
+            }
+            return;
+        }
+        if (p.equals(OWL2.imports.asNode()) && t.getObject().isURI()) {
+            imports.add(t.getObject().getURI());
+        }
+        if (p.equals(OWL2.differentFrom.asNode())) {
+            Set<Node> pair = new HashSet<Node>(2);
+            pair.add(t.getSubject());
+            pair.add(t.getObject());
+            different.add(pair);
+        } else if (ABOX_PREDICATES.contains(p) || !isVocabulary(p)) {
+            abox.add(t);
+        } else {
+            tbox.add(t);
+        }
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(TripleMatch m) {
+        return NullIterator.instance();
+    }
+
+    /**
+     * Returns the ontologies that are imported by the triples parsed so far.
+     *
+     * @return The URIs of the imported ontologies.
+     */
+    List<String> getImports() {
+        return imports;
+    }
+
+    /**
+     * Separates the triples that have been kept back, moves the annotation
+     * triples to the TBox and declares the named individuals. This method
+     * should be called after parsing all the ontologies.
+     */
+    void finish() {
+        for (Node axiom : allDifferent) {
+            List<Triple> members = pending.remove(axiom);
+            if (members == null) {
+                continue;
+            }
+            for (Triple t : members) {
+                abox.add(t);
+                //an owl:differentFrom triple with the same members is the same axiom
+                different.remove(new HashSet<Node>(moveList(t.getObject(), abox)));
+            }
+        }
+        for (List<Triple> list : pending.values()) {
+            for (Triple t : list) {
+                tbox.add(t);
+            }
+        }
+        pending.clear();
+
+        for (Set<Node> pair : different) {
+            Node axiom = Node.createAnon();
+            abox.add(new Triple(axiom, RDF.type.asNode(), OWL2.AllDifferent.asNode()));
+            Node list = RDF.nil.asNode();
+            for (Node member : pair) {
+                Node cell = Node.createAnon();
+                abox.add(new Triple(cell, RDF.first.asNode(), member));
+                abox.add(new Triple(cell, RDF.rest.asNode(), list));
+                list = cell;
+            }
+            abox.add(new Triple(axiom, OWL2.distinctMembers.asNode(), list));
+        }
+        different.clear();
+
+        for (Node header : headers) {
+            remove(tbox, header);
+            remove(abox, header);
+        }
+
+        for (Triple chain : tbox.find(Node.ANY, PROPERTY_CHAIN, Node.ANY).toList()) {
+            Node axiom = chain.getSubject();
+            for (Triple sub : tbox.find(axiom, RDFS.subPropertyOf.asNode(), Node.ANY).toList()) {
+                tbox.add(new Triple(sub.getObject(), OWL2.propertyChainAxiom.asNode(), chain.getObject()));
+                tbox.delete(sub);
+            }
+            tbox.delete(chain);
+        }
+        qualifyCardinalities(OWL2.onClass.asNode());
+        qualifyCardinalities(OWL2.onDataRange.asNode());
+
+        ExtendedIterator<Triple> it = tbox.find(Node.ANY, RDF.type.asNode(), OWL2.AnnotationProperty.asNode());
+        List<Node> annotations = new ArrayList<Node>();
+        while (it.hasNext()) {
+            annotations.add(it.next().getSubject());
+        }
+        for (Node annotation : annotations) {
+            List<Triple> moved = abox.find(Node.ANY, annotation, Node.ANY).toList();
+            for (Triple t : moved) {
+                abox.delete(t);
+                tbox.add(t);
+            }
+        }
+
+        declare(tbox, tboxIndividuals());
+        declare(abox, aboxIndividuals());
+    }
+
+    /**
+     * Replaces the unqualified cardinality of the restrictions that have the
+     * given qualification predicate with the respective qualified cardinality.
+     */
+    private void qualifyCardinalities(Node qualification) {
+        for (Triple t : tbox.find(Node.ANY, qualification, Node.ANY).toList()) {
+            Node restriction = t.getSubject();
+            qualify(restriction, OWL2.cardinality.asNode(), OWL2.qualifiedCardinality.asNode());
+            qualify(restriction, OWL2.minCardinality.asNode(), OWL2.minQualifiedCardinality.asNode());
+            qualify(restriction, OWL2.maxCardinality.asNode(), OWL2.maxQualifiedCardinality.asNode());
+        }
+    }
+
+    private void qualify(Node restriction, Node unqualified, Node qualified) {
+        for (Triple t : tbox.find(restriction, unqualified, Node.ANY).toList()) {
+            tbox.delete(t);
+            tbox.add(new Triple(restriction, qualified, t.getObject()));
+        }
+    }
+
+    /**
+     * Returns the named individuals that are referred to by the TBox axioms.
+     */
+    private Set<Node> tboxIndividuals() {
+        Set<Node> individuals = new HashSet<Node>();
+        ExtendedIterator<Triple> it = tbox.find(Node.ANY, OWL2.hasValue.asNode(), Node.ANY);
+        while (it.hasNext()) {
+            individuals.add(it.next().getObject());
+        }
+        for (Triple t : tbox.find(Node.ANY, OWL2.oneOf.asNode(), Node.ANY).toList()) {
+            individuals.addAll(members(t.getObject(), tbox));
+        }
+        return individuals;
+    }
+
+    /**
+     * Returns the named individuals of the ABox: the subjects of the ABox
+     * triples and the objects of the property assertions and of the
+     * owl:AllDifferent lists.
+     */
+    private Set<Node> aboxIndividuals() {
+        Set<Node> individuals = new HashSet<Node>();
+        ExtendedIterator<Triple> it = abox.find(Node.ANY, Node.ANY, Node.ANY);
+        while (it.hasNext()) {
+            Triple t = it.next();
+            Node p = t.getPredicate();
+            if (p.equals(RDF.type.asNode())) {
+                if (!t.getObject().equals(OWL2.Ontology.asNode())) {
+                    individuals.add(t.getSubject());
+                }
+                continue;
+            }
+            individuals.add(t.getSubject());
+            if (!p.equals(RDF.rest.asNode()) && !p.equals(OWL2.assertionProperty.asNode())) {
+                individuals.add(t.getObject());
+            }
+        }
+        return individuals;
+    }
+
+    /**
+     * Declares the given named individuals.
+     */
+    private static void declare(Graph graph, Set<Node> individuals) {
+        for (Node node : individuals) {
+            if (node.isURI()) {
+                graph.add(new Triple(node, RDF.type.asNode(), OWL2.NamedIndividual.asNode()));
+            }
+        }
+    }
+
+    /**
+     * Removes the triples of a subject from the given graph.
+     */
+    private static void remove(Graph graph, Node subject) {
+        for (Triple t : graph.find(subject, Node.ANY, Node.ANY).toList()) {
+            graph.delete(t);
+        }
+    }
+
+    /**
+     * Moves the triples of an RDF list to the given graph.
+     *
+     * @return The members of the list.
+     */
+    private List<Node> moveList(Node list, Graph target) {
+        List<Node> members = new ArrayList<Node>();
+        while (list != null) {
+            List<Triple> cell = pending.remove(list);
+            list = null;
+            if (cell != null) {
+                for (Triple t : cell) {
+                    target.add(t);
+                    if (t.getPredicate().equals(RDF.rest.asNode())) {
+                        list = t.getObject();
+                    } else if (t.getPredicate().equals(RDF.first.asNode())) {
+                        members.add(t.getObject());
+                    }
+                }
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Returns the members of an RDF list of the given graph.
+     */
+    private static List<Node> members(Node list, Graph graph) {
+        List<Node> members = new ArrayList<Node>();
+        Set<Node> visited = new HashSet<Node>();
+        while (!list.equals(RDF.nil.asNode()) && visited.add(list)) {
+            Node next = RDF.nil.asNode();
+            for (Triple t : graph.find(list, Node.ANY, Node.ANY).toList()) {
+                if (t.getPredicate().equals(RDF.first.asNode())) {
+                    members.add(t.getObject());
+                } else if (t.getPredicate().equals(RDF.rest.asNode())) {
+                    next = t.getObject();
+                }
+            }
+            list = next;
+        }
+        return members;
+    }
+
+    private static boolean isVocabulary(Node node) {
+        if (!node.isURI()) {
+            return false;
+        }
+        String uri = node.getURI();
+        return uri.startsWith(RDF_NS) || uri.startsWith(RDFS_NS) || uri.startsWith(OWL_NS);
+    }
+}
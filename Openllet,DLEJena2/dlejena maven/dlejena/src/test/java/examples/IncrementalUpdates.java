@@ -0,0 +1,153 @@
+package examples;
+
+import com.hp.hpl.jena.graph.Factory;
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.ontology.Individual;
+import com.hp.hpl.jena.ontology.ObjectProperty;
+import com.hp.hpl.jena.ontology.OntClass;
+import com.hp.hpl.jena.ontology.OntModel;
+import com.hp.hpl.jena.ontology.OntModelSpec;
+import com.hp.hpl.jena.rdf.model.Model;
+import com.hp.hpl.jena.rdf.model.ModelFactory;
+import com.hp.hpl.jena.reasoner.InfGraph;
+import com.hp.hpl.jena.reasoner.rulesys.FBRuleInfGraph;
+import com.hp.hpl.jena.reasoner.rulesys.FBRuleReasoner;
+import com.hp.hpl.jena.util.iterator.ExtendedIterator;
+import com.hp.hpl.jena.vocabulary.RDF;
+import opensource.dlejena.DLEJenaParameters;
+import opensource.dlejena.DLEJenaReasoner;
+
+/**
+ * In this example, we show how DLEJena maintains the ABox inferences
+ * incrementally. By default, the Jena forward-chaining engine handles ABox
+ * additions incrementally, but any ABox deletion causes the re-materialization
+ * of all the ABox inferences. If the INCREMENTAL_ABOX_MAINTENANCE parameter is
+ * enabled, deletions are propagated through the ABox entailment rules using the
+ * DRed (Delete and Rederive) truth maintenance approach, so the cost of an
+ * update depends only on the size of the change. The modifications that are
+ * made directly on the base model of the ABox are maintained in the same
+ * manner.
+ */
+public class IncrementalUpdates {
+
+    public static void main(String[] args) {
+
+        /*
+         * Enable the incremental maintenance of the ABox. The parameter
+         * should be set before creating the DLEJena reasoner.
+         */
+        DLEJenaParameters.INCREMENTAL_ABOX_MAINTENANCE = true;
+
+        OntModel base = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+        base.createOntology("http://dlejena/examples/incremental.owl");
+        String uri = "http://dlejena/examples/incremental.owl#";
+        base.setNsPrefix("", uri);
+
+        /*
+         * A Thesis is a Publication and a Publication is a Document. Anything
+         * that is written by someone is a Document (domain of writtenBy).
+         */
+        OntClass document = base.createClass(uri + "Document");
+        OntClass publication = base.createClass(uri + "Publication");
+        OntClass thesis = base.createClass(uri + "Thesis");
+        publication.addSuperClass(document);
+        thesis.addSuperClass(publication);
+        ObjectProperty writtenBy = base.createObjectProperty(uri + "writtenBy");
+        writtenBy.addDomain(document);
+
+        Individual myThesis = base.createIndividual(uri + "myThesis", thesis);
+        Individual author = base.createIndividual(uri + "author", base.createClass(uri + "Person"));
+        myThesis.addProperty(writtenBy, author);
+
+        DLEJenaReasoner dle = new DLEJenaReasoner();
+        dle.register(base);
+        dle.initialize();
+
+        OntModel abox = dle.getABox();
+        myThesis = abox.getIndividual(uri + "myThesis");
+        printTypes(myThesis);
+
+        /*
+         * ABOX DELETION:
+         * Remove the asserted Thesis type. The Thesis and Publication
+         * inferences are retracted, whereas the Document type is kept,
+         * since it is still entailed by the domain of the writtenBy property.
+         */
+        System.out.println("");
+        System.out.println("ABOX DELETION: myThesis is not a Thesis");
+        abox.remove(myThesis, RDF.type, abox.getResource(uri + "Thesis"));
+        printTypes(myThesis);
+
+        /*
+         * ABOX DELETION:
+         * Remove the writtenBy assertion. The Document type is retracted too.
+         */
+        System.out.println("");
+        System.out.println("ABOX DELETION: myThesis is not written by anyone");
+        abox.remove(myThesis, abox.getProperty(uri + "writtenBy"), abox.getResource(uri + "author"));
+        printTypes(myThesis);
+
+        /*
+         * ABOX ADDITION:
+         * Additions are propagated incrementally as well.
+         */
+        System.out.println("");
+        System.out.println("ABOX ADDITION: myThesis is a Publication");
+        myThesis.addRDFType(abox.getResource(uri + "Publication"));
+        printTypes(myThesis);
+
+        /*
+         * BASE MODEL UPDATES:
+         * The assertions that are added to or removed from the base model
+         * directly (and not through the ABox inference model) are propagated
+         * as well. After each update, the maintained inferences are compared
+         * with the inferences of a complete re-materialization.
+         */
+        Model aboxBase = abox.getBaseModel();
+        System.out.println("");
+        System.out.println("BASE MODEL ADDITION: myThesis is a Thesis");
+        aboxBase.add(myThesis, RDF.type, abox.getResource(uri + "Thesis"));
+        printTypes(myThesis);
+        compareWithRematerialization(abox);
+
+        System.out.println("");
+        System.out.println("BASE MODEL DELETION: myThesis is neither a Thesis nor a Publication");
+        aboxBase.remove(myThesis, RDF.type, abox.getResource(uri + "Thesis"));
+        aboxBase.remove(myThesis, RDF.type, abox.getResource(uri + "Publication"));
+        printTypes(myThesis);
+        compareWithRematerialization(abox);
+    }
+
+    private static void printTypes(Individual individual) {
+        System.out.println("The inferred types of the instance " + individual.getLocalName() + ":");
+        ExtendedIterator<Triple> types = individual.getModel().getGraph().find(individual.asNode(), RDF.type.asNode(), Node.ANY);
+        while (types.hasNext()) {
+            Node type = types.next().getObject();
+            if (type.isURI()) {
+                System.out.println(" - " + type.getLocalName());
+            }
+        }
+    }
+
+    /**
+     * Re-materializes the ABox inferences from scratch, using the same rules,
+     * and checks whether they are the same with the maintained inferences.
+     */
+    private static void compareWithRematerialization(OntModel abox) {
+        FBRuleInfGraph incremental = (FBRuleInfGraph) abox.getGraph();
+        incremental.prepare();
+
+        Graph data = Factory.createGraphMem();
+        ExtendedIterator<Triple> triples = incremental.getRawGraph().find(Node.ANY, Node.ANY, Node.ANY);
+        while (triples.hasNext()) {
+            data.add(triples.next());
+        }
+        InfGraph full = new FBRuleReasoner(incremental.getRules()).bind(data);
+        full.prepare();
+
+        boolean same = full.getDeductionsGraph().isIsomorphicWith(incremental.getDeductionsGraph());
+        System.out.println("The maintained inferences match the re-materialized inferences: " + same);
+    }
+}
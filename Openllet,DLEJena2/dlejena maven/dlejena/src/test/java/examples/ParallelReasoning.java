@@ -0,0 +1,55 @@
+package examples;
+
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.ontology.Individual;
+import com.hp.hpl.jena.ontology.OntModel;
+import com.hp.hpl.jena.util.iterator.ExtendedIterator;
+import com.hp.hpl.jena.vocabulary.RDF;
+import java.io.File;
+import opensource.dlejena.DLEJenaParameters;
+import opensource.dlejena.DLEJenaReasoner;
+import org.semanticweb.owlapi.model.IRI;
+
+/**
+ * In this example, we show how DLEJena can materialize the ABox inferences in
+ * parallel. If the PARALLEL_ABOX_REASONING parameter is enabled, the
+ * dynamically generated ABox rules are split into strata according to the
+ * triples they consume and produce, and the independent rules of each stratum
+ * are executed concurrently, each group by its own forwardRete network. The
+ * inferences are exactly the same as in the sequential ABox reasoning.
+ */
+public class ParallelReasoning {
+
+    public static void main(String[] args) {
+
+        DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT = true;
+
+        /*
+         * Enable the parallel ABox reasoning and define the number of
+         * threads (by default, the number of the available processors).
+         * The parameters should be set before creating the DLEJena reasoner.
+         */
+        DLEJenaParameters.PARALLEL_ABOX_REASONING = true;
+        DLEJenaParameters.ABOX_REASONING_THREADS = 4;
+
+        IRI ontology = IRI.create(new File("src/test/java/examples/wine_0.owl").toURI());
+        String uri = "http://www.w3.org/TR/2003/PR-owl-guide-20031209/wine#";
+
+        DLEJenaReasoner dle = new DLEJenaReasoner();
+        dle.register(ontology);
+        dle.initialize();
+
+        OntModel abox = dle.getABox();
+        Individual wine = abox.getIndividual(uri + "ChateauMorgonBeaujolais");
+        System.out.println("");
+        System.out.println("All the named classes where ChateauMorgonBeaujolais belongs to:");
+        ExtendedIterator<Triple> types = abox.getGraph().find(wine.asNode(), RDF.type.asNode(), Node.ANY);
+        while (types.hasNext()) {
+            Node type = types.next().getObject();
+            if (type.isURI()) {
+                System.out.println(" - " + type.getLocalName());
+            }
+        }
+    }
+}
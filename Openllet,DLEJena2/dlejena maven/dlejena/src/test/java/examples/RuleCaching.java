@@ -0,0 +1,44 @@
+package examples;
+
+import java.io.File;
+import opensource.dlejena.DLEJenaParameters;
+import opensource.dlejena.DLEJenaReasoner;
+import org.semanticweb.owlapi.model.IRI;
+
+/**
+ * In this example, we show how the dynamically generated ABox rules can be
+ * cached between executions. If the RULE_CACHE_DIRECTORY parameter is defined,
+ * the ABox rules are stored in the directory, keyed by a hash of the TBox. The
+ * second initialization below finds the rules of the (unchanged) TBox in the
+ * cache, so it skips the Pellet TBox reasoning and the entailment generation
+ * and proceeds directly to the ABox reasoning.
+ */
+public class RuleCaching {
+
+    public static void main(String[] args) {
+
+        DLEJenaParameters.SHOW_MESSAGES_IN_STANDARD_OUTPUT = true;
+
+        /*
+         * Define the cache directory. The parameter should be set before
+         * initializing the DLEJena reasoner.
+         */
+        DLEJenaParameters.RULE_CACHE_DIRECTORY = new File(System.getProperty("java.io.tmpdir"), "dlejena-rules").getPath();
+
+        IRI ontology = IRI.create(new File("src/test/java/examples/wine_0.owl").toURI());
+
+        System.out.println("First initialization:");
+        DLEJenaReasoner dle = new DLEJenaReasoner();
+        dle.register(ontology);
+        dle.initialize();
+
+        System.out.println("");
+        System.out.println("Second initialization:");
+        DLEJenaReasoner cached = new DLEJenaReasoner();
+        cached.register(ontology);
+        cached.initialize();
+
+        System.out.println("");
+        System.out.println("ABox size: " + dle.getABox().size() + " / " + cached.getABox().size());
+    }
+}
@@ -0,0 +1,98 @@
+package examples;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.rdf.model.AnonId;
+import com.hp.hpl.jena.util.iterator.ExtendedIterator;
+import java.io.File;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import opensource.dlejena.DLEJenaParameters;
+import opensource.dlejena.DLEJenaReasoner;
+import org.semanticweb.owlapi.model.IRI;
+
+/**
+ * In this example, we show that the streaming separation of the ontologies
+ * gives the same results as the separation through the OWLAPI. If the
+ * STREAMING_ONTOLOGY_SEPARATION parameter is enabled, the triples of the
+ * ontologies are separated into the TBox and the ABox while they are parsed by
+ * Jena, without loading the ontologies through the OWLAPI. The example
+ * compares the inferred TBox and ABox of the two paths on the bundled
+ * ontologies, including the triples of the blank nodes, and prints the triples
+ * that differ.
+ */
+public class StreamingSeparation {
+
+    private static final Node BLANK = Node.createAnon(new AnonId("blank"));
+
+    public static void main(String[] args) {
+
+        String[] ontologies = {"wine_0.owl", "man.owl", "parent.owl", "propertyChain.owl", "aboxvalidation.owl"};
+        boolean same = true;
+        for (String ontology : ontologies) {
+            DLEJenaReasoner owlapi = reason(ontology, false);
+            DLEJenaReasoner streaming = reason(ontology, true);
+            same &= compare(ontology + " TBox", contents(owlapi.getTBox().getGraph()), contents(streaming.getTBox().getGraph()));
+            same &= compare(ontology + " ABox", contents(owlapi.getABox().getGraph()), contents(streaming.getABox().getGraph()));
+        }
+
+        System.out.println("");
+        System.out.println(same ? "Both paths give the same results." : "The paths give different results!");
+        if (!same) {
+            System.exit(1);
+        }
+    }
+
+    private static DLEJenaReasoner reason(String ontology, boolean streaming) {
+        DLEJenaParameters.STREAMING_ONTOLOGY_SEPARATION = streaming;
+        try {
+            DLEJenaReasoner dle = new DLEJenaReasoner();
+            dle.register(IRI.create(new File("src/test/java/examples/" + ontology).toURI()));
+            dle.initialize();
+            return dle;
+        } finally {
+            DLEJenaParameters.STREAMING_ONTOLOGY_SEPARATION = false;
+        }
+    }
+
+    private static boolean compare(String name, Map<Triple, Integer> expected, Map<Triple, Integer> actual) {
+        boolean same = expected.equals(actual);
+        System.out.println(name + ": " + (same ? "same" : "different"));
+        Set<Triple> triples = new HashSet<Triple>(expected.keySet());
+        triples.addAll(actual.keySet());
+        for (Triple t : triples) {
+            int e = expected.containsKey(t) ? expected.get(t) : 0;
+            int a = actual.containsKey(t) ? actual.get(t) : 0;
+            if (e > a) {
+                System.out.println(" - missing: " + t + (e - a > 1 ? " (x" + (e - a) + ")" : ""));
+            } else if (a > e) {
+                System.out.println(" - extra: " + t + (a - e > 1 ? " (x" + (a - e) + ")" : ""));
+            }
+        }
+        return same;
+    }
+
+    /**
+     * Returns the triples of a graph, where every blank node is replaced by
+     * the same node (the blank nodes of the two paths are different), together
+     * with the number of their occurrences.
+     */
+    private static Map<Triple, Integer> contents(Graph graph) {
+        Map<Triple, Integer> triples = new HashMap<Triple, Integer>();
+        ExtendedIterator<Triple> it = graph.find(Node.ANY, Node.ANY, Node.ANY);
+        while (it.hasNext()) {
+            Triple t = it.next();
+            Triple key = new Triple(anonymize(t.getSubject()), t.getPredicate(), anonymize(t.getObject()));
+            Integer count = triples.get(key);
+            triples.put(key, count == null ? 1 : count + 1);
+        }
+        return triples;
+    }
+
+    private static Node anonymize(Node node) {
+        return node.isBlank() ? BLANK : node;
+    }
+}
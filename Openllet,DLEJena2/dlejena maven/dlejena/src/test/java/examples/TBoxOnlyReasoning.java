@@ -0,0 +1,81 @@
+package examples;
+
+import com.hp.hpl.jena.graph.Graph;
+import com.hp.hpl.jena.graph.Node;
+import com.hp.hpl.jena.graph.Triple;
+import com.hp.hpl.jena.util.iterator.ExtendedIterator;
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import opensource.dlejena.DLEJenaParameters;
+import opensource.dlejena.DLEJenaReasoner;
+import opensource.dlejena.exceptions.InconsistentTBoxException;
+import org.semanticweb.owlapi.model.IRI;
+
+/**
+ * In this example, we show that the TBox-only Pellet reasoning mode gives the
+ * same results as the default mode. If the TBOX_ONLY_REASONING parameter is
+ * enabled, Pellet only classifies the TBox and the unsatisfiable classes are
+ * obtained from the class taxonomy, instead of realizing the TBox individuals
+ * and checking the satisfiability of every class. The example compares the
+ * inferred TBox and ABox of the two modes and checks that both modes detect
+ * the unsatisfiable concept of the unsatisfiableTbox.owl ontology.
+ */
+public class TBoxOnlyReasoning {
+
+    public static void main(String[] args) {
+
+        String[] ontologies = {"wine_0.owl", "man.owl", "parent.owl", "propertyChain.owl"};
+        boolean same = true;
+        for (String ontology : ontologies) {
+            DLEJenaReasoner full = reason(ontology, false);
+            DLEJenaReasoner tboxOnly = reason(ontology, true);
+            boolean tbox = contents(full.getTBox().getGraph()).equals(contents(tboxOnly.getTBox().getGraph()));
+            boolean abox = contents(full.getABox().getGraph()).equals(contents(tboxOnly.getABox().getGraph()));
+            System.out.println(ontology + ": TBox " + (tbox ? "same" : "different")
+                    + ", ABox " + (abox ? "same" : "different"));
+            same &= tbox && abox;
+        }
+
+        for (boolean tboxOnly : new boolean[]{false, true}) {
+            try {
+                reason("unsatisfiableTbox.owl", tboxOnly);
+                System.out.println("unsatisfiableTbox.owl: no inconsistency detected (TBOX_ONLY_REASONING=" + tboxOnly + ")");
+                same = false;
+            } catch (InconsistentTBoxException e) {
+                System.out.println("unsatisfiableTbox.owl (TBOX_ONLY_REASONING=" + tboxOnly + "): " + e.getMessage());
+            }
+        }
+
+        System.out.println("");
+        System.out.println(same ? "Both modes give the same results." : "The modes give different results!");
+        if (!same) {
+            System.exit(1);
+        }
+    }
+
+    private static DLEJenaReasoner reason(String ontology, boolean tboxOnly) {
+        DLEJenaParameters.TBOX_ONLY_REASONING = tboxOnly;
+        try {
+            DLEJenaReasoner dle = new DLEJenaReasoner();
+            dle.register(IRI.create(new File("src/test/java/examples/" + ontology).toURI()));
+            dle.initialize();
+            return dle;
+        } finally {
+            DLEJenaParameters.TBOX_ONLY_REASONING = false;
+        }
+    }
+
+    private static Set<Triple> contents(Graph graph) {
+        Set<Triple> triples = new HashSet<Triple>();
+        ExtendedIterator<Triple> it = graph.find(Node.ANY, Node.ANY, Node.ANY);
+        while (it.hasNext()) {
+            Triple t = it.next();
+            //the blank nodes of the two models are different
+            if (!t.getSubject().isBlank() && !t.getObject().isBlank()) {
+                triples.add(t);
+            }
+        }
+        return triples;
+    }
+}
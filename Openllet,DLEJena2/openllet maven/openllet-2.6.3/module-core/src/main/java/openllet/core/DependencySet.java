@@ -53,6 +53,24 @@ public class DependencySet
 
 	public static final int NO_BRANCH = -1;
 
+	public static final IntSet ZERO = IntSetFactory.create(0);
+
+	/**
+	 * Number of canonical single _branch sets, shared by all the dependency sets that depend on a single low numbered _branch.
+	 */
+	private static final int SINGLETON_COUNT = 256;
+
+	private static final IntSet NO_DEPENDS = IntSetFactory.create();
+
+	private static final IntSet[] SINGLETONS = new IntSet[SINGLETON_COUNT];
+
+	static
+	{
+		SINGLETONS[0] = ZERO;
+		for (int b = 1; b < SINGLETON_COUNT; b++)
+			SINGLETONS[b] = IntSetFactory.create(b);
+	}
+
 	/**
 	 * An empty dependency set
 	 */
@@ -63,8 +81,6 @@ public class DependencySet
 	 */
 	public static final DependencySet INDEPENDENT = new DependencySet(0);
 
-	public static final IntSet ZERO = IntSetFactory.create(0);
-
 	/**
 	 * A dummy dependency set that is used just to indicate there is a dependency
 	 */
@@ -73,7 +89,12 @@ public class DependencySet
 	/**
 	 * _index of branches this assertion _depends on
 	 */
-	private final IntSet _depends;
+	private IntSet _depends;
+
+	/**
+	 * True if _depends may be referenced by another dependency set (or is a canonical set), in which case it is copied before being modified.
+	 */
+	private boolean _shared;
 
 	/**
 	 * _branch number when this assertion was added to ABox
@@ -87,7 +108,8 @@ public class DependencySet
 	 */
 	private DependencySet()
 	{
-		_depends = IntSetFactory.create();
+		_depends = NO_DEPENDS;
+		_shared = true;
 		setExplain(Collections.emptySet());
 	}
 
@@ -98,17 +120,24 @@ public class DependencySet
 	 */
 	public DependencySet(final int branch)
 	{
-		_depends = IntSetFactory.create(branch);
+		if (branch >= 0 && branch < SINGLETON_COUNT)
+		{
+			_depends = SINGLETONS[branch];
+			_shared = true;
+		}
+		else
+			_depends = IntSetFactory.create(branch);
 		setExplain(Collections.emptySet());
 	}
 
 	/**
-	 * Creates a dependency set with the given IntSet (no separate copy of IntSet is created so if IntSet is modified this DependencySet will be affected).
+	 * Creates a dependency set with the given IntSet. The IntSet must not be modified by anyone else and it is copied before this DependencySet modifies it.
 	 */
 	private DependencySet(final int branch, final IntSet depends, final Set<ATermAppl> explain)
 	{
 		_branch = branch;
 		_depends = depends;
+		_shared = true;
 		setExplain(explain);
 	}
 
@@ -120,6 +149,7 @@ public class DependencySet
 	public DependencySet(final ATermAppl explainAtom)
 	{
 		_depends = DependencySet.ZERO;
+		_shared = true;
 		setExplain(SetUtils.singleton(explainAtom));
 
 	}
@@ -132,16 +162,42 @@ public class DependencySet
 	public DependencySet(final Set<ATermAppl> explain)
 	{
 		_depends = DependencySet.ZERO;
+		_shared = true;
 		setExplain(explain);
 	}
 
 	/**
 	 * @param newBranch
-	 * @return a new DependencySet object with a new _branch number where the IntSet is openllet.shared.hash (changing one will change the other).
+	 * @return a new DependencySet object with a new _branch number where the IntSet is shared until one of the two sets is modified.
 	 */
 	public DependencySet copy(final int newBranch)
 	{
-		return new DependencySet(newBranch, _depends, _explain);
+		return new DependencySet(newBranch, share(), _explain);
+	}
+
+	/**
+	 * @param removedBranch index of the _branch that is removed from the ABox
+	 * @return this set if it does not refer to the removed _branch or to a later one, otherwise a new set where these _branch numbers are decreased by one.
+	 */
+	public DependencySet renumber(final int removedBranch)
+	{
+		final boolean renumberDepends = max() >= removedBranch;
+		if (_branch <= removedBranch && !renumberDepends)
+			return this;
+
+		final DependencySet ds = new DependencySet(_branch > removedBranch ? _branch - 1 : _branch, share(), _explain);
+		if (renumberDepends)
+		{
+			final IntSet depends = ds.own();
+			for (int i = removedBranch, max = depends.max(); i <= max; i++)
+				if (depends.contains(i))
+				{
+					depends.remove(i);
+					depends.add(i - 1);
+				}
+		}
+
+		return ds;
 	}
 
 	/**
@@ -160,7 +216,8 @@ public class DependencySet
 	 */
 	public void add(final int b)
 	{
-		_depends.add(b);
+		if (!_depends.contains(b))
+			own().add(b);
 	}
 
 	/**
@@ -170,7 +227,8 @@ public class DependencySet
 	 */
 	public void remove(final int b)
 	{
-		_depends.remove(b);
+		if (_depends.contains(b))
+			own().remove(b);
 	}
 
 	/**
@@ -212,7 +270,15 @@ public class DependencySet
 	 */
 	public DependencySet union(final DependencySet ds, final boolean doExplanation)
 	{
-		final IntSet newDepends = _depends.union(ds._depends);
+		// the union of the _branch sets is one of them most of the time, e.g. when the sets are the same or one of them is INDEPENDENT
+		final IntSet newDepends;
+		if (_depends.containsAll(ds._depends))
+			newDepends = share();
+		else
+			if (ds._depends.containsAll(_depends))
+				newDepends = ds.share();
+			else
+				newDepends = _depends.union(ds._depends);
 
 		final Set<ATermAppl> newExplain = doExplanation ? //
 				SetUtils.union(_explain, ds._explain) : //
@@ -231,7 +297,7 @@ public class DependencySet
 		if (!doExplanation || explain.isEmpty())
 			return this;
 
-		return new DependencySet(_branch, _depends.copy(), SetUtils.union(_explain, explain));
+		return new DependencySet(_branch, share(), SetUtils.union(_explain, explain));
 	}
 
 	@Override
@@ -274,11 +340,36 @@ public class DependencySet
 
 	}
 
+	/**
+	 * @return the _branch numbers of this set, which may be shared with other sets so it should not be modified.
+	 */
 	public IntSet getDepends()
 	{
 		return _depends;
 	}
 
+	/**
+	 * @return the IntSet of this set, after marking it as shared with another set.
+	 */
+	private IntSet share()
+	{
+		_shared = true;
+		return _depends;
+	}
+
+	/**
+	 * @return the IntSet of this set, after copying it if it is shared with other sets.
+	 */
+	private IntSet own()
+	{
+		if (_shared)
+		{
+			_depends = _depends.copy();
+			_shared = false;
+		}
+		return _depends;
+	}
+
 	/**
 	 * @param explain the explain to set
 	 */
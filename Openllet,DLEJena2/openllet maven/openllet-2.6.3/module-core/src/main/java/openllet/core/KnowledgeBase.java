@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 import openllet.aterm.ATerm;
@@ -22,6 +23,7 @@ import openllet.core.tableau.completion.CompletionStrategy;
 import openllet.core.tableau.completion.incremental.DependencyIndex;
 import openllet.core.taxonomy.Taxonomy;
 import openllet.core.taxonomy.TaxonomyBuilder;
+import openllet.core.utils.ABoxStatistics;
 import openllet.core.utils.Bool;
 import openllet.core.utils.SizeEstimate;
 import openllet.core.utils.Timers;
@@ -57,6 +59,15 @@ public interface KnowledgeBase extends Logging
 
 	public SizeEstimate getSizeEstimate();
 
+	/**
+	 * @return the statistics of the ABox that have been collected when the knowledge base was last realized, if they are still up to date.
+	 * @see OpenlletOptions#USE_ABOX_STATISTICS
+	 */
+	public default Optional<ABoxStatistics> getABoxStatistics()
+	{
+		return Optional.empty();
+	}
+
 	/**
 	 * Set a timeout for the main timer. Used to stop an automated test after a reasonable amount of time has passed.
 	 *
@@ -648,6 +659,17 @@ public interface KnowledgeBase extends Logging
 
 	public void addAllDifferent(final ATermList list);
 
+	/**
+	 * Adds a batch of ABox assertions and declares the individuals they refer to. The properties must have been declared. Adding a batch is cheaper than
+	 * adding its assertions one by one, e.g. the expressivity is updated once for the whole batch.
+	 *
+	 * @param assertions type, property value, same, different and all different axioms as created by {@link openllet.core.utils.ATermUtils#makeTypeAtom},
+	 *            {@link openllet.core.utils.ATermUtils#makePropAtom}, {@link openllet.core.utils.ATermUtils#makeSameAs},
+	 *            {@link openllet.core.utils.ATermUtils#makeDifferent} and {@link openllet.core.utils.ATermUtils#makeAllDifferent}
+	 * @throws openllet.core.exceptions.UnsupportedFeatureException if one of the axioms is not an ABox assertion
+	 */
+	public void addAssertions(final Iterable<ATermAppl> assertions);
+
 	public boolean addAnnotation(final ATermAppl s, final ATermAppl p, final ATermAppl o);
 
 	public boolean addAnnotationProperty(final ATerm p);
@@ -58,6 +58,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import openllet.aterm.AFun;
 import openllet.aterm.ATerm;
 import openllet.aterm.ATermAppl;
 import openllet.aterm.ATermList;
@@ -108,6 +109,7 @@ import openllet.core.taxonomy.TaxonomyBuilder;
 import openllet.core.taxonomy.TaxonomyNode;
 import openllet.core.taxonomy.TaxonomyUtils;
 import openllet.core.taxonomy.printer.ClassTreePrinter;
+import openllet.core.utils.ABoxStatistics;
 import openllet.core.utils.ATermUtils;
 import openllet.core.utils.AnnotationClasses;
 import openllet.core.utils.Bool;
@@ -164,8 +166,14 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 	private volatile boolean _explainOnlyInconsistency = false;
 	private volatile ProgressMonitor _builderProgressMonitor;
 	private volatile SizeEstimate _estimate;
+	private volatile Optional<ABoxStatistics> _statistics = Optional.empty();
 	private volatile ExpressivityChecker _expChecker;
 
+	/**
+	 * The batch of assertions being added by {@link #addAssertions(Iterable)}, if any.
+	 */
+	private volatile Optional<AssertionBatch> _batch = Optional.empty();
+
 	/**
 	 * Rules added to this KB. The key is the asserted rule,
 	 */
@@ -588,6 +596,7 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 		_aboxAssertions.clear();
 		_instances.clear();
 		_builder = Optional.empty();
+		_statistics = Optional.empty();
 
 		_state.clear();
 		_changes = EnumSet.of(ChangeType.ABOX_ADD, ChangeType.TBOX_ADD, ChangeType.RBOX_ADD);
@@ -611,6 +620,8 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 
 		_individuals.clear();
 
+		_statistics = Optional.empty();
+
 		_changes = EnumSet.of(ChangeType.ABOX_DEL);
 
 		prepare();
@@ -886,6 +897,8 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 
 		synchronized (_abox)
 		{
+			_statistics.ifPresent(statistics -> statistics.addType(_abox.getIndividual(i), i, c));
+
 			_abox.setSyntacticUpdate(true); // TODO : find another way to alter behavior of abox
 			_abox.addType(i, c, ds);
 			_abox.setSyntacticUpdate(false);
@@ -894,7 +907,10 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 		if (canUseIncConsistency())
 			// incrementally update the expressivity of the KB, so that we do
 			// not have to reperform if from scratch!
-			updateExpressivity(i, c);
+			if (_batch.isPresent())
+				_batch.get()._types.add(ATermUtils.makeTypeAtom(i, c));
+			else
+				updateExpressivity(i, c);
 
 		_logger.finer(() -> "type " + i + " " + c);
 	}
@@ -998,6 +1014,100 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 		_logger.finer(() -> "diff " + i1 + " " + i2);
 	}
 
+	@Override
+	public void addAssertions(final Iterable<ATermAppl> assertions)
+	{
+		if (assertions instanceof Collection)
+			_abox.ensureCapacity(((Collection<?>) assertions).size());
+
+		// only ABox additions are made, so whether incremental consistency checking can be used does not change during the batch
+		final AssertionBatch batch = new AssertionBatch(canUseIncConsistency());
+		_batch = Optional.of(batch);
+		try
+		{
+			for (final ATermAppl assertion : assertions)
+				addAssertion(assertion);
+		}
+		finally
+		{
+			_batch = Optional.empty();
+		}
+
+		// see updateExpressivity, the size estimate is only recreated once
+		if (!batch._types.isEmpty() && isChanged() && !isTBoxChanged() && !isRBoxChanged())
+		{
+			for (final ATermAppl type : batch._types)
+				_expChecker.updateWithIndividual((ATermAppl) type.getArgument(0), (ATermAppl) type.getArgument(1));
+
+			_estimate = new SizeEstimate(this);
+		}
+	}
+
+	private void addAssertion(final ATermAppl assertion)
+	{
+		final AFun afun = assertion.getAFun();
+		if (afun.equals(ATermUtils.TYPEFUN))
+		{
+			final ATermAppl ind = (ATermAppl) assertion.getArgument(0);
+
+			addIndividual(ind);
+			addType(ind, (ATermAppl) assertion.getArgument(1));
+		}
+		else
+			if (afun.equals(ATermUtils.PROPFUN))
+			{
+				final ATermAppl s = (ATermAppl) assertion.getArgument(1);
+				final ATermAppl o = (ATermAppl) assertion.getArgument(2);
+
+				addIndividual(s);
+				if (!ATermUtils.isLiteral(o))
+					addIndividual(o);
+				addPropertyValue((ATermAppl) assertion.getArgument(0), s, o);
+			}
+			else
+				if (afun.equals(ATermUtils.SAMEASFUN) || afun.equals(ATermUtils.DIFFERENTFUN))
+				{
+					final ATermAppl i1 = (ATermAppl) assertion.getArgument(0);
+					final ATermAppl i2 = (ATermAppl) assertion.getArgument(1);
+
+					addIndividual(i1);
+					addIndividual(i2);
+					if (afun.equals(ATermUtils.SAMEASFUN))
+						addSame(i1, i2);
+					else
+						addDifferent(i1, i2);
+				}
+				else
+					if (afun.equals(ATermUtils.ALLDIFFERENTFUN))
+					{
+						final ATermList list = (ATermList) assertion.getArgument(0);
+						for (ATermList l = list; !l.isEmpty(); l = l.getNext())
+							addIndividual((ATermAppl) l.getFirst());
+
+						addAllDifferent(list);
+					}
+					else
+						throw new UnsupportedFeatureException("Not an ABox assertion: " + ATermUtils.toString(assertion));
+	}
+
+	/**
+	 * The bookkeeping of {@link KnowledgeBaseImpl#addAssertions(Iterable)} that is done once for the whole batch.
+	 */
+	private static class AssertionBatch
+	{
+		private final boolean _canUseIncConsistency;
+
+		/**
+		 * The types whose expressivity update is deferred to the end of the batch.
+		 */
+		private final List<ATermAppl> _types = new ArrayList<>();
+
+		public AssertionBatch(final boolean canUseIncConsistency)
+		{
+			_canUseIncConsistency = canUseIncConsistency;
+		}
+	}
+
 	/**
 	 * @param p
 	 * @param s
@@ -1069,6 +1179,14 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 					_aboxAssertions.add(AssertionType.DATA_ROLE, propAxiom);
 			}
 
+		if (_statistics.isPresent() && obj != null)
+		{
+			final Individual from = subj.getSame();
+			final Node to = obj.getSame();
+			if (from.getOutEdges().getExactEdge(from, role, to) == null)
+				_statistics.get().addPropertyValue(role, from.getName(), to.getName());
+		}
+
 		// set addition flag
 		_changes.add(ChangeType.ABOX_ADD);
 
@@ -1759,6 +1877,8 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 		if (edge == null)
 			return false;
 
+		_statistics.ifPresent(statistics -> statistics.removePropertyValue(role, subj.getSame().getName(), obj.getSame().getName()));
+
 		// set deletion flag
 		_changes.add(ChangeType.ABOX_DEL);
 
@@ -1857,6 +1977,8 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 		if (ds == null || !ds.isIndependent())
 			return false;
 
+		_statistics.ifPresent(statistics -> statistics.removeType(ind, normC));
+
 		boolean removed = true;
 
 		if (!canUseIncConsistency() || !OpenlletOptions.USE_INCREMENTAL_DELETION)
@@ -1997,6 +2119,7 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 		{
 			_state.remove(ReasoningState.CLASSIFY);
 			_builder = Optional.empty();
+			_statistics = Optional.empty();
 			// taxonomy = null;
 		}
 
@@ -2333,7 +2456,14 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 
 		_state.add(ReasoningState.REALIZE);
 
-		_estimate.computKBCosts();
+		if (OpenlletOptions.USE_ABOX_STATISTICS)
+		{
+			_statistics = Optional.of(_timers.execute("statistics", () -> new ABoxStatistics(this)));
+			// the sizes that have been estimated before the realization are discarded
+			_estimate = new SizeEstimate(this);
+		}
+		else
+			_estimate.computKBCosts();
 	}
 
 	/**
@@ -4888,6 +5018,12 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 		return _estimate;
 	}
 
+	@Override
+	public Optional<ABoxStatistics> getABoxStatistics()
+	{
+		return _statistics;
+	}
+
 	/**
 	 * Add a rule to the KB.
 	 */
@@ -4994,6 +5130,9 @@ public class KnowledgeBaseImpl implements KnowledgeBase
 	 */
 	protected boolean canUseIncConsistency()
 	{
+		if (_batch.isPresent())
+			return _batch.get()._canUseIncConsistency;
+
 		// can we do incremental consistency checking
 		final Expressivity expressivity = _expChecker.getExpressivity();
 		if (expressivity == null)
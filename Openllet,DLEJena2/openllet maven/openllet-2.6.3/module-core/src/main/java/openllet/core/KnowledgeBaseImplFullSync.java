@@ -37,6 +37,7 @@ package openllet.core;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 import openllet.aterm.ATerm;
@@ -53,6 +54,7 @@ import openllet.core.tableau.completion.CompletionStrategy;
 import openllet.core.tableau.completion.incremental.DependencyIndex;
 import openllet.core.taxonomy.Taxonomy;
 import openllet.core.taxonomy.TaxonomyBuilder;
+import openllet.core.utils.ABoxStatistics;
 import openllet.core.utils.Bool;
 import openllet.core.utils.SizeEstimate;
 import openllet.core.utils.Timers;
@@ -172,6 +174,12 @@ public class KnowledgeBaseImplFullSync extends KnowledgeBaseImpl
 		super.addType(i, c, ds);
 	}
 
+	@Override
+	public synchronized void addAssertions(final Iterable<ATermAppl> assertions)
+	{
+		super.addAssertions(assertions);
+	}
+
 	@Override
 	public synchronized void addSame(final ATermAppl i1, final ATermAppl i2)
 	{
@@ -343,6 +351,12 @@ public class KnowledgeBaseImplFullSync extends KnowledgeBaseImpl
 		return super.getSizeEstimate();
 	}
 
+	@Override
+	public synchronized Optional<ABoxStatistics> getABoxStatistics()
+	{
+		return super.getABoxStatistics();
+	}
+
 	@Override
 	public ABox getABox()
 	{
@@ -0,0 +1,1182 @@
+package openllet.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import openllet.aterm.ATerm;
+import openllet.aterm.ATermAppl;
+import openllet.aterm.ATermList;
+import openllet.core.boxes.abox.ABox;
+import openllet.core.boxes.abox.Edge;
+import openllet.core.boxes.abox.Individual;
+import openllet.core.boxes.abox.Literal;
+import openllet.core.boxes.rbox.Role;
+import openllet.core.expressivity.Expressivity;
+import openllet.core.expressivity.ExpressivityChecker;
+import openllet.core.rules.model.Rule;
+import openllet.core.tableau.completion.CompletionStrategy;
+import openllet.core.tableau.completion.incremental.DependencyIndex;
+import openllet.core.taxonomy.Taxonomy;
+import openllet.core.taxonomy.TaxonomyBuilder;
+import openllet.core.utils.ABoxStatistics;
+import openllet.core.utils.ATermUtils;
+import openllet.core.utils.Bool;
+import openllet.core.utils.SizeEstimate;
+import openllet.core.utils.progress.ProgressMonitor;
+
+/**
+ * A knowledge base that can be shared between threads, like {@link KnowledgeBaseImplFullSync}, but where the queries answered from the results of the
+ * reasoning run concurrently.
+ * <p>
+ * The methods take a read/write lock instead of the monitor. Once the knowledge base is realized, the types and instances of named classes are read from the
+ * taxonomy under the read lock; the sub and super classes of named classes only need the classification. The property values are read from the completed ABox
+ * under the read lock when none of them depends on a non-deterministic choice. The changes, the reasoning, and the queries that need a tableau expansion take
+ * the write lock. A query started under the read lock that turns out to need the tableau is run again under the write lock.
+ * </p>
+ *
+ * @since 2.6.3
+ */
+public class KnowledgeBaseImplReadWriteSync extends KnowledgeBaseImpl
+{
+	/**
+	 * Thrown by a query run under the read lock when it can't be answered without changing the state of the knowledge base.
+	 */
+	private static class WriteLockRequired extends RuntimeException
+	{
+		private static final long serialVersionUID = 2633418416212934519L;
+
+		public WriteLockRequired()
+		{
+			super(null, null, false, false);
+		}
+	}
+
+	private static final WriteLockRequired WRITE_LOCK_REQUIRED = new WriteLockRequired();
+
+	private final ReentrantReadWriteLock _lock = new ReentrantReadWriteLock();
+
+	public KnowledgeBaseImplReadWriteSync()
+	{
+		super();
+	}
+
+	protected KnowledgeBaseImplReadWriteSync(final KnowledgeBaseImpl kb, final boolean emptyABox)
+	{
+		super(kb, emptyABox);
+	}
+
+	@Override
+	public KnowledgeBase copy(final boolean emptyABox)
+	{
+		return new KnowledgeBaseImplReadWriteSync(this, emptyABox);
+	}
+
+	private <T> T write(final Supplier<T> query)
+	{
+		if (null == _lock) // Called by the constructor of KnowledgeBaseImpl, before the knowledge base can be shared.
+			return query.get();
+
+		if (_lock.getReadHoldCount() > 0 && !_lock.isWriteLockedByCurrentThread())
+			throw WRITE_LOCK_REQUIRED; // The read lock can't be upgraded, the outermost query is run again under the write lock.
+
+		_lock.writeLock().lock();
+		try
+		{
+			return query.get();
+		}
+		finally
+		{
+			_lock.writeLock().unlock();
+		}
+	}
+
+	private void write(final Runnable change)
+	{
+		write(() ->
+		{
+			change.run();
+			return null;
+		});
+	}
+
+	/**
+	 * @param shared the query run under the read lock, that throws {@link #WRITE_LOCK_REQUIRED} when it can't answer without changing the knowledge base.
+	 * @param exclusive the query run under the write lock when the shared one can't answer.
+	 * @return the answer of the query
+	 */
+	private <T> T readOrWrite(final Supplier<T> shared, final Supplier<T> exclusive)
+	{
+		if (null == _lock || _lock.isWriteLockedByCurrentThread())
+			return exclusive.get();
+
+		_lock.readLock().lock();
+		try
+		{
+			return shared.get();
+		}
+		catch (final WriteLockRequired e)
+		{
+			if (_lock.getReadHoldCount() > 1)
+				throw e;
+		}
+		finally
+		{
+			_lock.readLock().unlock();
+		}
+
+		return write(exclusive);
+	}
+
+	/**
+	 * @param isDone true if the reasoning the query needs is done, so the query doesn't change the knowledge base.
+	 * @param query the query
+	 * @return the answer of the query
+	 */
+	private <T> T read(final BooleanSupplier isDone, final Supplier<T> query)
+	{
+		return readOrWrite(() ->
+		{
+			if (!isDone.getAsBoolean())
+				throw WRITE_LOCK_REQUIRED;
+			return query.get();
+		}, query);
+	}
+
+	private void read(final BooleanSupplier isDone, final Runnable reasoning)
+	{
+		read(isDone, () ->
+		{
+			reasoning.run();
+			return null;
+		});
+	}
+
+	private <T> T read(final Supplier<T> query)
+	{
+		return readOrWrite(query, query);
+	}
+
+	private boolean isConsistencyChecked()
+	{
+		return super.isConsistencyDone() && super.isConsistent();
+	}
+
+	private boolean isNamedClass(final ATermAppl c)
+	{
+		return null != c && ATermUtils.isPrimitive(c) && super.isClassified() && super.getTaxonomyBuilder().getTaxonomy().contains(c);
+	}
+
+	/**
+	 * @return the values of the object property that are in the completed ABox and don't depend on any non-deterministic choice.
+	 * @throws WriteLockRequired if there are other values.
+	 */
+	private Set<ATermAppl> getKnownObjectPropertyValues(final ATermAppl r, final ATermAppl x)
+	{
+		final Role role = null == r ? null : getRBox().getRole(r);
+		if (!isConsistencyChecked() || role == null || !role.isObjectRole() || role.isTop() || role.isBottom() || !super.getIndividuals().contains(x))
+			throw WRITE_LOCK_REQUIRED;
+
+		final Set<ATermAppl> knowns = new HashSet<>();
+		final Set<ATermAppl> unknowns = new HashSet<>();
+		getABox().getObjectPropertyValues(x, role, knowns, unknowns, true);
+		if (!unknowns.isEmpty())
+			throw WRITE_LOCK_REQUIRED;
+
+		return knowns;
+	}
+
+	/**
+	 * @return the values of the data property that are in the completed ABox, when none of them depends on a non-deterministic choice.
+	 * @throws WriteLockRequired if a value depends on a non-deterministic choice, or if the values must be checked against a datatype.
+	 */
+	private List<ATermAppl> getKnownDataPropertyValues(final ATermAppl r, final ATermAppl x, final ATermAppl datatype)
+	{
+		final Role role = null == r ? null : getRBox().getRole(r);
+		final Individual ind = null == x ? null : getABox().getIndividual(x);
+		if (null != datatype || !isConsistencyChecked() || role == null || !role.isDatatypeRole() || role.isTop() || role.isBottom() || ind == null || ind.isMerged())
+			throw WRITE_LOCK_REQUIRED;
+
+		final List<ATermAppl> values = new ArrayList<>();
+		for (final Edge edge : ind.getRSuccessorEdges(role))
+		{
+			if (!edge.getDepends().isIndependent())
+				throw WRITE_LOCK_REQUIRED;
+
+			final ATermAppl value = ((Literal) edge.getTo()).getTerm();
+			if (value != null)
+				values.add(value);
+		}
+		return values;
+	}
+
+	@Override
+	public TaxonomyBuilder getBuilder()
+	{
+		return read(() -> super.isClassified(), () -> super.getBuilder());
+	}
+
+	@Override
+	public Expressivity getExpressivity()
+	{
+		return read(() -> !super.isChanged(), () -> super.getExpressivity());
+	}
+
+	@Override
+	public ExpressivityChecker getExpressivityChecker()
+	{
+		return read(() -> !super.isChanged(), () -> super.getExpressivityChecker());
+	}
+
+	@Override
+	public void clear()
+	{
+		write(() -> super.clear());
+	}
+
+	@Override
+	public void clearABox()
+	{
+		write(() -> super.clearABox());
+	}
+
+	@Override
+	public void addClass(final ATermAppl c)
+	{
+		write(() -> super.addClass(c));
+	}
+
+	@Override
+	public void addSubClass(final ATermAppl sub, final ATermAppl sup)
+	{
+		write(() -> super.addSubClass(sub, sup));
+	}
+
+	@Override
+	public void addEquivalentClass(final ATermAppl c1, final ATermAppl c2)
+	{
+		write(() -> super.addEquivalentClass(c1, c2));
+	}
+
+	@Override
+	public void addKey(final ATermAppl c, final Set<ATermAppl> properties)
+	{
+		write(() -> super.addKey(c, properties));
+	}
+
+	@Override
+	public void addDisjointClasses(final ATermList classes)
+	{
+		write(() -> super.addDisjointClasses(classes));
+	}
+
+	@Override
+	public void addDisjointClasses(final List<ATermAppl> classes)
+	{
+		write(() -> super.addDisjointClasses(classes));
+	}
+
+	@Override
+	public void addDisjointClass(final ATermAppl c1, final ATermAppl c2)
+	{
+		write(() -> super.addDisjointClass(c1, c2));
+	}
+
+	@Override
+	public void addComplementClass(final ATermAppl c1, final ATermAppl c2)
+	{
+		write(() -> super.addComplementClass(c1, c2));
+	}
+
+	@Override
+	public Individual addIndividual(final ATermAppl i)
+	{
+		return write(() -> super.addIndividual(i));
+	}
+
+	@Override
+	public void addType(final ATermAppl i, final ATermAppl c)
+	{
+		write(() -> super.addType(i, c));
+	}
+
+	@Override
+	public void addType(final ATermAppl i, final ATermAppl c, final DependencySet ds)
+	{
+		write(() -> super.addType(i, c, ds));
+	}
+
+	@Override
+	public void addAssertions(final Iterable<ATermAppl> assertions)
+	{
+		write(() -> super.addAssertions(assertions));
+	}
+
+	@Override
+	public void addSame(final ATermAppl i1, final ATermAppl i2)
+	{
+		write(() -> super.addSame(i1, i2));
+	}
+
+	@Override
+	public void addAllDifferent(final ATermList list)
+	{
+		write(() -> super.addAllDifferent(list));
+	}
+
+	@Override
+	public void addDifferent(final ATermAppl i1, final ATermAppl i2)
+	{
+		write(() -> super.addDifferent(i1, i2));
+	}
+
+	@Override
+	@Deprecated
+	public void addObjectPropertyValue(final ATermAppl p, final ATermAppl s, final ATermAppl o)
+	{
+		write(() -> super.addObjectPropertyValue(p, s, o));
+	}
+
+	@Override
+	public boolean addPropertyValue(final ATermAppl p, final ATermAppl s, final ATermAppl o)
+	{
+		return write(() -> super.addPropertyValue(p, s, o));
+	}
+
+	@Override
+	public boolean addNegatedPropertyValue(final ATermAppl p, final ATermAppl s, final ATermAppl o)
+	{
+		return write(() -> super.addNegatedPropertyValue(p, s, o));
+	}
+
+	@Override
+	public void addProperty(final ATermAppl p)
+	{
+		write(() -> super.addProperty(p));
+	}
+
+	@Override
+	public boolean addObjectProperty(final ATerm p)
+	{
+		return write(() -> super.addObjectProperty(p));
+	}
+
+	@Override
+	public boolean addDatatypeProperty(final ATerm p)
+	{
+		return write(() -> super.addDatatypeProperty(p));
+	}
+
+	@Override
+	@Deprecated
+	public void addOntologyProperty(final ATermAppl p)
+	{
+		write(() -> super.addOntologyProperty(p));
+	}
+
+	@Override
+	public boolean addAnnotationProperty(final ATerm p)
+	{
+		return write(() -> super.addAnnotationProperty(p));
+	}
+
+	@Override
+	public boolean addAnnotation(final ATermAppl s, final ATermAppl p, final ATermAppl o)
+	{
+		return write(() -> super.addAnnotation(s, p, o));
+	}
+
+	@Override
+	public Set<ATermAppl> getAnnotations(final ATermAppl s, final ATermAppl p)
+	{
+		return write(() -> super.getAnnotations(s, p));
+	}
+
+	@Override
+	public Set<ATermAppl> getIndividualsWithAnnotation(final ATermAppl p, final ATermAppl o)
+	{
+		return write(() -> super.getIndividualsWithAnnotation(p, o));
+	}
+
+	@Override
+	public boolean isAnnotation(final ATermAppl s, final ATermAppl p, final ATermAppl o)
+	{
+		return write(() -> super.isAnnotation(s, p, o));
+	}
+
+	@Override
+	public void addSubProperty(final ATerm sub, final ATermAppl sup)
+	{
+		write(() -> super.addSubProperty(sub, sup));
+	}
+
+	@Override
+	public void addEquivalentProperty(final ATermAppl p1, final ATermAppl p2)
+	{
+		write(() -> super.addEquivalentProperty(p1, p2));
+	}
+
+	@Override
+	public void addDisjointProperties(final ATermList properties)
+	{
+		write(() -> super.addDisjointProperties(properties));
+	}
+
+	@Override
+	public void addDisjointProperty(final ATermAppl p1, final ATermAppl p2)
+	{
+		write(() -> super.addDisjointProperty(p1, p2));
+	}
+
+	@Override
+	public void addDisjointProperty(final ATermAppl p1, final ATermAppl p2, final DependencySet ds)
+	{
+		write(() -> super.addDisjointProperty(p1, p2, ds));
+	}
+
+	@Override
+	public void addInverseProperty(final ATermAppl p1, final ATermAppl p2)
+	{
+		write(() -> super.addInverseProperty(p1, p2));
+	}
+
+	@Override
+	public void addTransitiveProperty(final ATermAppl p)
+	{
+		write(() -> super.addTransitiveProperty(p));
+	}
+
+	@Override
+	public void addSymmetricProperty(final ATermAppl p)
+	{
+		write(() -> super.addSymmetricProperty(p));
+	}
+
+	@Override
+	@Deprecated
+	public void addAntisymmetricProperty(final ATermAppl p)
+	{
+		write(() -> super.addAntisymmetricProperty(p));
+	}
+
+	@Override
+	public void addAsymmetricProperty(final ATermAppl p)
+	{
+		write(() -> super.addAsymmetricProperty(p));
+	}
+
+	@Override
+	public void prepare()
+	{
+		read(() -> !super.isChanged(), () -> super.prepare());
+	}
+
+	@Override
+	public SizeEstimate getSizeEstimate()
+	{
+		return read(() -> super.getSizeEstimate());
+	}
+
+	@Override
+	public Optional<ABoxStatistics> getABoxStatistics()
+	{
+		return read(() -> super.getABoxStatistics());
+	}
+
+	@Override
+	public int getIndividualsCount()
+	{
+		return read(() -> super.getIndividualsCount());
+	}
+
+	@Override
+	public Set<ATermAppl> getIndividuals()
+	{
+		return read(() -> super.getIndividuals());
+	}
+
+	@Override
+	public Stream<ATermAppl> individuals()
+	{
+		return read(() -> super.individuals());
+	}
+
+	@Override
+	public void classify()
+	{
+		read(() -> super.isClassified(), () -> super.classify());
+	}
+
+	@Override
+	public void realize()
+	{
+		read(() -> super.isRealized(), () -> super.realize());
+	}
+
+	@Override
+	public boolean isClassified()
+	{
+		return read(() -> super.isClassified());
+	}
+
+	@Override
+	public boolean isConsistent()
+	{
+		return read(() -> super.isConsistencyDone(), () -> super.isConsistent());
+	}
+
+	@Override
+	public void ensureConsistency()
+	{
+		read(this::isConsistencyChecked, () -> super.ensureConsistency());
+	}
+
+	@Override
+	public boolean isConsistencyDone()
+	{
+		return read(() -> super.isConsistencyDone());
+	}
+
+	@Override
+	public Taxonomy<ATermAppl> getTaxonomy()
+	{
+		return read(() -> super.isClassified(), () -> super.getTaxonomy());
+	}
+
+	@Override
+	public boolean isDatatypeProperty(final ATerm p)
+	{
+		return write(() -> super.isDatatypeProperty(p));
+	}
+
+	@Override
+	public DependencyIndex getDependencyIndex()
+	{
+		return write(() -> super.getDependencyIndex());
+	}
+
+	@Override
+	public Set<ATermAppl> getSyntacticAssertions()
+	{
+		return write(() -> super.getSyntacticAssertions());
+	}
+
+	@Override
+	public Set<ATermAppl> getDeletedAssertions()
+	{
+		return write(() -> super.getDeletedAssertions());
+	}
+
+	@Override
+	public CompletionStrategy chooseStrategy(final ABox abox, final Expressivity expressivity)
+	{
+		return write(() -> super.chooseStrategy(abox, expressivity));
+	}
+
+	@Override
+	public boolean isRealized()
+	{
+		return read(() -> super.isRealized());
+	}
+
+	@Override
+	public boolean isSatisfiable(final ATermAppl c)
+	{
+		return write(() -> super.isSatisfiable(c));
+	}
+
+	@Override
+	public Set<ATermAppl> getUnsatisfiableClasses()
+	{
+		return write(() -> super.getUnsatisfiableClasses());
+	}
+
+	@Override
+	public Set<ATermAppl> getAllUnsatisfiableClasses()
+	{
+		return write(() -> super.getAllUnsatisfiableClasses());
+	}
+
+	@Override
+	public boolean isDisjointClass(final ATermAppl c1, final ATermAppl c2)
+	{
+		return write(() -> super.isDisjointClass(c1, c2));
+	}
+
+	@Override
+	public Map<Rule, Rule> getNormalizedRules()
+	{
+		return write(() -> super.getNormalizedRules());
+	}
+
+	@Override
+	public Set<Rule> getRules()
+	{
+		return write(() -> super.getRules());
+	}
+
+	@Override
+	public boolean isComplement(final ATermAppl c1, final ATermAppl c2)
+	{
+		return write(() -> super.isComplement(c1, c2));
+	}
+
+	@Override
+	public Set<ATermAppl> getProperties()
+	{
+		return write(() -> super.getProperties());
+	}
+
+	@Override
+	public Set<ATermAppl> getObjectProperties()
+	{
+		return write(() -> super.getObjectProperties());
+	}
+
+	@Override
+	public Set<ATermAppl> getDataProperties()
+	{
+		return write(() -> super.getDataProperties());
+	}
+
+	@Override
+	public Set<Set<ATermAppl>> getAllSuperProperties(final ATermAppl prop)
+	{
+		return write(() -> super.getAllSuperProperties(prop));
+	}
+
+	@Override
+	public Set<Set<ATermAppl>> getSubProperties(final ATermAppl prop, final boolean direct)
+	{
+		return write(() -> super.getSubProperties(prop, direct));
+	}
+
+	@Override
+	public Set<Set<ATermAppl>> getSuperProperties(final ATermAppl prop, final boolean direct)
+	{
+		return write(() -> super.getSuperProperties(prop, direct));
+	}
+
+	@Override
+	public Set<Set<ATermAppl>> getAllSubProperties(final ATermAppl prop)
+	{
+		return write(() -> super.getAllSubProperties(prop));
+	}
+
+	@Override
+	public Set<ATermAppl> getEquivalentProperties(final ATermAppl prop)
+	{
+		return write(() -> super.getEquivalentProperties(prop));
+	}
+
+	@Override
+	public Set<ATermAppl> getFunctionalProperties()
+	{
+		return write(() -> super.getFunctionalProperties());
+	}
+
+	@Override
+	public Set<ATermAppl> getInverseFunctionalProperties()
+	{
+		return write(() -> super.getInverseFunctionalProperties());
+	}
+
+	@Override
+	public Set<ATermAppl> getTransitiveProperties()
+	{
+		return write(() -> super.getTransitiveProperties());
+	}
+
+	@Override
+	public Set<ATermAppl> getSymmetricProperties()
+	{
+		return write(() -> super.getSymmetricProperties());
+	}
+
+	@Override
+	public Set<ATermAppl> getAsymmetricProperties()
+	{
+		return write(() -> super.getAsymmetricProperties());
+	}
+
+	@Override
+	public Set<ATermAppl> getInverses(final ATerm name)
+	{
+		return write(() -> super.getInverses(name));
+	}
+
+	@Override
+	public boolean isObjectProperty(final ATerm p)
+	{
+		return write(() -> super.isObjectProperty(p));
+	}
+
+	@Override
+	public Map<ATermAppl, List<ATermAppl>> getPropertyValues(final ATermAppl pred)
+	{
+		return write(() -> super.getPropertyValues(pred));
+	}
+
+	@Override
+	public List<ATermAppl> getProperties(final ATermAppl s, final ATermAppl o)
+	{
+		return write(() -> super.getProperties(s, o));
+	}
+
+	@Override
+	public PropertyType getPropertyType(final ATerm r)
+	{
+		return write(() -> super.getPropertyType(r));
+	}
+
+	@Override
+	public Set<ATermAppl> getReflexiveProperties()
+	{
+		return write(() -> super.getReflexiveProperties());
+	}
+
+	@Override
+	public Set<ATermAppl> getIrreflexiveProperties()
+	{
+		return write(() -> super.getIrreflexiveProperties());
+	}
+
+	@Override
+	public Bool hasKnownPropertyValue(final ATermAppl s, final ATermAppl p, final ATermAppl o)
+	{
+		return write(() -> super.hasKnownPropertyValue(s, p, o));
+	}
+
+	@Override
+	public boolean hasPropertyValue(final ATermAppl s, final ATermAppl p, final ATermAppl o)
+	{
+		return write(() -> super.hasPropertyValue(s, p, o));
+	}
+
+	@Override
+	public List<ATermAppl> getPropertyValues(final ATermAppl r, final ATermAppl x)
+	{
+		return read(this::isConsistencyChecked, () -> super.getPropertyValues(r, x));
+	}
+
+	@Override
+	public Set<ATermAppl> getAnnotationProperties()
+	{
+		return write(() -> super.getAnnotationProperties());
+	}
+
+	@Override
+	public Set<ATermAppl> getDomains(final ATermAppl name)
+	{
+		return write(() -> super.getDomains(name));
+	}
+
+	@Override
+	public Set<ATermAppl> getRanges(final ATerm name)
+	{
+		return write(() -> super.getRanges(name));
+	}
+
+	@Override
+	public boolean isAnnotationProperty(final ATerm p)
+	{
+		return write(() -> super.isAnnotationProperty(p));
+	}
+
+	@Override
+	public Set<ATermAppl> getAnnotationSubjects()
+	{
+		return write(() -> super.getAnnotationSubjects());
+	}
+
+	@Override
+	public Taxonomy<ATermAppl> getRoleTaxonomy(final boolean objectTaxonomy)
+	{
+		return write(() -> super.getRoleTaxonomy(objectTaxonomy));
+	}
+
+	@Override
+	public TaxonomyBuilder getTaxonomyBuilder()
+	{
+		return read(() -> super.isClassified(), () -> super.getTaxonomyBuilder());
+	}
+
+	@Override
+	public Map<ATermAppl, Set<ATermAppl>> getToldDisjoints()
+	{
+		return write(() -> super.getToldDisjoints());
+	}
+
+	@Override
+	public Set<Set<ATermAppl>> getTypes(final ATermAppl ind, final boolean direct)
+	{
+		return read(() -> super.isRealized() && OpenlletOptions.AUTO_REALIZE, () -> super.getTypes(ind, direct));
+	}
+
+	@Override
+	public boolean isType(final ATermAppl x, final ATermAppl c)
+	{
+		return read(() -> super.isRealized() && !doExplanation() && isNamedClass(c), () -> super.isType(x, c));
+	}
+
+	@Override
+	public Bool isKnownType(final ATermAppl x, final ATermAppl c)
+	{
+		return write(() -> super.isKnownType(x, c));
+	}
+
+	@Override
+	public Set<Set<ATermAppl>> getSubClasses(final ATermAppl c, final boolean direct)
+	{
+		return read(() -> isNamedClass(c), () -> super.getSubClasses(c, direct));
+	}
+
+	@Override
+	public boolean isClass(final ATerm c)
+	{
+		return read(() -> !ATermUtils.isComplexClass(c), () -> super.isClass(c));
+	}
+
+	@Override
+	public boolean isSubClassOf(final ATermAppl c1, final ATermAppl c2)
+	{
+		return write(() -> super.isSubClassOf(c1, c2));
+	}
+
+	@Override
+	public Set<ATermAppl> retrieve(final ATermAppl d, final Collection<ATermAppl> individuals)
+	{
+		return write(() -> super.retrieve(d, individuals));
+	}
+
+	@Override
+	public List<ATermAppl> retrieveIndividualsWithProperty(final ATermAppl r)
+	{
+		return write(() -> super.retrieveIndividualsWithProperty(r));
+	}
+
+	@Override
+	public Set<ATermAppl> getInstances(final ATermAppl c)
+	{
+		return read(() -> super.isRealized() && isNamedClass(c), () -> super.getInstances(c));
+	}
+
+	@Override
+	public boolean hasInstance(final ATerm c)
+	{
+		return write(() -> super.hasInstance(c));
+	}
+
+	@Override
+	public Set<ATermAppl> getInstances(final ATermAppl c, final boolean direct)
+	{
+		return read(() -> super.isRealized() && isNamedClass(c), () -> super.getInstances(c, direct));
+	}
+
+	@Override
+	public Set<ATermAppl> getAllSames(final ATermAppl name)
+	{
+		return write(() -> super.getAllSames(name));
+	}
+
+	@Override
+	public List<ATermAppl> getIndividualsWithProperty(final ATermAppl r, final ATermAppl x)
+	{
+		return write(() -> super.getIndividualsWithProperty(r, x));
+	}
+
+	@Override
+	public void addDomain(final ATerm p, final ATermAppl c)
+	{
+		write(() -> super.addDomain(p, c));
+	}
+
+	@Override
+	public void addDomain(final ATerm p, final ATermAppl c, final Set<ATermAppl> explain)
+	{
+		write(() -> super.addDomain(p, c, explain));
+	}
+
+	@Override
+	public void addRange(final ATerm p, final ATermAppl c)
+	{
+		write(() -> super.addRange(p, c));
+	}
+
+	@Override
+	public void addRange(final ATerm p, final ATermAppl c, final Set<ATermAppl> explain)
+	{
+		write(() -> super.addRange(p, c, explain));
+	}
+
+	@Override
+	public void addFunctionalProperty(final ATermAppl p)
+	{
+		write(() -> super.addFunctionalProperty(p));
+	}
+
+	@Override
+	public void addInverseFunctionalProperty(final ATerm p)
+	{
+		write(() -> super.addInverseFunctionalProperty(p));
+	}
+
+	@Override
+	public void addReflexiveProperty(final ATermAppl p)
+	{
+		write(() -> super.addReflexiveProperty(p));
+	}
+
+	@Override
+	public void addIrreflexiveProperty(final ATermAppl p)
+	{
+		write(() -> super.addIrreflexiveProperty(p));
+	}
+
+	@Override
+	public void addDatatype(final ATermAppl p)
+	{
+		write(() -> super.addDatatype(p));
+	}
+
+	@Override
+	public boolean addDatatypeDefinition(final ATermAppl name, final ATermAppl datarange)
+	{
+		return write(() -> super.addDatatypeDefinition(name, datarange));
+	}
+
+	@Override
+	public boolean addRule(final Rule rule)
+	{
+		return write(() -> super.addRule(rule));
+	}
+
+	@Override
+	public boolean removeType(final ATermAppl ind, final ATermAppl c)
+	{
+		return write(() -> super.removeType(ind, c));
+	}
+
+	@Override
+	public boolean removeDomain(final ATerm p, final ATermAppl c)
+	{
+		return write(() -> super.removeDomain(p, c));
+	}
+
+	@Override
+	public boolean removeRange(final ATerm p, final ATermAppl c)
+	{
+		return write(() -> super.removeRange(p, c));
+	}
+
+	@Override
+	public boolean removePropertyValue(final ATermAppl p, final ATermAppl i1, final ATermAppl i2)
+	{
+		return write(() -> super.removePropertyValue(p, i1, i2));
+	}
+
+	@Override
+	public boolean removeAxiom(final ATermAppl axiom)
+	{
+		return write(() -> super.removeAxiom(axiom));
+	}
+
+	@Override
+	public void setTaxonomyBuilderProgressMonitor(final ProgressMonitor progressMonitor)
+	{
+		write(() -> super.setTaxonomyBuilderProgressMonitor(progressMonitor));
+	}
+
+	@Override
+	public Set<ATermAppl> getEquivalentClasses(final ATermAppl c)
+	{
+		return write(() -> super.getEquivalentClasses(c));
+	}
+
+	@Override
+	public Set<ATermAppl> getAllEquivalentClasses(final ATermAppl c)
+	{
+		return write(() -> super.getAllEquivalentClasses(c));
+	}
+
+	@Override
+	public Set<Set<ATermAppl>> getSuperClasses(final ATermAppl cParam, final boolean direct)
+	{
+		return read(() -> isNamedClass(cParam), () -> super.getSuperClasses(cParam, direct));
+	}
+
+	@Override
+	public Set<Set<ATermAppl>> getDisjointClasses(final ATermAppl c, final boolean direct)
+	{
+		return write(() -> super.getDisjointClasses(c, direct));
+	}
+
+	@Override
+	public Set<ATermAppl> getComplements(final ATermAppl c)
+	{
+		return write(() -> super.getComplements(c));
+	}
+
+	@Override
+	public Set<ATermAppl> getSames(final ATermAppl name)
+	{
+		return write(() -> super.getSames(name));
+	}
+
+	@Override
+	public Set<ATermAppl> getDifferents(final ATermAppl name)
+	{
+		return write(() -> super.getDifferents(name));
+	}
+
+	@Override
+	public List<ATermAppl> getDataPropertyValues(final ATermAppl r, final ATermAppl x, final ATermAppl datatype)
+	{
+		return readOrWrite(() -> getKnownDataPropertyValues(r, x, datatype), () -> super.getDataPropertyValues(r, x, datatype));
+	}
+
+	@Override
+	public List<ATermAppl> getObjectPropertyValues(final ATermAppl r, final ATermAppl x)
+	{
+		return readOrWrite(() -> new ArrayList<>(getKnownObjectPropertyValues(r, x)), () -> super.getObjectPropertyValues(r, x));
+	}
+
+	@Override
+	public Stream<ATermAppl> objectPropertyValues(final ATermAppl r, final ATermAppl x)
+	{
+		return readOrWrite(() -> getKnownObjectPropertyValues(r, x).stream(), () -> super.objectPropertyValues(r, x));
+	}
+
+	@Override
+	public Set<ATermAppl> getAllEquivalentProperties(final ATermAppl prop)
+	{
+		return write(() -> super.getAllEquivalentProperties(prop));
+	}
+
+	@Override
+	public Set<Set<ATermAppl>> getDisjointProperties(final ATermAppl p)
+	{
+		return write(() -> super.getDisjointProperties(p));
+	}
+
+	@Override
+	public boolean isDatatype(final ATermAppl c)
+	{
+		return write(() -> super.isDatatype(c));
+	}
+
+	@Override
+	public boolean isAsymmetricProperty(final ATermAppl p)
+	{
+		return write(() -> super.isAsymmetricProperty(p));
+	}
+
+	@Override
+	public boolean isReflexiveProperty(final ATermAppl p)
+	{
+		return write(() -> super.isReflexiveProperty(p));
+	}
+
+	@Override
+	public boolean isDisjoint(final ATermAppl c1, final ATermAppl c2)
+	{
+		return write(() -> super.isDisjoint(c1, c2));
+	}
+
+	@Override
+	public boolean hasDomain(final ATermAppl p, final ATermAppl c)
+	{
+		return write(() -> super.hasDomain(p, c));
+	}
+
+	@Override
+	public boolean isEquivalentProperty(final ATermAppl p1, final ATermAppl p2)
+	{
+		return write(() -> super.isEquivalentProperty(p1, p2));
+	}
+
+	@Override
+	public boolean isDifferentFrom(final ATermAppl t1, final ATermAppl t2)
+	{
+		return write(() -> super.isDifferentFrom(t1, t2));
+	}
+
+	@Override
+	public boolean isDisjointProperty(final ATermAppl r1, final ATermAppl r2)
+	{
+		return write(() -> super.isDisjointProperty(r1, r2));
+	}
+
+	@Override
+	public boolean hasRange(final ATermAppl p, final ATermAppl c)
+	{
+		return write(() -> super.hasRange(p, c));
+	}
+
+	@Override
+	public boolean isFunctionalProperty(final ATermAppl p)
+	{
+		return write(() -> super.isFunctionalProperty(p));
+	}
+
+	@Override
+	public boolean isSubPropertyOf(final ATermAppl sub, final ATermAppl sup)
+	{
+		return write(() -> super.isSubPropertyOf(sub, sup));
+	}
+
+	@Override
+	public boolean isInverse(final ATermAppl r1, final ATermAppl r2)
+	{
+		return write(() -> super.isInverse(r1, r2));
+	}
+
+	@Override
+	public boolean isEquivalentClass(final ATermAppl c1, final ATermAppl c2)
+	{
+		return write(() -> super.isEquivalentClass(c1, c2));
+	}
+
+	@Override
+	public boolean isTransitiveProperty(final ATermAppl r)
+	{
+		return write(() -> super.isTransitiveProperty(r));
+	}
+
+	@Override
+	public boolean isIrreflexiveProperty(final ATermAppl p)
+	{
+		return write(() -> super.isIrreflexiveProperty(p));
+	}
+
+	@Override
+	public boolean isInverseFunctionalProperty(final ATermAppl p)
+	{
+		return write(() -> super.isInverseFunctionalProperty(p));
+	}
+
+	@Override
+	public boolean isSameAs(final ATermAppl t1, final ATermAppl t2)
+	{
+		return write(() -> super.isSameAs(t1, t2));
+	}
+
+	@Override
+	public void printClassTree()
+	{
+		write(() -> super.printClassTree());
+	}
+
+	@Override
+	public boolean isChanged(final ChangeType change)
+	{
+		return read(() -> super.isChanged(change));
+	}
+}
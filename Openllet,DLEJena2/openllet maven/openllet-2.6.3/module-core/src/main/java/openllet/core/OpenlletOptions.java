@@ -274,6 +274,12 @@ public class OpenlletOptions
 	 */
 	public static double SAMPLING_RATIO = 0.2;
 
+	/**
+	 * Collect the number of instances of every class and the number of values of every property when the knowledge base is realized, and keep them up to
+	 * date with the ABox changes. The size estimates use these statistics instead of sampling the individuals, which makes them cheaper and deterministic.
+	 */
+	public static boolean USE_ABOX_STATISTICS = true;
+
 	/**
 	 * The number of query atoms in a query that will trigger the switch from static query reordering to dynamic (incremental) query reordering.
 	 */
@@ -416,6 +422,25 @@ public class OpenlletOptions
 
 	public static boolean PROCESS_JENA_UPDATES_INCREMENTALLY = true;
 
+	/**
+	 * The number of threads that translate the type and property value triples of the named individuals when a Jena graph is loaded. With more than one
+	 * thread, these triples are loaded after all the other triples of the graphs, the knowledge base still being updated from a single thread.
+	 */
+	public static int GRAPH_LOADER_THREADS = 1;
+
+	/**
+	 * Answer the triple patterns about the types and the property values of individuals from an index of the realized facts. The index is built by the
+	 * first such query after the knowledge base has been realized, which realizes it if needed, and it is rebuilt after the knowledge base changes. Building
+	 * the index costs as much as extracting all the inferred individual statements, so this only pays off when many patterns are answered.
+	 */
+	public static boolean USE_REALIZED_FACTS_INDEX = false;
+
+	/**
+	 * The number of threads used by the incremental classifier to extract the modules of the classes and to classify the affected modules that don't share
+	 * any entity. Modules are extracted concurrently only by the axiom based extractor with a syntactic locality class.
+	 */
+	public static int MODULARITY_THREADS = 1;
+
 	/**
 	 * In some ontologies, such as the ones from OBO, annotations may be nested and contain type assertions on annotation values. Such type assertions will be
 	 * treated as regular assertions and processed by the reasoner. This causes many superfluous logical axioms to be considered by the reasoner which might
@@ -424,8 +449,22 @@ public class OpenlletOptions
 	 */
 	public static boolean IGNORE_ANNOTATION_CLASSES = true;
 
+	/**
+	 * Use several threads for the reasoning tasks that are independent of each other: the completion of the ABox components (see
+	 * {@link #USE_ABOX_COMPONENTS}) and the execution of the disconnected components of a query on a {@link KnowledgeBaseImplReadWriteSync}, the other
+	 * knowledge bases not being thread safe. The tableau rules are always applied by a single thread. This option also disables the timers.
+	 */
 	public static boolean USE_THREADED_KERNEL = false;
 
+	/**
+	 * Check the consistency of the ABox by completing each of its connected components (individuals linked through role assertions, sameAs or differentFrom
+	 * assertions and shared literals) separately, before the completion of the whole ABox. The completions of the components that do not require any
+	 * non-deterministic choice are copied back to the ABox, so the final completion only has to deal with the rest of the components. This is used only for
+	 * knowledge bases without nominals, keys, SWRL rules and universal restrictions on owl:topObjectProperty. The components are completed concurrently if
+	 * {@link #USE_THREADED_KERNEL} is enabled.
+	 */
+	public static boolean USE_ABOX_COMPONENTS = false;
+
 	static
 	{
 		final String configFile = System.getProperty("openllet.configuration");
@@ -563,6 +602,8 @@ public class OpenlletOptions
 
 		SAMPLING_RATIO = getDoubleProperty(newOptions, "SAMPLING_RATIO", SAMPLING_RATIO, oldOptions);
 
+		USE_ABOX_STATISTICS = getBooleanProperty(newOptions, "USE_ABOX_STATISTICS", USE_ABOX_STATISTICS, oldOptions);
+
 		SILENT_UNDEFINED_ENTITY_HANDLING = getBooleanProperty(newOptions, "SILENT_UNDEFINED_ENTITY_HANDLING", SILENT_UNDEFINED_ENTITY_HANDLING, oldOptions);
 
 		SIMPLIFY_QUERY = getBooleanProperty(newOptions, "SIMPLIFY_QUERY", SIMPLIFY_QUERY, oldOptions);
@@ -627,8 +668,16 @@ public class OpenlletOptions
 
 		PROCESS_JENA_UPDATES_INCREMENTALLY = getBooleanProperty(newOptions, "PROCESS_JENA_UPDATES_INCREMENTALLY", PROCESS_JENA_UPDATES_INCREMENTALLY, oldOptions);
 
+		GRAPH_LOADER_THREADS = getIntProperty(newOptions, "GRAPH_LOADER_THREADS", GRAPH_LOADER_THREADS, oldOptions);
+
+		USE_REALIZED_FACTS_INDEX = getBooleanProperty(newOptions, "USE_REALIZED_FACTS_INDEX", USE_REALIZED_FACTS_INDEX, oldOptions);
+
+		MODULARITY_THREADS = getIntProperty(newOptions, "MODULARITY_THREADS", MODULARITY_THREADS, oldOptions);
+
 		IGNORE_ANNOTATION_CLASSES = getBooleanProperty(newOptions, "IGNORE_ANNOTATION_CLASSES", IGNORE_ANNOTATION_CLASSES, oldOptions);
 
+		USE_ABOX_COMPONENTS = getBooleanProperty(newOptions, "USE_ABOX_COMPONENTS", USE_ABOX_COMPONENTS, oldOptions);
+
 		return oldOptions;
 	}
 
@@ -224,6 +224,19 @@ public interface ABox extends Logging
 
 	public List<ATermAppl> getNodeNames();
 
+	/**
+	 * @return true if the consequences of the assertions about an individual are confined to the connected component of the individual, i.e. there are no
+	 *         nominals, keys, rules or universal restrictions on the top object property that relate the individuals of different components.
+	 */
+	public boolean hasIndependentComponents();
+
+	/**
+	 * @param individuals names of individuals
+	 * @return the given individuals and the named individuals that are connected to them through the edges, the sameAs and the differentFrom relations of
+	 *         this ABox. Literal values do not connect individuals.
+	 */
+	public Set<ATermAppl> getConnectedIndividuals(Collection<ATermAppl> individuals);
+
 	/**
 	 * @return Returns the datatype reasoner.
 	 */
@@ -377,6 +390,13 @@ public interface ABox extends Logging
 	 */
 	public int size();
 
+	/**
+	 * Makes room for a number of additional nodes, so that the node index does not grow repeatedly when many individuals are added at once.
+	 *
+	 * @param additional the number of nodes that are going to be added
+	 */
+	public void ensureCapacity(final int additional);
+
 	/**
 	 * @return true if there are no individuals in the ABox.
 	 */
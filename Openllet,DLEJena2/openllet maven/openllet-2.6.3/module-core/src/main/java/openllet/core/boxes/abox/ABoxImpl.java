@@ -40,12 +40,15 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import openllet.aterm.ATerm;
 import openllet.aterm.ATermAppl;
 import openllet.aterm.ATermList;
@@ -82,6 +85,7 @@ import openllet.core.tracker.SimpleIncrementalChangeTracker;
 import openllet.core.utils.ATermUtils;
 import openllet.core.utils.Bool;
 import openllet.core.utils.CandidateSet;
+import openllet.core.utils.DisjointSet;
 import openllet.core.utils.MultiMapUtils;
 import openllet.core.utils.SetUtils;
 import openllet.core.utils.Timer;
@@ -123,7 +127,7 @@ public class ABoxImpl implements ABox
 	/**
 	 * This is a list of node names. This list stores the individuals in the order they are created
 	 */
-	private final List<ATermAppl> _nodeList;
+	private final ArrayList<ATermAppl> _nodeList;
 
 	// pseudo model for this Abox. This is the ABox that results from
 	// completing to the original Abox
@@ -138,7 +142,7 @@ public class ABoxImpl implements ABox
 	/**
 	 * This is a list of _nodes. Each _node has a name expressed as an ATerm which is used as the key in the Hashtable. The value is the actual _node object
 	 */
-	private final Map<ATermAppl, Node> _nodes;
+	private volatile Map<ATermAppl, Node> _nodes;
 
 	/** the current branch number */
 	private volatile int _branchIndex;
@@ -163,6 +167,12 @@ public class ABoxImpl implements ABox
 	 */
 	private volatile int _anonCount = 0;
 
+	/**
+	 * the ABox whose connected component is completed by this ABox, if any. The names of the anonymous _nodes are generated by that ABox so that the
+	 * completion can be copied back without renaming them.
+	 */
+	private final ABoxImpl _componentOf;
+
 	private volatile boolean _keepLastCompletion;
 
 	// complete ABox means no more tableau rules are applicable
@@ -236,6 +246,7 @@ public class ABoxImpl implements ABox
 	public ABoxImpl(final KnowledgeBase kb)
 	{
 		_kb = kb;
+		_componentOf = null;
 		_nodes = Collections.synchronizedMap(new IdentityHashMap<>());
 		_nodeList = new ArrayList<>();
 		_clash = null;
@@ -282,6 +293,7 @@ public class ABoxImpl implements ABox
 	public ABoxImpl(final KnowledgeBase kb, final ABoxImpl abox, final ATermAppl extraIndividual, final boolean copyIndividuals)
 	{
 		_kb = kb;
+		_componentOf = null;
 		final Optional<Timer> timer = kb.getTimers().startTimer("cloneABox");
 
 		_rulesNotApplied = true;
@@ -411,6 +423,78 @@ public class ABoxImpl implements ABox
 		timer.ifPresent(t -> t.stop());
 	}
 
+	/**
+	 * Create the ABox used to complete one connected component of the given ABox. Only the _nodes of the component are copied.
+	 *
+	 * @param abox that is being checked for consistency
+	 * @param component names of the _nodes of the component, in the _order of the _nodeList of the given ABox
+	 */
+	private ABoxImpl(final ABoxImpl abox, final List<ATermAppl> component)
+	{
+		_kb = abox._kb;
+		_componentOf = abox;
+
+		_rulesNotApplied = true;
+		setChanged(abox.isChanged());
+		_clash = null;
+		_doExplanation = abox._doExplanation;
+		_keepLastCompletion = false;
+		_disjBranchStats = Collections.synchronizedMap(new IdentityHashMap<>());
+		_assertedClashes = SetUtils.create();
+
+		// the other components may be completed at the same time
+		if (abox._cache != null)
+		{
+			_cache = new ConceptCacheLRU(_kb, abox._cache.getMaxSize());
+			_cache.putAll(abox._cache);
+		}
+		_dtReasoner = new DatatypeReasonerImpl(abox._dtReasoner);
+
+		setBranchIndex(abox._branchIndex);
+		_branches = new ComponentBranches();
+
+		_nodes = Collections.synchronizedMap(new IdentityHashMap<>(component.size()));
+		_nodeList = new ArrayList<>(component.size());
+
+		if (OpenlletOptions.TRACK_BRANCH_EFFECTS)
+			_branchEffects = new SimpleBranchEffectTracker();
+		else
+			_branchEffects = null;
+
+		if (OpenlletOptions.USE_COMPLETION_QUEUE)
+		{
+			if (OpenlletOptions.USE_OPTIMIZED_BASIC_COMPLETION_QUEUE)
+				_completionQueue = new OptimizedBasicCompletionQueue(this);
+			else
+				_completionQueue = new BasicCompletionQueue(this);
+		}
+		else
+			_completionQueue = null;
+
+		if (OpenlletOptions.USE_INCREMENTAL_CONSISTENCY)
+			_incChangeTracker = new SimpleIncrementalChangeTracker();
+		else
+			_incChangeTracker = null;
+
+		for (final ATermAppl x : component)
+		{
+			_nodes.put(x, abox.getNode(x).copyTo(this));
+			_nodeList.add(x);
+		}
+
+		for (final Node node : _nodes.values())
+		{
+			node.updateNodeReferences();
+			if (OpenlletOptions.USE_COMPLETION_QUEUE)
+				_completionQueue.add(new QueueElement(node));
+		}
+
+		_toBeMerged = new ArrayList<>();
+		for (final NodeMerge merge : abox._toBeMerged)
+			if (_nodes.containsKey(merge.getSource()))
+				_toBeMerged.add(merge);
+	}
+
 	@Override
 	public ABoxImpl copy()
 	{
@@ -1266,6 +1350,9 @@ public class ABoxImpl implements ABox
 
 		checkAssertedClashes();
 
+		if (OpenlletOptions.USE_ABOX_COMPONENTS && _clash == null)
+			completeComponents();
+
 		isConsistent = isConsistent(Collections.emptySet(), null, false);
 
 		if (isConsistent)
@@ -1280,6 +1367,241 @@ public class ABoxImpl implements ABox
 		return isConsistent;
 	}
 
+	/**
+	 * Completes the connected components of this ABox separately and copies back the completions that did not need any _branch, so that the consistency check
+	 * that follows only has to complete the rest of the components. The _branches of a component cannot be copied back since their indices and _node counts
+	 * would conflict with the ones of the other components, so the completion of a component is given up as soon as it needs a _branch: the work done twice
+	 * for such a component is bounded by its deterministic part, and at most one component copy per thread is alive at a time. A component with a clash is
+	 * left to the consistency check to report the clash and its explanation. A component whose completion created a literal that is already in this ABox (e.g. the value of a hasValue restriction that is also an
+	 * asserted value of another component) is left to the consistency check too, since the literal _node is shared. Every inference copied back is also an inference of the whole ABox, so the final completion is the same.
+	 */
+	private void completeComponents()
+	{
+		final Expressivity expr = _kb.getExpressivityChecker().getExpressivity();
+		if (!canCompleteComponents(expr))
+			return;
+
+		final List<List<ATermAppl>> components = getComponents();
+		if (components.size() < 2)
+			return;
+
+		final Optional<Timer> timer = _kb.getTimers().startTimer("completeComponents");
+
+		// Timers are not thread safe, they are disabled only with the threaded kernel.
+		final Stream<List<ATermAppl>> stream = OpenlletOptions.USE_THREADED_KERNEL ? components.parallelStream() : components.stream();
+		final long completed = stream.filter(component -> completeComponent(component, expr)).count();
+
+		_logger.fine(() -> "Completed " + completed + " of " + components.size() + " ABox components");
+
+		timer.ifPresent(t -> t.stop());
+	}
+
+	/**
+	 * @param component to complete
+	 * @param expr of the knowledge base
+	 * @return true if the completion of the component has been copied to this ABox
+	 */
+	private boolean completeComponent(final List<ATermAppl> component, final Expressivity expr)
+	{
+		final ABoxImpl abox = new ABoxImpl(this, component);
+
+		try
+		{
+			_kb.chooseStrategy(abox, expr).complete(expr);
+		}
+		catch (final BranchingComponentException e)
+		{
+			return false;
+		}
+
+		if (abox.isClosed())
+			return false;
+
+		synchronized (this)
+		{
+			// a literal created by the completion may already be a _node of another component, whose edges would point to the replaced _node
+			final Set<ATermAppl> original = new HashSet<>(component);
+			for (final ATermAppl x : abox._nodeList)
+				if (!original.contains(x) && _nodes.containsKey(x))
+					return false;
+
+			final List<Node> copies = new ArrayList<>(abox._nodeList.size());
+			for (final ATermAppl x : abox._nodeList)
+			{
+				final Node copy = abox.getNode(x).copyTo(this);
+				if (_nodes.put(x, copy) == null)
+					_nodeList.add(x);
+				copies.add(copy);
+			}
+
+			for (final Node copy : copies)
+				copy.updateNodeReferences();
+		}
+
+		return true;
+	}
+
+	/**
+	 * The _branches of the ABox that completes a connected component, which stop the completion at the first _branch since it could not be copied back.
+	 */
+	private static final class ComponentBranches extends ArrayList<Branch>
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public boolean add(final Branch branch)
+		{
+			throw BranchingComponentException.INSTANCE;
+		}
+	}
+
+	private static final class BranchingComponentException extends RuntimeException
+	{
+		private static final long serialVersionUID = 1L;
+
+		private static final BranchingComponentException INSTANCE = new BranchingComponentException();
+
+		private BranchingComponentException()
+		{
+			super("The completion of the component needs a branch", null, false, false);
+		}
+	}
+
+	private boolean canCompleteComponents(final Expressivity expr)
+	{
+		// the asserted clashes refer to the _nodes that a component would replace
+		if (isEmpty() || isInitialized() || !_branches.isEmpty() || !_assertedClashes.isEmpty())
+			return false;
+
+		return !OpenlletOptions.USE_INCREMENTAL_DELETION && hasIndependentComponents(expr);
+	}
+
+	@Override
+	public boolean hasIndependentComponents()
+	{
+		return hasIndependentComponents(_kb.getExpressivity());
+	}
+
+	private boolean hasIndependentComponents(final Expressivity expr)
+	{
+		if (expr.hasNominal() && !OpenlletOptions.USE_PSEUDO_NOMINALS || expr.hasKeys() || !_kb.getRules().isEmpty())
+			return false;
+
+		// a universal restriction on the top object property links every individual of the ABox
+		final ATermAppl top = ATermUtils.TOP_OBJECT_PROPERTY;
+		if (_kb.getTBox().getAxioms().stream().anyMatch(axiom -> mentions(axiom, top)))
+			return false;
+
+		for (final Node node : _nodes.values())
+			for (final ATermAppl type : node.getTypes())
+				if (mentions(type, top))
+					return false;
+
+		return true;
+	}
+
+	private static boolean mentions(final ATerm term, final ATermAppl name)
+	{
+		if (term == name)
+			return true;
+
+		if (term instanceof ATermAppl)
+		{
+			final ATermAppl appl = (ATermAppl) term;
+			for (int i = 0, n = appl.getArity(); i < n; i++)
+				if (mentions(appl.getArgument(i), name))
+					return true;
+		}
+		else
+			if (term instanceof ATermList)
+				for (ATermList list = (ATermList) term; !list.isEmpty(); list = list.getNext())
+					if (mentions(list.getFirst(), name))
+						return true;
+
+		return false;
+	}
+
+	/**
+	 * @return the connected components of the _nodes of this ABox that contain an individual, with the _nodes of each component in the _order of the
+	 *         _nodeList. Two _nodes are connected if there is an edge, a sameAs or a differentFrom assertion between them, so individuals that share a literal
+	 *         value are in the same component.
+	 */
+	private List<List<ATermAppl>> getComponents()
+	{
+		final DisjointSet<ATermAppl> disjointSet = new DisjointSet<>();
+		for (final ATermAppl x : _nodeList)
+			disjointSet.add(x);
+
+		for (final ATermAppl x : _nodeList)
+		{
+			final Node node = getNode(x);
+			if (node instanceof Individual)
+				for (final Edge edge : ((Individual) node).getOutEdges())
+					union(disjointSet, x, edge.getToName());
+
+			for (final Node different : node.getDifferents())
+				union(disjointSet, x, different.getName());
+		}
+
+		for (final NodeMerge merge : _toBeMerged)
+			union(disjointSet, merge.getSource(), merge.getTarget());
+
+		final Map<ATermAppl, List<ATermAppl>> components = new LinkedHashMap<>();
+		for (final ATermAppl x : _nodeList)
+			components.computeIfAbsent(disjointSet.find(x), k -> new ArrayList<>()).add(x);
+
+		// literals that are not the value of any property are left to the consistency check
+		return components.values().stream()//
+				.filter(component -> component.stream().anyMatch(x -> getNode(x).isIndividual()))//
+				.collect(Collectors.toList());
+	}
+
+	private static void union(final DisjointSet<ATermAppl> disjointSet, final ATermAppl x, final ATermAppl y)
+	{
+		if (!disjointSet.isSame(x, y))
+			disjointSet.union(x, y);
+	}
+
+	@Override
+	public Set<ATermAppl> getConnectedIndividuals(final Collection<ATermAppl> individuals)
+	{
+		final Set<ATermAppl> connected = new HashSet<>(individuals);
+		final Set<Node> visited = new HashSet<>();
+		final List<Node> agenda = new ArrayList<>();
+
+		for (final ATermAppl x : individuals)
+		{
+			final Node node = getNode(x);
+			if (node != null && node.isIndividual())
+				agenda.add(node);
+		}
+
+		while (!agenda.isEmpty())
+		{
+			final Node node = agenda.remove(agenda.size() - 1);
+			if (!visited.add(node))
+				continue;
+
+			if (node.isNamedIndividual())
+				connected.add(node.getName());
+
+			final List<Node> neighbors = new ArrayList<>();
+			neighbors.add(node.getSame());
+			neighbors.addAll(node.getMerged());
+			neighbors.addAll(node.getDifferents());
+			for (final Edge edge : ((Individual) node).getOutEdges())
+				neighbors.add(edge.getTo());
+			for (final Edge edge : node.getInEdges())
+				neighbors.add(edge.getFrom());
+
+			for (final Node neighbor : neighbors)
+				if (neighbor.isIndividual() && !visited.contains(neighbor))
+					agenda.add(neighbor);
+		}
+
+		return connected;
+	}
+
 	/**
 	 * Checks if all the previous asserted clashes are resolved. If there is an unresolved _clash, the _clash will be set to the first such _clash found
 	 * (selection is arbitrary). The _clash remains unchanged if all clashes are resolved. That is, the _clash might be non-null after this function even if all
@@ -1953,13 +2275,18 @@ public class ABoxImpl implements ABox
 	@Override
 	final public ATermAppl createUniqueName(final boolean isNominal)
 	{
-		_anonCount++;
+		final int anonCount = _componentOf == null ? ++_anonCount : _componentOf.nextAnonCount();
 
-		final ATermAppl name = isNominal ? ATermUtils.makeAnonNominal(_anonCount) : ATermUtils.makeAnon(_anonCount);
+		final ATermAppl name = isNominal ? ATermUtils.makeAnonNominal(anonCount) : ATermUtils.makeAnon(anonCount);
 
 		return name;
 	}
 
+	private synchronized int nextAnonCount()
+	{
+		return ++_anonCount;
+	}
+
 	@Override
 	final public Map<ATermAppl, Node> getNodes()
 	{
@@ -2416,6 +2743,21 @@ public class ABoxImpl implements ABox
 		return _nodes.size();
 	}
 
+	@Override
+	public void ensureCapacity(final int additional)
+	{
+		_nodeList.ensureCapacity(_nodeList.size() + additional);
+
+		// copying the index only pays off if it would otherwise be resized several times
+		if (additional > _nodes.size())
+			synchronized (_nodes)
+			{
+				final Map<ATermAppl, Node> nodes = new IdentityHashMap<>(_nodes.size() + additional);
+				nodes.putAll(_nodes);
+				_nodes = Collections.synchronizedMap(nodes);
+			}
+	}
+
 	@Override
 	public boolean isEmpty()
 	{
@@ -73,6 +73,17 @@ public class TBoxExpImpl implements TBox
 	 */
 	private final Set<ATermAppl> _absorbedAxioms = CollectionUtils.makeIdentitySet();
 
+	/**
+	 * True if some axiom has been absorbed into the RBox, the ABox or the rules of the KB. Without tracing such axioms can't be identified, so the TBox
+	 * can't be rebuilt from the asserted axioms when one is removed.
+	 */
+	private boolean _absorbedOutsideTBox = false;
+
+	/**
+	 * True if asserted axioms have been removed without tracing, the TBox is then rebuilt from the remaining asserted axioms in {@link #prepare()}.
+	 */
+	private boolean _rebuildRequired = false;
+
 	public TuBox _Tu = null;
 	public TgBox _Tg = null;
 
@@ -312,6 +323,14 @@ public class TBoxExpImpl implements TBox
 
 		if (!OpenlletOptions.USE_TRACING)
 		{
+			if (dependantAxiom == explanationAxiom && !_absorbedOutsideTBox && _tboxAssertedAxioms.contains(dependantAxiom))
+			{
+				_tboxAssertedAxioms.remove(dependantAxiom);
+				_logger.fine(() -> "Removing " + ATermUtils.toString(dependantAxiom) + ", the TBox will be rebuilt");
+				_rebuildRequired = true;
+				return true;
+			}
+
 			if (_logger.isLoggable(Level.FINE))
 				_logger.fine("Cannot remove axioms when PelletOptions.USE_TRACING is false");
 			return false;
@@ -438,6 +457,25 @@ public class TBoxExpImpl implements TBox
 		return _absorbedAxioms;
 	}
 
+	/**
+	 * Records that the axioms of the given clashExplanation have been absorbed into the RBox or the ABox.
+	 *
+	 * @param explain the axioms that have been absorbed
+	 */
+	protected void addAbsorbedAxioms(final Set<ATermAppl> explain)
+	{
+		_absorbedAxioms.addAll(explain);
+		_absorbedOutsideTBox = true;
+	}
+
+	/**
+	 * Records that an axiom has been absorbed outside of the TBox, e.g. into a rule.
+	 */
+	protected void setAbsorbedOutsideTBox()
+	{
+		_absorbedOutsideTBox = true;
+	}
+
 	//	public boolean containsAxiom(final ATermAppl axiom)
 	//	{
 	//		return _tboxAxioms.containsKey(axiom);
@@ -541,11 +579,35 @@ public class TBoxExpImpl implements TBox
 	@Override
 	public void prepare()
 	{
+		if (_rebuildRequired)
+			rebuild();
+
 		_Tg.absorb();
 		_Tg.internalize();
 		_Tu.normalize();
 	}
 
+	/**
+	 * Adds the asserted axioms again after some of them have been removed without tracing. Only the definitions of the TBox are rebuilt, the RBox and the
+	 * ABox of the KB are left untouched.
+	 */
+	private void rebuild()
+	{
+		_logger.fine(() -> "Rebuild the TBox from " + _tboxAssertedAxioms.size() + " asserted axioms");
+
+		final List<ATermAppl> assertedAxioms = new ArrayList<>(_tboxAssertedAxioms);
+
+		_tboxAssertedAxioms.clear();
+		_tboxAxioms.clear();
+		_reverseExplain.clear();
+		_Tu = new TuBox(this);
+		_Tg = new TgBox(this);
+		_rebuildRequired = false;
+
+		for (final ATermAppl axiom : assertedAxioms)
+			addAxiom(axiom);
+	}
+
 	@Override
 	public Iterator<Unfolding> unfold(final ATermAppl c)
 	{
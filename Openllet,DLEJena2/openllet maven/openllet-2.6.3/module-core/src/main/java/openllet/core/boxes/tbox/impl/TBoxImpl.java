@@ -111,9 +111,20 @@ public class TBoxImpl implements TBox
 
 	private final Set<ATermAppl> _absorbedAxioms = SetUtils.create();
 
-	private final PrimitiveTBox _primitiveTbox = new PrimitiveTBox();
-	private final UnaryTBox _unaryTbox = new UnaryTBox();
-	private final BinaryTBox _binaryTbox = new BinaryTBox();
+	/**
+	 * True if some axiom has been absorbed into the RBox, the ABox or the rules of the KB. Without tracing such axioms can't be identified, so the TBox
+	 * can't be rebuilt from the asserted axioms when one is removed.
+	 */
+	private boolean _absorbedOutsideTBox = false;
+
+	/**
+	 * True if asserted axioms have been removed without tracing, the TBox is then rebuilt from the remaining asserted axioms in {@link #prepare()}.
+	 */
+	private boolean _rebuildRequired = false;
+
+	private PrimitiveTBox _primitiveTbox = new PrimitiveTBox();
+	private UnaryTBox _unaryTbox = new UnaryTBox();
+	private BinaryTBox _binaryTbox = new BinaryTBox();
 
 	public TBoxImpl(final KnowledgeBase kb)
 	{
@@ -419,6 +430,7 @@ public class TBoxImpl implements TBox
 			}
 
 			_absorbedAxioms.addAll(explain);
+			_absorbedOutsideTBox = true;
 
 			final DependencySet ds = new DependencySet(explain);
 			while (list.hasNext())
@@ -463,6 +475,7 @@ public class TBoxImpl implements TBox
 					_logger.finer(() -> "Absorb into " + ATermUtils.toString(ind) + " with inverse of " + ATermUtils.toString(p) + " for " + ATermUtils.toString(c));
 
 					_absorbedAxioms.addAll(explanation);
+					_absorbedOutsideTBox = true;
 
 					_kb.addIndividual(ind);
 					_kb.addType(ind, allInvPC, new DependencySet(explanation));
@@ -512,6 +525,7 @@ public class TBoxImpl implements TBox
 
 			final Rule rule = new Rule(headAtoms, bodyAtoms);
 			_kb.addRule(rule);
+			_absorbedOutsideTBox = true;
 
 			_logger.fine(() -> "Add rule: " + rule);
 
@@ -828,6 +842,7 @@ public class TBoxImpl implements TBox
 				_logger.fine(() -> "Add dom: " + ATermUtils.toString(p) + " " + ATermUtils.toString(disjunction));
 
 				_absorbedAxioms.addAll(explanation);
+				_absorbedOutsideTBox = true;
 				return true;
 			}
 
@@ -865,6 +880,14 @@ public class TBoxImpl implements TBox
 
 		if (!OpenlletOptions.USE_TRACING)
 		{
+			if (dependantAxiom == explanationAxiom && !_absorbedOutsideTBox && _tboxAssertedAxioms.contains(dependantAxiom))
+			{
+				_tboxAssertedAxioms.remove(dependantAxiom);
+				_logger.fine(() -> "Removing " + dependantAxiom + ", the TBox will be rebuilt");
+				_rebuildRequired = true;
+				return true;
+			}
+
 			_logger.fine("Cannot remove axioms when PelletOptions.USE_TRACING is false");
 			return false;
 		}
@@ -1098,6 +1121,29 @@ public class TBoxImpl implements TBox
 	@Override
 	public void prepare()
 	{
-		// nothing to do
+		if (_rebuildRequired)
+			rebuild();
+	}
+
+	/**
+	 * Absorbs the asserted axioms again after some of them have been removed without tracing. Only the internal structures of the TBox are rebuilt, the
+	 * RBox and the ABox of the KB are left untouched.
+	 */
+	private void rebuild()
+	{
+		_logger.fine(() -> "Rebuild the TBox from " + _tboxAssertedAxioms.size() + " asserted axioms");
+
+		final List<ATermAppl> assertedAxioms = new ArrayList<>(_tboxAssertedAxioms);
+
+		_tboxAssertedAxioms.clear();
+		_tboxAxioms.clear();
+		_reverseExplain.clear();
+		_primitiveTbox = new PrimitiveTBox();
+		_unaryTbox = new UnaryTBox();
+		_binaryTbox = new BinaryTBox();
+		_rebuildRequired = false;
+
+		for (final ATermAppl axiom : assertedAxioms)
+			addAxiom(axiom);
 	}
 }
@@ -190,7 +190,10 @@ public class TgBox extends TBoxBase
 		{
 			_subLogger.finer("Absorb rule");
 			if (OpenlletOptions.USE_RULE_ABSORPTION && ruleAbsorber.absorbRule(set, _explanation))
+			{
+				_tbox.setAbsorbedOutsideTBox();
 				return true;
+			}
 			_subLogger.finer("Absorb nominal");
 			if (!OpenlletOptions.USE_PSEUDO_NOMINALS && (OpenlletOptions.USE_NOMINAL_ABSORPTION || OpenlletOptions.USE_HASVALUE_ABSORPTION) && absorbNominal(set))
 				return true;
@@ -275,7 +278,7 @@ public class TgBox extends TBoxBase
 
 					_subLogger.finer(() -> "Absorb into " + ind + " with inverse of " + p + " for " + c);
 
-					_tbox.getAbsorbedAxioms().addAll(_explanation);
+					_tbox.addAbsorbedAxioms(_explanation);
 
 					_kb.addIndividual(ind);
 					_kb.addType(ind, allInvPC, new DependencySet(_explanation));
@@ -302,7 +305,7 @@ public class TgBox extends TBoxBase
 
 		_subLogger.fine(() -> "Absorb nominals: " + ATermUtils.toString(c) + " " + list);
 
-		_tbox.getAbsorbedAxioms().addAll(explain);
+		_tbox.addAbsorbedAxioms(explain);
 
 		final DependencySet ds = new DependencySet(explain);
 		for (final ATerm term : list)
@@ -334,7 +337,7 @@ public class TgBox extends TBoxBase
 				_kb.addDomain(r, domain, _explanation);
 
 				_subLogger.fine(() -> "Absorb domain: " + ATermUtils.toString(r) + " " + ATermUtils.toString(domain));
-				_tbox.getAbsorbedAxioms().addAll(_explanation);
+				_tbox.addAbsorbedAxioms(_explanation);
 				return true;
 			}
 			else
@@ -355,7 +358,7 @@ public class TgBox extends TBoxBase
 						final ATermAppl domain = ATermUtils.makeNot(ATermUtils.makeAnd(ATermUtils.makeList(set)));
 						_kb.addDomain(r, domain, _explanation);
 						_subLogger.fine(() -> "Absorb domain: " + ATermUtils.toString(r) + " " + ATermUtils.toString(domain));
-						_tbox.getAbsorbedAxioms().addAll(_explanation);
+						_tbox.addAbsorbedAxioms(_explanation);
 						return true;
 					}
 				}
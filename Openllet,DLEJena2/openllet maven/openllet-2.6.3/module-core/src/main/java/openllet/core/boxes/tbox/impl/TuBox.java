@@ -197,7 +197,7 @@ public class TuBox extends TBoxBase
 
 				_kb.addRange(r, range, explain);
 
-				tbox.getAbsorbedAxioms().addAll(explain);
+				tbox.addAbsorbedAxioms(explain);
 			}
 			else
 				if (ATermUtils.isAnd(unfolded))
@@ -214,7 +214,7 @@ public class TuBox extends TBoxBase
 
 							_kb.addRange(r, range, explain);
 
-							tbox.getAbsorbedAxioms().addAll(explain);
+							tbox.addAbsorbedAxioms(explain);
 						}
 						else
 							newList = newList.insert(term);
@@ -299,6 +299,25 @@ public class DatatypeReasonerImpl implements DatatypeReasoner
 		namedDataRanges = new HashMap<>();
 	}
 
+	/**
+	 * Create a reasoner with the same declared and defined datatypes as the given one, that can be used at the same time as it.
+	 *
+	 * @param reasoner whose datatypes are copied
+	 */
+	public DatatypeReasonerImpl(final DatatypeReasoner reasoner)
+	{
+		this();
+
+		for (final ATermAppl name : reasoner.listDataRanges())
+		{
+			final ATermAppl definition = reasoner.getDefinition(name);
+			if (definition != null)
+				define(name, definition);
+			else
+				declare(name);
+		}
+	}
+
 	private boolean containedIn(final Object value, final ATermAppl dconjunction) throws InvalidConstrainingFacetException, InvalidLiteralException, UnrecognizedDatatypeException
 	{
 		if (ATermUtils.isAnd(dconjunction))
@@ -11,6 +11,7 @@ import static openllet.core.utils.TermFactory.TOP;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import openllet.aterm.ATerm;
@@ -47,7 +48,11 @@ public abstract class AbstractConceptCache implements ConceptCache
 {
 	public final static Logger _logger = Log.getLogger(AbstractConceptCache.class);
 
-	private int _maxSize;
+	private volatile int _maxSize;
+
+	private final LongAdder _hits = new LongAdder();
+	private final LongAdder _misses = new LongAdder();
+	private final LongAdder _evictions = new LongAdder();
 
 	/**
 	 * Creates an empty _cache with at most <code>_maxSize</code> elements which are neither named or negations of names.
@@ -108,6 +113,56 @@ public abstract class AbstractConceptCache implements ConceptCache
 		_maxSize = maxSize;
 	}
 
+	/**
+	 * Counts a lookup that found the concept in the cache. The counters are meant to be updated by {@link #get(Object)} and they do not need any lock.
+	 */
+	protected void recordHit()
+	{
+		_hits.increment();
+	}
+
+	/**
+	 * Counts a lookup that did not find the concept in the cache.
+	 */
+	protected void recordMiss()
+	{
+		_misses.increment();
+	}
+
+	/**
+	 * Counts concepts removed from the cache to keep it within its max size.
+	 *
+	 * @param count number of removed concepts
+	 */
+	protected void recordEvictions(final int count)
+	{
+		_evictions.add(count);
+	}
+
+	/**
+	 * @return the number of lookups that found the concept in the cache
+	 */
+	public long getHitCount()
+	{
+		return _hits.sum();
+	}
+
+	/**
+	 * @return the number of lookups that did not find the concept in the cache
+	 */
+	public long getMissCount()
+	{
+		return _misses.sum();
+	}
+
+	/**
+	 * @return the number of concepts removed from the cache to keep it within its max size
+	 */
+	public long getEvictionCount()
+	{
+		return _evictions.sum();
+	}
+
 	private static Bool checkTrivialClash(final CachedNode node1, final CachedNode node2)
 	{
 		Bool result = null;
@@ -6,13 +6,16 @@
 
 package openllet.core.tableau.cache;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import openllet.aterm.ATermAppl;
 import openllet.core.KnowledgeBase;
 import openllet.core.utils.ATermUtils;
@@ -20,7 +23,11 @@ import openllet.core.utils.ATermUtils;
 /**
  * <p>
  * Description: Least Recently Used implementation of ConceptCache. Primitive concepts and their negation are always kept in the cache. The least recently used
- * complex concept will be removed from the cache if the max size is reached.
+ * complex concepts will be removed from the cache if the max size is reached.
+ * </p>
+ * <p>
+ * The recency is approximate so that lookups never take a lock: every complex concept is stamped with the number of insertions made when it was last used,
+ * and the concepts with the oldest stamps are evicted, a batch at a time, by whichever thread finds the cache over its max size.
  * </p>
  * <p>
  * Copyright: Copyright (c) 2007
@@ -33,10 +40,36 @@ import openllet.core.utils.ATermUtils;
  */
 public class ConceptCacheLRU extends AbstractConceptCache
 {
-	private Map<ATermAppl, CachedNode> _primitive;
-	private Map<ATermAppl, CachedNode> _nonPrimitive;
+	/**
+	 * Every eviction removes this fraction of the max size beyond the concepts that are over the limit, so the scan of the cache is amortized over that many
+	 * insertions.
+	 */
+	private static final int EVICTION_BATCH_DIVISOR = 16;
+
+	private static final class Entry
+	{
+		private final CachedNode _node;
+
+		private volatile long _lastUse;
+
+		private Entry(final CachedNode node, final long lastUse)
+		{
+			_node = node;
+			_lastUse = lastUse;
+		}
+	}
 
-	private CacheSafety _cacheSafety;
+	private final Map<ATermAppl, CachedNode> _primitive = new ConcurrentHashMap<>();
+	private final Map<ATermAppl, Entry> _nonPrimitive = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of insertions of complex concepts, used as the clock of the recency stamps.
+	 */
+	private final AtomicLong _clock = new AtomicLong();
+
+	private final ReentrantLock _evictionLock = new ReentrantLock();
+
+	private final CacheSafety _cacheSafety;
 
 	/**
 	 * Creates an empty ConceptCacheImpl with no size restrictions Using this constructor is equivalent to break the auto-flush LRU policy of this cache.
@@ -59,21 +92,6 @@ public class ConceptCacheLRU extends AbstractConceptCache
 		super(maxSize);
 
 		_cacheSafety = CacheSafetyFactory.createCacheSafety(kb.getExpressivity());
-
-		_primitive = new ConcurrentHashMap<>();
-
-		_nonPrimitive = Integer.MAX_VALUE == maxSize ? //
-				new ConcurrentHashMap<>() : // as "size" is an integer and so size() can be greater than max-int, then the predicate removeEldestEntry will always be false. So we use a simpler data structure.
-				Collections.synchronizedMap(new LinkedHashMap<ATermAppl, CachedNode>(16, 0.75f, true)
-				{
-					private static final long serialVersionUID = 3701638684292370398L;
-
-					@Override
-					protected boolean removeEldestEntry(final Map.Entry<ATermAppl, CachedNode> eldest)
-					{
-						return _nonPrimitive.size() > getMaxSize();
-					}
-				});
 	}
 
 	@Override
@@ -98,14 +116,14 @@ public class ConceptCacheLRU extends AbstractConceptCache
 	@Override
 	public boolean containsValue(final Object value)
 	{
-		return _primitive.containsValue(value) || _nonPrimitive.containsValue(value);
+		return _primitive.containsValue(value) || _nonPrimitive.values().stream().anyMatch(entry -> entry._node.equals(value));
 	}
 
 	@Override
 	public Set<java.util.Map.Entry<ATermAppl, CachedNode>> entrySet()
 	{
 		final Set<java.util.Map.Entry<ATermAppl, CachedNode>> returnSet = new HashSet<>(_primitive.entrySet());
-		returnSet.addAll(_nonPrimitive.entrySet());
+		_nonPrimitive.forEach((key, entry) -> returnSet.add(new SimpleImmutableEntry<>(key, entry._node)));
 		return returnSet;
 	}
 
@@ -114,8 +132,25 @@ public class ConceptCacheLRU extends AbstractConceptCache
 	{
 		final CachedNode node = _primitive.get(key);
 		if (node != null)
+		{
+			recordHit();
 			return node;
-		return _nonPrimitive.get(key);
+		}
+
+		final Entry entry = _nonPrimitive.get(key);
+		if (entry == null)
+		{
+			recordMiss();
+			return null;
+		}
+
+		// only write the stamp when it changes, so concurrent hits on a popular concept do not keep invalidating its cache line
+		final long now = _clock.get();
+		if (entry._lastUse != now)
+			entry._lastUse = now;
+
+		recordHit();
+		return entry._node;
 	}
 
 	@Override
@@ -139,14 +174,50 @@ public class ConceptCacheLRU extends AbstractConceptCache
 	public CachedNode put(final ATermAppl key, final CachedNode value)
 	{
 		if (ATermUtils.isPrimitiveOrNegated(key))
+			return _primitive.put(key, value);
+
+		final Entry prev = _nonPrimitive.put(key, new Entry(value, _clock.incrementAndGet()));
+		evict();
+		return prev == null ? null : prev._node;
+	}
+
+	/**
+	 * Removes the least recently used complex concepts if there are more than the max size. Only one thread evicts at a time, the others do not wait for it.
+	 */
+	private void evict()
+	{
+		final int maxSize = getMaxSize();
+		if (_nonPrimitive.size() <= maxSize || !_evictionLock.tryLock())
+			return;
+
+		try
 		{
-			final CachedNode prev = _primitive.put(key, value);
-			if (isFull())
-				_nonPrimitive.entrySet();
-			return prev;
-		}
+			final int excess = _nonPrimitive.size() - maxSize;
+			if (excess <= 0)
+				return;
+
+			final int count = excess + maxSize / EVICTION_BATCH_DIVISOR;
+
+			// keep the count oldest entries, the most recent of them on the top of the heap
+			final PriorityQueue<Map.Entry<ATermAppl, Entry>> oldest = new PriorityQueue<>(count + 1, Comparator.comparingLong((final Map.Entry<ATermAppl, Entry> e) -> e.getValue()._lastUse).reversed());
+			for (final Map.Entry<ATermAppl, Entry> e : _nonPrimitive.entrySet())
+			{
+				oldest.add(e);
+				if (oldest.size() > count)
+					oldest.poll();
+			}
 
-		return _nonPrimitive.put(key, value);
+			int evicted = 0;
+			for (final Map.Entry<ATermAppl, Entry> e : oldest)
+				if (_nonPrimitive.remove(e.getKey(), e.getValue()))
+					evicted++;
+
+			recordEvictions(evicted);
+		}
+		finally
+		{
+			_evictionLock.unlock();
+		}
 	}
 
 	@Override
@@ -161,7 +232,9 @@ public class ConceptCacheLRU extends AbstractConceptCache
 	{
 		if (_primitive.containsKey(key))
 			return _primitive.remove(key);
-		return _nonPrimitive.remove(key);
+
+		final Entry entry = _nonPrimitive.remove(key);
+		return entry == null ? null : entry._node;
 	}
 
 	@Override
@@ -174,7 +247,7 @@ public class ConceptCacheLRU extends AbstractConceptCache
 	public Collection<CachedNode> values()
 	{
 		final Set<CachedNode> valueSet = new HashSet<>(_primitive.values());
-		valueSet.addAll(_nonPrimitive.values());
+		_nonPrimitive.values().forEach(entry -> valueSet.add(entry._node));
 		return valueSet;
 	}
 
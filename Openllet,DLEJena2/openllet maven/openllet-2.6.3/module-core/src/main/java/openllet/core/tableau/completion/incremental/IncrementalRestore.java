@@ -6,7 +6,6 @@
 
 package openllet.core.tableau.completion.incremental;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map.Entry;
@@ -24,7 +23,6 @@ import openllet.core.exceptions.InternalReasonerException;
 import openllet.core.tableau.branch.Branch;
 import openllet.core.tracker.IncrementalChangeTracker;
 import openllet.core.utils.ATermUtils;
-import openllet.core.utils.intset.IntSet;
 
 /**
  * The incremental restoration is call when predicate have been remove from the ABox and the consistency is re-check.
@@ -57,72 +55,17 @@ public class IncrementalRestore
 				OpenlletOptions.TRACK_BRANCH_EFFECTS ? //
 						abox.getBranchEffectTracker().getAll(branch.getBranch().getBranchIndexInABox()) : //
 						abox.getNodeNames();
-		final List<IntSet> updatedList = new ArrayList<>();
+		final int removedBranch = branch.getBranch().getBranchIndexInABox();
 
 		for (final ATermAppl a : allEffects)
 		{
 			final Node node = abox.getNode(a); // get the actual _node
 
 			for (final Entry<ATermAppl, DependencySet> entry : node.getDepends().entrySet()) // update type dependencies
-			{
-				DependencySet tDS = entry.getValue(); // get ds for type
-
-				// DependencySet.copy() does not create a new bitset object,
-				// so we need to track which bitsets have been
-				// updated, so we do not process the same bitset multiple
-				// times
-				boolean exit = false;
-				for (int i = 0; i < updatedList.size(); i++)
-					if (updatedList.get(i) == tDS.getDepends())
-						exit = true;
-
-				if (exit)
-					continue;
-
-				updatedList.add(tDS.getDepends());
-
-				if (tDS.getBranch() > branch.getBranch().getBranchIndexInABox()) // update _branch if necessary
-					tDS = tDS.copy(tDS.getBranch() - 1);
-
-				for (int i = branch.getBranch().getBranchIndexInABox(); i <= abox.getBranches().size(); i++)
-					if (tDS.contains(i)) // update dependency set
-					{
-						tDS.remove(i);
-						tDS.add(i - 1);
-					}
-
-				entry.setValue(tDS);
-			}
+				entry.setValue(entry.getValue().renumber(removedBranch));
 
 			for (final Edge edge : node.getInEdges()) // update edge dependencies
-			{
-				DependencySet tDS = edge.getDepends();
-
-				// DependencySet.copy() does not create a new bitset object,
-				// so we need to track which bitsets have been updated,
-				// so we do not process the same bitset multiple times
-				boolean exit = false;
-				for (int i = 0; i < updatedList.size(); i++)
-					if (updatedList.get(i) == tDS.getDepends())
-						exit = true;
-
-				if (exit)
-					continue;
-
-				updatedList.add(tDS.getDepends());
-
-				if (tDS.getBranch() > branch.getBranch().getBranchIndexInABox()) // update _branch if necessary
-					tDS = tDS.copy(edge.getDepends().getBranch() - 1);
-
-				for (int i = branch.getBranch().getBranchIndexInABox(); i <= abox.getBranches().size(); i++)
-					if (tDS.contains(i)) // update dependency set
-					{
-						tDS.remove(i);
-						tDS.add(i - 1);
-					}
-
-				edge.setDepends(tDS);
-			}
+				edge.setDepends(edge.getDepends().renumber(removedBranch));
 		}
 	}
 
@@ -136,20 +79,7 @@ public class IncrementalRestore
 		{
 			final Branch br = branches.get(i); // cast for ease
 
-			DependencySet termDepends = br.getTermDepends();
-
-			// update the term depends in the branch
-			if (termDepends.getBranch() > branch.getBranch().getBranchIndexInABox())
-				termDepends = termDepends.copy(termDepends.getBranch() - 1);
-
-			for (int j = branch.getBranch().getBranchIndexInABox(); j < _kb.getABox().getBranches().size(); j++)
-				if (termDepends.contains(j))
-				{
-					termDepends.remove(j);
-					termDepends.add(j - 1);
-					break;
-				}
-			br.setTermDepends(termDepends);
+			br.setTermDepends(br.getTermDepends().renumber(branch.getBranch().getBranchIndexInABox())); // update the term depends in the branch
 		}
 
 		branches.remove(branch.getBranch()); // remove the actual branch
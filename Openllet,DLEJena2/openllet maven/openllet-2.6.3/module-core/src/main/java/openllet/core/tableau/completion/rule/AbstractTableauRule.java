@@ -11,7 +11,6 @@ import openllet.core.OpenlletOptions;
 import openllet.core.boxes.abox.Individual;
 import openllet.core.boxes.abox.IndividualIterator;
 import openllet.core.boxes.abox.Node;
-import openllet.core.tableau.blocking.Blocking;
 import openllet.core.tableau.completion.CompletionStrategy;
 import openllet.core.tableau.completion.queue.NodeSelector;
 import openllet.core.tableau.completion.queue.QueueElement;
@@ -50,53 +49,25 @@ public abstract class AbstractTableauRule implements TableauRule
 	@Override
 	public boolean apply(final IndividualIterator i)
 	{
-
-		if (OpenlletOptions.USE_THREADED_KERNEL)
+		i.reset(_nodeSelector);
+		while (i.hasNext())
 		{
-			final Blocking blocking = _strategy.getBlocking();
-
-			return i.nodes()//
-					.filter(node ->
-					{
-						if (blocking.isBlocked(node))
-						{
-							if (OpenlletOptions.USE_COMPLETION_QUEUE)
-								addQueueElement(node);
-						}
-						else
-						{
-							apply(node);
+			final Individual node = i.next();
 
-							if (_strategy.getABox().isClosed())
-								return true;
-						}
-						return false;
-
-					}).findAny()//
-					.isPresent();
-		}
-		else
-		{
-			i.reset(_nodeSelector);
-			while (i.hasNext())
+			if (_strategy.getBlocking().isBlocked(node))
 			{
-				final Individual node = i.next();
-
-				if (_strategy.getBlocking().isBlocked(node))
-				{
-					if (OpenlletOptions.USE_COMPLETION_QUEUE)
-						addQueueElement(node);
-				}
-				else
-				{
-					apply(node);
+				if (OpenlletOptions.USE_COMPLETION_QUEUE)
+					addQueueElement(node);
+			}
+			else
+			{
+				apply(node);
 
-					if (_strategy.getABox().isClosed())
-						return true;
-				}
+				if (_strategy.getABox().isClosed())
+					return true;
 			}
-			return false;
 		}
+		return false;
 	}
 
 	protected boolean isBlocked(final Individual node)
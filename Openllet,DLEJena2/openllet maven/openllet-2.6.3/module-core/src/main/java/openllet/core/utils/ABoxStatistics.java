@@ -0,0 +1,421 @@
+package openllet.core.utils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import openllet.aterm.ATermAppl;
+import openllet.core.KnowledgeBase;
+import openllet.core.boxes.abox.ABox;
+import openllet.core.boxes.abox.Edge;
+import openllet.core.boxes.abox.Individual;
+import openllet.core.boxes.abox.Node;
+import openllet.core.boxes.rbox.Role;
+import openllet.core.taxonomy.Taxonomy;
+import openllet.core.taxonomy.TaxonomyNode;
+import openllet.core.taxonomy.TaxonomyUtils;
+import openllet.shared.tools.Log;
+
+/**
+ * Exact counts of the instances of the named classes and of the values of the named properties of a realized knowledge base, which the {@link SizeEstimate}
+ * uses instead of sampling the individuals.
+ * <p>
+ * The statistics are collected once the knowledge base is realized and they are kept up to date with the ABox assertions that are added or removed
+ * afterwards, until the TBox or the RBox changes or the knowledge base is realized again. The updates are approximations: an added type counts for the
+ * named superclasses that the individual did not have yet, an added property value counts for the super properties of its property, and neither account
+ * for the other consequences of the assertion.
+ * </p>
+ * <p>
+ * The property values are the values that are asserted or deterministically inferred in the ABox, between named individuals or literals. The values
+ * entailed by transitivity or by property chains are not counted.
+ * </p>
+ */
+public class ABoxStatistics
+{
+	private static final Logger _logger = Log.getLogger(ABoxStatistics.class);
+
+	/**
+	 * The statistics of a named property.
+	 */
+	public static class PropertyStatistics
+	{
+		private int _pairs = 0;
+
+		private final Map<ATermAppl, Integer> _objectsPerSubject = new HashMap<>();
+
+		private final Map<ATermAppl, Integer> _subjectsPerObject = new HashMap<>();
+
+		/**
+		 * The number of subjects by fan-out, where bucket <code>i</code> holds the subjects with between <code>2^i</code> and <code>2^(i+1) - 1</code> values.
+		 */
+		private final int[] _fanOut = new int[Integer.SIZE];
+
+		private void update(final ATermAppl s, final ATermAppl o, final int delta)
+		{
+			final int before = count(_objectsPerSubject, s);
+			final int after = Math.max(0, before + delta);
+			if (before == after)
+				return;
+
+			_pairs += after - before;
+			set(_objectsPerSubject, s, after);
+			set(_subjectsPerObject, o, Math.max(0, count(_subjectsPerObject, o) + delta));
+
+			if (before > 0)
+				_fanOut[bucket(before)]--;
+			if (after > 0)
+				_fanOut[bucket(after)]++;
+		}
+
+		/**
+		 * @return the number of (subject, value) pairs of the property
+		 */
+		public int getPairCount()
+		{
+			return _pairs;
+		}
+
+		/**
+		 * @return the number of distinct subjects of the property
+		 */
+		public int getSubjectCount()
+		{
+			return _objectsPerSubject.size();
+		}
+
+		/**
+		 * @return the number of distinct values of the property
+		 */
+		public int getObjectCount()
+		{
+			return _subjectsPerObject.size();
+		}
+
+		/**
+		 * @param s a subject
+		 * @return the number of values of the property for the subject
+		 */
+		public int getObjectCount(final ATermAppl s)
+		{
+			return count(_objectsPerSubject, s);
+		}
+
+		/**
+		 * @param o a value
+		 * @return the number of subjects that have the value for the property
+		 */
+		public int getSubjectCount(final ATermAppl o)
+		{
+			return count(_subjectsPerObject, o);
+		}
+
+		/**
+		 * @return the average number of values of a subject of the property, or 0 if it has no subject
+		 */
+		public double avgObjectsPerSubject()
+		{
+			return _objectsPerSubject.isEmpty() ? 0 : (double) _pairs / _objectsPerSubject.size();
+		}
+
+		/**
+		 * @return the average number of subjects of a value of the property, or 0 if it has no value
+		 */
+		public double avgSubjectsPerObject()
+		{
+			return _subjectsPerObject.isEmpty() ? 0 : (double) _pairs / _subjectsPerObject.size();
+		}
+
+		/**
+		 * @return the number of subjects by fan-out, where element <code>i</code> is the number of subjects with between <code>2^i</code> and
+		 *         <code>2^(i+1) - 1</code> values
+		 */
+		public int[] getFanOutHistogram()
+		{
+			return _fanOut.clone();
+		}
+
+		@Override
+		public String toString()
+		{
+			return "pairs=" + _pairs + " subjects=" + getSubjectCount() + " objects=" + getObjectCount();
+		}
+
+		private static int bucket(final int fanOut)
+		{
+			return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(fanOut);
+		}
+	}
+
+	private final Taxonomy<ATermAppl> _taxonomy;
+
+	private final Map<ATermAppl, Integer> _instances = new HashMap<>();
+
+	private final Map<ATermAppl, Integer> _directInstances = new HashMap<>();
+
+	private final Map<ATermAppl, Integer> _types = new HashMap<>();
+
+	private final Map<ATermAppl, Integer> _directTypes = new HashMap<>();
+
+	private long _typeTotal = 0;
+
+	private long _directTypeTotal = 0;
+
+	private final Map<ATermAppl, PropertyStatistics> _properties = new HashMap<>();
+
+	/**
+	 * Collects the statistics of a knowledge base.
+	 *
+	 * @param kb a realized knowledge base
+	 */
+	public ABoxStatistics(final KnowledgeBase kb)
+	{
+		_taxonomy = kb.getTaxonomyBuilder().getTaxonomy();
+
+		collectTypes();
+		collectPropertyValues(kb);
+
+		if (_logger.isLoggable(Level.FINE))
+			_logger.fine("Statistics of " + _instances.size() + " classes, " + _types.size() + " individuals and " + _properties.size() + " properties");
+	}
+
+	private void collectTypes()
+	{
+		final Map<ATermAppl, Set<TaxonomyNode<ATermAppl>>> directTypes = new HashMap<>();
+
+		for (final TaxonomyNode<ATermAppl> node : new HashSet<>(_taxonomy.getNodes().values()))
+		{
+			if (node.isBottom())
+				continue;
+
+			final Set<ATermAppl> instances = TaxonomyUtils.getDirectInstances(_taxonomy, node.getName());
+			for (final ATermAppl c : node.getEquivalents())
+				_directInstances.put(c, instances.size());
+
+			for (final ATermAppl ind : instances)
+			{
+				directTypes.computeIfAbsent(ind, x -> new HashSet<>()).add(node);
+				_directTypeTotal += add(_directTypes, ind, node.getEquivalents().size());
+			}
+		}
+
+		final Set<TaxonomyNode<ATermAppl>> types = new HashSet<>();
+		final Set<TaxonomyNode<ATermAppl>> visit = new HashSet<>();
+		for (final Map.Entry<ATermAppl, Set<TaxonomyNode<ATermAppl>>> entry : directTypes.entrySet())
+		{
+			types.clear();
+			visit.addAll(entry.getValue());
+			while (!visit.isEmpty())
+			{
+				final TaxonomyNode<ATermAppl> node = visit.iterator().next();
+				visit.remove(node);
+				if (types.add(node))
+					visit.addAll(node.getSupers());
+			}
+
+			int count = 0;
+			for (final TaxonomyNode<ATermAppl> node : types)
+			{
+				for (final ATermAppl c : node.getEquivalents())
+					add(_instances, c, 1);
+				count += node.getEquivalents().size();
+			}
+			_typeTotal += add(_types, entry.getKey(), count);
+		}
+	}
+
+	private void collectPropertyValues(final KnowledgeBase kb)
+	{
+		final ABox abox = kb.getABox();
+
+		for (final ATermAppl name : kb.getIndividuals())
+		{
+			final Individual ind = abox.getIndividual(name);
+			if (ind == null || ind.isMerged() || ind.isPruned())
+				continue;
+
+			for (final Edge edge : ind.getOutEdges())
+			{
+				if (!edge.getDepends().isIndependent())
+					continue;
+
+				final Node to = edge.getTo().getSame();
+				if (to.isIndividual() && !to.isNamedIndividual())
+					continue;
+
+				update(edge.getRole(), ind.getName(), to.getName(), 1);
+			}
+		}
+	}
+
+	/**
+	 * Counts a type assertion that is about to be added to the ABox.
+	 *
+	 * @param ind the individual, or <code>null</code> if it is not in the ABox yet
+	 * @param name the name of the individual
+	 * @param c the asserted class
+	 */
+	public void addType(final Individual ind, final ATermAppl name, final ATermAppl c)
+	{
+		if (!containsClass(c) || ind != null && ind.hasType(c))
+			return;
+
+		final Set<ATermAppl> classes = new HashSet<>(_taxonomy.getFlattenedSupers(c, false));
+		classes.addAll(_taxonomy.getEquivalents(c));
+		classes.add(c);
+
+		int count = 0;
+		for (final ATermAppl sup : classes)
+			if (ind == null || !ind.hasType(sup))
+			{
+				add(_instances, sup, 1);
+				count++;
+			}
+
+		add(_directInstances, c, 1);
+		_typeTotal += add(_types, name, count);
+		_directTypeTotal += add(_directTypes, name, 1);
+	}
+
+	/**
+	 * Counts a type assertion that is removed from the ABox. Only the instances of the class itself are decremented, as the individual may still be an
+	 * instance of its superclasses.
+	 *
+	 * @param name the name of the individual
+	 * @param c the removed class
+	 */
+	public void removeType(final ATermAppl name, final ATermAppl c)
+	{
+		if (!containsClass(c))
+			return;
+
+		add(_instances, c, -1);
+		add(_directInstances, c, -1);
+		_typeTotal += add(_types, name, -1);
+		_directTypeTotal += add(_directTypes, name, -1);
+	}
+
+	/**
+	 * Counts a property value that is added to the ABox.
+	 *
+	 * @param role the property
+	 * @param s the subject
+	 * @param o the value
+	 */
+	public void addPropertyValue(final Role role, final ATermAppl s, final ATermAppl o)
+	{
+		update(role, s, o, 1);
+	}
+
+	/**
+	 * Counts a property value that is removed from the ABox.
+	 *
+	 * @param role the property
+	 * @param s the subject
+	 * @param o the value
+	 */
+	public void removePropertyValue(final Role role, final ATermAppl s, final ATermAppl o)
+	{
+		update(role, s, o, -1);
+	}
+
+	private void update(final Role role, final ATermAppl s, final ATermAppl o, final int delta)
+	{
+		update(role.getSuperRoles(), s, o, delta);
+
+		if (role.isObjectRole() && role.getInverse() != null)
+			update(role.getInverse().getSuperRoles(), o, s, delta);
+	}
+
+	private void update(final Collection<Role> roles, final ATermAppl s, final ATermAppl o, final int delta)
+	{
+		for (final Role role : roles)
+			if (!role.isAnon() && !role.isTop() && !role.isBottom())
+				_properties.computeIfAbsent(role.getName(), p -> new PropertyStatistics()).update(s, o, delta);
+	}
+
+	/**
+	 * @param c a class
+	 * @return <code>true</code> if the class is a named class of the taxonomy the statistics have been collected from
+	 */
+	public boolean containsClass(final ATermAppl c)
+	{
+		return ATermUtils.isPrimitive(c) && _taxonomy.contains(c);
+	}
+
+	/**
+	 * @param c a named class
+	 * @param direct whether to count the direct instances only
+	 * @return the number of instances of the class
+	 */
+	public int getInstanceCount(final ATermAppl c, final boolean direct)
+	{
+		return count(direct ? _directInstances : _instances, c);
+	}
+
+	/**
+	 * @param ind a named individual
+	 * @param direct whether to count the direct types only
+	 * @return the number of named classes the individual is an instance of
+	 */
+	public int getTypeCount(final ATermAppl ind, final boolean direct)
+	{
+		return count(direct ? _directTypes : _types, ind);
+	}
+
+	/**
+	 * @param direct whether to count the direct types only
+	 * @return the average number of named classes an individual is an instance of, or 0 if there is no individual
+	 */
+	public double avgTypeCount(final boolean direct)
+	{
+		final int individuals = (direct ? _directTypes : _types).size();
+		return individuals == 0 ? 0 : (double) (direct ? _directTypeTotal : _typeTotal) / individuals;
+	}
+
+	/**
+	 * @param p a named property
+	 * @return the statistics of the property, which are empty if it has no value
+	 */
+	public PropertyStatistics getPropertyStatistics(final ATermAppl p)
+	{
+		final PropertyStatistics statistics = _properties.get(p);
+		return statistics == null ? new PropertyStatistics() : statistics;
+	}
+
+	/**
+	 * @return the properties that have values
+	 */
+	public Set<ATermAppl> getProperties()
+	{
+		return Collections.unmodifiableSet(_properties.keySet());
+	}
+
+	private static int count(final Map<ATermAppl, Integer> counts, final ATermAppl key)
+	{
+		final Integer count = counts.get(key);
+		return count == null ? 0 : count;
+	}
+
+	/**
+	 * @return the change of the count, which is not decremented below 0
+	 */
+	private static int add(final Map<ATermAppl, Integer> counts, final ATermAppl key, final int delta)
+	{
+		final int before = count(counts, key);
+		final int after = Math.max(0, before + delta);
+		set(counts, key, after);
+		return after - before;
+	}
+
+	private static void set(final Map<ATermAppl, Integer> counts, final ATermAppl key, final int count)
+	{
+		if (count == 0)
+			counts.remove(key);
+		else
+			counts.put(key, count);
+	}
+}
@@ -333,6 +333,10 @@ public class SizeEstimate
 
 		_logger.fine("Size estimation started");
 
+		// the sizes are counted by the statistics of the ABox when they are available, and estimated by sampling the individuals otherwise
+		final Optional<ABoxStatistics> statistics = _kb.getABoxStatistics();
+		final Set<ATermAppl> countedConcepts = new HashSet<>();
+
 		final Random randomGen = new Random();
 
 		final Map<ATermAppl, Integer> pSubj = new HashMap<>();
@@ -382,28 +386,35 @@ public class SizeEstimate
 				complements.put(c, 1);
 			}
 
-			if (_kb.isRealized() && !ATermUtils.isComplexClass(c))
+			if (statistics.isPresent() && statistics.get().containsClass(c))
 			{
-				instancesPC.put(c, _kb.getInstances(c).size());
-				directInstancesPC.put(c, _kb.getInstances(c, true).size());
+				countedConcepts.add(c);
+				instancesPC.put(c, statistics.get().getInstanceCount(c, false));
+				directInstancesPC.put(c, statistics.get().getInstanceCount(c, true));
 			}
 			else
-			{
-				instancesPC.put(c, 0);
-				directInstancesPC.put(c, 0);
-
-				if (CHECK_CONCEPT_SAT)
+				if (_kb.isRealized() && !ATermUtils.isComplexClass(c))
+				{
+					instancesPC.put(c, _kb.getInstances(c).size());
+					directInstancesPC.put(c, _kb.getInstances(c, true).size());
+				}
+				else
 				{
-					if (!_kb.isSatisfiable(c))
-						i.remove();
+					instancesPC.put(c, 0);
+					directInstancesPC.put(c, 0);
 
-					if (!_kb.isSatisfiable(ATermUtils.makeNot(c)))
+					if (CHECK_CONCEPT_SAT)
 					{
-						i.remove();
-						instancesPC.put(c, _kb.getIndividualsCount());
+						if (!_kb.isSatisfiable(c))
+							i.remove();
+
+						if (!_kb.isSatisfiable(ATermUtils.makeNot(c)))
+						{
+							i.remove();
+							instancesPC.put(c, _kb.getIndividualsCount());
+						}
 					}
 				}
-			}
 
 			if (_logger.isLoggable(Level.FINE))
 				_logger.fine("Initialize " + c + " = " + size(c));
@@ -423,97 +434,122 @@ public class SizeEstimate
 			inverses.put(p, _kb.getInverses(p).size());
 		}
 
-		for (final ATermAppl ind : _kb.getIndividuals())
-		{
-			if (!_kb.isIndividual(ind))
-				continue;
-
-			sames.put(ind, 1); // TODO
-			differents.put(ind, iCount); // TODO
-
-			final float random = randomGen.nextFloat();
-			if (random > OpenlletOptions.SAMPLING_RATIO)
-				continue;
-
-			if (_kb.isRealized())
-			{
-				classesPI.put(ind, _kb.getTypes(ind).size());
-				directClassesPI.put(ind, _kb.getTypes(ind, true).size());
-			}
-			else
+		// the individuals are sampled for the properties, unless they are counted by the statistics, and for the classes, unless the knowledge base is
+		// realized or they are counted by the statistics
+		if (!statistics.isPresent() || !_kb.isRealized() && !countedConcepts.containsAll(concepts))
+			for (final ATermAppl ind : _kb.getIndividuals())
 			{
-				classesPI.put(ind, 0);
-				directClassesPI.put(ind, 0);
-
-				for (final ATermAppl c : concepts)
-				{
-					// estimate for number of instances per given class
+				if (!_kb.isIndividual(ind))
+					continue;
 
-					final Bool isKnownType = _kb.getABox().isKnownType(ind, c);
-					if (isKnownType.isTrue() || CHECK_CONCEPT_SAT && isKnownType.isUnknown() && randomGen.nextFloat() < UNKNOWN_PROB)
-					{
+				sames.put(ind, 1); // TODO
+				differents.put(ind, iCount); // TODO
 
-						instancesPC.put(c, size(c) + 1);
-						directInstancesPC.put(c, size(c) + 1); // TODO
-						classesPI.put(ind, classesPerInstance(ind, false) + 1);
-						directClassesPI.put(ind, classesPerInstance(ind, true) + 1); // TODO
-					}
-				}
-			}
+				final float random = randomGen.nextFloat();
+				if (random > OpenlletOptions.SAMPLING_RATIO)
+					continue;
 
-			for (final ATermAppl p : properties)
-			{
-				Role role = _kb.getRBox().getRole(p);
-
-				int knownSize = 0;
-
-				if (role.isObjectRole())
+				if (_kb.isRealized())
 				{
-					final Set<ATermAppl> knowns = new HashSet<>();
-					final Set<ATermAppl> unknowns = new HashSet<>();
-
-					_kb.getABox().getObjectPropertyValues(ind, role, knowns, unknowns, true);
-					knownSize = knowns.size();
+					classesPI.put(ind, _kb.getTypes(ind).size());
+					directClassesPI.put(ind, _kb.getTypes(ind, true).size());
 				}
 				else
 				{
-					final List<ATermAppl> knowns = _kb.getABox().getObviousDataPropertyValues(ind, role, null);
-					knownSize = knowns.size();
-				}
-
-				if (knownSize > 0)
-				{
-					if (_logger.isLoggable(Level.FINER))
-						_logger.finer("Update " + p + " by " + knownSize);
-					pairsPP.put(p, size(p) + knownSize);
-					pSubj.put(p, pSubj.get(p) + 1);
-				}
+					classesPI.put(ind, 0);
+					directClassesPI.put(ind, 0);
 
-				if (role.isObjectRole())
-				{
-					role = role.getInverse();
+					for (final ATermAppl c : concepts)
+					{
+						if (countedConcepts.contains(c))
+							continue;
 
-					final Set<ATermAppl> knowns = new HashSet<>();
-					final Set<ATermAppl> unknowns = new HashSet<>();
+						// estimate for number of instances per given class
 
-					_kb.getABox().getObjectPropertyValues(ind, role, knowns, unknowns, true);
+						final Bool isKnownType = _kb.getABox().isKnownType(ind, c);
+						if (isKnownType.isTrue() || CHECK_CONCEPT_SAT && isKnownType.isUnknown() && randomGen.nextFloat() < UNKNOWN_PROB)
+						{
 
-					if (!knowns.isEmpty())
-						pObj.put(p, pObj.get(p) + 1);
+							instancesPC.put(c, size(c) + 1);
+							directInstancesPC.put(c, size(c) + 1); // TODO
+							classesPI.put(ind, classesPerInstance(ind, false) + 1);
+							directClassesPI.put(ind, classesPerInstance(ind, true) + 1); // TODO
+						}
+					}
 				}
+
+				if (!statistics.isPresent())
+					for (final ATermAppl p : properties)
+					{
+						Role role = _kb.getRBox().getRole(p);
+
+						int knownSize = 0;
+
+						if (role.isObjectRole())
+						{
+							final Set<ATermAppl> knowns = new HashSet<>();
+							final Set<ATermAppl> unknowns = new HashSet<>();
+
+							_kb.getABox().getObjectPropertyValues(ind, role, knowns, unknowns, true);
+							knownSize = knowns.size();
+						}
+						else
+						{
+							final List<ATermAppl> knowns = _kb.getABox().getObviousDataPropertyValues(ind, role, null);
+							knownSize = knowns.size();
+						}
+
+						if (knownSize > 0)
+						{
+							if (_logger.isLoggable(Level.FINER))
+								_logger.finer("Update " + p + " by " + knownSize);
+							pairsPP.put(p, size(p) + knownSize);
+							pSubj.put(p, pSubj.get(p) + 1);
+						}
+
+						if (role.isObjectRole())
+						{
+							role = role.getInverse();
+
+							final Set<ATermAppl> knowns = new HashSet<>();
+							final Set<ATermAppl> unknowns = new HashSet<>();
+
+							_kb.getABox().getObjectPropertyValues(ind, role, knowns, unknowns, true);
+
+							if (!knowns.isEmpty())
+								pObj.put(p, pObj.get(p) + 1);
+						}
+					}
 			}
-		}
 
-		if (!computed)
+		if (statistics.isPresent())
+			for (final ATermAppl p : properties)
+			{
+				final ABoxStatistics.PropertyStatistics values = statistics.get().getPropertyStatistics(p);
+				pairsPP.put(p, values.getPairCount());
+				pSubj.put(p, values.getSubjectCount());
+				pObj.put(p, values.getObjectCount());
+			}
+
+		if (statistics.isPresent())
 		{
-			avgClassesPI = average(classesPI.values());
-			avgDirectClassesPI = average(directClassesPI.values());
+			avgClassesPI = statistics.get().avgTypeCount(false);
+			avgDirectClassesPI = statistics.get().avgTypeCount(true);
 		}
+		else
+			if (!computed)
+			{
+				avgClassesPI = average(classesPI.values());
+				avgDirectClassesPI = average(directClassesPI.values());
+			}
 
 		if (!_kb.isRealized())
 		{
 			for (final ATermAppl c : concepts)
 			{
+				if (countedConcepts.contains(c))
+					continue;
+
 				int size = instancesPC.get(c);
 				// post processing in case of sampling
 				if (size == 0)
@@ -533,30 +569,31 @@ public class SizeEstimate
 			final int avgCPI = Double.valueOf(avgClassesPI).intValue();
 			final int avgDCPI = Double.valueOf(avgDirectClassesPI).intValue();
 
-			for (final ATermAppl i : _kb.getIndividuals())
-			{
-				Integer size = classesPI.get(i);
+			if (!statistics.isPresent())
+				for (final ATermAppl i : _kb.getIndividuals())
+				{
+					Integer size = classesPI.get(i);
 
-				if (size == null)
-					size = avgCPI;
+					if (size == null)
+						size = avgCPI;
 
-				// postprocessing in case of sampling
-				if (size == 0)
-					classesPI.put(i, 1);
-				else
-					classesPI.put(i, (int) (size / OpenlletOptions.SAMPLING_RATIO));
+					// postprocessing in case of sampling
+					if (size == 0)
+						classesPI.put(i, 1);
+					else
+						classesPI.put(i, (int) (size / OpenlletOptions.SAMPLING_RATIO));
 
-				size = directClassesPI.get(i);
+					size = directClassesPI.get(i);
 
-				if (size == null)
-					size = avgDCPI;
+					if (size == null)
+						size = avgDCPI;
 
-				// postprocessing in case of sampling
-				if (size == 0)
-					directClassesPI.put(i, 1);
-				else
-					directClassesPI.put(i, (int) (size / OpenlletOptions.SAMPLING_RATIO));
-			}
+					// postprocessing in case of sampling
+					if (size == 0)
+						directClassesPI.put(i, 1);
+					else
+						directClassesPI.put(i, (int) (size / OpenlletOptions.SAMPLING_RATIO));
+				}
 		}
 
 		for (final ATermAppl p : properties)
@@ -565,7 +602,8 @@ public class SizeEstimate
 			if (size == 0)
 				pairsPP.put(p, 1);
 			else
-				pairsPP.put(p, (int) (size / OpenlletOptions.SAMPLING_RATIO));
+				if (!statistics.isPresent())
+					pairsPP.put(p, (int) (size / OpenlletOptions.SAMPLING_RATIO));
 
 			final Role role = _kb.getRBox().getRole(p);
 			final ATermAppl invP = role.getInverse() != null ? role.getInverse().getName() : null;
@@ -605,7 +643,7 @@ public class SizeEstimate
 		avgInstancesPC = average(instancesPC.values());
 		avgDirectInstances = average(directInstancesPC.values());
 		avgSamesPI = average(sames.values());
-		avgDifferentsPI = average(differents.values());
+		avgDifferentsPI = differents.isEmpty() ? iCount : average(differents.values());
 
 		avgSubClasses = average(subClasses.values());
 		avgDirectSubClasses = average(directSubClasses.values());
@@ -704,6 +742,10 @@ public class SizeEstimate
 
 	public int classesPerInstance(final ATermAppl i, final boolean direct)
 	{
+		final Optional<ABoxStatistics> statistics = _kb.getABoxStatistics();
+		if (statistics.isPresent())
+			return statistics.get().getTypeCount(i, direct);
+
 		final Map<ATermAppl, Integer> map = direct ? directClassesPI : classesPI;
 
 		if (map.containsKey(i))
@@ -920,6 +962,9 @@ public class SizeEstimate
 		if (sames.containsKey(sup))
 			return sames.get(sup);
 
+		if (_kb.getABoxStatistics().isPresent())
+			return 1;
+
 		throw new InternalReasonerException("Sames estimate for " + sup + " is not found!");
 	}
 
@@ -928,6 +973,9 @@ public class SizeEstimate
 		if (differents.containsKey(sup))
 			return differents.get(sup);
 
+		if (_kb.getABoxStatistics().isPresent())
+			return iCount;
+
 		throw new InternalReasonerException("Sames estimate for " + sup + " is not found!");
 	}
 
@@ -82,7 +82,7 @@ public class Timer
 	// upper most function call so we need to discard other starts
 	private long _timeout; // Point at which a call to check throws an exception
 	private long _lastTime; // time that has elapsed between last start()-_stop() period
-	private boolean interrupted; // Tells whether this timer has been interrupted
+	private volatile boolean interrupted; // Tells whether this timer has been interrupted, possibly by another thread
 
 	private final Timer _parent; // the _parent timer
 
@@ -225,6 +225,14 @@ public class Timer
 		interrupted = true;
 	}
 
+	/**
+	 * Clear an interruption that has not been noticed by a check() call yet.
+	 */
+	public void clearInterrupt()
+	{
+		interrupted = false;
+	}
+
 	/**
 	 * @return true if timer has been started with a {@link #start()} call but not has been stopped with a {@link #stop()} call.
 	 */
@@ -152,6 +152,11 @@ public class Timers
 		_mainTimer.interrupt();
 	}
 
+	public void clearInterrupt()
+	{
+		_mainTimer.clearInterrupt();
+	}
+
 	public void setTimeout(final String name, final long timeout)
 	{
 		getTimer(name).orElseGet(() -> createTimer(name))//
@@ -118,6 +118,32 @@ public class ArrayIntSet implements IntSet
 		return binarySearch(ints, value) >= 0;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsAll(final IntSet values)
+	{
+		if (!(values instanceof ArrayIntSet))
+			return IntSet.super.containsAll(values);
+
+		final ArrayIntSet other = (ArrayIntSet) values;
+		if (other.size > size)
+			return false;
+
+		// both arrays are sorted so a single pass over them is enough
+		for (int i = 0, j = 0; j < other.size; j++)
+		{
+			final int value = other.ints[j];
+			while (i < size && ints[i] < value)
+				i++;
+			if (i == size || ints[i] != value)
+				return false;
+			i++;
+		}
+		return true;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -47,6 +47,24 @@ public interface IntSet
 	 */
 	public boolean contains(int value);
 
+	/**
+	 * Checks if all the integers of another set are in this set.
+	 *
+	 * @param other the set whose elements are being checked
+	 * @return <code>true</code> if every element of the other set is in this set
+	 */
+	default public boolean containsAll(final IntSet other)
+	{
+		if (other.size() > size())
+			return false;
+
+		final IntIterator i = other.iterator();
+		while (i.hasNext())
+			if (!contains(i.next()))
+				return false;
+		return true;
+	}
+
 	/**
 	 * Creates a copy of this set.
 	 *
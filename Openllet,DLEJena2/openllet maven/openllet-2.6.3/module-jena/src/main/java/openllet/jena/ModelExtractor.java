@@ -8,22 +8,38 @@ package openllet.jena;
 
 import static openllet.jena.JenaUtils.makeGraphNode;
 
+import java.io.OutputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import openllet.aterm.ATermAppl;
 import openllet.core.KnowledgeBase;
+import openllet.core.KnowledgeBaseImplReadWriteSync;
 import openllet.core.boxes.rbox.Role;
+import openllet.core.exceptions.InternalReasonerException;
 import openllet.core.utils.iterator.IteratorUtils;
 import openllet.jena.vocabulary.OWL2;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
 import org.apache.jena.vocabulary.OWL;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
@@ -196,6 +212,11 @@ public class ModelExtractor
 	 */
 	public static final Predicate<Triple> FILTER_NONE = t -> false;
 
+	/**
+	 * The number of individuals whose statements are extracted by a single task when the extraction is split across threads.
+	 */
+	private static final int INDIVIDUALS_PER_TASK = 1000;
+
 	/**
 	 * Associated KB
 	 */
@@ -245,18 +266,18 @@ public class ModelExtractor
 	}
 
 	/**
-	 * Creates and adds the triple to the given list if the triple passes the _filter.
+	 * Creates and passes the triple to the given sink if the triple passes the _filter.
 	 *
-	 * @param triples List to be added
+	 * @param sink receiving the triple
 	 * @param s subject of the triple
 	 * @param p predicate of the triple
 	 * @param o object of the triple
 	 */
-	private void addTriple(final List<Triple> triples, final Node s, final Node p, final Node o)
+	private void addTriple(final Consumer<Triple> sink, final Node s, final Node p, final Node o)
 	{
 		final Triple triple = Triple.create(s, p, o);
 		if (!_filter.test(triple))
-			triples.add(triple);
+			sink.accept(triple);
 	}
 
 	public Model extractClassModel()
@@ -265,6 +286,18 @@ public class ModelExtractor
 	}
 
 	public Model extractClassModel(final Model model)
+	{
+		extractClassStatements(model.getGraph()::add);
+
+		return model;
+	}
+
+	/**
+	 * Extract statements about classes
+	 *
+	 * @param sink receiving the statements
+	 */
+	public void extractClassStatements(final Consumer<Triple> sink)
 	{
 		final boolean allSubs = _selector.contains(StatementType.ALL_SUBCLASS);
 		final boolean jenaDirectSubs = _selector.contains(StatementType.JENA_DIRECT_SUBCLASS);
@@ -276,19 +309,15 @@ public class ModelExtractor
 		if (subs || equivs || disjs || comps)
 			_kb.classify();
 
-		final List<Triple> triples = new ArrayList<>();
-
 		final Set<ATermAppl> classes = _kb.getAllClasses();
 
 		for (final ATermAppl c : classes)
 		{
-			triples.clear();
-
 			final Optional<Node> sOpt = makeGraphNode(c);
 			if (!sOpt.isPresent())
 				continue;
 			final Node s = sOpt.get();
-			addTriple(triples, s, RDF.type.asNode(), OWL.Class.asNode());
+			addTriple(sink, s, RDF.type.asNode(), OWL.Class.asNode());
 
 			final Node p = RDFS.subClassOf.asNode();
 
@@ -298,14 +327,14 @@ public class ModelExtractor
 				{
 					final Set<ATermAppl> eqs = _kb.getAllEquivalentClasses(c);
 					for (final ATermAppl eq : eqs)
-						makeGraphNode(eq).ifPresent(o -> addTriple(triples, s, p, o));
+						makeGraphNode(eq).ifPresent(o -> addTriple(sink, s, p, o));
 				}
 
 				final Set<Set<ATermAppl>> supers = allSubs ? _kb.getSuperClasses(c, false) : _kb.getSuperClasses(c, true);
 
 				Iterator<ATermAppl> i = IteratorUtils.flatten(supers.iterator());
 				while (i.hasNext())
-					makeGraphNode(i.next()).ifPresent(o -> addTriple(triples, s, p, o));
+					makeGraphNode(i.next()).ifPresent(o -> addTriple(sink, s, p, o));
 
 				if (jenaDirectSubs)
 				{
@@ -314,7 +343,7 @@ public class ModelExtractor
 
 					i = IteratorUtils.flatten(direct.iterator());
 					while (i.hasNext())
-						makeGraphNode(i.next()).ifPresent(o -> addTriple(triples, s, pX, o));
+						makeGraphNode(i.next()).ifPresent(o -> addTriple(sink, s, pX, o));
 				}
 			}
 
@@ -324,7 +353,7 @@ public class ModelExtractor
 
 				final Set<ATermAppl> eqs = _kb.getAllEquivalentClasses(c);
 				for (final ATermAppl a : eqs)
-					makeGraphNode(a).ifPresent(o -> addTriple(triples, s, pX, o));
+					makeGraphNode(a).ifPresent(o -> addTriple(sink, s, pX, o));
 			}
 
 			if (disjs)
@@ -339,7 +368,7 @@ public class ModelExtractor
 					{
 						final ATermAppl a = i.next();
 						if (classes.contains(a))
-							makeGraphNode(a).ifPresent(o -> addTriple(triples, s, pX, o));
+							makeGraphNode(a).ifPresent(o -> addTriple(sink, s, pX, o));
 					}
 				}
 			}
@@ -352,14 +381,10 @@ public class ModelExtractor
 					final Node pX = OWL.complementOf.asNode();
 					for (final ATermAppl a : comp)
 						if (classes.contains(a))
-							makeGraphNode(a).ifPresent(o -> addTriple(triples, s, pX, o));
+							makeGraphNode(a).ifPresent(o -> addTriple(sink, s, pX, o));
 				}
 			}
-			for (final Triple t : triples)
-				model.getGraph().add(t);
 		}
-
-		return model;
 	}
 
 	/**
@@ -374,6 +399,19 @@ public class ModelExtractor
 	 * Extract statements about individuals
 	 */
 	public Model extractIndividualModel(final Model model)
+	{
+		extractIndividualStatements(_kb.getIndividuals(), model.getGraph()::add);
+
+		return model;
+	}
+
+	/**
+	 * Extract the statements about the given individuals, i.e. the statements whose subject is one of these individuals.
+	 *
+	 * @param individuals the names of the individuals
+	 * @param sink receiving the statements
+	 */
+	public void extractIndividualStatements(final Iterable<ATermAppl> individuals, final Consumer<Triple> sink)
 	{
 
 		/*
@@ -391,12 +429,10 @@ public class ModelExtractor
 		if (classes)
 			_kb.realize();
 
-		final List<Triple> triples = new ArrayList<>();
-
-		for (final ATermAppl ind : _kb.getIndividuals())
+		for (final ATermAppl ind : individuals)
 		{
-
-			triples.clear();
+			if (!_kb.isIndividual(ind))
+				continue;
 
 			makeGraphNode(ind).ifPresent(s ->
 			{
@@ -408,7 +444,7 @@ public class ModelExtractor
 					{
 						final Node pX = RDF.type.asNode();
 						while (i.hasNext())
-							makeGraphNode(i.next()).ifPresent(o -> addTriple(triples, s, pX, o));
+							makeGraphNode(i.next()).ifPresent(o -> addTriple(sink, s, pX, o));
 					}
 
 					if (jenaDirectClasses)
@@ -420,23 +456,23 @@ public class ModelExtractor
 
 						i = IteratorUtils.flatten(directTypes.iterator());
 						while (i.hasNext())
-							makeGraphNode(i.next()).ifPresent(o -> addTriple(triples, s, pX, o));
+							makeGraphNode(i.next()).ifPresent(o -> addTriple(sink, s, pX, o));
 					}
 				}
 
 				if (sames)
 				{
 					final Node pX = OWL.sameAs.asNode();
-					addTriple(triples, s, pX, s);
+					addTriple(sink, s, pX, s);
 					for (final ATermAppl a : _kb.getSames(ind))
-						makeGraphNode(a).ifPresent(node -> addTriple(triples, s, pX, node));
+						makeGraphNode(a).ifPresent(node -> addTriple(sink, s, pX, node));
 				}
 
 				if (diffs)
 				{
 					final Node pX = OWL.differentFrom.asNode();
 					for (final ATermAppl a : _kb.getDifferents(ind))
-						makeGraphNode(a).ifPresent(node -> addTriple(triples, s, pX, node));
+						makeGraphNode(a).ifPresent(node -> addTriple(sink, s, pX, node));
 				}
 
 				if (dataValues || objValues)
@@ -472,15 +508,11 @@ public class ModelExtractor
 						makeGraphNode(name).ifPresent(p ->
 						{
 							for (final ATermAppl value : values)
-								makeGraphNode(value).ifPresent(node -> addTriple(triples, s, p, node));
+								makeGraphNode(value).ifPresent(node -> addTriple(sink, s, p, node));
 						});
 					}
-				for (final Triple t : triples)
-					model.getGraph().add(t);
 			});
 		}
-
-		return model;
 	}
 
 	public Model extractModel()
@@ -490,12 +522,150 @@ public class ModelExtractor
 
 	public Model extractModel(final Model model)
 	{
-		extractClassModel(model);
-		extractPropertyModel(model);
-		extractIndividualModel(model);
+		extractStatements(model.getGraph()::add);
 
 		return model;
+	}
+
+	/**
+	 * Extract the statements about classes, properties and individuals without collecting them in a model.
+	 *
+	 * @param sink receiving the statements
+	 */
+	public void extractStatements(final Consumer<Triple> sink)
+	{
+		extractClassStatements(sink);
+		extractPropertyStatements(sink);
+		extractIndividualStatements(_kb.getIndividuals(), sink);
+	}
+
+	/**
+	 * Extract the statements about classes, properties and individuals to a stream, e.g. a writer, without collecting them in memory.
+	 *
+	 * @param stream receiving the statements
+	 */
+	public void extractStatements(final StreamRDF stream)
+	{
+		extractStatements(stream, 1, true);
+	}
+
+	/**
+	 * Extract the statements about classes, properties and individuals to a stream. The statements about the individuals are extracted by the given number
+	 * of threads, each handling a group of individuals at a time, and the stream only receives statements from the calling thread. The threads query the
+	 * knowledge base concurrently, so they are only used with a {@link KnowledgeBaseImplReadWriteSync}; the statements about the individuals of any other
+	 * knowledge base are extracted by the calling thread.
+	 *
+	 * @param stream receiving the statements
+	 * @param threads the number of threads extracting the statements about the individuals
+	 * @param ordered if <code>true</code> the statements about the individuals are passed in the order of {@link KnowledgeBase#getIndividuals()}, as a
+	 *            single thread would, otherwise in the order they are extracted
+	 */
+	public void extractStatements(final StreamRDF stream, final int threads, final boolean ordered)
+	{
+		stream.start();
 
+		extractClassStatements(stream::triple);
+		extractPropertyStatements(stream::triple);
+		if (threads > 1 && _kb instanceof KnowledgeBaseImplReadWriteSync)
+			extractIndividualStatements(stream::triple, threads, ordered);
+		else
+			extractIndividualStatements(_kb.getIndividuals(), stream::triple);
+
+		stream.finish();
+	}
+
+	/**
+	 * Write the statements about classes, properties and individuals to an output stream.
+	 *
+	 * @param out the output stream
+	 * @param lang a language with a streaming writer, e.g. {@link Lang#NTRIPLES} or the binary {@link Lang#RDFTHRIFT}
+	 * @throws IllegalArgumentException if there is no streaming writer for the language
+	 */
+	public void extractStatements(final OutputStream out, final Lang lang)
+	{
+		extractStatements(out, lang, 1, true);
+	}
+
+	/**
+	 * Write the statements about classes, properties and individuals to an output stream, see {@link #extractStatements(StreamRDF, int, boolean)}.
+	 *
+	 * @param out the output stream
+	 * @param lang a language with a streaming writer, e.g. {@link Lang#NTRIPLES} or the binary {@link Lang#RDFTHRIFT}
+	 * @param threads the number of threads extracting the statements about the individuals
+	 * @param ordered if the statements about the individuals are written in the order of {@link KnowledgeBase#getIndividuals()}
+	 * @throws IllegalArgumentException if there is no streaming writer for the language
+	 */
+	public void extractStatements(final OutputStream out, final Lang lang, final int threads, final boolean ordered)
+	{
+		if (!StreamRDFWriter.registered(lang))
+			throw new IllegalArgumentException("No streaming writer for " + lang);
+
+		extractStatements(StreamRDFWriter.getWriterStream(out, lang), threads, ordered);
+	}
+
+	/**
+	 * Extract the statements about all the individuals with several threads. Only a bounded number of groups of individuals are extracted ahead of the
+	 * sink, so the statements of a large ABox never need to be in memory at once. The knowledge base must answer concurrent queries, including the ones
+	 * that need a tableau check such as the different individuals.
+	 */
+	private void extractIndividualStatements(final Consumer<Triple> sink, final int threads, final boolean ordered)
+	{
+		// the workers must not realize the KB concurrently
+		if (_selector.contains(StatementType.ALL_INSTANCE) || _selector.contains(StatementType.DIRECT_INSTANCE) || _selector.contains(StatementType.JENA_DIRECT_INSTANCE))
+			_kb.realize();
+
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final CompletionService<List<Triple>> completion = new ExecutorCompletionService<>(executor);
+		final Deque<Future<List<Triple>>> pending = new ArrayDeque<>();
+		try
+		{
+			final Iterator<ATermAppl> individuals = _kb.getIndividuals().iterator();
+			while (individuals.hasNext() || !pending.isEmpty())
+			{
+				while (individuals.hasNext() && pending.size() < 2 * threads)
+				{
+					final List<ATermAppl> group = new ArrayList<>(INDIVIDUALS_PER_TASK);
+					while (individuals.hasNext() && group.size() < INDIVIDUALS_PER_TASK)
+						group.add(individuals.next());
+
+					final Callable<List<Triple>> task = () ->
+					{
+						final List<Triple> triples = new ArrayList<>();
+						extractIndividualStatements(group, triples::add);
+						return triples;
+					};
+					pending.add(ordered ? executor.submit(task) : completion.submit(task));
+				}
+
+				final Future<List<Triple>> next;
+				if (ordered)
+					next = pending.remove();
+				else
+				{
+					next = completion.take();
+					pending.remove(next);
+				}
+				next.get().forEach(sink);
+			}
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InternalReasonerException("Interrupted while extracting the statements about individuals", e);
+		}
+		catch (final ExecutionException e)
+		{
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new InternalReasonerException(cause);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
 	}
 
 	public Model extractPropertyModel()
@@ -504,6 +674,18 @@ public class ModelExtractor
 	}
 
 	public Model extractPropertyModel(final Model model)
+	{
+		extractPropertyStatements(model.getGraph()::add);
+
+		return model;
+	}
+
+	/**
+	 * Extract statements about properties
+	 *
+	 * @param sink receiving the statements
+	 */
+	public void extractPropertyStatements(final Consumer<Triple> sink)
 	{
 
 		final boolean allSubs = _selector.contains(StatementType.ALL_SUBPROPERTY);
@@ -515,12 +697,8 @@ public class ModelExtractor
 
 		_kb.prepare();
 
-		final List<Triple> triples = new ArrayList<>();
-
 		for (final Role role : _kb.getRBox().getRoles().values())
 		{
-			triples.clear();
-
 			if (role.isAnon())
 				continue;
 
@@ -533,21 +711,21 @@ public class ModelExtractor
 				final Node pX = RDF.type.asNode();
 
 				if (role.isDatatypeRole())
-					addTriple(triples, s, pX, OWL.DatatypeProperty.asNode());
+					addTriple(sink, s, pX, OWL.DatatypeProperty.asNode());
 				else
 					if (role.isObjectRole())
-						addTriple(triples, s, pX, OWL.ObjectProperty.asNode());
+						addTriple(sink, s, pX, OWL.ObjectProperty.asNode());
 					else
 						continue;
 
 				if (role.isFunctional())
-					addTriple(triples, s, pX, OWL.FunctionalProperty.asNode());
+					addTriple(sink, s, pX, OWL.FunctionalProperty.asNode());
 				if (role.isInverseFunctional())
-					addTriple(triples, s, pX, OWL.InverseFunctionalProperty.asNode());
+					addTriple(sink, s, pX, OWL.InverseFunctionalProperty.asNode());
 				if (role.isTransitive())
-					addTriple(triples, s, pX, OWL.TransitiveProperty.asNode());
+					addTriple(sink, s, pX, OWL.TransitiveProperty.asNode());
 				if (role.isSymmetric())
-					addTriple(triples, s, pX, OWL.SymmetricProperty.asNode());
+					addTriple(sink, s, pX, OWL.SymmetricProperty.asNode());
 			}
 
 			if (equivs)
@@ -557,9 +735,9 @@ public class ModelExtractor
 					if (JenaUtils._isGrapheNode.test(eq))
 						makeGraphNode(eq).ifPresent(node ->
 						{
-							addTriple(triples, s, pX, node);
+							addTriple(sink, s, pX, node);
 							if (allSubs)
-								addTriple(triples, s, RDFS.subPropertyOf.asNode(), node);
+								addTriple(sink, s, RDFS.subPropertyOf.asNode(), node);
 						});
 			}
 
@@ -571,7 +749,7 @@ public class ModelExtractor
 					final Node pX = OWL.inverseOf.asNode();
 					for (final ATermAppl inverse : inverses)
 						if (JenaUtils._isGrapheNode.test(inverse))
-							makeGraphNode(inverse).ifPresent(node -> addTriple(triples, s, pX, node));
+							makeGraphNode(inverse).ifPresent(node -> addTriple(sink, s, pX, node));
 				}
 			}
 
@@ -584,7 +762,7 @@ public class ModelExtractor
 
 					final Iterator<ATermAppl> i = IteratorUtils.flatten(disjoints.iterator());
 					while (i.hasNext())
-						makeGraphNode(i.next()).ifPresent(o -> addTriple(triples, s, pX, o));
+						makeGraphNode(i.next()).ifPresent(o -> addTriple(sink, s, pX, o));
 				}
 			}
 
@@ -597,7 +775,7 @@ public class ModelExtractor
 					final Set<ATermAppl> eqs = _kb.getAllEquivalentProperties(name);
 					for (final ATermAppl eq : eqs)
 						if (JenaUtils._isGrapheNode.test(eq))
-							makeGraphNode(eq).ifPresent(o -> addTriple(triples, s, pN, o));
+							makeGraphNode(eq).ifPresent(o -> addTriple(sink, s, pN, o));
 				}
 
 				final Set<Set<ATermAppl>> supers = _kb.getSuperProperties(name, !allSubs);
@@ -606,7 +784,7 @@ public class ModelExtractor
 				{
 					Iterator<ATermAppl> i = IteratorUtils.flatten(supers.iterator());
 					while (i.hasNext())
-						makeGraphNode(i.next()).ifPresent(node -> addTriple(triples, s, pN, node));
+						makeGraphNode(i.next()).ifPresent(node -> addTriple(sink, s, pN, node));
 
 					if (jenaDirectSubs)
 					{
@@ -615,7 +793,7 @@ public class ModelExtractor
 						final Set<Set<ATermAppl>> direct = allSubs ? _kb.getSuperProperties(name, true) : supers;
 						i = IteratorUtils.flatten(direct.iterator());
 						while (i.hasNext())
-							makeGraphNode(i.next()).ifPresent(node -> addTriple(triples, s, pX, node));
+							makeGraphNode(i.next()).ifPresent(node -> addTriple(sink, s, pX, node));
 					}
 				}
 			}
@@ -624,11 +802,7 @@ public class ModelExtractor
 
 			// FIXME: Add range statements
 
-			for (final Triple t : triples)
-				model.getGraph().add(t);
 		}
-
-		return model;
 	}
 
 	/**
@@ -42,6 +42,11 @@ public class PelletGraphListener implements GraphListener
 
 	private volatile Set<Graph> _leafGraphs = SetUtils.create();
 
+	/**
+	 * The individuals of the ABox triples that have been added or removed incrementally since the last call to {@link #pollAffectedIndividuals()}.
+	 */
+	private final Set<ATermAppl> _affectedIndividuals = SetUtils.create();
+
 	private boolean _statementDeleted = false;
 
 	private boolean _enabled;
@@ -65,6 +70,8 @@ public class PelletGraphListener implements GraphListener
 		if (_kb.individuals().noneMatch(s::equals)) // check if this is a new individual
 			_kb.addIndividual(s);
 
+		addAffectedIndividual(s);
+
 		// check if this is a type assertion
 		if (t.getPredicate().equals(RDF.type.asNode()))
 			_kb.addType(s, o); // add the type
@@ -73,6 +80,9 @@ public class PelletGraphListener implements GraphListener
 			if (!t.getObject().isLiteral() && _kb.individuals().noneMatch(o::equals)) // check if the object is a new _individual
 				_kb.addIndividual(o);
 
+			if (!t.getObject().isLiteral())
+				addAffectedIndividual(o);
+
 			final ATermAppl p = JenaUtils.makeATerm(t.getPredicate());
 			_kb.addPropertyValue(p, s, o); // add the property value
 		}
@@ -130,7 +140,10 @@ public class PelletGraphListener implements GraphListener
 		if (t.getPredicate().equals(RDF.type.asNode()))
 		{
 			if (_kb.isIndividual(s))
+			{
 				_kb.removeType(s, o);
+				addAffectedIndividual(s);
+			}
 		}
 		else
 			// check if the subject is a new _individual
@@ -139,9 +152,36 @@ public class PelletGraphListener implements GraphListener
 				final ATermAppl p = JenaUtils.makeATerm(t.getPredicate());
 				// add the property value
 				_kb.removePropertyValue(p, s, o);
+				addAffectedIndividual(s);
+				if (!ATermUtils.isLiteral(o))
+					addAffectedIndividual(o);
 			}
 	}
 
+	private void addAffectedIndividual(final ATermAppl ind)
+	{
+		synchronized (_affectedIndividuals)
+		{
+			_affectedIndividuals.add(ind);
+		}
+	}
+
+	/**
+	 * Returns the individuals of the ABox triples that have been added to or removed from the KB incrementally, i.e. without reloading the graphs, since the
+	 * last call of this method or the last {@link #reset()}.
+	 *
+	 * @return the names of the individuals
+	 */
+	public Set<ATermAppl> pollAffectedIndividuals()
+	{
+		synchronized (_affectedIndividuals)
+		{
+			final Set<ATermAppl> affected = SetUtils.create(_affectedIndividuals);
+			_affectedIndividuals.clear();
+			return affected;
+		}
+	}
+
 	public void dispose()
 	{
 		for (final Graph graph : _leafGraphs)
@@ -350,6 +390,11 @@ public class PelletGraphListener implements GraphListener
 		_changedGraphs.clear();
 		// _leafGraphs.clear();
 		_statementDeleted = false;
+
+		synchronized (_affectedIndividuals)
+		{
+			_affectedIndividuals.clear();
+		}
 	}
 
 	public void setEnabled(final boolean enabled)
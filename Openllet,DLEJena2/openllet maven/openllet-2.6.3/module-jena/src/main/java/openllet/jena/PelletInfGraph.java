@@ -31,8 +31,11 @@
 package openllet.jena;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import openllet.aterm.ATerm;
 import openllet.aterm.ATermAppl;
@@ -46,6 +49,7 @@ import openllet.jena.graph.converter.AxiomConverter;
 import openllet.jena.graph.loader.DefaultGraphLoader;
 import openllet.jena.graph.loader.GraphLoader;
 import openllet.jena.graph.query.GraphQueryHandler;
+import openllet.jena.graph.query.RealizedFactsIndex;
 import openllet.shared.tools.Log;
 import org.apache.jena.graph.Factory;
 import org.apache.jena.graph.Graph;
@@ -85,6 +89,7 @@ public class PelletInfGraph extends BaseInfGraph
 
 	private volatile GraphLoader _loader;
 	private volatile Graph _deductionsGraph;
+	private volatile RealizedFactsIndex _realizedFacts;
 	private boolean _autoDetectChanges;
 	private boolean _skipBuiltinPredicates;
 
@@ -201,7 +206,10 @@ public class PelletInfGraph extends BaseInfGraph
 		if (changedGraphs == null)
 			reload();
 		else
-			load(changedGraphs);
+			if (!changedGraphs.isEmpty())
+				load(changedGraphs);
+			else
+				_logger.fine("Only ABox changes that have been processed incrementally");
 	}
 
 	/**
@@ -302,6 +310,11 @@ public class PelletInfGraph extends BaseInfGraph
 
 		classify();
 
+		final Set<ATermAppl> affected = _graphListener.pollAffectedIndividuals();
+
+		if (_deductionsGraph != null && !affected.isEmpty())
+			updateDeductionsGraph(affected);
+
 		if (_deductionsGraph == null)
 		{
 			_logger.fine("Realizing PelletInfGraph...");
@@ -309,8 +322,9 @@ public class PelletInfGraph extends BaseInfGraph
 
 			_logger.fine("Extract model...");
 
-			final Model extractedModel = _extractor.extractModel();
-			_deductionsGraph = extractedModel.getGraph();
+			final Graph deductions = Factory.createDefaultGraph();
+			_extractor.extractStatements(deductions::add);
+			_deductionsGraph = deductions;
 
 			_logger.fine("done.");
 		}
@@ -318,6 +332,95 @@ public class PelletInfGraph extends BaseInfGraph
 		return _deductionsGraph;
 	}
 
+	/**
+	 * Replaces the statements about the individuals whose assertions have been changed incrementally. The inferences about an individual can only change
+	 * along with the ABox component it is connected to, so the statements about the other individuals are kept. If the components are not independent, e.g.
+	 * because of nominals or rules, the deductions graph is extracted again.
+	 */
+	private void updateDeductionsGraph(final Set<ATermAppl> affected)
+	{
+		if (Collections.disjoint(_extractor.getSelector(), StatementType.ALL_INDIVIDUAL_STATEMENTS))
+			return;
+
+		if (!_kb.getABox().hasIndependentComponents())
+		{
+			_deductionsGraph = null;
+			return;
+		}
+
+		_logger.fine("Realizing PelletInfGraph...");
+		_kb.realize();
+
+		final Set<ATermAppl> individuals = _kb.getABox().getConnectedIndividuals(affected);
+
+		_logger.fine(() -> "Updating the deductions about " + individuals.size() + " individuals...");
+
+		final Graph deductions = _deductionsGraph;
+		for (final ATermAppl ind : individuals)
+			JenaUtils.makeGraphNode(ind).ifPresent(node -> deductions.remove(node, Node.ANY, Node.ANY));
+		_extractor.extractIndividualStatements(individuals, deductions::add);
+
+		_logger.fine("done.");
+	}
+
+	/**
+	 * Extracts the statements of the deductions graph without collecting them in a graph.
+	 *
+	 * @param sink receiving the statements
+	 */
+	public void extractDeductions(final Consumer<Triple> sink)
+	{
+		classify();
+		_kb.realize();
+		_extractor.extractStatements(sink);
+	}
+
+	/**
+	 * @return the types of the statements that are extracted to the deductions graph
+	 */
+	public EnumSet<StatementType> getDeductionsSelector()
+	{
+		return _extractor.getSelector();
+	}
+
+	/**
+	 * @param selector the types of the statements to extract to the deductions graph
+	 */
+	public synchronized void setDeductionsSelector(final EnumSet<StatementType> selector)
+	{
+		_extractor.setSelector(selector);
+		_deductionsGraph = null;
+	}
+
+	/**
+	 * Returns the index of the types and property values of the individuals, see {@link OpenlletOptions#USE_REALIZED_FACTS_INDEX}. The knowledge base is
+	 * realized if needed, and the index is built again if the knowledge base has changed since it was last built.
+	 *
+	 * @return the index, or nothing if the index is disabled or the knowledge base is inconsistent
+	 */
+	public Optional<RealizedFactsIndex> getRealizedFactsIndex()
+	{
+		if (!OpenlletOptions.USE_REALIZED_FACTS_INDEX)
+			return Optional.empty();
+
+		prepare();
+		if (!_kb.isConsistent())
+			return Optional.empty();
+
+		RealizedFactsIndex index = _realizedFacts;
+		if (index == null || !index.isCurrent(_kb))
+		{
+			_kb.realize();
+
+			_logger.fine("Indexing the realized facts...");
+			index = new RealizedFactsIndex(_kb);
+			_realizedFacts = index;
+			_logger.fine("done.");
+		}
+
+		return Optional.of(index);
+	}
+
 	@Override
 	protected boolean graphBaseContains(final Triple pattern)
 	{
@@ -606,6 +709,7 @@ public class PelletInfGraph extends BaseInfGraph
 			_deductionsGraph.close();
 			_deductionsGraph = null;
 		}
+		_realizedFacts = null;
 		clear();
 		_graphListener.dispose();
 		_kb.clear();
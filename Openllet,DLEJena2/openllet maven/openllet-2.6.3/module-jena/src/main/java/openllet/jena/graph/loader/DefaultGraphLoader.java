@@ -40,7 +40,9 @@ import static openllet.jena.graph.loader.SimpleProperty.DISJOINT;
 import static openllet.jena.graph.loader.SimpleProperty.IRREFLEXIVE;
 import static openllet.jena.graph.loader.SimpleProperty.SELF;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -49,6 +51,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import openllet.aterm.ATerm;
@@ -142,6 +149,11 @@ public class DefaultGraphLoader implements GraphLoader
 
 	private static final Graph EMPTY_GRAPH = Factory.createGraphMem();
 
+	/**
+	 * The number of ABox triples translated by a worker thread at a time, see {@link OpenlletOptions#GRAPH_LOADER_THREADS}.
+	 */
+	private static final int ABOX_BATCH_SIZE = 10000;
+
 	public static QNameProvider _qnames = new QNameProvider();
 
 	protected KnowledgeBase _kb;
@@ -234,7 +246,7 @@ public class DefaultGraphLoader implements GraphLoader
 	@Override
 	public void clear()
 	{
-		_terms = new HashMap<>();
+		_terms = new ConcurrentHashMap<>();
 		_terms.put(OWL.Thing.asNode(), ATermUtils.TOP);
 		_terms.put(OWL.Nothing.asNode(), ATermUtils.BOTTOM);
 		_terms.put(OWL2.topDataProperty.asNode(), ATermUtils.TOP_DATA_PROPERTY);
@@ -642,7 +654,7 @@ public class DefaultGraphLoader implements GraphLoader
 				}
 				else
 					aTerm = JenaUtils.makeATerm(node);
-			if (canCache)
+			if (canCache && aTerm != null)
 				_terms.put(node, aTerm);
 		}
 
@@ -1464,6 +1476,187 @@ public class DefaultGraphLoader implements GraphLoader
 		i.close();
 	}
 
+	/**
+	 * @return <code>true</code> if the triple is a type or a property value of a named individual that can be translated without looking at the graph, i.e. it
+	 *         is processed as a fact by {@link #processTriple(Triple)} and its object is not a class expression.
+	 */
+	private static boolean isABoxTriple(final Triple triple)
+	{
+		final Node s = triple.getSubject();
+		final Node p = triple.getPredicate();
+		final Node o = triple.getObject();
+
+		if (!s.isURI())
+			return false;
+
+		if (p.equals(RDF.type.asNode()))
+			return o.isURI() && BuiltinTerm.find(o) == null;
+
+		return p.isURI() && BuiltinTerm.find(p) == null && (o.isURI() || o.isLiteral());
+	}
+
+	/**
+	 * Process all the triples in the raw _graph except the ones {@link #processABoxTriples(int)} processes.
+	 */
+	protected void processNonABoxTriples()
+	{
+		_logger.fine("processNonABoxTriples");
+		final ClosableIterator<Triple> i = _graph.find(Triple.ANY);
+		while (i.hasNext())
+		{
+			final Triple triple = i.next();
+			if (!isABoxTriple(triple))
+				processTriple(triple);
+		}
+		i.close();
+	}
+
+	/**
+	 * Process the type and property value triples of the named individuals in the raw _graph. The triples are partitioned by their subject and the worker
+	 * threads translate batches of them to terms, sharing the term _cache. The knowledge base is not thread-safe, so the translated batches are added to it
+	 * from this thread with {@link KnowledgeBase#addAssertions(Iterable)}, in the order they have been submitted, while the next batches are translated.
+	 *
+	 * @param threads the number of threads translating the triples
+	 */
+	protected void processABoxTriples(final int threads)
+	{
+		_logger.fine("processABoxTriples");
+
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final Deque<Future<List<Assertion>>> pending = new ArrayDeque<>();
+		final List<List<Triple>> partitions = new ArrayList<>(threads);
+		for (int k = 0; k < threads; k++)
+			partitions.add(new ArrayList<>(ABOX_BATCH_SIZE));
+
+		try
+		{
+			final ClosableIterator<Triple> i = _graph.find(Triple.ANY);
+			try
+			{
+				while (i.hasNext())
+				{
+					final Triple triple = i.next();
+					if (!isABoxTriple(triple))
+						continue;
+
+					final int k = Math.floorMod(triple.getSubject().hashCode(), threads);
+					final List<Triple> batch = partitions.get(k);
+					batch.add(triple);
+					if (batch.size() == ABOX_BATCH_SIZE)
+					{
+						pending.add(executor.submit(() -> translateABoxTriples(batch)));
+						partitions.set(k, new ArrayList<>(ABOX_BATCH_SIZE));
+
+						// bound the number of translated batches waiting to be added
+						while (pending.size() > 2 * threads)
+							addABoxTriples(pending.remove());
+					}
+				}
+			}
+			finally
+			{
+				i.close();
+			}
+
+			for (final List<Triple> batch : partitions)
+				if (!batch.isEmpty())
+					pending.add(executor.submit(() -> translateABoxTriples(batch)));
+
+			while (!pending.isEmpty())
+				addABoxTriples(pending.remove());
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InternalReasonerException("Interrupted while loading the ABox triples", e);
+		}
+		catch (final ExecutionException e)
+		{
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new InternalReasonerException(cause);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Translates the nodes of ABox triples, see {@link #isABoxTriple(Triple)}, which does not need the graph. Called by the worker threads.
+	 */
+	private List<Assertion> translateABoxTriples(final List<Triple> triples)
+	{
+		final List<Assertion> assertions = new ArrayList<>(triples.size());
+		for (final Triple triple : triples)
+		{
+			final ATermAppl pt = triple.getPredicate().equals(RDF.type.asNode()) ? null : cachedTerm(triple.getPredicate());
+			assertions.add(new Assertion(triple, cachedTerm(triple.getSubject()), pt, cachedTerm(triple.getObject())));
+		}
+		return assertions;
+	}
+
+	private ATermAppl cachedTerm(final Node node)
+	{
+		final ATermAppl term = _terms.get(node);
+		if (term != null)
+			return term;
+
+		final ATermAppl created = JenaUtils.makeATerm(node);
+		final ATermAppl previous = _terms.putIfAbsent(node, created);
+		return previous == null ? created : previous;
+	}
+
+	/**
+	 * Declares the entities of a translated batch and adds its assertions to the knowledge base as a single batch.
+	 */
+	private void addABoxTriples(final Future<List<Assertion>> batch) throws InterruptedException, ExecutionException
+	{
+		final List<Assertion> translated = batch.get();
+		final List<ATermAppl> assertions = new ArrayList<>(translated.size());
+		for (final Assertion assertion : translated)
+			if (assertion._p == null)
+			{
+				if (!AnnotationClasses.contains(assertion._o))
+				{
+					defineClass(assertion._o);
+					defineIndividual(assertion._s);
+					assertions.add(ATermUtils.makeTypeAtom(assertion._s, assertion._o));
+				}
+			}
+			else
+			{
+				_monitor.incrementProgress();
+				final ATermAppl value = processPropertyValue(assertion._triple, assertion._s, assertion._p, assertion._o);
+				if (value != null)
+					assertions.add(value);
+			}
+
+		_kb.addAssertions(assertions);
+	}
+
+	/**
+	 * An ABox triple translated to terms.
+	 */
+	private static class Assertion
+	{
+		private final Triple _triple;
+		private final ATermAppl _s;
+		private final ATermAppl _p; // null for a type
+		private final ATermAppl _o;
+
+		public Assertion(final Triple triple, final ATermAppl s, final ATermAppl p, final ATermAppl o)
+		{
+			_triple = triple;
+			_s = s;
+			_p = p;
+			_o = o;
+		}
+	}
+
 	/**
 	 * Process a single triple that corresponds to an axiom (or a fact). This means triples that are part of OWL syntax, e.g. a triple with
 	 * <code>owl:onProperty</code> predicate, will not be processed since they are handled by the {@link #node2term(Node)} function. Also, if
@@ -1495,13 +1688,7 @@ public class DefaultGraphLoader implements GraphLoader
 						final ATermAppl ot = node2term(o);
 
 						if (!AnnotationClasses.contains(ot))
-						{
-							defineClass(ot);
-
-							final ATermAppl st = node2term(s);
-							defineIndividual(st);
-							_kb.addType(st, ot);
-						}
+							addType(node2term(s), ot);
 					}
 				}
 				else
@@ -1520,69 +1707,8 @@ public class DefaultGraphLoader implements GraphLoader
 		if (builtinTerm == null)
 		{
 			final ATermAppl pt = node2term(p);
-			final Role role = _kb.getProperty(pt);
-			final PropertyType type = role == null ? PropertyType.UNTYPED : role.getType();
-
-			if (type == PropertyType.ANNOTATION)
-			{
-				// Skip ontology annotations
-				if (_graph.contains(s, RDF.type.asNode(), OWL.Ontology.asNode()))
-					return;
-
-				if (defineAnnotationProperty(pt))
-					_kb.addAnnotation(st, pt, ot);
-
-				return;
-			}
-
-			if (OpenlletOptions.FREEZE_BUILTIN_NAMESPACES)
-			{
-				final String nameSpace = p.getNameSpace();
-				if (nameSpace != null)
-				{
-					final BuiltinNamespace builtin = BuiltinNamespace.find(nameSpace);
-					if (builtin != null)
-					{
-						addUnsupportedFeature("Ignoring triple with unknown property from " + builtin + " namespace: " + triple);
-						return;
-					}
-				}
-			}
-
-			if (o.isLiteral())
-			{
-				if (defineDatatypeProperty(pt))
-				{
-					final String datatypeURI = ((ATermAppl) ot.getArgument(2)).getName();
-
-					if (defineIndividual(st))
-					{
-						defineDatatypeProperty(pt);
-						if (!"".equals(datatypeURI))
-							defineDatatype(ATermUtils.makeTermAppl(datatypeURI));
-
-						_kb.addPropertyValue(pt, st, ot);
-					}
-					else
-						if (type == PropertyType.UNTYPED)
-							defineAnnotationProperty(pt);
-						else
-							addUnsupportedFeature("Ignoring ObjectProperty used with a class expression: " + triple);
-				}
-				else
-					addUnsupportedFeature("Ignoring literal value used with ObjectProperty : " + triple);
-			}
-			else
-				if (!defineObjectProperty(pt))
-					addUnsupportedFeature("Ignoring object value used with DatatypeProperty: " + triple);
-				else
-					if (!defineIndividual(st))
-						addUnsupportedFeature("Ignoring class expression used in subject position: " + triple);
-					else
-						if (!defineIndividual(ot))
-							addUnsupportedFeature("Ignoring class expression used in object position: " + triple);
-						else
-							_kb.addPropertyValue(pt, st, ot);
+			if (processPropertyValue(triple, st, pt, ot) != null)
+				_kb.addPropertyValue(pt, st, ot);
 			return;
 		}
 
@@ -1962,6 +2088,102 @@ public class DefaultGraphLoader implements GraphLoader
 		}
 	}
 
+	/**
+	 * Adds a type assertion of the ABox.
+	 *
+	 * @param st the individual
+	 * @param ot the class, which is not an annotation class
+	 */
+	private void addType(final ATermAppl st, final ATermAppl ot)
+	{
+		defineClass(ot);
+		defineIndividual(st);
+		_kb.addType(st, ot);
+	}
+
+	/**
+	 * Process a triple whose predicate is not a builtin term, i.e. a property value or an annotation. The annotations are added to the knowledge base, the
+	 * property values are left to the caller.
+	 *
+	 * @param triple the triple to be processed
+	 * @param st the term of the subject
+	 * @param pt the term of the predicate
+	 * @param ot the term of the object
+	 * @return the property value assertion to add, or null if the triple is an annotation or is ignored
+	 */
+	private ATermAppl processPropertyValue(final Triple triple, final ATermAppl st, final ATermAppl pt, final ATermAppl ot)
+	{
+		final Node p = triple.getPredicate();
+		final Node s = triple.getSubject();
+		final Node o = triple.getObject();
+
+		final Role role = _kb.getProperty(pt);
+		final PropertyType type = role == null ? PropertyType.UNTYPED : role.getType();
+
+		if (type == PropertyType.ANNOTATION)
+		{
+			// Skip ontology annotations
+			if (_graph.contains(s, RDF.type.asNode(), OWL.Ontology.asNode()))
+				return null;
+
+			if (defineAnnotationProperty(pt))
+				_kb.addAnnotation(st, pt, ot);
+
+			return null;
+		}
+
+		if (OpenlletOptions.FREEZE_BUILTIN_NAMESPACES)
+		{
+			final String nameSpace = p.getNameSpace();
+			if (nameSpace != null)
+			{
+				final BuiltinNamespace builtin = BuiltinNamespace.find(nameSpace);
+				if (builtin != null)
+				{
+					addUnsupportedFeature("Ignoring triple with unknown property from " + builtin + " namespace: " + triple);
+					return null;
+				}
+			}
+		}
+
+		if (o.isLiteral())
+		{
+			if (defineDatatypeProperty(pt))
+			{
+				final String datatypeURI = ((ATermAppl) ot.getArgument(2)).getName();
+
+				if (defineIndividual(st))
+				{
+					defineDatatypeProperty(pt);
+					if (!"".equals(datatypeURI))
+						defineDatatype(ATermUtils.makeTermAppl(datatypeURI));
+
+					return ATermUtils.makePropAtom(pt, st, ot);
+				}
+				else
+					if (type == PropertyType.UNTYPED)
+						defineAnnotationProperty(pt);
+					else
+						addUnsupportedFeature("Ignoring ObjectProperty used with a class expression: " + triple);
+			}
+			else
+				addUnsupportedFeature("Ignoring literal value used with ObjectProperty : " + triple);
+		}
+		else
+			if (!defineObjectProperty(pt))
+				addUnsupportedFeature("Ignoring object value used with DatatypeProperty: " + triple);
+			else
+				if (!defineIndividual(st))
+					addUnsupportedFeature("Ignoring class expression used in subject position: " + triple);
+				else
+					if (!defineIndividual(ot))
+						addUnsupportedFeature("Ignoring class expression used in object position: " + triple);
+					else
+						return ATermUtils.makePropAtom(pt, st, ot);
+
+		return null;
+	}
+
 	protected void processUntypedResources()
 	{
 		_logger.fine("processUntypedResource");
@@ -2071,11 +2293,28 @@ public class DefaultGraphLoader implements GraphLoader
 			processTypes();
 		}
 
-		for (final Graph g : graphs)
+		final int threads = OpenlletOptions.GRAPH_LOADER_THREADS;
+		if (threads > 1 && isLoadABox())
 		{
-			_graph = g;
-			processTriples();
+			// the TBox first, as the ABox triples are processed with the property types it defines
+			for (final Graph g : graphs)
+			{
+				_graph = g;
+				processNonABoxTriples();
+			}
+
+			for (final Graph g : graphs)
+			{
+				_graph = g;
+				processABoxTriples(threads);
+			}
 		}
+		else
+			for (final Graph g : graphs)
+			{
+				_graph = g;
+				processTriples();
+			}
 
 		processUntypedResources();
 
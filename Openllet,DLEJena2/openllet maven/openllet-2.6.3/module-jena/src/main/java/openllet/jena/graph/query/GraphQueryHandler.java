@@ -13,6 +13,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -267,6 +268,10 @@ public class GraphQueryHandler
 			public ExtendedIterator<Triple> find(final KnowledgeBase kb, final PelletInfGraph openllet, final Node s, final Node p, final Node o)
 			{
 				final ATermAppl prop = openllet.getLoader().node2term(p);
+				final Optional<RealizedFactsIndex> index = openllet.getRealizedFactsIndex().filter(i -> i.isProperty(prop));
+				if (index.isPresent())
+					return index.get().findValues(prop);
+
 				return WrappedIterator.create(new NestedIterator<ATermAppl, Triple>(kb.getIndividuals())
 				{
 					@Override
@@ -296,6 +301,10 @@ public class GraphQueryHandler
 			{
 				final ATermAppl prop = openllet.getLoader().node2term(p);
 				final ATermAppl val = openllet.getLoader().node2term(o);
+				final Optional<RealizedFactsIndex> index = openllet.getRealizedFactsIndex().filter(i -> i.isObjectProperty(prop) && i.isIndividual(val));
+				if (index.isPresent())
+					return index.get().findSubjects(prop, val);
+
 				return subjectFiller(kb.getIndividualsWithProperty(prop, val), p, o);
 			}
 		});
@@ -315,6 +324,10 @@ public class GraphQueryHandler
 			{
 				final ATermAppl ind = openllet.getLoader().node2term(s);
 				final ATermAppl prop = openllet.getLoader().node2term(p);
+				final Optional<RealizedFactsIndex> index = openllet.getRealizedFactsIndex().filter(i -> i.isProperty(prop) && i.isIndividual(ind));
+				if (index.isPresent())
+					return index.get().findObjects(ind, prop);
+
 				return objectFiller(s, p, kb.getPropertyValues(prop, ind));
 			}
 		});
@@ -351,6 +364,10 @@ public class GraphQueryHandler
 					}
 				});
 
+				final Optional<RealizedFactsIndex> index = openllet.getRealizedFactsIndex();
+				if (index.isPresent())
+					return builtinTypes.andThen(index.get().findTypes(pred));
+
 				final ExtendedIterator<Triple> typeAssertions = WrappedIterator.create(new NestedIterator<ATermAppl, Triple>(kb.getAllClasses())
 				{
 					@Override
@@ -375,7 +392,12 @@ public class GraphQueryHandler
 			@Override
 			public ExtendedIterator<Triple> find(final KnowledgeBase kb, final PelletInfGraph openllet, final Node s, final Node p, final Node o)
 			{
-				return subjectFiller(kb.getInstances(openllet.getLoader().node2term(o)), p, o);
+				final ATermAppl c = openllet.getLoader().node2term(o);
+				final Optional<RealizedFactsIndex> index = openllet.getRealizedFactsIndex().filter(i -> i.isClass(c));
+				if (index.isPresent())
+					return index.get().findInstances(p, c);
+
+				return subjectFiller(kb.getInstances(c), p, o);
 			}
 		});
 
@@ -394,7 +416,13 @@ public class GraphQueryHandler
 				final ATermAppl term = openllet.getLoader().node2term(s);
 
 				if (kb.isIndividual(term))
+				{
+					final Optional<RealizedFactsIndex> index = openllet.getRealizedFactsIndex().filter(i -> i.isIndividual(term));
+					if (index.isPresent())
+						return index.get().findTypes(term, p);
+
 					return objectSetFiller(s, p, kb.getTypes(term));
+				}
 
 				final List<Node> types = new ArrayList<>();
 
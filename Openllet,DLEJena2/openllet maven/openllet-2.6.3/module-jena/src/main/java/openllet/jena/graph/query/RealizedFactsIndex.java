@@ -0,0 +1,395 @@
+package openllet.jena.graph.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import openllet.aterm.ATermAppl;
+import openllet.core.KnowledgeBase;
+import openllet.core.OpenlletOptions;
+import openllet.core.boxes.rbox.Role;
+import openllet.core.utils.SizeEstimate;
+import openllet.core.utils.iterator.IteratorUtils;
+import openllet.jena.JenaUtils;
+import openllet.shared.tools.Log;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NullIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
+
+/**
+ * A read-only index of the types and the property values of the individuals of a realized knowledge base, see
+ * {@link OpenlletOptions#USE_REALIZED_FACTS_INDEX}. The individuals, the literals and the classes are numbered, and the facts are kept in sorted arrays of
+ * these numbers: the types of every individual, the instances of every class, and the values of every property both by subject and by object. The triple
+ * patterns are answered by scanning a range of these arrays, with the graph nodes created once when the index is built.
+ * <p>
+ * The index is built from a snapshot of the knowledge base and is only valid as long as the knowledge base is not changed, see {@link #isCurrent}.
+ * </p>
+ */
+public class RealizedFactsIndex
+{
+	public final static Logger _logger = Log.getLogger(RealizedFactsIndex.class);
+
+	private static final int[] NO_IDS = new int[0];
+
+	/**
+	 * A knowledge base creates a new size estimate whenever its changes are prepared, so the index is outdated as soon as the estimate is replaced.
+	 */
+	private final SizeEstimate _estimate;
+
+	private final Map<ATermAppl, Integer> _termIds = new HashMap<>();
+
+	private final List<Node> _termNodes = new ArrayList<>();
+
+	private final Map<ATermAppl, Integer> _classIds = new HashMap<>();
+
+	private final List<Node> _classNodes = new ArrayList<>();
+
+	private final Map<ATermAppl, PropertyValues> _properties = new HashMap<>();
+
+	/**
+	 * The individuals are the terms numbered from 0 to _individualCount - 1, the literals follow.
+	 */
+	private final int _individualCount;
+
+	private final Adjacency _types;
+
+	private final Adjacency _instances;
+
+	/**
+	 * Builds the index of the facts of a knowledge base, which must have been realized.
+	 *
+	 * @param kb the realized knowledge base
+	 */
+	public RealizedFactsIndex(final KnowledgeBase kb)
+	{
+		_estimate = kb.getSizeEstimate();
+
+		for (final ATermAppl c : kb.getAllClasses())
+			classId(c);
+
+		final List<ATermAppl> individuals = new ArrayList<>(kb.getIndividuals());
+		_individualCount = individuals.size();
+		for (final ATermAppl ind : individuals)
+			termId(ind);
+
+		final PairList typePairs = new PairList();
+		for (int i = 0; i < _individualCount; i++)
+		{
+			final Iterator<ATermAppl> types = IteratorUtils.flatten(kb.getTypes(individuals.get(i)).iterator());
+			while (types.hasNext())
+				typePairs.add(i, classId(types.next()));
+		}
+		_types = new Adjacency(typePairs, false);
+		_instances = new Adjacency(typePairs, true);
+
+		for (final Role role : kb.getRBox().getRoles().values())
+		{
+			if (role.isAnon() || !role.isObjectRole() && !role.isDatatypeRole())
+				continue;
+
+			final ATermAppl name = role.getName();
+			final Node node = JenaUtils.makeGraphNode(name).orElse(null);
+			if (node == null)
+				continue;
+
+			final PairList values = new PairList();
+			for (int i = 0; i < _individualCount; i++)
+			{
+				final ATermAppl ind = individuals.get(i);
+				for (final ATermAppl value : role.isDatatypeRole() ? kb.getDataPropertyValues(name, ind) : kb.getObjectPropertyValues(name, ind))
+					values.add(i, termId(value));
+			}
+			_properties.put(name, new PropertyValues(node, values, role.isObjectRole()));
+		}
+
+		_logger.fine(() -> "Indexed " + typePairs.size() + " types of " + _individualCount + " individuals and the values of " + _properties.size() + " properties");
+	}
+
+	/**
+	 * @param kb a knowledge base
+	 * @return true if the index still holds the facts of the knowledge base, i.e. the knowledge base is the one the index has been built from, it has not
+	 *         changed since and it is realized
+	 */
+	public boolean isCurrent(final KnowledgeBase kb)
+	{
+		return kb.getSizeEstimate() == _estimate && kb.isRealized();
+	}
+
+	private int termId(final ATermAppl term)
+	{
+		return _termIds.computeIfAbsent(term, t ->
+		{
+			_termNodes.add(JenaUtils.makeGraphNode(t).orElse(null));
+			return _termNodes.size() - 1;
+		});
+	}
+
+	private int classId(final ATermAppl c)
+	{
+		return _classIds.computeIfAbsent(c, t ->
+		{
+			_classNodes.add(JenaUtils.makeGraphNode(t).orElse(null));
+			return _classNodes.size() - 1;
+		});
+	}
+
+	private int individualId(final ATermAppl term)
+	{
+		final Integer id = _termIds.get(term);
+		return id != null && id < _individualCount ? id : -1;
+	}
+
+	/**
+	 * @param term a term
+	 * @return true if the term is an individual of the index
+	 */
+	public boolean isIndividual(final ATermAppl term)
+	{
+		return individualId(term) >= 0;
+	}
+
+	/**
+	 * @param term a term
+	 * @return true if the term is a class of the index
+	 */
+	public boolean isClass(final ATermAppl term)
+	{
+		return _classIds.containsKey(term);
+	}
+
+	/**
+	 * @param term a term
+	 * @return true if the values of the property are in the index
+	 */
+	public boolean isProperty(final ATermAppl term)
+	{
+		return _properties.containsKey(term);
+	}
+
+	/**
+	 * @param term a term
+	 * @return true if the individuals having a given value of the property can be found in the index. The literal values are not, since a literal may have
+	 *         several lexical forms.
+	 */
+	public boolean isObjectProperty(final ATermAppl term)
+	{
+		final PropertyValues values = _properties.get(term);
+		return values != null && values._isObjectProperty;
+	}
+
+	/**
+	 * @param p the predicate of the triples
+	 * @return the triples <code>?s p ?o</code> of all the types of all the individuals
+	 */
+	public ExtendedIterator<Triple> findTypes(final Node p)
+	{
+		return _types.findAll(_termNodes, p, _classNodes);
+	}
+
+	/**
+	 * @param s an individual of the index
+	 * @param p the predicate of the triples
+	 * @return the triples <code>s p ?o</code> of the types of the individual
+	 */
+	public ExtendedIterator<Triple> findTypes(final ATermAppl s, final Node p)
+	{
+		final int id = individualId(s);
+		return _types.findObjects(_termNodes.get(id), id, p, _classNodes);
+	}
+
+	/**
+	 * @param p the predicate of the triples
+	 * @param c a class of the index
+	 * @return the triples <code>?s p c</code> of the instances of the class
+	 */
+	public ExtendedIterator<Triple> findInstances(final Node p, final ATermAppl c)
+	{
+		final int id = _classIds.get(c);
+		return _instances.findSubjects(_termNodes, p, _classNodes.get(id), id);
+	}
+
+	/**
+	 * @param p a property of the index
+	 * @return the triples <code>?s p ?o</code> of all the values of the property
+	 */
+	public ExtendedIterator<Triple> findValues(final ATermAppl p)
+	{
+		return _properties.get(p).findAll(_termNodes);
+	}
+
+	/**
+	 * @param s an individual of the index
+	 * @param p a property of the index
+	 * @return the triples <code>s p ?o</code> of the values of the property for the individual
+	 */
+	public ExtendedIterator<Triple> findObjects(final ATermAppl s, final ATermAppl p)
+	{
+		final PropertyValues values = _properties.get(p);
+		final int id = individualId(s);
+		return values._bySubject.findObjects(_termNodes.get(id), id, values._node, _termNodes);
+	}
+
+	/**
+	 * @param p an object property of the index
+	 * @param o an individual of the index
+	 * @return the triples <code>?s p o</code> of the individuals having the value for the property
+	 */
+	public ExtendedIterator<Triple> findSubjects(final ATermAppl p, final ATermAppl o)
+	{
+		final PropertyValues values = _properties.get(p);
+		final int id = individualId(o);
+		return values._byObject.findSubjects(_termNodes, values._node, _termNodes.get(id), id);
+	}
+
+	private static class PropertyValues
+	{
+		private final Node _node;
+
+		private final boolean _isObjectProperty;
+
+		private final Adjacency _bySubject;
+
+		private final Adjacency _byObject;
+
+		public PropertyValues(final Node node, final PairList values, final boolean isObjectProperty)
+		{
+			_node = node;
+			_isObjectProperty = isObjectProperty;
+			_bySubject = new Adjacency(values, false);
+			_byObject = new Adjacency(values, true);
+		}
+
+		public ExtendedIterator<Triple> findAll(final List<Node> nodes)
+		{
+			return _bySubject.findAll(nodes, _node, nodes);
+		}
+	}
+
+	/**
+	 * Pairs of numbers, packed in longs so that they can be sorted by their first then their second number.
+	 */
+	private static class PairList
+	{
+		private long[] _pairs = new long[16];
+
+		private int _size = 0;
+
+		public void add(final int first, final int second)
+		{
+			if (_size == _pairs.length)
+				_pairs = Arrays.copyOf(_pairs, _size * 2);
+			_pairs[_size++] = (long) first << 32 | second;
+		}
+
+		public int size()
+		{
+			return _size;
+		}
+
+		/**
+		 * @param inverse whether the numbers of the pairs are swapped
+		 * @return the distinct pairs, sorted
+		 */
+		public long[] sorted(final boolean inverse)
+		{
+			final long[] pairs = Arrays.copyOf(_pairs, _size);
+			if (inverse)
+				for (int i = 0; i < pairs.length; i++)
+					pairs[i] = pairs[i] << 32 | pairs[i] >>> 32;
+			Arrays.sort(pairs);
+
+			int size = 0;
+			for (int i = 0; i < pairs.length; i++)
+				if (size == 0 || pairs[size - 1] != pairs[i])
+					pairs[size++] = pairs[i];
+
+			return Arrays.copyOf(pairs, size);
+		}
+	}
+
+	/**
+	 * The pairs of numbers grouped by their first number: the values of the _keys[i] are _values[_offsets[i]] to _values[_offsets[i + 1] - 1], both sorted.
+	 */
+	private static class Adjacency
+	{
+		private final int[] _keys;
+
+		private final int[] _offsets;
+
+		private final int[] _values;
+
+		public Adjacency(final PairList pairs, final boolean inverse)
+		{
+			final long[] sorted = pairs.sorted(inverse);
+
+			_values = new int[sorted.length];
+			int keys = 0;
+			for (int i = 0; i < sorted.length; i++)
+			{
+				_values[i] = (int) sorted[i];
+				if (i == 0 || sorted[i - 1] >>> 32 != sorted[i] >>> 32)
+					keys++;
+			}
+
+			_keys = keys == 0 ? NO_IDS : new int[keys];
+			_offsets = new int[keys + 1];
+			int k = 0;
+			for (int i = 0; i < sorted.length; i++)
+				if (i == 0 || sorted[i - 1] >>> 32 != sorted[i] >>> 32)
+				{
+					_keys[k] = (int) (sorted[i] >>> 32);
+					_offsets[k++] = i;
+				}
+			_offsets[keys] = sorted.length;
+		}
+
+		private IntStream range(final int key)
+		{
+			final int k = Arrays.binarySearch(_keys, key);
+			return k < 0 ? IntStream.empty() : IntStream.range(_offsets[k], _offsets[k + 1]);
+		}
+
+		public ExtendedIterator<Triple> findObjects(final Node s, final int key, final Node p, final List<Node> objects)
+		{
+			if (s == null)
+				return NullIterator.instance();
+
+			return WrappedIterator.create(range(key)//
+					.mapToObj(i -> objects.get(_values[i]))//
+					.filter(Objects::nonNull)//
+					.map(o -> Triple.create(s, p, o))//
+					.iterator());
+		}
+
+		public ExtendedIterator<Triple> findSubjects(final List<Node> subjects, final Node p, final Node o, final int key)
+		{
+			if (o == null)
+				return NullIterator.instance();
+
+			return WrappedIterator.create(range(key)//
+					.mapToObj(i -> subjects.get(_values[i]))//
+					.filter(Objects::nonNull)//
+					.map(s -> Triple.create(s, p, o))//
+					.iterator());
+		}
+
+		public ExtendedIterator<Triple> findAll(final List<Node> subjects, final Node p, final List<Node> objects)
+		{
+			return WrappedIterator.create(IntStream.range(0, _keys.length)//
+					.filter(k -> subjects.get(_keys[k]) != null)//
+					.boxed()//
+					.flatMap(k -> IntStream.range(_offsets[k], _offsets[k + 1])//
+							.mapToObj(i -> objects.get(_values[i]))//
+							.filter(Objects::nonNull)//
+							.map(o -> Triple.create(subjects.get(_keys[k]), p, o)))//
+					.iterator());
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package openllet.query.sparqldl.jena;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.logging.Logger;
+import openllet.aterm.ATermAppl;
+import openllet.core.KnowledgeBase;
+import openllet.core.exceptions.UnsupportedQueryException;
+import openllet.core.utils.ATermUtils;
+import openllet.core.utils.SizeEstimate;
+import openllet.jena.JenaUtils;
+import openllet.query.sparqldl.model.Query;
+import openllet.query.sparqldl.model.Query.VarType;
+import openllet.query.sparqldl.model.QueryAtom;
+import openllet.query.sparqldl.model.QueryImpl;
+import openllet.query.sparqldl.model.ResultBinding;
+import openllet.query.sparqldl.model.ResultBindingImpl;
+import openllet.query.sparqldl.parser.ARQParser;
+import openllet.shared.tools.Log;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.syntax.PatternVars;
+
+/**
+ * Caches the SPARQL-DL queries that are parsed from the same SPARQL query, so that repeated executions skip the parsing. A query is parsed once with its
+ * parameters left as variables, and every execution substitutes the values of the parameters in a copy of the parsed query. This is only done for the
+ * parameters that are bound to individuals or literals of the knowledge base and that the parser has turned into individual or literal variables, since
+ * the parser would translate the other parameters differently once they are substituted.
+ * <p>
+ * The parsed queries are kept by the size estimate of the knowledge base they have been parsed with. A knowledge base creates a new size estimate whenever
+ * its changes are prepared, so the queries parsed against an outdated knowledge base are never used again and are garbage collected along with its
+ * estimate.
+ * </p>
+ */
+class ParsedQueryCache
+{
+	private static final Logger _logger = Log.getLogger(ParsedQueryCache.class);
+
+	/**
+	 * The maximum number of parsed queries that are cached for a knowledge base.
+	 */
+	private static final int MAX_CACHED_QUERIES = 1024;
+
+	private static final Map<SizeEstimate, Map<List<Object>, Optional<Template>>> _queries = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private ParsedQueryCache()
+	{
+		// static methods only
+	}
+
+	/**
+	 * Parses a SPARQL query, or reuses the query that has been parsed before for the same SPARQL query and the same parameters.
+	 *
+	 * @param sparql the SPARQL query
+	 * @param kb the knowledge base, whose changes must have been prepared
+	 * @param initialBinding the values of the parameters of the query, or <code>null</code>
+	 * @param handleVariableSPO whether the parser handles variable predicates
+	 * @return the SPARQL-DL query, which the caller may modify
+	 * @throws UnsupportedQueryException if the query is not a SPARQL-DL query
+	 */
+	static Query parse(final org.apache.jena.query.Query sparql, final KnowledgeBase kb, final QuerySolution initialBinding, final boolean handleVariableSPO)
+	{
+		final Set<String> parameters = new TreeSet<>();
+		if (initialBinding != null)
+			for (final Var var : PatternVars.vars(sparql.getQueryPattern()))
+				if (initialBinding.contains(var.getVarName()))
+					parameters.add(var.getVarName());
+
+		final ResultBinding values = new ResultBindingImpl();
+		for (final String parameter : parameters)
+		{
+			final RDFNode value = initialBinding.get(parameter);
+			final Node node = value.asNode();
+			final ATermAppl term = JenaUtils.makeATerm(node);
+			if (!node.isLiteral() && !kb.isIndividual(term))
+				return parseFully(sparql, kb, initialBinding, handleVariableSPO);
+			values.setValue(ATermUtils.makeVar(parameter), term);
+		}
+
+		final Map<List<Object>, Optional<Template>> queries = _queries.computeIfAbsent(kb.getSizeEstimate(), estimate -> newQueryCache());
+		final List<Object> key = Arrays.asList(sparql, handleVariableSPO, parameters);
+
+		Optional<Template> cached;
+		synchronized (queries)
+		{
+			cached = queries.get(key);
+		}
+		if (cached == null)
+		{
+			cached = parseTemplate(sparql, kb, parameters, handleVariableSPO);
+			synchronized (queries)
+			{
+				queries.put(key, cached);
+			}
+		}
+
+		if (!cached.isPresent())
+			return parseFully(sparql, kb, initialBinding, handleVariableSPO);
+
+		final Template template = cached.get();
+		_logger.fine(() -> "Reusing the parsed query " + template);
+		return instantiate(template, values, kb);
+	}
+
+	private static Query parseFully(final org.apache.jena.query.Query sparql, final KnowledgeBase kb, final QuerySolution initialBinding, final boolean handleVariableSPO)
+	{
+		final ARQParser parser = new ARQParser(handleVariableSPO);
+		// The parser uses the query parameterization to resolve parameters
+		// (i.e. variables) in the query
+		parser.setInitialBinding(initialBinding);
+
+		return parser.parse(sparql, kb);
+	}
+
+	/**
+	 * @return the query parsed with its parameters left as variables, or nothing if the parameters cannot be substituted after parsing
+	 */
+	private static Optional<Template> parseTemplate(final org.apache.jena.query.Query sparql, final KnowledgeBase kb, final Set<String> parameters, final boolean handleVariableSPO)
+	{
+		final Query template;
+		try
+		{
+			template = new ARQParser(handleVariableSPO).parse(sparql, kb);
+		}
+		catch (final UnsupportedQueryException e)
+		{
+			// the query may still be supported once the parameters are substituted
+			return Optional.empty();
+		}
+
+		for (final String parameter : parameters)
+		{
+			final ATermAppl var = ATermUtils.makeVar(parameter);
+			if (template.getDistVarsForType(VarType.CLASS).contains(var) || template.getDistVarsForType(VarType.PROPERTY).contains(var))
+				return Optional.empty();
+			if (!template.getDistVarsForType(VarType.INDIVIDUAL).contains(var) && !template.getDistVarsForType(VarType.LITERAL).contains(var) && !template.getUndistVars().contains(var))
+				return Optional.empty();
+		}
+
+		return Optional.of(new Template(template));
+	}
+
+	/**
+	 * Substitutes the values of the parameters in a copy of a parsed query. Unlike {@link Query#apply(ResultBinding)}, the result variables are kept, as the
+	 * parser keeps the parameters among the result variables.
+	 */
+	private static Query instantiate(final Template template, final ResultBinding values, final KnowledgeBase kb)
+	{
+		final Query query = new QueryImpl(kb, template._distinct);
+
+		for (final ATermAppl var : template._resultVars)
+			query.addResultVar(var);
+
+		for (final VarType type : VarType.values())
+			for (final ATermAppl var : template._distVars.get(type))
+				if (!values.isBound(var))
+					query.addDistVar(var, type);
+
+		for (final QueryAtom atom : template._atoms)
+			query.add(atom.apply(values));
+
+		return query;
+	}
+
+	/**
+	 * The parts of a parsed query. Unlike the query, they do not refer to the knowledge base, which refers to its size estimate and would keep it from being
+	 * garbage collected.
+	 */
+	private static class Template
+	{
+		private final List<QueryAtom> _atoms;
+
+		private final List<ATermAppl> _resultVars;
+
+		private final Map<VarType, Set<ATermAppl>> _distVars = new EnumMap<>(VarType.class);
+
+		private final boolean _distinct;
+
+		public Template(final Query query)
+		{
+			_atoms = new ArrayList<>(query.getAtoms());
+			_resultVars = new ArrayList<>(query.getResultVars());
+			for (final VarType type : VarType.values())
+				_distVars.put(type, new HashSet<>(query.getDistVarsForType(type)));
+			_distinct = query.isDistinct();
+		}
+
+		@Override
+		public String toString()
+		{
+			return _atoms.toString();
+		}
+	}
+
+	private static Map<List<Object>, Optional<Template>> newQueryCache()
+	{
+		return new LinkedHashMap<List<Object>, Optional<Template>>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Entry<List<Object>, Optional<Template>> eldest)
+			{
+				return size() > MAX_CACHED_QUERIES;
+			}
+		};
+	}
+}
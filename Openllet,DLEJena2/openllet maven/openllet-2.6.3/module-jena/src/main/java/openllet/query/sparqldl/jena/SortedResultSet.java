@@ -8,8 +8,10 @@ package openllet.query.sparqldl.jena;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.query.SortCondition;
@@ -38,16 +40,70 @@ public class SortedResultSet implements ResultSet
 
 	private final List<String> resultVars;
 
+	/**
+	 * A row of the results with its position, which orders the rows that are equal w.r.t. the sort conditions.
+	 */
+	private static final class Row
+	{
+		private final Binding _binding;
+		private final long _index;
+
+		private Row(final Binding binding, final long index)
+		{
+			_binding = binding;
+			_index = index;
+		}
+	}
+
 	public SortedResultSet(final ResultSet results, final List<SortCondition> sortConditions)
 	{
-		resultVars = results.getResultVars();
+		this(results, sortConditions, Long.MAX_VALUE);
+	}
 
-		sortedRows = new ArrayList<>();
-		while (results.hasNext())
-			sortedRows.add(results.nextBinding());
+	/**
+	 * Sorts the given results, keeping only the first rows of the sorted results.
+	 *
+	 * @param results the results to be sorted
+	 * @param sortConditions the conditions of the sort
+	 * @param maxRows the number of sorted rows that are kept, e.g. the offset plus the limit of the query
+	 */
+	public SortedResultSet(final ResultSet results, final List<SortCondition> sortConditions, final long maxRows)
+	{
+		resultVars = results.getResultVars();
 
 		final BindingComparator cmp = new BindingComparator(sortConditions);
-		Collections.sort(sortedRows, cmp);
+
+		if (maxRows >= Integer.MAX_VALUE)
+		{
+			sortedRows = new ArrayList<>();
+			while (results.hasNext())
+				sortedRows.add(results.nextBinding());
+
+			Collections.sort(sortedRows, cmp);
+		}
+		else
+		{
+			// top-k selection: the head of the heap is the last of the rows kept so far, equal rows keep their order as with a stable sort
+			final Comparator<Row> order = (row1, row2) ->
+			{
+				final int c = cmp.compare(row1._binding, row2._binding);
+				return c != 0 ? c : Long.compare(row1._index, row2._index);
+			};
+			final PriorityQueue<Row> heap = new PriorityQueue<>(order.reversed());
+			long index = 0;
+			while (results.hasNext())
+			{
+				heap.add(new Row(results.nextBinding(), index++));
+				if (heap.size() > maxRows)
+					heap.poll();
+			}
+
+			final List<Row> rows = new ArrayList<>(heap);
+			rows.sort(order);
+			sortedRows = new ArrayList<>(rows.size());
+			for (final Row r : rows)
+				sortedRows.add(r._binding);
+		}
 
 		iterator = sortedRows.iterator();
 		row = 0;
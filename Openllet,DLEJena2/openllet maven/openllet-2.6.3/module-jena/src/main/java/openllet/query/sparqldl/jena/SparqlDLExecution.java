@@ -19,12 +19,15 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import openllet.core.KnowledgeBase;
 import openllet.core.OpenlletOptions;
+import openllet.core.exceptions.TimeoutException;
+import openllet.core.exceptions.TimerInterruptedException;
 import openllet.core.exceptions.UnsupportedQueryException;
 import openllet.jena.PelletInfGraph;
 import openllet.query.sparqldl.model.QueryParameters;
 import openllet.query.sparqldl.model.QueryParametersBuilder;
-import openllet.query.sparqldl.parser.ARQParser;
 import openllet.shared.tools.Log;
+import org.apache.jena.atlas.lib.Alarm;
+import org.apache.jena.atlas.lib.AlarmClock;
 import org.apache.jena.atlas.lib.NotImplemented;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
@@ -32,6 +35,7 @@ import org.apache.jena.graph.Triple;
 import org.apache.jena.query.Dataset;
 import org.apache.jena.query.DatasetFactory;
 import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryCancelledException;
 import org.apache.jena.query.QueryException;
 import org.apache.jena.query.QueryExecException;
 import org.apache.jena.query.QueryExecution;
@@ -78,6 +82,17 @@ class SparqlDLExecution implements QueryExecution
 
 	private boolean _handleVariableSPO = true;
 
+	private volatile long _timeout1 = -1;
+
+	private volatile long _timeout2 = -1;
+
+	private volatile boolean _cancelled = false;
+
+	/**
+	 * The knowledge base of the running query, whose timers are interrupted by {@link #abort()}.
+	 */
+	private KnowledgeBase _runningKB = null;
+
 	public SparqlDLExecution(final String query, final Model source)
 	{
 		this(QueryFactory.create(query), source);
@@ -212,43 +227,83 @@ class SparqlDLExecution implements QueryExecution
 	 * @return the _query results or <code>null</code> for unsupported queried
 	 */
 	private ResultSet exec()
+	{
+		final PelletInfGraph pelletInfGraph = (PelletInfGraph) _source.getDefaultModel().getGraph();
+		final KnowledgeBase kb = pelletInfGraph.getKB();
+
+		synchronized (this)
+		{
+			if (_cancelled)
+				throw new QueryCancelledException();
+			_runningKB = kb;
+		}
+
+		// the results are computed before the first one is returned, so both timeouts limit the computation
+		final long timeout = _timeout1 > 0 && (_timeout2 <= 0 || _timeout1 < _timeout2) ? _timeout1 : _timeout2;
+		final Alarm alarm = timeout > 0 ? AlarmClock.get().add(this::abort, timeout) : null;
+
+		try
+		{
+			return exec(pelletInfGraph, kb);
+		}
+		catch (final TimerInterruptedException | TimeoutException e)
+		{
+			if (_cancelled)
+				throw new QueryCancelledException();
+			throw e;
+		}
+		finally
+		{
+			if (alarm != null)
+				AlarmClock.get().cancel(alarm);
+			synchronized (this)
+			{
+				_runningKB = null;
+				// an interruption that came too late to stop the query must not stop the next reasoning task
+				if (_cancelled)
+					kb.getTimers().clearInterrupt();
+			}
+		}
+	}
+
+	private ResultSet exec(final PelletInfGraph pelletInfGraph, final KnowledgeBase kb)
 	{
 		try
 		{
 			if (_source.listNames().hasNext())
 				throw new UnsupportedQueryException("Named graphs is not supported by Pellet");
 
-			final PelletInfGraph pelletInfGraph = (PelletInfGraph) _source.getDefaultModel().getGraph();
-			final KnowledgeBase kb = pelletInfGraph.getKB();
-
 			pelletInfGraph.prepare();
 
 			final QueryParameters queryParameters = QueryParametersBuilder.getQueryParameters(_initialBinding);
 
-			final ARQParser parser = new ARQParser(_handleVariableSPO);
-			// The parser uses the _query parameterization to resolve parameters
-			// (i.e. variables) in the _query
-			parser.setInitialBinding(_initialBinding);
-
-			final openllet.query.sparqldl.model.Query q = parser.parse(_query, kb);
+			final openllet.query.sparqldl.model.Query q = ParsedQueryCache.parse(_query, kb, _initialBinding, _handleVariableSPO);
 			// The _query uses the _query parameterization to resolve bindings
 			// (i.e. for instance if the parameter variable is in _query
 			// projection, we need to add the initial binding to the resulting
 			// bindings manually)
 			q.setQueryParameters(queryParameters);
 
+			final List<SortCondition> sortConditions = _query.getOrderBy();
+			final boolean sorted = sortConditions != null && !sortConditions.isEmpty();
+			final long offset = _query.hasOffset() ? _query.getOffset() : 0;
+			final long limit = _query.hasLimit() ? _query.getLimit() : Long.MAX_VALUE;
+			// the number of rows that are needed before slicing, the sorted rows can only be sliced once all of them are found
+			final long neededRows = limit == Long.MAX_VALUE || offset > Long.MAX_VALUE - limit ? Long.MAX_VALUE : offset + limit;
+
+			if (_query.isAskType())
+				q.setMaxResults(1);
+			else
+				if (!sorted)
+					q.setMaxResults(neededRows);
+
 			ResultSet results = new SparqlDLResultSet(openllet.query.sparqldl.engine.QueryEngine.exec(q), _source.getDefaultModel(), queryParameters);
 
-			final List<SortCondition> sortConditions = _query.getOrderBy();
-			if (sortConditions != null && !sortConditions.isEmpty())
-				results = new SortedResultSet(results, sortConditions);
+			if (sorted)
+				results = new SortedResultSet(results, sortConditions, neededRows);
 
 			if (_query.hasOffset() || _query.hasLimit())
-			{
-				final long offset = _query.hasOffset() ? _query.getOffset() : 0;
-				final long limit = _query.hasLimit() ? _query.getLimit() : Long.MAX_VALUE;
 				results = new SlicedResultSet(results, offset, limit);
-			}
 
 			return results;
 		}
@@ -266,10 +321,19 @@ class SparqlDLExecution implements QueryExecution
 		}
 	}
 
+	/**
+	 * Cancels the query. A running query is stopped at the next check of the timers of its knowledge base, which happens at every step of the query
+	 * search and of the tableau expansion, and its execution throws a {@link QueryCancelledException}. The timers are shared by the knowledge base, so
+	 * other reasoning tasks that run on the same knowledge base at the same time may be interrupted as well.
+	 */
 	@Override
-	public void abort()
+	public synchronized void abort()
 	{
-		throw new UnsupportedOperationException("Not supported yet!");
+		_cancelled = true;
+
+		final KnowledgeBase kb = _runningKB;
+		if (kb != null)
+			kb.getTimers().interrupt();
 	}
 
 	/**
@@ -383,8 +447,7 @@ class SparqlDLExecution implements QueryExecution
 	@Override
 	public long getTimeout1()
 	{
-		// not supported yet
-		return -1;
+		return _timeout1;
 	}
 
 	/**
@@ -393,46 +456,44 @@ class SparqlDLExecution implements QueryExecution
 	@Override
 	public long getTimeout2()
 	{
-		// not supported yet
-		return -1;
-
+		return _timeout2;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void setTimeout(final long arg0)
+	public void setTimeout(final long timeout)
 	{
-		// not supported yet
+		setTimeout(-1, timeout);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
-
 	@Override
-	public void setTimeout(final long arg0, final TimeUnit arg1)
+	public void setTimeout(final long timeout, final TimeUnit timeUnit)
 	{
-		// not supported yet
+		setTimeout(-1, TimeUnit.MILLISECONDS, timeout, timeUnit);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void setTimeout(final long arg0, final long arg1)
+	public void setTimeout(final long timeout1, final long timeout2)
 	{
-		// not supported yet
+		_timeout1 = timeout1;
+		_timeout2 = timeout2;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void setTimeout(final long arg0, final TimeUnit arg1, final long arg2, final TimeUnit arg3)
+	public void setTimeout(final long timeout1, final TimeUnit timeUnit1, final long timeout2, final TimeUnit timeUnit2)
 	{
-		// not supported yet
+		setTimeout(timeout1 < 0 ? -1 : timeUnit1.toMillis(timeout1), timeout2 < 0 ? -1 : timeUnit2.toMillis(timeout2));
 	}
 
 	@Override
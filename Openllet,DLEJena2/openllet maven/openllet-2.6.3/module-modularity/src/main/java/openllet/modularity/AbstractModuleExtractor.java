@@ -10,11 +10,18 @@ import com.clarkparsia.owlapi.modularity.locality.LocalityClass;
 import com.clarkparsia.owlapi.modularity.locality.LocalityEvaluator;
 import com.clarkparsia.owlapi.modularity.locality.SyntacticLocalityEvaluator;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -22,6 +29,7 @@ import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
+import openllet.atom.OpenError;
 import openllet.core.KnowledgeBase.ChangeType;
 import openllet.core.OpenlletOptions;
 import openllet.core.expressivity.Expressivity;
@@ -33,6 +41,7 @@ import openllet.core.utils.Timer;
 import openllet.core.utils.Timers;
 import openllet.core.utils.progress.ConsoleProgressMonitor;
 import openllet.core.utils.progress.ProgressMonitor;
+import openllet.core.utils.progress.SilentProgressMonitor;
 import openllet.modularity.io.ModuleExtractorPersistence;
 import openllet.modularity.io.UncloseableOutputStream;
 import openllet.owlapi.OWL;
@@ -63,7 +72,7 @@ public abstract class AbstractModuleExtractor implements ModuleExtractor
 	/**
 	 * Map to find entities referenced in an axiom
 	 */
-	private final Set<OWLAxiom> _axioms = SetUtils.create();
+	private final Set<OWLAxiom> _axioms;
 
 	/**
 	 * Set of _axioms that will be deleted
@@ -82,6 +91,11 @@ public abstract class AbstractModuleExtractor implements ModuleExtractor
 
 	private LocalityEvaluator _localityEvaluator = null;
 
+	/**
+	 * The class of the syntactic locality evaluator, null if the evaluator has been given. Each worker thread needs its own evaluator.
+	 */
+	private final LocalityClass _localityClass;
+
 	protected MultiValueMap<OWLEntity, OWLEntity> _modules = null;
 
 	/**
@@ -93,12 +107,37 @@ public abstract class AbstractModuleExtractor implements ModuleExtractor
 
 	public AbstractModuleExtractor()
 	{
-		this(new SyntacticLocalityEvaluator(LocalityClass.BOTTOM_BOTTOM));
+		this(LocalityClass.BOTTOM_BOTTOM);
+	}
+
+	public AbstractModuleExtractor(final LocalityClass localityClass)
+	{
+		_localityEvaluator = new SyntacticLocalityEvaluator(localityClass);
+		_localityClass = localityClass;
+		_axioms = SetUtils.create();
 	}
 
 	public AbstractModuleExtractor(final LocalityEvaluator localityEvaluator)
 	{
 		_localityEvaluator = localityEvaluator;
+		_localityClass = null;
+		_axioms = SetUtils.create();
+	}
+
+	/**
+	 * Creates a worker of the given extractor. The worker shares the axioms of the extractor, but has its own locality evaluator and its own copy of the
+	 * modules, so it can extract modules on another thread while the extractor isn't changed.
+	 *
+	 * @param extractor the extractor whose modules are extracted concurrently
+	 */
+	protected AbstractModuleExtractor(final AbstractModuleExtractor extractor)
+	{
+		_localityEvaluator = new SyntacticLocalityEvaluator(extractor._localityClass);
+		_localityClass = extractor._localityClass;
+		_axioms = extractor._axioms;
+		_entityAxioms = extractor._entityAxioms;
+		_modules = new MultiValueMap<>(extractor._modules.size());
+		_modules.putAll(extractor._modules);
 	}
 
 	@Override
@@ -221,15 +260,94 @@ public abstract class AbstractModuleExtractor implements ModuleExtractor
 		//monitor.setProgressLength(10);
 		monitor.taskStarted();
 
-		extractModuleSignatures(entities, monitor);
+		final int threads = Math.min(OpenlletOptions.MODULARITY_THREADS, entities.size());
+		if (threads > 1 && _localityClass != null)
+			extractModuleSignatures(entities, threads, monitor);
+		else
+			extractModuleSignatures(entities, monitor);
 
 		monitor.taskFinished();
 
 		_logger.finer(() -> "Modules: " + _modules);
 	}
 
+	/**
+	 * Extracts the modules of the entities on several threads. The entities are partitioned between workers, see {@link #createWorker()}, and the modules
+	 * found by the workers are then added to the modules of this extractor. An entity may be reached from several partitions, its module is then extracted
+	 * more than once but the result is the same.
+	 *
+	 * @param entities the set of entities whose modules should be extracted
+	 * @param threads the number of worker threads
+	 * @param monitor the progress monitor, only updated from the calling thread
+	 */
+	private void extractModuleSignatures(final Set<? extends OWLEntity> entities, final int threads, final ProgressMonitor monitor)
+	{
+		final List<AbstractModuleExtractor> workers = new ArrayList<>(threads);
+		for (int k = 0; k < threads; k++)
+		{
+			final AbstractModuleExtractor worker = createWorker();
+			if (worker == null)
+			{
+				extractModuleSignatures(entities, monitor);
+				return;
+			}
+			workers.add(worker);
+		}
+
+		final List<OWLEntity> list = new ArrayList<>(entities);
+		final int size = (list.size() + threads - 1) / threads;
+
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try
+		{
+			final List<Future<?>> futures = new ArrayList<>(threads);
+			for (int k = 0; k < threads; k++)
+			{
+				final AbstractModuleExtractor worker = workers.get(k);
+				final Set<OWLEntity> partition = new HashSet<>(list.subList(Math.min(k * size, list.size()), Math.min((k + 1) * size, list.size())));
+				futures.add(executor.submit(() -> worker.extractModuleSignatures(partition, new SilentProgressMonitor())));
+			}
+
+			for (int k = 0; k < threads; k++)
+			{
+				futures.get(k).get();
+				for (final Map.Entry<OWLEntity, Set<OWLEntity>> entry : workers.get(k)._modules.entrySet())
+					_modules.putIfAbsent(entry.getKey(), entry.getValue());
+				monitor.setProgress(Math.min((k + 1) * size, list.size()));
+			}
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new OpenError("Interrupted while extracting the modules", e);
+		}
+		catch (final ExecutionException e)
+		{
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new OpenError(cause);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
 	protected abstract void extractModuleSignatures(Set<? extends OWLEntity> entities, ProgressMonitor monitor);
 
+	/**
+	 * Creates a worker that extracts modules on another thread, see {@link #AbstractModuleExtractor(AbstractModuleExtractor)}.
+	 *
+	 * @return the worker, or null if the modules of this extractor can only be extracted sequentially
+	 */
+	protected AbstractModuleExtractor createWorker()
+	{
+		return null;
+	}
+
 	/**
 	 * Given an axiom, this function locates all root _nodes in the partial _order that are affected by the update
 	 *
@@ -768,4 +886,19 @@ public abstract class AbstractModuleExtractor implements ModuleExtractor
 
 		_modules = ModuleExtractorPersistence.loadModules(inputStream);
 	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public void restore(final Stream<OWLAxiom> axioms, final MultiValueMap<OWLEntity, OWLEntity> modules)
+	{
+		resetModules();
+
+		// the classes without a module are the only new classes
+		_modules = modules;
+		axioms.forEach(_additions::add);
+		processAdditions();
+		_additions.clear();
+	}
 }
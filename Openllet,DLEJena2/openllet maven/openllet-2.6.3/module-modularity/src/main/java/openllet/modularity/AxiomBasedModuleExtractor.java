@@ -8,7 +8,6 @@ package openllet.modularity;
 
 import com.clarkparsia.owlapi.modularity.locality.LocalityClass;
 import com.clarkparsia.owlapi.modularity.locality.LocalityEvaluator;
-import com.clarkparsia.owlapi.modularity.locality.SyntacticLocalityEvaluator;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -48,7 +47,7 @@ public class AxiomBasedModuleExtractor extends AbstractModuleExtractor
 
 	public AxiomBasedModuleExtractor(final LocalityClass localityClass)
 	{
-		super(new SyntacticLocalityEvaluator(localityClass));
+		super(localityClass);
 	}
 
 	public AxiomBasedModuleExtractor(final LocalityEvaluator localityEvaluator)
@@ -56,6 +55,18 @@ public class AxiomBasedModuleExtractor extends AbstractModuleExtractor
 		super(localityEvaluator);
 	}
 
+	private AxiomBasedModuleExtractor(final AxiomBasedModuleExtractor extractor)
+	{
+		super(extractor);
+		_optimizeForSharedModules = extractor._optimizeForSharedModules;
+	}
+
+	@Override
+	protected AbstractModuleExtractor createWorker()
+	{
+		return new AxiomBasedModuleExtractor(this);
+	}
+
 	private OWLEntity extractModuleSignature(final OWLEntity entity, final Set<OWLEntity> stackElements, final List<OWLEntity> currentCycle, final Set<OWLEntity> module)
 	{
 
@@ -15,12 +15,17 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import openllet.aterm.ATermAppl;
 import openllet.atom.OpenError;
+import openllet.core.OpenlletOptions;
 import openllet.core.exceptions.PelletRuntimeException;
 import openllet.core.taxonomy.Taxonomy;
 import openllet.core.taxonomy.TaxonomyImpl;
@@ -30,6 +35,7 @@ import openllet.core.taxonomy.printer.ClassTreePrinter;
 import openllet.core.taxonomy.printer.TreeTaxonomyPrinter;
 import openllet.core.utils.ATermUtils;
 import openllet.core.utils.Bool;
+import openllet.core.utils.DisjointSet;
 import openllet.core.utils.MultiValueMap;
 import openllet.core.utils.Namespaces;
 import openllet.core.utils.PartialOrderBuilder;
@@ -185,7 +191,7 @@ public class IncrementalClassifier implements OWLReasoner, OWLOntologyChangeList
 
 		_modules = _extractor.getModules();
 
-		final OntologyDiff diff = OntologyDiff.diffAxiomsWithOntologies(_extractor.axioms(), Collections.singleton(ontology));
+		final OntologyDiff diff = OntologyDiff.diffAxiomsWithOntologies(_extractor.axioms(), ontology.importsClosure().collect(Collectors.toList()));
 
 		if (!diff.areSame())
 		{
@@ -327,7 +333,8 @@ public class IncrementalClassifier implements OWLReasoner, OWLOntologyChangeList
 
 	/**
 	 * This incremental classification _strategy does the following: for all _modules that are affected, collect all of their axioms and classify them all once
-	 * in Openllet. This allows the exploitation current classification optimizations
+	 * in Openllet. This allows the exploitation current classification optimizations. With {@link OpenlletOptions#MODULARITY_THREADS} the affected entities
+	 * are partitioned in sets that don't share any module, and the modules of these sets are classified concurrently.
 	 */
 	private void incClassifyAllModStrategy()
 	{
@@ -336,9 +343,114 @@ public class IncrementalClassifier implements OWLReasoner, OWLOntologyChangeList
 
 		_logger.fine(() -> "Module entities " + effects);
 
-		// create ontology for all the axioms of all effected _modules
-		final OWLOntology owlModule = _extractor.getModuleFromSignature(effects);
+		final List<Taxonomy<OWLClass>> moduleTaxonomies;
+		final Collection<Set<OWLEntity>> signatures = OpenlletOptions.MODULARITY_THREADS > 1 ? partitionModules(effects) : Collections.singleton(effects);
+		if (signatures.size() > 1)
+			moduleTaxonomies = classifyModules(signatures, _extractor);
+		else
+			moduleTaxonomies = Collections.singletonList(classifyModule(_extractor.getModuleFromSignature(effects)));
+
+		final Set<OWLClass> affectedCls = new HashSet<>();
+		for (final OWLEntity entity : effects)
+			if (entity instanceof OWLClass)
+				affectedCls.add((OWLClass) entity);
+		_taxonomyImpl = updateClassHierarchy(_taxonomyImpl, moduleTaxonomies, affectedCls);
+
+		if (_logger.isLoggable(Level.FINE))
+		{
+			_logger.fine("Updated _taxonomy:");
+			new TreeTaxonomyPrinter<OWLClass>().print(_taxonomyImpl, new PrintWriter(System.err));
+			//			new FunctionalTaxonomyPrinter().print( _taxonomy, new OutputFormatter( System.err, false ) );
+		}
+	}
+
+	/**
+	 * Partitions the affected entities so that the module of each affected class is contained in a single set. No subsumption can hold between classes of
+	 * different sets, except for unsatisfiable classes, so the modules of the sets can be classified independently.
+	 *
+	 * @param effects the entities whose modules are affected, this is the union of their modules
+	 * @return the sets of entities
+	 */
+	private Collection<Set<OWLEntity>> partitionModules(final Set<OWLEntity> effects)
+	{
+		// the top and bottom classes don't connect the modules but are kept in all the signatures
+		final Set<OWLEntity> shared = new HashSet<>();
+		final MultiValueMap<OWLEntity, OWLEntity> modules = _extractor.getModules();
+		final DisjointSet<OWLEntity> partitions = new DisjointSet<>();
+		for (final OWLEntity entity : effects)
+			if (entity.equals(OWL.Thing) || entity.equals(OWL.Nothing))
+				shared.add(entity);
+			else
+				partitions.add(entity);
+
+		for (final OWLEntity entity : effects)
+		{
+			final Set<OWLEntity> module = modules.get(entity);
+			if (module != null && partitions.contains(entity))
+				for (final OWLEntity other : module)
+					if (partitions.contains(other))
+						partitions.union(entity, other);
+		}
+
+		final Collection<Set<OWLEntity>> signatures = partitions.getEquivalanceSets();
+		for (final Set<OWLEntity> signature : signatures)
+			signature.addAll(shared);
+		return signatures;
+	}
 
+	/**
+	 * Classifies the modules of the given signatures on {@link OpenlletOptions#MODULARITY_THREADS} threads. The module axioms are collected on the calling
+	 * thread because the locality evaluator isn't thread-safe.
+	 *
+	 * @param signatures the signatures of the modules
+	 * @param extractor the module extractor
+	 * @return the taxonomies of the modules
+	 */
+	private static List<Taxonomy<OWLClass>> classifyModules(final Collection<Set<OWLEntity>> signatures, final ModuleExtractor extractor)
+	{
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(OpenlletOptions.MODULARITY_THREADS, signatures.size()));
+		try
+		{
+			final List<Future<Taxonomy<OWLClass>>> futures = new ArrayList<>(signatures.size());
+			for (final Set<OWLEntity> signature : signatures)
+			{
+				final OWLOntology owlModule = extractor.getModuleFromSignature(signature);
+				futures.add(executor.submit(() -> classifyModule(owlModule)));
+			}
+
+			final List<Taxonomy<OWLClass>> moduleTaxonomies = new ArrayList<>(futures.size());
+			for (final Future<Taxonomy<OWLClass>> future : futures)
+				moduleTaxonomies.add(future.get());
+			return moduleTaxonomies;
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new OpenError("Interrupted while classifying the modules", e);
+		}
+		catch (final ExecutionException e)
+		{
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new OpenError(cause);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Classifies a module, which is then removed from its manager.
+	 *
+	 * @param owlModule the ontology of the module
+	 * @return the taxonomy of the module
+	 */
+	private static Taxonomy<OWLClass> classifyModule(final OWLOntology owlModule)
+	{
 		_logger.fine(() -> "Module axioms " + owlModule.logicalAxioms().map(OWLAxiom::toString).collect(Collectors.joining(" ")));
 
 		// load the extracted module to a new _reasoner
@@ -356,20 +468,10 @@ public class IncrementalClassifier implements OWLReasoner, OWLOntologyChangeList
 
 		final Taxonomy<OWLClass> moduleTaxonomy = buildClassHierarchy(moduleReasoner);
 
-		final Set<OWLClass> affectedCls = new HashSet<>();
-		for (final OWLEntity entity : effects)
-			if (entity instanceof OWLClass)
-				affectedCls.add((OWLClass) entity);
-		_taxonomyImpl = updateClassHierarchy(_taxonomyImpl, moduleTaxonomy, affectedCls);
-
-		if (_logger.isLoggable(Level.FINE))
-		{
-			_logger.fine("Updated _taxonomy:");
-			new TreeTaxonomyPrinter<OWLClass>().print(_taxonomyImpl, new PrintWriter(System.err));
-			//			new FunctionalTaxonomyPrinter().print( _taxonomy, new OutputFormatter( System.err, false ) );
-		}
-
+		moduleReasoner.dispose();
 		owlModule.getOWLOntologyManager().removeOntology(owlModule);
+
+		return moduleTaxonomy;
 	}
 
 	private void incrementalClassify()
@@ -534,11 +636,15 @@ public class IncrementalClassifier implements OWLReasoner, OWLOntologyChangeList
 
 	/**
 	 * @param _taxonomy Previous _taxonomy state
-	 * @param moduleTaxonomy Change in _taxonomy state
+	 * @param moduleTaxonomies Change in _taxonomy state, the taxonomies of modules that don't share any class
 	 * @param affected Set of classes affected by changes
 	 */
-	private static Taxonomy<OWLClass> updateClassHierarchy(final Taxonomy<OWLClass> taxonomy, final Taxonomy<OWLClass> moduleTaxonomy, final Set<OWLClass> affected)
+	private static Taxonomy<OWLClass> updateClassHierarchy(final Taxonomy<OWLClass> taxonomy, final List<Taxonomy<OWLClass>> moduleTaxonomies, final Set<OWLClass> affected)
 	{
+		final Taxonomy<OWLClass> moduleTaxonomy = moduleTaxonomies.get(0);
+		for (final Taxonomy<OWLClass> otherTaxonomy : moduleTaxonomies.subList(1, moduleTaxonomies.size()))
+			addClasses(moduleTaxonomy, otherTaxonomy, Collections.emptySet());
+
 		final Set<OWLClass> inTaxonomy = new HashSet<>(moduleTaxonomy.getClasses());
 		inTaxonomy.remove(OWL.Thing);
 		inTaxonomy.remove(OWL.Nothing);
@@ -547,6 +653,20 @@ public class IncrementalClassifier implements OWLReasoner, OWLOntologyChangeList
 		final Set<OWLClass> removed = new HashSet<>(affected);
 		removed.removeAll(moduleTaxonomy.getClasses());
 
+		addClasses(moduleTaxonomy, taxonomy, removed);
+
+		return moduleTaxonomy;
+	}
+
+	/**
+	 * Adds the classes of a taxonomy to another one, except the removed classes and the classes that are already in the target taxonomy.
+	 *
+	 * @param target the taxonomy that is updated
+	 * @param taxonomy the taxonomy whose classes are added
+	 * @param removed the classes that are not added
+	 */
+	private static void addClasses(final Taxonomy<OWLClass> target, final Taxonomy<OWLClass> taxonomy, final Set<OWLClass> removed)
+	{
 		final List<OWLClass> sorted = taxonomy.topologocialSort( /* includeEquivalents = */false);
 
 		// TODO: Top equivalents could change?!
@@ -556,24 +676,22 @@ public class IncrementalClassifier implements OWLReasoner, OWLOntologyChangeList
 
 			// TODO: assert assumption that if any classes equivalent in
 			// _taxonomy exist in moduleTaxonomy, all are
-			if (removed.contains(cls) || moduleTaxonomy.contains(cls))
+			if (removed.contains(cls) || target.contains(cls))
 				continue;
 
-			moduleTaxonomy.addNode(taxonomy.getAllEquivalents(cls), emptySet, emptySet, /* hidden= */
+			target.addNode(taxonomy.getAllEquivalents(cls), emptySet, emptySet, /* hidden= */
 					false);
 			final Set<OWLClass> supers = taxonomy.getFlattenedSupers(cls, /* direct = */true);
 			supers.removeAll(removed);
-			moduleTaxonomy.addSupers(cls, supers);
+			target.addSupers(cls, supers);
 		}
 
 		final List<OWLClass> nothings = new ArrayList<>();
 		for (final OWLClass cls : taxonomy.getEquivalents(OWL.Nothing))
-			if (!removed.contains(cls) && !moduleTaxonomy.contains(cls))
+			if (!removed.contains(cls) && !target.contains(cls))
 				nothings.add(cls);
 		if (!nothings.isEmpty())
-			moduleTaxonomy.addEquivalents(OWL.Nothing, nothings);
-
-		return moduleTaxonomy;
+			target.addEquivalents(OWL.Nothing, nothings);
 	}
 
 	//	/**
@@ -168,4 +168,12 @@ public interface ModuleExtractor
 	 * @throws IllegalArgumentException if the next zip file entry in the stream was not saved by a compatible ModuleExtractor
 	 */
 	public void load(final ZipInputStream inputStream) throws IOException, IllegalArgumentException;
+
+	/**
+	 * Restores a previously saved state of the ModuleExtractor from its axioms and its modules, when they have been stored without using the save() method.
+	 *
+	 * @param axioms the axioms that were loaded in the extractor
+	 * @param modules the modules that were extracted from these axioms
+	 */
+	public void restore(final Stream<OWLAxiom> axioms, final MultiValueMap<OWLEntity, OWLEntity> modules);
 }
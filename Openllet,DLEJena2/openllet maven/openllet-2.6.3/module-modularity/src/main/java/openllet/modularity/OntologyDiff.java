@@ -10,7 +10,9 @@ package openllet.modularity;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.semanticweb.owlapi.model.AddAxiom;
@@ -99,7 +101,7 @@ public class OntologyDiff
 	{
 		final OntologyDiff result = new OntologyDiff();
 
-		final List<OWLAxiom> axioms = initialAxioms.collect(Collectors.toList());
+		final Set<OWLAxiom> axioms = initialAxioms.collect(Collectors.toCollection(LinkedHashSet::new));
 
 		axioms.stream().filter(axiom -> !containsAxiom(axiom, finalOntologies)).forEach(result.deletions::add);
 
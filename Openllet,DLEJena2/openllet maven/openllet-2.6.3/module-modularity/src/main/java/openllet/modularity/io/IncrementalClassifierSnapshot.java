@@ -0,0 +1,453 @@
+package openllet.modularity.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import openllet.core.taxonomy.Taxonomy;
+import openllet.core.taxonomy.TaxonomyImpl;
+import openllet.core.taxonomy.TaxonomyNode;
+import openllet.core.taxonomy.TaxonomyUtils;
+import openllet.core.utils.MultiValueMap;
+import openllet.modularity.IncrementalClassifier;
+import openllet.modularity.ModuleExtractor;
+import openllet.modularity.ModuleExtractorFactory;
+import openllet.owlapi.OWL;
+import openllet.shared.tools.Log;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Stores the state of an IncrementalClassifier in a compact binary file, as an alternative to {@link IncrementalClassifierPersistence} that avoids parsing
+ * any ontology when the state is restored.
+ * <p>
+ * The file contains the IRIs of all the entities once, and refers to them by their position in this table. The taxonomy is stored as an array of nodes, each
+ * with its equivalent classes, the positions of its direct super nodes and its instances, followed by the modules as arrays of entities. The axioms are not
+ * stored: they are taken from the ontology the classifier is restored for, and a checksum of the axioms checks that the ontology has not changed since the
+ * state was saved. The file is read through a memory-mapped buffer, which is released once the state is restored.
+ * </p>
+ */
+public class IncrementalClassifierSnapshot
+{
+	public static final Logger _logger = Log.getLogger(IncrementalClassifierSnapshot.class);
+
+	private static final int MAGIC = 0x4F4C4943; // "OLIC"
+
+	private static final int VERSION = 1;
+
+	private static final byte CLASS = 0;
+
+	private static final byte DATATYPE = 1;
+
+	private static final byte INDIVIDUAL = 2;
+
+	private static final byte DATA_PROPERTY = 3;
+
+	private static final byte OBJECT_PROPERTY = 4;
+
+	private IncrementalClassifierSnapshot()
+	{
+		// static methods only
+	}
+
+	/**
+	 * Saves the internal state of an incremental classifier to a file.
+	 *
+	 * @param classifier the classifier to be saved
+	 * @param file the file where the classifier should be saved, replaced if it exists
+	 * @throws IOException if an error should occur during the save operation
+	 * @throws IllegalStateException if the module extractor contains changes that have not yet been applied to the modules
+	 */
+	public static void save(final IncrementalClassifier classifier, final Path file) throws IOException
+	{
+		final IncrementalClassifier.PersistedState persistedState = new IncrementalClassifier.PersistedState(classifier);
+		final ModuleExtractor extractor = persistedState.getModuleExtractor();
+		final Taxonomy<OWLClass> taxonomy = persistedState.getTaxonomy();
+		final MultiValueMap<OWLEntity, OWLEntity> modules = extractor.getModules();
+
+		if (taxonomy == null || modules == null)
+			throw new IllegalStateException("The classifier has not classified its ontology yet, and therefore cannot be saved.");
+		if (extractor.isChanged())
+			throw new IllegalStateException("The module extractor contains unapplied changes to the modules, and therefore cannot be saved.");
+
+		final IriTable iris = new IriTable();
+
+		// the top and bottom nodes come first, so that they can be found without any lookup
+		final List<TaxonomyNode<OWLClass>> nodes = new ArrayList<>();
+		final Map<TaxonomyNode<OWLClass>, Integer> nodeIds = new IdentityHashMap<>();
+		for (final TaxonomyNode<OWLClass> node : taxonomy.getNodes().values())
+			if (node != taxonomy.getTop() && node != taxonomy.getBottomNode() && !nodeIds.containsKey(node))
+			{
+				nodeIds.put(node, nodes.size() + 2);
+				nodes.add(node);
+			}
+		nodes.add(0, taxonomy.getTop());
+		nodes.add(1, taxonomy.getBottomNode());
+		nodeIds.put(taxonomy.getTop(), 0);
+		nodeIds.put(taxonomy.getBottomNode(), 1);
+
+		// the classes and individuals of the taxonomy are entities of the same table, so the table is filled before anything is written
+		final int[][] equivalents = new int[nodes.size()][];
+		final int[][] instances = new int[nodes.size()][];
+		for (int i = 0; i < nodes.size(); i++)
+		{
+			final TaxonomyNode<OWLClass> node = nodes.get(i);
+			equivalents[i] = new int[node.getEquivalents().size()];
+			int k = 0;
+			equivalents[i][k++] = iris.id(node.getName().getIRI());
+			for (final OWLClass c : node.getEquivalents())
+				if (!c.equals(node.getName()))
+					equivalents[i][k++] = iris.id(c.getIRI());
+
+			final Collection<OWLNamedIndividual> individuals = getInstances(node);
+			instances[i] = new int[individuals.size()];
+			k = 0;
+			for (final OWLNamedIndividual ind : individuals)
+				instances[i][k++] = iris.id(ind.getIRI());
+		}
+
+		final List<int[]> moduleEntities = new ArrayList<>();
+		for (final Entry<OWLEntity, Set<OWLEntity>> entry : modules.entrySet())
+		{
+			final int[] module = new int[entry.getValue().size() + 1];
+			int k = 0;
+			module[k++] = iris.entity(entry.getKey());
+			for (final OWLEntity member : entry.getValue())
+				module[k++] = iris.entity(member);
+			moduleEntities.add(module);
+		}
+
+		try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeBoolean(persistedState.isRealized());
+			out.writeLong(extractor.axioms().count());
+			out.writeLong(checksum(extractor));
+
+			out.writeInt(iris._iris.size());
+			for (final IRI iri : iris._iris)
+			{
+				final byte[] bytes = iri.toString().getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+
+			out.writeInt(iris._entities.size());
+			for (final long entity : iris._entities)
+			{
+				out.writeByte((int) (entity >>> 32));
+				out.writeInt((int) entity);
+			}
+
+			out.writeInt(nodes.size());
+			for (int i = 0; i < nodes.size(); i++)
+			{
+				writeIds(out, equivalents[i]);
+				final Collection<TaxonomyNode<OWLClass>> supers = nodes.get(i).getSupers();
+				out.writeInt(supers.size());
+				for (final TaxonomyNode<OWLClass> sup : supers)
+					out.writeInt(nodeIds.get(sup));
+				writeIds(out, instances[i]);
+			}
+
+			out.writeInt(moduleEntities.size());
+			for (final int[] module : moduleEntities)
+				writeIds(out, module);
+		}
+
+		_logger.fine(() -> "Saved " + nodes.size() + " taxonomy nodes and " + moduleEntities.size() + " modules to " + file);
+	}
+
+	/**
+	 * Restores the internal state of an incremental classifier from a file, for the ontology it has been saved with.
+	 *
+	 * @param file the file containing the previously saved internal state of an incremental classifier
+	 * @param ontology the ontology whose axioms were classified when the state was saved
+	 * @return the newly created incremental classifier
+	 * @throws IOException if an error should occur during the reading, if the file is not a snapshot or if the axioms of the ontology have changed
+	 */
+	public static IncrementalClassifier load(final Path file, final OWLOntology ontology) throws IOException
+	{
+		final MappedByteBuffer buffer;
+		try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		try
+		{
+			if (buffer.getInt() != MAGIC)
+				throw new IOException(file + " is not a snapshot of an incremental classifier");
+			final int version = buffer.getInt();
+			if (version != VERSION)
+				throw new IOException(String.format("Unsupported version (%d) of the snapshot. Expected %d", version, VERSION));
+
+			final boolean realized = buffer.get() != 0;
+			final long axiomCount = buffer.getLong();
+			final long checksum = buffer.getLong();
+
+			final IRI[] iris = new IRI[buffer.getInt()];
+			for (int i = 0; i < iris.length; i++)
+			{
+				final byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				iris[i] = IRI.create(new String(bytes, StandardCharsets.UTF_8));
+			}
+
+			final OWLEntity[] entities = new OWLEntity[buffer.getInt()];
+			for (int i = 0; i < entities.length; i++)
+			{
+				final byte type = buffer.get();
+				entities[i] = createEntity(type, iris[buffer.getInt()]);
+			}
+
+			final TaxonomyImpl<OWLClass> taxonomy = readTaxonomy(buffer, iris);
+
+			final MultiValueMap<OWLEntity, OWLEntity> modules = new MultiValueMap<>();
+			final int moduleCount = buffer.getInt();
+			for (int i = 0; i < moduleCount; i++)
+			{
+				final int[] module = readIds(buffer);
+				final Set<OWLEntity> members = new HashSet<>(module.length);
+				for (int k = 1; k < module.length; k++)
+					members.add(entities[module[k]]);
+				modules.put(entities[module[0]], members);
+			}
+
+			final ModuleExtractor extractor = ModuleExtractorFactory.createModuleExtractor();
+			extractor.restore(ontology.importsClosure().flatMap(OWLOntology::axioms), modules);
+
+			if (extractor.axioms().count() != axiomCount || checksum(extractor) != checksum)
+				throw new IOException("The axioms of the ontology are not the ones the snapshot has been saved with");
+
+			return new IncrementalClassifier(new IncrementalClassifier.PersistedState(extractor, taxonomy, realized), ontology);
+		}
+		catch (final BufferUnderflowException | IndexOutOfBoundsException e)
+		{
+			throw new IOException("The snapshot " + file + " is truncated or corrupted", e);
+		}
+		finally
+		{
+			unmap(buffer);
+		}
+	}
+
+	/**
+	 * Releases the mapping of a buffer, that is otherwise only released when the buffer is garbage collected, and keeps the file open until then. There is
+	 * no public API for this, so the cleaner of the buffer is called through reflection: Unsafe.invokeCleaner on Java 9 and later, and the cleaner of the
+	 * DirectByteBuffer on Java 8. The buffer must not be used afterwards.
+	 */
+	private static void unmap(final MappedByteBuffer buffer)
+	{
+		try
+		{
+			final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			try
+			{
+				final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+				final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+				theUnsafe.setAccessible(true);
+				invokeCleaner.invoke(theUnsafe.get(null), buffer);
+			}
+			catch (final NoSuchMethodException e)
+			{
+				final Method getCleaner = buffer.getClass().getMethod("cleaner");
+				getCleaner.setAccessible(true);
+				final Object cleaner = getCleaner.invoke(buffer);
+				if (cleaner != null)
+					cleaner.getClass().getMethod("clean").invoke(cleaner);
+			}
+		}
+		catch (final ReflectiveOperationException | RuntimeException e)
+		{
+			_logger.log(Level.FINE, "The mapping of the snapshot is released when it is garbage collected", e);
+		}
+	}
+
+	private static TaxonomyImpl<OWLClass> readTaxonomy(final ByteBuffer buffer, final IRI[] iris)
+	{
+		final TaxonomyImpl<OWLClass> taxonomy = new TaxonomyImpl<>(null, OWL.Thing, OWL.Nothing);
+		taxonomy.getTop().removeSub(taxonomy.getBottomNode());
+
+		final int nodeCount = buffer.getInt();
+		final List<TaxonomyNode<OWLClass>> nodes = new ArrayList<>(nodeCount);
+		final int[][] supers = new int[nodeCount][];
+		for (int i = 0; i < nodeCount; i++)
+		{
+			final int[] equivalents = readIds(buffer);
+			final List<OWLClass> classes = new ArrayList<>(equivalents.length);
+			for (final int iri : equivalents)
+				classes.add(OWL.Class(iris[iri]));
+
+			final TaxonomyNode<OWLClass> node;
+			if (i < 2)
+			{
+				node = i == 0 ? taxonomy.getTop() : taxonomy.getBottomNode();
+				for (final OWLClass c : classes)
+					if (!c.equals(node.getName()))
+						taxonomy.addEquivalentNode(c, node);
+			}
+			else
+			{
+				node = new TaxonomyNode<>(classes, /* hidden = */false);
+				for (final OWLClass c : classes)
+					taxonomy.getNodes().put(c, node);
+			}
+			nodes.add(node);
+
+			supers[i] = readIds(buffer);
+
+			final int[] instances = readIds(buffer);
+			if (instances.length > 0)
+			{
+				final Set<OWLNamedIndividual> individuals = new HashSet<>(instances.length);
+				for (final int iri : instances)
+					individuals.add(OWL.Individual(iris[iri]));
+				node.putDatum(TaxonomyUtils.TaxonomyKey.INSTANCES_KEY, individuals);
+			}
+		}
+
+		for (int i = 0; i < nodeCount; i++)
+		{
+			final List<TaxonomyNode<OWLClass>> superNodes = new ArrayList<>(supers[i].length);
+			for (final int sup : supers[i])
+				superNodes.add(nodes.get(sup));
+			nodes.get(i).addSupers(superNodes);
+		}
+
+		return taxonomy;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Collection<OWLNamedIndividual> getInstances(final TaxonomyNode<OWLClass> node)
+	{
+		final Collection<OWLNamedIndividual> individuals = (Collection<OWLNamedIndividual>) node.getDatum(TaxonomyUtils.TaxonomyKey.INSTANCES_KEY);
+		return individuals == null ? new HashSet<>() : individuals;
+	}
+
+	/**
+	 * @return a checksum of the axioms of the extractor that does not depend on their order
+	 */
+	private static long checksum(final ModuleExtractor extractor)
+	{
+		return extractor.axioms().mapToLong(axiom ->
+		{
+			final long h = axiom.hashCode() * 0x9E3779B97F4A7C15L;
+			return h ^ h >>> 32;
+		}).sum();
+	}
+
+	private static void writeIds(final DataOutputStream out, final int[] ids) throws IOException
+	{
+		out.writeInt(ids.length);
+		for (final int id : ids)
+			out.writeInt(id);
+	}
+
+	private static int[] readIds(final ByteBuffer buffer)
+	{
+		final int[] ids = new int[buffer.getInt()];
+		buffer.asIntBuffer().get(ids);
+		buffer.position(buffer.position() + ids.length * Integer.BYTES);
+		return ids;
+	}
+
+	private static byte getType(final OWLEntity entity)
+	{
+		if (entity.isOWLClass())
+			return CLASS;
+		else
+			if (entity.isOWLDatatype())
+				return DATATYPE;
+			else
+				if (entity.isOWLNamedIndividual())
+					return INDIVIDUAL;
+				else
+					if (entity.isOWLDataProperty())
+						return DATA_PROPERTY;
+					else
+						if (entity.isOWLObjectProperty())
+							return OBJECT_PROPERTY;
+
+		throw new IllegalArgumentException("Unrecognized type of OWLEntity: " + entity.getClass());
+	}
+
+	private static OWLEntity createEntity(final byte type, final IRI iri) throws IOException
+	{
+		switch (type)
+		{
+			case CLASS:
+				return OWL.Class(iri);
+			case DATATYPE:
+				return OWL.Datatype(iri);
+			case INDIVIDUAL:
+				return OWL.Individual(iri);
+			case DATA_PROPERTY:
+				return OWL.DataProperty(iri);
+			case OBJECT_PROPERTY:
+				return OWL.ObjectProperty(iri);
+			default:
+				throw new IOException("Unrecognized type of OWLEntity in the snapshot: " + type);
+		}
+	}
+
+	/**
+	 * The IRIs and the typed entities of a snapshot, numbered in the order they are first met.
+	 */
+	private static class IriTable
+	{
+		private final List<IRI> _iris = new ArrayList<>();
+
+		private final Map<IRI, Integer> _iriIds = new HashMap<>();
+
+		/**
+		 * The entities, each as its type in the high bits and the number of its IRI in the low bits.
+		 */
+		private final List<Long> _entities = new ArrayList<>();
+
+		private final Map<OWLEntity, Integer> _entityIds = new HashMap<>();
+
+		public int id(final IRI iri)
+		{
+			return _iriIds.computeIfAbsent(iri, i ->
+			{
+				_iris.add(i);
+				return _iris.size() - 1;
+			});
+		}
+
+		public int entity(final OWLEntity entity)
+		{
+			return _entityIds.computeIfAbsent(entity, e ->
+			{
+				_entities.add((long) getType(e) << 32 | id(e.getIRI()));
+				return _entities.size() - 1;
+			});
+		}
+	}
+}
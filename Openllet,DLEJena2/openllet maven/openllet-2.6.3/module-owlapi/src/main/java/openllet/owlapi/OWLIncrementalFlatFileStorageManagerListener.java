@@ -1,21 +1,27 @@
 package openllet.owlapi;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Base64;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -23,7 +29,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import openllet.atom.OpenError;
+import java.util.zip.CRC32;
 import openllet.core.utils.SetUtils;
 import openllet.owlapi.parser.OWLFunctionalSyntaxParser;
 import openllet.shared.tools.Log;
@@ -35,7 +41,6 @@ import org.semanticweb.owlapi.model.AnnotationChange;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.ImportChange;
 import org.semanticweb.owlapi.model.OWLAnnotation;
-import org.semanticweb.owlapi.model.OWLAnnotationAxiom;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLAxiomChange;
 import org.semanticweb.owlapi.model.OWLOntology;
@@ -54,6 +59,13 @@ import uk.ac.manchester.cs.owl.owlapi.OWLImportsDeclarationImpl;
 
 /**
  * A listner that enable incremental storage of ontologies.
+ * <p>
+ * The changes are appended to a binary log: a header followed by records made of the length of the payload, its CRC32 checksum and the payload, that is the
+ * kind of change, the ontology id and the rendering of the changed object. A change returns once its record is forced to the disk; the records of the changes
+ * made concurrently are written and forced together (group commit). The ontologies are saved, and the log emptied, only when the log grows over
+ * {@link #_checkpointSize} or on {@link #flush()} (checkpoint). At startup, the records of the log are applied back to the ontologies, up to the first
+ * incomplete or corrupted record.
+ * </p>
  *
  * @since 2.5.1
  */
@@ -62,23 +74,45 @@ public class OWLIncrementalFlatFileStorageManagerListener implements OWLOntology
 	private static final Logger _logger = Log.getLogger(OWLIncrementalFlatFileStorageManagerListener.class);
 
 	public static final int _flushTimeInMinute = 1;
-	public static final byte[] _lineSeparator = "\n".getBytes();
+
+	/**
+	 * The size of the log, in bytes, over which the periodic task saves the changed ontologies and empties the log.
+	 *
+	 * @since 2.6.3
+	 */
+	public static final long _checkpointSize = 16 * 1024 * 1024;
+
+	private static final int MAGIC = 0x4F574C44; // "OWLD"
+
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 8;
+
+	private static final int RECORD_HEADER_SIZE = 8; // The length of the payload and its checksum.
+
+	private static final String _oldLogExtention = ".old";
 
 	private final File _delta;
+	private final File _deltaOld;
 	private final File _directory;
 	private final ScheduledThreadPoolExecutor _timer = new ScheduledThreadPoolExecutor(1);
 	private final Set<OWLOntologyID> _changed = SetUtils.create();
-	private final Map<OWLOntologyID, OWLFunctionalSyntaxParser> _parsers = new ConcurrentHashMap<>();
 	private final OWLManagerGroup _owlManagerGroup;
-	private final Lock _sequential = new ReentrantLock();
-	private volatile Optional<OutputStream> _deltaStream = Optional.empty();
+	private final Lock _sequential = new ReentrantLock(); // Guards the records that are not written yet.
+	private final Lock _write = new ReentrantLock(); // Guards the log file.
+	private final Object _commit = new Object(); // Guards the state of the group commit.
+	private ByteArrayOutputStream _pending = new ByteArrayOutputStream();
+	private long _appended = 0;
+	private long _committed = 0;
+	private boolean _committing = false;
+	private volatile Optional<FileChannel> _deltaChannel = Optional.empty();
 	private volatile ScheduledFuture<?> _future;
 
 	private final Runnable _task = () ->
 	{
 		try
 		{
-			flush();
+			checkpointIfNeeded();
 		}
 		catch (final Exception e)
 		{
@@ -89,17 +123,19 @@ public class OWLIncrementalFlatFileStorageManagerListener implements OWLOntology
 	public OWLIncrementalFlatFileStorageManagerListener(final File directory, final File log, final OWLManagerGroup owlManagerGroup) throws OWLOntologyCreationException
 	{
 		_delta = log;
+		_deltaOld = new File(log.getPath() + _oldLogExtention);
 		_directory = directory;
 		_owlManagerGroup = owlManagerGroup;
 		_owlManagerGroup.loadDirectory(_directory);
 
-		rebuild(); // Rebuild the ontology that still doesn't exists.
-		sync(); // TODO : add a filter so after having sync/flush the ontologies, we can unload the ontologies we don't want to use ( just to free memory ).
-		flush(); // We flush the log file into ontologies file on fix schedule to avoid to much problem with the log file.
+		// The log of a checkpoint that didn't end is older than the current log.
+		replay(_deltaOld); // TODO : add a filter so after having sync/flush the ontologies, we can unload the ontologies we don't want to use ( just to free memory ).
+		replay(_delta);
+		flush(); // The replayed changes are saved, so the next startup doesn't replay them again.
 
 		_logger.info("Starting incremental storage.");
 
-		_future = _timer.scheduleAtFixedRate(_task, 0, _flushTimeInMinute, TimeUnit.MINUTES);
+		_future = _timer.scheduleAtFixedRate(_task, _flushTimeInMinute, _flushTimeInMinute, TimeUnit.MINUTES);
 	}
 
 	public String ontology2filename(final OWLOntology ontology)
@@ -109,13 +145,34 @@ public class OWLIncrementalFlatFileStorageManagerListener implements OWLOntology
 
 	/**
 	 * Save the ontology with there current state, so the log can be empty at that moment.
-	 *
-	 * @throws OWLOntologyStorageException when something bad append when storing an ontology.
-	 * @throws IOException when something bad append when storing an ontology.
-	 * @throws FileNotFoundException when something bad append when storing an ontology.
 	 */
 	public void flush()
 	{
+		checkpoint();
+	}
+
+	private void checkpointIfNeeded()
+	{
+		if (_delta.length() >= _checkpointSize)
+			checkpoint();
+	}
+
+	/**
+	 * Move the log aside, save the ontologies changed by its records, then remove it. If an ontology can't be saved the log is kept, and the records of the next
+	 * checkpoint are appended to it.
+	 */
+	private synchronized void checkpoint()
+	{
+		try
+		{
+			rotate();
+		}
+		catch (final Exception e)
+		{
+			Log.error(_logger, "Can't move the log " + _delta, e);
+			return;
+		}
+
 		final List<OWLOntologyID> changed;
 		synchronized (_changed) // We don't took the synchronized over changed directly to avoid a general stop of the application.
 		{
@@ -123,6 +180,7 @@ public class OWLIncrementalFlatFileStorageManagerListener implements OWLOntology
 			_changed.clear();
 		}
 
+		final Set<OWLOntologyID> failed = SetUtils.create();
 		final OWLOntologyManager manager = _owlManagerGroup.getPersistentManager();
 		manager.ontologies()//
 				.parallel()// Yes we can !
@@ -149,53 +207,232 @@ public class OWLIncrementalFlatFileStorageManagerListener implements OWLOntology
 					if (firstPhaseOk) // two phases commit.
 					{
 						final File old = new File(filenameOld);
-						if (!old.exists() || old.delete())
-							(new File(filenamePart)).renameTo(old);
-						else
-							_logger.severe("Can't commit change of " + ontology.getOntologyID());
+						if ((!old.exists() || old.delete()) && (new File(filenamePart)).renameTo(old))
+							return;
+						_logger.severe("Can't commit change of " + ontology.getOntologyID());
 					}
+					failed.add(ontology.getOntologyID());
 				});
 
+		// Make sure everything goes correctly before removing 'log' file.
+		if (failed.isEmpty())
+			_deltaOld.delete();
+		else
+			synchronized (_changed)
+			{
+				_changed.addAll(failed);
+			}
+
 		_logger.fine("flush done");
+	}
 
-		// Make sure to not catch the saveOntology exception.
-		// Make sure everything goes correctly before removing 'log' file.
-		releaseDeltaStream();
+	/**
+	 * Write the pending records and move the log to the old log, or append its records to the old log if a previous checkpoint has failed. Only the complete
+	 * records are appended, after the last complete record of the old log, so an incomplete or corrupted record at the end of either log doesn't hide the
+	 * records that follow it from the replay.
+	 */
+	private void rotate() throws IOException
+	{
+		_write.lock();
+		try
+		{
+			writePending();
+			if (_deltaChannel.isPresent())
+			{
+				_deltaChannel.get().close();
+				_deltaChannel = Optional.empty();
+			}
+
+			if (!_delta.exists())
+				return;
+
+			if (!_deltaOld.exists())
+			{
+				if (!_delta.renameTo(_deltaOld))
+					throw new IOException("Can't rename " + _delta + " to " + _deltaOld);
+				return;
+			}
+
+			try (final FileChannel in = FileChannel.open(_delta.toPath(), StandardOpenOption.READ); //
+					final FileChannel out = FileChannel.open(_deltaOld.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE))
+			{
+				final long valid = validLength(out);
+				if (valid < HEADER_SIZE)
+				{
+					out.truncate(0);
+					write(out, ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION));
+				}
+				else
+				{
+					out.truncate(valid);
+					out.position(valid);
+				}
+
+				final long end = validLength(in);
+				long position = HEADER_SIZE;
+				while (position < end)
+					position += in.transferTo(position, end - position, out);
+				out.force(false);
+			}
+			_delta.delete();
+		}
+		finally
+		{
+			_write.unlock();
+		}
+	}
+
+	/**
+	 * @return the log file, created with its header if needed. Must be called with the write lock.
+	 */
+	private FileChannel deltaChannel() throws IOException
+	{
+		if (!_deltaChannel.isPresent())
+		{
+			final FileChannel channel = FileChannel.open(_delta.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			if (channel.size() == 0)
+				write(channel, ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION));
+			_deltaChannel = Optional.of(channel);
+		}
+		return _deltaChannel.get();
 	}
 
-	private void releaseDeltaStream()
+	private static void write(final FileChannel channel, final ByteBuffer buffer) throws IOException
 	{
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+	}
+
+	/**
+	 * Read the channel from the given position until the buffer is full.
+	 *
+	 * @return false if the end of the channel is reached before.
+	 */
+	private static boolean read(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException
+	{
+		buffer.clear();
+		while (buffer.hasRemaining())
+			if (channel.read(buffer, position + buffer.position()) < 0)
+				return false;
+		buffer.flip();
+		return true;
+	}
+
+	private static boolean hasHeader(final FileChannel channel) throws IOException
+	{
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		return read(channel, header, 0) && header.getInt() == MAGIC && header.getInt() == VERSION;
+	}
+
+	/**
+	 * @return the length of the header and of the records of a log up to the first incomplete or corrupted one, that are the records the replay applies, or 0
+	 *         if the log doesn't start with a header.
+	 */
+	private static long validLength(final FileChannel channel) throws IOException
+	{
+		if (!hasHeader(channel))
+			return 0;
+
+		final ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+		final CRC32 crc = new CRC32();
+		long position = HEADER_SIZE;
+		while (read(channel, recordHeader, position))
+		{
+			final int length = recordHeader.getInt();
+			final int checksum = recordHeader.getInt();
+			if (length < 0 || length > channel.size() - position - RECORD_HEADER_SIZE)
+				break;
+
+			final ByteBuffer payload = ByteBuffer.allocate(length);
+			if (!read(channel, payload, position + RECORD_HEADER_SIZE))
+				break;
+			crc.reset();
+			crc.update(payload.array());
+			if ((int) crc.getValue() != checksum)
+				break;
+
+			position += RECORD_HEADER_SIZE + length;
+		}
+		return position;
+	}
+
+	/**
+	 * Write the records appended so far and force them to the disk.
+	 *
+	 * @return the number of records appended since the creation of the listener, all of them being written.
+	 */
+	private long writePending() throws IOException
+	{
+		_write.lock();
 		try
 		{
+			final byte[] bytes;
+			final long appended;
 			_sequential.lock();
-			_delta.delete();
-			if (_deltaStream.isPresent())
+			try
 			{
-				_deltaStream.get().close();
-				_deltaStream = Optional.empty();
+				bytes = _pending.toByteArray();
+				appended = _appended;
+				_pending = new ByteArrayOutputStream();
 			}
+			finally
+			{
+				_sequential.unlock();
+			}
+
+			if (bytes.length > 0)
+			{
+				final FileChannel channel = deltaChannel();
+				final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+				while (buffer.hasRemaining())
+					channel.write(buffer);
+				channel.force(false);
+			}
+			return appended;
 		}
-		catch (final Exception e)
+		finally
 		{
-			Log.error(_logger, e);
+			_write.unlock();
+		}
+	}
+
+	/**
+	 * Wait until the given record is on the disk. The first waiting thread writes the records appended by all the others, that wait for it.
+	 */
+	private void commit(final long ticket) throws IOException, InterruptedException
+	{
+		synchronized (_commit)
+		{
+			while (_committing && _committed < ticket)
+				_commit.wait();
+			if (_committed >= ticket)
+				return;
+			_committing = true;
+		}
+
+		long committed = 0;
+		try
+		{
+			committed = writePending();
 		}
 		finally
 		{
-			_sequential.unlock();
+			synchronized (_commit)
+			{
+				_committing = false;
+				_committed = Math.max(_committed, committed);
+				_commit.notifyAll();
+			}
 		}
 	}
 
-	private static byte[] bytesOfOntologyId(final OWLOntologyID ontologyID)
+	private static String stringOfOntologyId(final OWLOntologyID ontologyID)
 	{
 		if (ontologyID.getVersionIRI().isPresent())
-			return (ontologyID.getOntologyIRI().get() + " " + ontologyID.getVersionIRI().get()).getBytes();
+			return ontologyID.getOntologyIRI().get() + " " + ontologyID.getVersionIRI().get();
 		else
-			return ontologyID.getOntologyIRI().get().toString().getBytes();
-	}
-
-	private static void writeOntologyId(final OutputStream stream, final OWLOntologyID ontologyID) throws IOException
-	{
-		stream.write(bytesOfOntologyId(ontologyID));
+			return ontologyID.getOntologyIRI().get().toString();
 	}
 
 	private static OWLOntologyID parseOntologyId(final String ontologyId)
@@ -214,7 +451,7 @@ public class OWLIncrementalFlatFileStorageManagerListener implements OWLOntology
 			}
 	}
 
-	private static byte[] bytesOfChange(final OWLOntologyChange change)
+	private static String stringOfChange(final OWLOntologyChange change)
 	{
 		// There 4 basic cases, do them all. The other cases that does exists cover ontologies that already have a storage backend.
 		if (change instanceof OWLAxiomChange)
@@ -222,17 +459,17 @@ public class OWLIncrementalFlatFileStorageManagerListener implements OWLOntology
 			ToStringRenderer.setRenderer(SimpleRenderer::new);
 			// ToStringRenderer.getRendering(object)
 
-			return ToStringRenderer.getInstance().render(change.getAxiom()).getBytes();
+			return ToStringRenderer.getInstance().render(change.getAxiom());
 		}
 		else
 			if (change instanceof AnnotationChange)
-				return ToStringRenderer.getInstance().render(((AnnotationChange) change).getAnnotation()).getBytes();
+				return ToStringRenderer.getInstance().render(((AnnotationChange) change).getAnnotation());
 			else
 				if (change instanceof ImportChange)
-					return (((ImportChange) change).getImportDeclaration()).getIRI().toString().getBytes();
+					return (((ImportChange) change).getImportDeclaration()).getIRI().toString();
 				else
 					if (change instanceof SetOntologyID)
-						return bytesOfOntologyId(((SetOntologyID) change).getNewOntologyID());
+						return stringOfOntologyId(((SetOntologyID) change).getNewOntologyID());
 					else
 					{
 						_logger.severe("No bytes available for " + change);
@@ -240,142 +477,231 @@ public class OWLIncrementalFlatFileStorageManagerListener implements OWLOntology
 					}
 	}
 
-	@SuppressWarnings("resource") // resources are close when calling the 'close()' method, that why this class is auto-closable too
+	/**
+	 * Append the record of a change to the given stream.
+	 */
+	private static void writeRecord(final DataOutputStream out, final String kind, final OWLOntologyID ontologyId, final String data) throws IOException
+	{
+		final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+		try (final DataOutputStream record = new DataOutputStream(payload))
+		{
+			record.writeUTF(kind);
+			record.writeUTF(stringOfOntologyId(ontologyId));
+			final byte[] bytes = data.getBytes(StandardCharsets.UTF_8); // The rendering of an axiom can be longer than writeUTF allows.
+			record.writeInt(bytes.length);
+			record.write(bytes);
+		}
+
+		final CRC32 crc = new CRC32();
+		crc.update(payload.toByteArray());
+		out.writeInt(payload.size());
+		out.writeInt((int) crc.getValue());
+		payload.writeTo(out);
+	}
+
 	@Override
 	public void ontologiesChanged(final List<? extends OWLOntologyChange> changes)
 	{
-		final List<? extends OWLOntologyChange> copyOfChanges = new ArrayList<>(changes);
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final List<OWLOntologyID> changed = new ArrayList<>();
+		try (final DataOutputStream out = new DataOutputStream(bytes))
 		{
-			try
+			for (final OWLOntologyChange change : changes)
 			{
-				try
-				{
-					_sequential.lock();
-					if (!_deltaStream.isPresent())
-						_deltaStream = Optional.of(new FileOutputStream(_delta, true));
-				}
-				finally
+				final String data = stringOfChange(change);
+				// The change of id is recorded against the previous id, the one the ontology has when the change is replayed.
+				final OWLOntologyID ontologyId = change instanceof SetOntologyID ? ((SetOntologyID) change).getOriginalOntologyID() : change.getOntology().getOntologyID();
+				if (data != null && ontologyId.getOntologyIRI().isPresent())
 				{
-					_sequential.unlock();
+					writeRecord(out, change.getClass().getSimpleName(), ontologyId, data);
+					changed.add(change.getOntology().getOntologyID());
 				}
+			}
+		}
+		catch (final Exception e)
+		{
+			Log.error(_logger, e);
+			return;
+		}
 
-				final OutputStream stream = _deltaStream.orElseThrow(() -> new OpenError("Can't open write stream to " + _delta));
-
-				for (final OWLOntologyChange change : copyOfChanges)
-				{
-					final byte[] bytes = bytesOfChange(change);
-					if (bytes != null)
-					{
-						final OWLOntologyID ontologyId = change.getOntology().getOntologyID();
-
-						stream.write(change.getClass().getSimpleName().getBytes());
-						stream.write(_lineSeparator);
-
-						writeOntologyId(stream, ontologyId);
-						stream.write(_lineSeparator);
+		if (changed.isEmpty())
+			return;
 
-						stream.write(Base64.getEncoder().encode(bytes));
-						stream.write(_lineSeparator);
+		synchronized (_changed)
+		{
+			_changed.addAll(changed);
+		}
 
-						synchronized (_changed)
-						{
-							_changed.add(ontologyId);
-						}
-					}
-				}
-				stream.flush();
-			}
-			catch (final Exception e1)
-			{
-				Log.error(_logger, e1);
-				releaseDeltaStream();
-			}
+		final long ticket;
+		_sequential.lock();
+		try
+		{
+			bytes.writeTo(_pending);
+			ticket = ++_appended;
+		}
+		catch (final IOException e)
+		{
+			Log.error(_logger, e);
+			return;
+		}
+		finally
+		{
+			_sequential.unlock();
+		}
 
+		try
+		{
+			commit(ticket);
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			Log.error(_logger, "Interrupted while writing the log " + _delta, e);
+		}
+		catch (final Exception e)
+		{
+			Log.error(_logger, e);
 		}
 	}
 
-	private class DeltaReader extends Reader implements Iterator<OWLOntologyChange>
+	/**
+	 * Apply the records of a log to the ontologies of the persistent manager, up to the first incomplete or corrupted record.
+	 */
+	private void replay(final File log)
 	{
-		private final OWLOntologyManager _manager = _owlManagerGroup.getPersistentManager();
-		private final BufferedReader _in;
+		if (!log.exists())
+			return;
 
-		private volatile char[] _data;
-		private volatile int _localOffset = 0;
-		private volatile int _line = 0;
+		final boolean known;
+		try (final FileChannel channel = FileChannel.open(log.toPath(), StandardOpenOption.READ))
+		{
+			known = hasHeader(channel);
+		}
+		catch (final IOException e)
+		{
+			Log.error(_logger, e);
+			return;
+		}
 
-		public DeltaReader(final BufferedReader in)
+		if (!known)
 		{
-			_in = in;
+			final File legacy = new File(log.getPath() + ".legacy");
+			_logger.severe("Unknown format of the log " + log + ", it is moved to " + legacy);
+			log.renameTo(legacy);
+			return;
 		}
 
-		public OWLFunctionalSyntaxParser getParser(final OWLOntologyID ontId)
+		final OWLOntologyManager manager = _owlManagerGroup.getPersistentManager();
+		final ChangeParser parser = new ChangeParser(manager);
+		int count = 0;
+		try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(log))))
 		{
-			OWLFunctionalSyntaxParser parser = _parsers.get(ontId);
-			if (parser == null)
+			in.readFully(new byte[HEADER_SIZE]); // The header is checked above.
+
+			final CRC32 crc = new CRC32();
+			while (true)
 			{
-				parser = new OWLFunctionalSyntaxParser(this);
-				OWLOntology ontology = _manager.getOntology(ontId);
-				if (ontology == null)
-					try
-					{
-						_logger.info("Creation of " + ontId.getOntologyIRI());
-						ontology = new OWLGenericTools(_owlManagerGroup, ontId, false).getOntology();
-					}
-					catch (final OWLOntologyCreationException exception)
+				final int length;
+				try
+				{
+					length = in.readInt();
+				}
+				catch (final EOFException e)
+				{
+					break; // The end of the log.
+				}
+
+				final int checksum = in.readInt();
+				if (length < 0 || length > log.length())
+				{
+					_logger.warning("Corrupted record in " + log + " after " + count + " changes, the rest of the log is ignored.");
+					break;
+				}
+
+				final byte[] payload = new byte[length];
+				in.readFully(payload);
+				crc.reset();
+				crc.update(payload);
+				if ((int) crc.getValue() != checksum)
+				{
+					_logger.warning("Corrupted record in " + log + " after " + count + " changes, the rest of the log is ignored.");
+					break;
+				}
+
+				try
+				{
+					final OWLOntologyChange change = parser.parse(payload);
+					manager.applyChange(change);
+					synchronized (_changed)
 					{
-						throw new OWLException("Ontology id lead to non existant ontology : " + ontId + ". And we can't create it.", exception);
+						_changed.add(change.getOntology().getOntologyID());
 					}
-
-				parser.setUp(ontology, new OWLOntologyLoaderConfiguration());
-				_parsers.put(ontId, parser);
+					count++;
+				}
+				catch (final Exception e)
+				{ // A change that can't be applied must not prevent the others to be.
+					Log.error(_logger, "Can't replay a change of " + log, e);
+				}
 			}
-			return parser;
 		}
-
-		@Override
-		public int read(final char[] cbuf, final int off, final int len) throws IOException
+		catch (final EOFException e)
+		{
+			_logger.warning("Incomplete record at the end of " + log + ", it is ignored.");
+		}
+		catch (final IOException e)
 		{
-			if (_data == null)
-				return 0;
+			Log.error(_logger, e);
+		}
 
-			int i = _localOffset;
-			int j = off;
-			int wrote = 0;
-			for (; (j < cbuf.length) && wrote < len && i < _data.length; i++, j++, wrote++)
-				cbuf[j] = _data[i];
+		_logger.info(count + " changes replayed from " + log);
+	}
 
-			_localOffset = i;
-			return wrote;
-		}
+	private class ChangeParser
+	{
+		private final OWLOntologyManager _manager;
+		private final Map<OWLOntologyID, OWLFunctionalSyntaxParser> _parsers = new HashMap<>();
 
-		@Override
-		public void close() throws IOException
+		public ChangeParser(final OWLOntologyManager manager)
 		{
-			// We don't need to close it. This is delegated to the one that manage the BufferedReader
+			_manager = manager;
 		}
 
-		@Override
-		public boolean hasNext()
+		private OWLOntology getOntology(final OWLOntologyID ontId)
 		{
+			final OWLOntology ontology = _manager.getOntology(ontId);
+			if (ontology != null)
+				return ontology;
+
 			try
 			{
-				return _in.ready();
+				_logger.info("Creation of " + ontId.getOntologyIRI());
+				return new OWLGenericTools(_owlManagerGroup, ontId, false).getOntology();
 			}
-			catch (final IOException e)
+			catch (final OWLOntologyCreationException exception)
 			{
-				Log.error(_logger, e);
-				return false;
+				throw new OWLException("Ontology id lead to non existant ontology : " + ontId + ". And we can't create it.", exception);
 			}
 		}
 
-		private OWLAxiom parseAxiom(final OWLOntologyID ontId, final String axiomStr)
+		private OWLFunctionalSyntaxParser getParser(final OWLOntology ontology, final String data)
 		{
-			_data = axiomStr.toCharArray();
-			_localOffset = 0;
+			OWLFunctionalSyntaxParser parser = _parsers.get(ontology.getOntologyID());
+			if (parser == null)
+			{
+				parser = new OWLFunctionalSyntaxParser(new StringReader(data));
+				parser.setUp(ontology, new OWLOntologyLoaderConfiguration());
+				_parsers.put(ontology.getOntologyID(), parser);
+			}
+			else
+				parser.ReInit(new StringReader(data));
+			return parser;
+		}
 
+		private OWLAxiom parseAxiom(final OWLOntology ontology, final String axiomStr)
+		{
 			try
 			{
-				return getParser(ontId).Axiom();
+				return getParser(ontology, axiomStr).Axiom();
 			}
 			catch (final OWLException exception)
 			{
@@ -383,169 +709,67 @@ public class OWLIncrementalFlatFileStorageManagerListener implements OWLOntology
 			}
 			catch (final Exception exception)
 			{
-				throw new OWLException("Malformed File near " + (_line * 3) + " on " + axiomStr, exception);
+				throw new OWLException("Malformed axiom " + axiomStr, exception);
 			}
 		}
 
-		private OWLAnnotation getAnnotation(final OWLOntologyID ontId, final String data)
+		/**
+		 * The annotations of the ontology are rendered as <code>Annotation(property value)</code>, that is parsed as an annotation, not as an axiom.
+		 */
+		private OWLAnnotation parseAnnotation(final OWLOntology ontology, final String annotationStr)
 		{
-			final OWLAxiom axiom = parseAxiom(ontId, data);
-			if (axiom instanceof OWLAnnotationAxiom)
+			try
 			{
-				final OWLAnnotationAxiom aa = (OWLAnnotationAxiom) axiom;
-				return aa.annotations().findAny().orElseThrow(() -> new OWLException("Invalid annotation axiom : " + data));
+				return getParser(ontology, annotationStr).Annotation();
+			}
+			catch (final OWLException exception)
+			{
+				throw exception;
+			}
+			catch (final Exception exception)
+			{
+				throw new OWLException("Malformed annotation " + annotationStr, exception);
 			}
-			else
-				throw new OWLException("Invalid annotation near " + (_line * 3) + "(line " + _line + ")" + " on axiom : " + data);
 		}
 
-		@Override
-		public OWLOntologyChange next()
+		public OWLOntologyChange parse(final byte[] payload) throws IOException
 		{
-			String kind;
-			String ontologyId;
-			String data;
-			try
+			final String kind;
+			final OWLOntologyID ontId;
+			final String data;
+			try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload)))
 			{
-				kind = _in.readLine();
-				ontologyId = _in.readLine();
-				data = _in.readLine();
-			} // If the triple readLine fail we are in a malformed file.
-			catch (final Exception e)
-			{
-				_logger.log(Level.SEVERE, "Malformed File near " + (_line * 3), e);
-				return null;
+				kind = in.readUTF();
+				ontId = parseOntologyId(in.readUTF());
+				final byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				data = new String(bytes, StandardCharsets.UTF_8);
 			}
 
-			data = new String(Base64.getDecoder().decode(data));
-
-			final OWLOntologyID ontId = parseOntologyId(ontologyId);
-			final OWLOntology ontology = _manager.getOntology(ontId);
-
-			final OWLOntologyChange change;
+			final OWLOntology ontology = getOntology(ontId);
 
 			switch (kind)
 			{
 				case "SetOntologyID":
-				{
-					change = new SetOntologyID(ontology, parseOntologyId(data));
-					break;
-				}
+					return new SetOntologyID(ontology, parseOntologyId(data));
 				case "AddOntologyAnnotation":
-				{
-					change = new AddOntologyAnnotation(ontology, getAnnotation(ontId, data));
-					break;
-				}
+					return new AddOntologyAnnotation(ontology, parseAnnotation(ontology, data));
 				case "RemoveOntologyAnnotation":
-				{
-					change = new RemoveOntologyAnnotation(ontology, getAnnotation(ontId, data));
-					break;
-				}
+					return new RemoveOntologyAnnotation(ontology, parseAnnotation(ontology, data));
 				case "AddImport":
-				{
-					change = new AddImport(ontology, new OWLImportsDeclarationImpl(IRI.create(new String(data))));
-					break;
-				}
+					return new AddImport(ontology, new OWLImportsDeclarationImpl(IRI.create(data)));
 				case "RemoveImport":
-				{
-					change = new RemoveImport(ontology, new OWLImportsDeclarationImpl(IRI.create(new String(data))));
-					break;
-				}
+					return new RemoveImport(ontology, new OWLImportsDeclarationImpl(IRI.create(data)));
 				case "AddAxiom":
-				{
-					change = new AddAxiom(ontology, parseAxiom(ontId, data));
-					break;
-				}
+					return new AddAxiom(ontology, parseAxiom(ontology, data));
 				case "RemoveAxiom":
-				{
-					change = new RemoveAxiom(ontology, parseAxiom(ontId, data));
-					break;
-				}
+					return new RemoveAxiom(ontology, parseAxiom(ontology, data));
 				default:
-				{
 					throw new OWLException("Don't know what to do with change kind " + kind);
-				}
-			}
-
-			_line++;
-			return change;
-		}
-	}
-
-	private class Builder
-	{
-		public Set<String> scan()
-		{
-			final Set<String> result = new HashSet<>();
-			int line = 0;
-
-			try (final BufferedReader in = new BufferedReader(new FileReader(_delta)))
-			{
-				while (in.ready())
-					try
-					{
-						in.readLine(); // kind
-						result.add(in.readLine()); // ontologyId
-						in.readLine(); // data
-						line++;
-					} // If the triple readLine fail we are in a malformed file.
-					catch (final Exception e)
-					{
-						Log.error(_logger, "Malformed File near " + (line * 3), e);
-						return null;
-					}
-			}
-			catch (final Exception e)
-			{
-				Log.error(_logger, e);
 			}
-
-			return result;
 		}
 	}
 
-	private void rebuild() throws OWLOntologyCreationException
-	{
-		if (_delta.exists())
-			for (final String sIri : (new Builder()).scan())
-				if (sIri != null && !sIri.equals(""))
-				{
-					final String[] parts = sIri.split(" ");
-					// Aim at reload ontology before access.
-					final OWLOntologyID ontId;
-					if (parts.length == 2)
-						ontId = new OWLOntologyID(IRI.create(parts[0]), IRI.create(parts[1]));
-					else
-						ontId = new OWLOntologyID(IRI.create(sIri));
-
-					// Build or load the ontology
-					final OWLHelper tools = new OWLGenericTools(_owlManagerGroup, ontId, false); // Do not delete this line. It effectively load the ontology.
-					_logger.info(tools.getOntology().getOntologyID() + " have been load.");
-
-					// Add it to save list if just build.
-					_changed.add(ontId);
-				}
-	}
-
-	private void sync()
-	{
-		final List<OWLOntologyChange> changes = new ArrayList<>();
-
-		if (_delta.exists())
-			try (final BufferedReader br = new BufferedReader(new FileReader(_delta)))
-			{
-				try (final DeltaReader reader = new DeltaReader(br))
-				{
-					while (reader.hasNext())
-						changes.add(reader.next());
-				}
-			}
-			catch (final Exception e)
-			{
-				Log.error(_logger, e);
-			}
-	}
-
 	/**
 	 * Put an end to the storage manager.
 	 *
@@ -1,12 +1,18 @@
 package openllet.pellet.owlapi.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
@@ -27,7 +33,9 @@ import openllet.owlapi.SWRL;
 import openllet.owlapi.XSD;
 import openllet.shared.tools.Log;
 import org.junit.Test;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDataProperty;
@@ -36,6 +44,7 @@ import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.RemoveOntologyAnnotation;
 import org.semanticweb.owlapi.model.SWRLIndividualArgument;
 import org.semanticweb.owlapi.model.SWRLLiteralArgument;
 import org.semanticweb.owlapi.model.SWRLRule;
@@ -271,6 +280,124 @@ public class TestBasic
 		}
 	}
 
+	@Test
+	public void incrementalStorageRecovery() throws OWLOntologyCreationException, IOException
+	{
+		final OWLAnnotation label = OWL._factory.getOWLAnnotation(OWL._factory.getRDFSLabel(), OWL.constant("hello"));
+		final OWLAnnotation comment = OWL._factory.getOWLAnnotation(OWL._factory.getRDFSComment(), OWL.constant("world"));
+		final String ontologyName = "owlapi.inc.recovery";
+		final File directory = new File("target/" + ontologyName);
+		final File log = new File(directory, OWLHelper._delta);
+		final File copy = new File("target/" + ontologyName + ".delta");
+		final OWLOntologyID ontId = OWLHelper.getVersion(IRI.create(NS + ontologyName), 1.0);
+		directory.mkdirs();
+
+		try (final OWLManagerGroup group = new OWLManagerGroup(directory))
+		{
+			final OWLHelper owl = new OWLGenericTools(group, ontId, false);
+
+			owl.addAxiom(OWL.declaration(ClsA));
+			owl.addAxiom(OWL.propertyAssertion(Ind1, propA, Ind1));
+			owl.removeAxiom(OWL.declaration(ClsA));
+			owl.addAxiom(OWL.declaration(ClsB));
+			owl.getManager().applyChange(new AddOntologyAnnotation(owl.getOntology(), label));
+			owl.getManager().applyChange(new AddOntologyAnnotation(owl.getOntology(), comment));
+			owl.getManager().applyChange(new RemoveOntologyAnnotation(owl.getOntology(), comment));
+
+			// The changes are in the log as soon as they are made.
+			Files.copy(log.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		// Crash before any checkpoint : only the log remains, and its last record is incomplete.
+		for (final File file : directory.listFiles())
+			file.delete();
+		Files.move(copy.toPath(), log.toPath());
+		Files.write(log.toPath(), new byte[] { 0, 0, 0, 42, 1, 2 }, StandardOpenOption.APPEND);
+
+		try (final OWLManagerGroup group = new OWLManagerGroup(directory))
+		{
+			final OWLHelper owl = new OWLGenericTools(group, ontId, false);
+
+			assertFalse(log.exists()); // The replayed changes are saved.
+			assertTrue(owl.getOntology().containsAxiom(OWL.declaration(ClsB)));
+			assertTrue(owl.getOntology().containsAxiom(OWL.propertyAssertion(Ind1, propA, Ind1)));
+			assertFalse(owl.getOntology().containsAxiom(OWL.declaration(ClsA)));
+			assertEquals(Collections.singletonList(label), owl.getOntology().annotations().collect(Collectors.toList()));
+		}
+		finally
+		{
+			for (final File file : directory.listFiles())
+				file.delete();
+			directory.delete();
+		}
+	}
+
+	@Test
+	public void incrementalStorageFailedCheckpoint() throws OWLOntologyCreationException, IOException
+	{
+		final String ontologyName = "owlapi.inc.failed.checkpoint";
+		final File directory = new File("target/" + ontologyName);
+		final File log = new File(directory, OWLHelper._delta);
+		final File oldLog = new File(directory, OWLHelper._delta + ".old");
+		final File copy = new File("target/" + ontologyName + ".delta");
+		final File copyOld = new File("target/" + ontologyName + ".delta.old");
+		final OWLOntologyID ontId = OWLHelper.getVersion(IRI.create(NS + ontologyName), 1.0);
+		final File part = new File(OWLHelper.ontology2filename(directory, ontId) + OWLHelper._fileExtentionPart);
+		final byte[] incomplete = new byte[] { 0, 0, 0, 42, 1, 2 };
+		directory.mkdirs();
+
+		try
+		{
+			try (final OWLManagerGroup group = new OWLManagerGroup(directory))
+			{
+				final OWLHelper owl = new OWLGenericTools(group, ontId, false);
+				owl.addAxiom(OWL.declaration(ClsA));
+				Files.copy(log.toPath(), copyOld.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			try (final OWLManagerGroup group = new OWLManagerGroup(directory))
+			{
+				final OWLHelper owl = new OWLGenericTools(group, ontId, false);
+				owl.addAxiom(OWL.declaration(ClsB));
+				Files.copy(log.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			// Crash after a failed checkpoint : both logs remain, and both end with an incomplete record.
+			for (final File file : directory.listFiles())
+				file.delete();
+			Files.move(copyOld.toPath(), oldLog.toPath());
+			Files.write(oldLog.toPath(), incomplete, StandardOpenOption.APPEND);
+			Files.move(copy.toPath(), log.toPath());
+			Files.write(log.toPath(), incomplete, StandardOpenOption.APPEND);
+
+			// The ontology can't be saved, so the checkpoints made at startup and at closing fail and the records are kept in the old log.
+			part.mkdir();
+			try (final OWLManagerGroup group = new OWLManagerGroup(directory))
+			{
+				final OWLHelper owl = new OWLGenericTools(group, ontId, false);
+				assertTrue(owl.getOntology().containsAxiom(OWL.declaration(ClsA)));
+				assertTrue(owl.getOntology().containsAxiom(OWL.declaration(ClsB)));
+			}
+			assertTrue(oldLog.exists());
+			assertFalse(log.exists());
+			part.delete();
+
+			try (final OWLManagerGroup group = new OWLManagerGroup(directory))
+			{
+				final OWLHelper owl = new OWLGenericTools(group, ontId, false);
+				assertFalse(oldLog.exists());
+				assertTrue(owl.getOntology().containsAxiom(OWL.declaration(ClsA)));
+				assertTrue(owl.getOntology().containsAxiom(OWL.declaration(ClsB)));
+			}
+		}
+		finally
+		{
+			for (final File file : directory.listFiles())
+				file.delete();
+			directory.delete();
+		}
+	}
+
 	@Test
 	public void testRegexRestriction() throws OWLOntologyCreationException
 	{
@@ -83,6 +83,26 @@ public class CombinedQueryEngine implements QueryExec
 
 	private QueryResult _result;
 
+	/**
+	 * The search stops as soon as the _result has that many bindings.
+	 */
+	private long _maxResults;
+
+	/**
+	 * Unwinds the search once the _result has all the bindings needed by the query.
+	 */
+	private static final class EnoughResultsException extends RuntimeException
+	{
+		private static final long serialVersionUID = 6436291781736311862L;
+
+		private EnoughResultsException()
+		{
+			super(null, null, false, false);
+		}
+	}
+
+	private static final EnoughResultsException ENOUGH_RESULTS = new EnoughResultsException();
+
 	private Set<ATermAppl> _downMonotonic;
 
 	private void prepare(final Query query)
@@ -95,6 +115,7 @@ public class CombinedQueryEngine implements QueryExec
 			throw new OpenError("No input data set is given for query!");
 
 		_result = new QueryResultImpl(query);
+		_maxResults = query.getMaxResults();
 
 		_oldQuery = query;
 		_query = setupCores(query);
@@ -247,7 +268,14 @@ public class CombinedQueryEngine implements QueryExec
 		timer.start();
 		prepare(query);
 		branches = 0;
-		exec(new ResultBindingImpl());
+		try
+		{
+			exec(new ResultBindingImpl());
+		}
+		catch (final EnoughResultsException e)
+		{
+			_logger.fine(() -> "Stopped after " + _result.size() + " results");
+		}
 		timer.stop();
 
 		_logger.fine(() -> "#B=" + branches + ", time=" + timer.getLast() + " ms.");
@@ -257,6 +285,14 @@ public class CombinedQueryEngine implements QueryExec
 
 	private long branches;
 
+	private void addResult(final ResultBinding binding)
+	{
+		_result.add(binding);
+
+		if (_result.size() >= _maxResults)
+			throw ENOUGH_RESULTS;
+	}
+
 	private void exec(final ResultBinding bindingParam)
 	{
 		ResultBinding binding = bindingParam;
@@ -264,6 +300,9 @@ public class CombinedQueryEngine implements QueryExec
 		if (_logger.isLoggable(Level.FINE))
 			branches++;
 
+		// throws if the query has been aborted or has run out of time
+		_kb.getTimers()._mainTimer.check();
+
 		if (!_plan.hasNext())
 		{
 			// TODO if _result vars are not same as dist vars.
@@ -286,7 +325,7 @@ public class CombinedQueryEngine implements QueryExec
 					binding = newBinding;
 				}
 
-				_result.add(binding);
+				addResult(binding);
 			}
 
 			if (_logger.isLoggable(Level.FINER))
@@ -998,7 +1037,7 @@ public class CombinedQueryEngine implements QueryExec
 					if (constants.isEmpty())
 					{
 						if (QueryEngine.execBooleanABoxQuery(core.getQuery()))
-							_result.add(binding);
+							addResult(binding);
 						// throw new OpenError(
 						// "The query contains neither dist vars, nor constants,
 						// yet evaluated by the CombinedQueryEngine !!! ");
@@ -1099,6 +1138,9 @@ public class CombinedQueryEngine implements QueryExec
 				for (final ATermAppl var : newQuery.getUndistVars())
 					newQuery.addDistVar(var, VarType.INDIVIDUAL);
 
+				// a single answer is enough to refute the negation
+				newQuery.setMaxResults(1);
+
 				final QueryExec newEngine = new CombinedQueryEngine();
 
 				final boolean isNegationTrue = newEngine.exec(newQuery).isEmpty();
@@ -76,6 +76,30 @@ public class CostBasedQueryPlanNew extends QueryPlan
 			}
 	}
 
+	/**
+	 * Creates a plan with an ordering that has been computed before for the same atoms.
+	 *
+	 * @param query the query
+	 * @param sortedAtoms the atoms of the query in the order of execution
+	 */
+	CostBasedQueryPlanNew(final Query query, final List<QueryAtom> sortedAtoms)
+	{
+		super(query);
+
+		_index = 0;
+		_size = sortedAtoms.size();
+		_cost = new QueryCost(query.getKB());
+		_sortedAtoms = sortedAtoms;
+	}
+
+	/**
+	 * @return the atoms of the query in the order of execution
+	 */
+	List<QueryAtom> getSortedAtoms()
+	{
+		return _sortedAtoms;
+	}
+
 	/**
 	 * Recursive function that will inspect all possible orderings for a list of query atoms and returns the _cost for the best ordering (min _cost) found. Best
 	 * ordering is saved in the _sortedAtoms field. The ordering of atoms is created recursively where each step adds one more atom to the _current ordering.
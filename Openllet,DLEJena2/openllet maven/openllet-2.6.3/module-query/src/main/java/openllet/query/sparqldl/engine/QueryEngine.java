@@ -21,11 +21,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import openllet.aterm.ATermAppl;
 import openllet.core.DependencySet;
 import openllet.core.KnowledgeBase;
+import openllet.core.KnowledgeBaseImplReadWriteSync;
 import openllet.core.OpenlletOptions;
 import openllet.core.boxes.abox.ABox;
 import openllet.core.boxes.rbox.Role;
@@ -36,6 +39,7 @@ import openllet.core.utils.ATermUtils;
 import openllet.core.utils.Bool;
 import openllet.core.utils.DisjointSet;
 import openllet.core.utils.SetUtils;
+import openllet.core.utils.Timers;
 import openllet.query.sparqldl.model.MultiQueryResults;
 import openllet.query.sparqldl.model.NotKnownQueryAtom;
 import openllet.query.sparqldl.model.Query;
@@ -119,6 +123,10 @@ public class QueryEngine
 
 		final List<Query> queries = split(preprocessed);
 
+		// the first n results of the cross product only need the first n results of every component
+		for (final Query q : queries)
+			q.setMaxResults(query.getMaxResults());
+
 		QueryResult r = null;
 		if (queries.isEmpty())
 			throw new InternalReasonerException("Splitting query returned no results!");
@@ -127,9 +135,18 @@ public class QueryEngine
 				r = execSingleQuery(queries.get(0));
 			else
 			{
-				final List<QueryResult> results = new ArrayList<>(queries.size());
-				for (final Query q : queries)
-					results.add(execSingleQuery(q));
+				final List<QueryResult> results;
+				if (OpenlletOptions.USE_THREADED_KERNEL && query.getKB() instanceof KnowledgeBaseImplReadWriteSync)
+					results = execParallel(queries, query.getKB().getTimers());
+				else
+				{
+					results = new ArrayList<>(queries.size());
+					for (final Query q : queries)
+					{
+						query.getKB().getTimers()._mainTimer.check();
+						results.add(execSingleQuery(q));
+					}
+				}
 
 				r = new MultiQueryResults(query.getResultVars(), results);
 			}
@@ -330,6 +347,50 @@ public class QueryEngine
 		return getQueryExec().exec(query);
 	}
 
+	/**
+	 * Executes the disconnected components of a query concurrently on the common fork-join pool, which is bounded by the number of processors. The components
+	 * read the knowledge base concurrently, so this is only used with a {@link KnowledgeBaseImplReadWriteSync}. If a component fails, e.g. because the query has been aborted, the other components are interrupted through the timers of the knowledge base and the failure is only
+	 * rethrown once all of them have stopped.
+	 *
+	 * @param queries the components of a query
+	 * @param timers the timers of the knowledge base of the query
+	 * @return the results of the components, in the same order as the components
+	 */
+	private static List<QueryResult> execParallel(final List<Query> queries, final Timers timers)
+	{
+		timers._mainTimer.check();
+
+		final List<ForkJoinTask<QueryResult>> tasks = new ArrayList<>(queries.size());
+		for (final Query q : queries)
+			tasks.add(ForkJoinPool.commonPool().submit(() -> execSingleQuery(q)));
+
+		final List<QueryResult> results = new ArrayList<>(queries.size());
+		for (final ForkJoinTask<QueryResult> task : tasks)
+			try
+			{
+				results.add(task.join());
+			}
+			catch (final RuntimeException | Error e)
+			{
+				// an interruption stops a single component, so it is repeated until every component has stopped; the components are not cancelled since a
+				// cancelled task is done at once while it may still be running on the knowledge base.
+				for (final ForkJoinTask<QueryResult> other : tasks)
+				{
+					while (!other.isDone())
+					{
+						timers.interrupt();
+						Thread.yield();
+					}
+					other.quietlyJoin();
+				}
+				timers.clearInterrupt();
+
+				throw e;
+			}
+
+		return results;
+	}
+
 	/**
 	 * If a query has disconnected components such as C(x), D(y) then it should be answered as two separate queries. The answers to each query should be
 	 * combined at the _end by taking Cartesian product.(we combine results on a tuple basis as results are iterated. This way we avoid generating the full
@@ -6,10 +6,25 @@
 
 package openllet.query.sparqldl.engine;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.WeakHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import openllet.aterm.ATermAppl;
+import openllet.core.KnowledgeBase;
 import openllet.core.OpenlletOptions;
+import openllet.core.utils.ATermUtils;
+import openllet.core.utils.SizeEstimate;
 import openllet.query.sparqldl.model.Query;
+import openllet.query.sparqldl.model.QueryAtom;
+import openllet.query.sparqldl.model.QueryPredicate;
 import openllet.shared.tools.Log;
 
 /**
@@ -33,6 +48,23 @@ public class QueryOptimizer
 
 	private static final Logger _logger = Log.getLogger(QueryOptimizer.class);
 
+	/**
+	 * The maximum number of orderings that are cached for a knowledge base.
+	 */
+	private static final int MAX_CACHED_PLANS = 1024;
+
+	private static final Object INDIVIDUAL = "individual";
+
+	private static final Object LITERAL = "literal";
+
+	/**
+	 * The atom orderings of the full query plans, by the size estimate of the knowledge base they have been computed with. A knowledge base creates a new
+	 * size estimate whenever its changes are prepared, so the orderings of an outdated knowledge base are never used again and are garbage collected along
+	 * with its estimate. The orderings are kept by the shape of the queries, where the individuals and literals are left out, so that the executions of a
+	 * query with different parameters share the same ordering. An ordering is a permutation of the positions of the atoms of the query.
+	 */
+	private static final Map<SizeEstimate, Map<List<Object>, int[]>> _plans = Collections.synchronizedMap(new WeakHashMap<>());
+
 	public QueryPlan getExecutionPlan(final Query query)
 	{
 		if (OpenlletOptions.SAMPLING_RATIO == 0)
@@ -48,8 +80,85 @@ public class QueryOptimizer
 		{
 			if (_logger.isLoggable(Level.FINE))
 				_logger.fine("Using full query plan.");
-			return new CostBasedQueryPlanNew(query);
+
+			// the cores of undistinguished variables are compared by identity, so their orderings are never found again
+			for (final QueryAtom atom : query.getAtoms())
+				if (atom.getPredicate() == QueryPredicate.UndistVarCore)
+					return new CostBasedQueryPlanNew(query);
+
+			final Map<List<Object>, int[]> plans = _plans.computeIfAbsent(query.getKB().getSizeEstimate(), estimate -> newPlanCache());
+			final List<Object> key = getShape(query);
+
+			final int[] ordering;
+			synchronized (plans)
+			{
+				ordering = plans.get(key);
+			}
+			if (ordering != null)
+			{
+				final List<QueryAtom> atoms = query.getAtoms();
+				final List<QueryAtom> sortedAtoms = new ArrayList<>(ordering.length);
+				for (final int index : ordering)
+					sortedAtoms.add(atoms.get(index));
+
+				_logger.fine(() -> "Reusing the ordering " + sortedAtoms);
+				return new CostBasedQueryPlanNew(query, sortedAtoms);
+			}
+
+			final CostBasedQueryPlanNew plan = new CostBasedQueryPlanNew(query);
+			if (plan.getSortedAtoms() != null)
+			{
+				final int[] newOrdering = plan.getSortedAtoms().stream().mapToInt(query.getAtoms()::indexOf).toArray();
+				synchronized (plans)
+				{
+					plans.put(key, newOrdering);
+				}
+			}
+			return plan;
 		}
 
 	}
+
+	/**
+	 * @return the atoms and the distinguished variables of the query, where the individuals and the literals are replaced by placeholders. The atoms with
+	 *         subqueries are kept as they are.
+	 */
+	private static List<Object> getShape(final Query query)
+	{
+		final KnowledgeBase kb = query.getKB();
+		final List<Object> atoms = new ArrayList<>(query.getAtoms().size());
+		for (final QueryAtom atom : query.getAtoms())
+			if (atom.getPredicate() == QueryPredicate.NotKnown || atom.getPredicate() == QueryPredicate.Union)
+				atoms.add(atom);
+			else
+			{
+				final List<Object> shape = new ArrayList<>(atom.getArguments().size() + 1);
+				shape.add(atom.getPredicate());
+				for (final ATermAppl arg : atom.getArguments())
+					if (ATermUtils.isLiteral(arg))
+						shape.add(LITERAL);
+					else
+						if (!ATermUtils.isVar(arg) && kb.isIndividual(arg))
+							shape.add(INDIVIDUAL);
+						else
+							shape.add(arg);
+				atoms.add(shape);
+			}
+
+		return Arrays.asList(atoms, new HashSet<>(query.getDistVars()));
+	}
+
+	private static Map<List<Object>, int[]> newPlanCache()
+	{
+		return new LinkedHashMap<List<Object>, int[]>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Entry<List<Object>, int[]> eldest)
+			{
+				return size() > MAX_CACHED_PLANS;
+			}
+		};
+	}
 }
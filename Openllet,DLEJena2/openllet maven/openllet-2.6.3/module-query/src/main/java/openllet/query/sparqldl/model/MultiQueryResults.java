@@ -36,16 +36,18 @@ public class MultiQueryResults implements QueryResult
 
 	private final List<QueryResult> _queryResults;
 
-	private int _size;
+	private final int _size;
 
 	public MultiQueryResults(final List<ATermAppl> resultVars, final List<QueryResult> queryResults)
 	{
 		this._resultVars = resultVars;
 		this._queryResults = queryResults;
 
-		_size = 1;
+		// the size of the cross product is capped instead of overflowing
+		long size = 1;
 		for (final QueryResult result : queryResults)
-			_size *= result.size();
+			size = Math.min(size * result.size(), Integer.MAX_VALUE);
+		_size = (int) size;
 	}
 
 	/**
@@ -192,6 +192,19 @@ public interface Query
 	 */
 	public QueryParameters getQueryParameters();
 
+	/**
+	 * Sets the number of results that are needed from this query, e.g. because only the first results are sliced or because only the existence of a result is
+	 * checked. A query engine may stop the search for results as soon as it has found that many results, but it may also return more.
+	 *
+	 * @param maxResults the number of results needed, or <code>Long.MAX_VALUE</code> if all the results are needed
+	 */
+	public void setMaxResults(long maxResults);
+
+	/**
+	 * @return the number of results that are needed from this query, <code>Long.MAX_VALUE</code> if all the results are needed
+	 */
+	public long getMaxResults();
+
 	/**
 	 * Return the name of this query
 	 *
@@ -58,6 +58,11 @@ public class QueryImpl implements Query
 
 	private final boolean _distinct;
 
+	/**
+	 * Not copied by the copy constructor, since the results of a copy are usually combined with other results.
+	 */
+	private long _maxResults = Long.MAX_VALUE;
+
 	private Filter _filter;
 
 	private QueryParameters _parameters;
@@ -671,6 +676,18 @@ public class QueryImpl implements Query
 		return _parameters;
 	}
 
+	@Override
+	public void setMaxResults(final long maxResults)
+	{
+		_maxResults = maxResults;
+	}
+
+	@Override
+	public long getMaxResults()
+	{
+		return _maxResults;
+	}
+
 	@Override
 	public ATermAppl getName()
 	{
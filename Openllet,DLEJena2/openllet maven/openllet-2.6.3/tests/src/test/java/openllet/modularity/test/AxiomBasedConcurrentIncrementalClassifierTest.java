@@ -0,0 +1,40 @@
+package openllet.modularity.test;
+
+import java.util.Properties;
+import openllet.core.OpenlletOptions;
+import openllet.core.utils.PropertiesBuilder;
+import openllet.modularity.AxiomBasedModuleExtractor;
+import openllet.modularity.ModuleExtractor;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+
+/**
+ * Modular classification with the modules extracted and classified on several threads, see {@link OpenlletOptions#MODULARITY_THREADS}.
+ */
+public class AxiomBasedConcurrentIncrementalClassifierTest extends RandomizedIncrementalClassifierTest
+{
+	private static Properties _oldOptions;
+
+	@BeforeClass
+	public static void enableThreads()
+	{
+		_oldOptions = OpenlletOptions.setOptions(PropertiesBuilder.singleton("MODULARITY_THREADS", "4"));
+	}
+
+	@AfterClass
+	public static void resetThreads()
+	{
+		OpenlletOptions.setOptions(_oldOptions);
+	}
+
+	public AxiomBasedConcurrentIncrementalClassifierTest()
+	{
+		super("test/data/modularity/");
+	}
+
+	@Override
+	public ModuleExtractor createModuleExtractor()
+	{
+		return new AxiomBasedModuleExtractor();
+	}
+}
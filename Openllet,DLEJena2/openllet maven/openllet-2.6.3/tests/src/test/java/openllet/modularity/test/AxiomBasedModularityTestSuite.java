@@ -13,6 +13,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		, AxiomBasedModularityTest.class //
 		, AxiomBasedModularityUpdateTest.class //
 		, AxiomBasedRandomizedIncrementalClassifierTest.class // 
+		, AxiomBasedConcurrentIncrementalClassifierTest.class //
 		, AxiomBasedRandomizedModularityTest.class// FIXME : this test produce an enormous output at compile time.
 })
 public class AxiomBasedModularityTestSuite
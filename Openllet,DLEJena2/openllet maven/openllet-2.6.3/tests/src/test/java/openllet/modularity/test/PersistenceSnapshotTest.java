@@ -0,0 +1,184 @@
+package openllet.modularity.test;
+
+import static openllet.modularity.test.TestUtils.assertClassificationEquals;
+import static openllet.modularity.test.TestUtils.assertInstancesEquals;
+import static openllet.modularity.test.TestUtils.assertTypesEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import openllet.modularity.AxiomBasedModuleExtractor;
+import openllet.modularity.IncrementalClassifier;
+import openllet.modularity.io.IncrementalClassifierSnapshot;
+import openllet.owlapi.OWL;
+import openllet.owlapi.OntologyUtils;
+import openllet.owlapi.OpenlletReasoner;
+import openllet.owlapi.OpenlletReasonerFactory;
+import openllet.test.PelletTestSuite;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * Saving and restoring an incremental classifier with {@link IncrementalClassifierSnapshot}.
+ */
+public class PersistenceSnapshotTest
+{
+	public static final String base = PelletTestSuite.base + "modularity/";
+
+	public void testFile(final String fileName) throws IOException
+	{
+		final Path testFile = Files.createTempFile("test-persistence-snapshot", ".bin");
+		final OWLOntology ontology = OntologyUtils.loadOntology(OWLManager.createConcurrentOWLOntologyManager(), "file:" + base + fileName + ".owl");
+
+		try
+		{
+			final OpenlletReasoner unified = OpenlletReasonerFactory.getInstance().createReasoner(ontology);
+			final IncrementalClassifier modular = new IncrementalClassifier(unified, new AxiomBasedModuleExtractor());
+			modular.classify();
+			// the types are queried so that the classifier is realized if there are individuals
+			assertTypesEquals(unified, modular);
+
+			IncrementalClassifierSnapshot.save(modular, testFile);
+
+			final IncrementalClassifier modular2 = IncrementalClassifierSnapshot.load(testFile, ontology);
+			assertEquals(modular.isRealized(), modular2.isRealized());
+			assertClassificationEquals(unified, modular2);
+			assertInstancesEquals(unified, modular2);
+			assertTypesEquals(unified, modular2);
+
+			unified.dispose();
+			modular.dispose();
+			modular2.dispose();
+		}
+		finally
+		{
+			Files.delete(testFile);
+			OWL._manager.removeOntology(ontology);
+		}
+	}
+
+	/**
+	 * The restored classifier is updated incrementally, and compared to a classification from scratch after every change.
+	 */
+	public void testUpdatesAfterRestore(final String fileName) throws IOException
+	{
+		final Path testFile = Files.createTempFile("test-persistence-snapshot", ".bin");
+		final OWLOntology ontology = OntologyUtils.loadOntology(OWLManager.createConcurrentOWLOntologyManager(), "file:" + base + fileName + ".owl");
+		final OWLOntologyManager manager = ontology.getOWLOntologyManager();
+
+		try
+		{
+			final IncrementalClassifier modular = new IncrementalClassifier(ontology);
+			modular.classify();
+			IncrementalClassifierSnapshot.save(modular, testFile);
+			modular.dispose();
+
+			final IncrementalClassifier modular2 = IncrementalClassifierSnapshot.load(testFile, ontology);
+
+			final Set<OWLAxiom> removed = TestUtils.selectRandomAxioms(ontology, 2);
+			manager.removeAxioms(ontology, removed.stream());
+			modular2.classify();
+
+			OpenlletReasoner expected = OpenlletReasonerFactory.getInstance().createReasoner(ontology);
+			assertClassificationEquals(expected, modular2);
+			expected.dispose();
+
+			final List<OWLClass> classes = ontology.classesInSignature().sorted().limit(2).collect(Collectors.toList());
+			manager.addAxioms(ontology, removed.stream());
+			manager.addAxiom(ontology, OWL.subClassOf(classes.get(0), classes.get(1)));
+			modular2.classify();
+
+			expected = OpenlletReasonerFactory.getInstance().createReasoner(ontology);
+			assertClassificationEquals(expected, modular2);
+			expected.dispose();
+
+			modular2.dispose();
+		}
+		finally
+		{
+			Files.delete(testFile);
+			OWL._manager.removeOntology(ontology);
+		}
+	}
+
+	@Test
+	public void koalaSnapshotTest() throws IOException
+	{
+		testFile("koala");
+	}
+
+	@Test
+	public void miniTambisSnapshotTest() throws IOException
+	{
+		testFile("miniTambis");
+	}
+
+	@Test
+	public void wineSnapshotTest() throws IOException
+	{
+		testFile("wine");
+	}
+
+	@Test
+	public void koalaUpdatesAfterRestoreTest() throws IOException
+	{
+		testUpdatesAfterRestore("koala");
+	}
+
+	@Test
+	public void miniTambisUpdatesAfterRestoreTest() throws IOException
+	{
+		testUpdatesAfterRestore("miniTambis");
+	}
+
+	@Test
+	public void changedOntologySnapshotTest() throws IOException
+	{
+		final Path testFile = Files.createTempFile("test-persistence-snapshot", ".bin");
+		final OWLOntology ontology = OntologyUtils.loadOntology(OWLManager.createConcurrentOWLOntologyManager(), "file:" + base + "koala.owl");
+
+		try
+		{
+			final IncrementalClassifier modular = new IncrementalClassifier(ontology);
+			modular.classify();
+			IncrementalClassifierSnapshot.save(modular, testFile);
+			modular.dispose();
+
+			final OWLAxiom axiom = ontology.logicalAxioms().findFirst().get();
+			ontology.getOWLOntologyManager().removeAxioms(ontology, Stream.of(axiom));
+
+			try
+			{
+				IncrementalClassifierSnapshot.load(testFile, ontology);
+				fail("The snapshot should not be restored for a changed ontology");
+			}
+			catch (final IOException e)
+			{
+				// expected
+			}
+
+			ontology.getOWLOntologyManager().addAxiom(ontology, axiom);
+			final IncrementalClassifier modular2 = IncrementalClassifierSnapshot.load(testFile, ontology);
+			assertFalse(modular2.isRealized());
+			assertTrue(modular2.isClassified());
+			modular2.dispose();
+		}
+		finally
+		{
+			Files.delete(testFile);
+			OWL._manager.removeOntology(ontology);
+		}
+	}
+}
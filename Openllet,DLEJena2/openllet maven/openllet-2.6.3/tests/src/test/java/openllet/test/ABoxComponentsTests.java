@@ -0,0 +1,283 @@
+package openllet.test;
+
+import static openllet.core.datatypes.Datatypes.INTEGER;
+import static openllet.core.utils.TermFactory.all;
+import static openllet.core.utils.TermFactory.and;
+import static openllet.core.utils.TermFactory.hasValue;
+import static openllet.core.utils.TermFactory.inv;
+import static openllet.core.utils.TermFactory.literal;
+import static openllet.core.utils.TermFactory.max;
+import static openllet.core.utils.TermFactory.minInclusive;
+import static openllet.core.utils.TermFactory.not;
+import static openllet.core.utils.TermFactory.or;
+import static openllet.core.utils.TermFactory.restrict;
+import static openllet.core.utils.TermFactory.some;
+import static openllet.core.utils.TermFactory.term;
+import static openllet.core.utils.TermFactory.TOP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import junit.framework.JUnit4TestAdapter;
+import openllet.aterm.ATermAppl;
+import openllet.core.OpenlletOptions;
+import openllet.core.boxes.abox.Edge;
+import openllet.core.boxes.abox.Literal;
+import openllet.core.utils.ATermUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Consistency checking with {@link OpenlletOptions#USE_ABOX_COMPONENTS}, where the connected components of the ABox are completed separately.
+ */
+public class ABoxComponentsTests extends AbstractKBTests
+{
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(ABoxComponentsTests.class);
+	}
+
+	private boolean _useABoxComponents;
+
+	@Before
+	public void enableComponents()
+	{
+		_useABoxComponents = OpenlletOptions.USE_ABOX_COMPONENTS;
+		OpenlletOptions.USE_ABOX_COMPONENTS = true;
+	}
+
+	@After
+	public void restoreComponents()
+	{
+		OpenlletOptions.USE_ABOX_COMPONENTS = _useABoxComponents;
+	}
+
+	@Test
+	public void deterministicComponents()
+	{
+		classes(_A, _B, _C);
+		objectProperties(_p);
+
+		_kb.addSubClass(_A, some(_p, _B));
+		_kb.addSubClass(_B, _C);
+		_kb.addDomain(_p, _C);
+
+		for (int i = 0; i < 10; i++)
+		{
+			final ATermAppl x = term("x" + i);
+			final ATermAppl y = term("y" + i);
+			_kb.addIndividual(x);
+			_kb.addIndividual(y);
+			_kb.addType(x, _A);
+			_kb.addPropertyValue(_p, x, y);
+		}
+
+		assertTrue(_kb.isConsistent());
+
+		for (int i = 0; i < 10; i++)
+		{
+			assertTrue(_kb.isType(term("x" + i), _C));
+			assertFalse(_kb.isType(term("y" + i), _C));
+			assertTrue(_kb.isType(term("x" + i), some(_p, _C)));
+		}
+	}
+
+	@Test
+	public void nonDeterministicComponents()
+	{
+		classes(_A, _B, _C, _D);
+		objectProperties(_p);
+
+		_kb.addSubClass(_A, or(_B, _C));
+		_kb.addSubClass(_B, _D);
+		_kb.addSubClass(_C, _D);
+
+		_kb.addIndividual(_a);
+		_kb.addIndividual(_b);
+		_kb.addIndividual(_c);
+		_kb.addIndividual(_d);
+		_kb.addType(_a, _A);
+		_kb.addType(_a, not(_B));
+		_kb.addType(_c, _A);
+		_kb.addPropertyValue(_p, _c, _d);
+		_kb.addType(_d, all(inv(_p), _B));
+
+		assertTrue(_kb.isConsistent());
+
+		assertTrue(_kb.isType(_a, _C));
+		assertTrue(_kb.isType(_a, _D));
+		assertTrue(_kb.isType(_c, _B));
+		assertFalse(_kb.isType(_b, _D));
+		assertFalse(_kb.isType(_c, _C));
+	}
+
+	@Test
+	public void inconsistentComponent()
+	{
+		classes(_A, _B);
+		objectProperties(_p);
+
+		_kb.addDisjointClass(_A, _B);
+		_kb.addSubClass(_A, all(_p, _B));
+
+		_kb.addIndividual(_a);
+		_kb.addIndividual(_b);
+		_kb.addIndividual(_c);
+		_kb.addIndividual(_d);
+		_kb.addType(_a, _A);
+		_kb.addPropertyValue(_p, _c, _d);
+		_kb.addType(_c, _A);
+		_kb.addType(_d, _A);
+
+		assertFalse(_kb.isConsistent());
+	}
+
+	@Test
+	public void sameAndDifferentIndividuals()
+	{
+		classes(_A, _B);
+		objectProperties(_p);
+
+		_kb.addFunctionalProperty(_p);
+		_kb.addSubClass(_A, some(_p, _B));
+
+		_kb.addIndividual(_a);
+		_kb.addIndividual(_b);
+		_kb.addIndividual(_c);
+		_kb.addIndividual(_d);
+		_kb.addIndividual(_e);
+		_kb.addType(_a, _A);
+		_kb.addPropertyValue(_p, _a, _b);
+		_kb.addSame(_c, _b);
+		_kb.addDifferent(_d, _e);
+
+		assertTrue(_kb.isConsistent());
+
+		assertTrue(_kb.isType(_c, _B));
+		assertTrue(_kb.isSameAs(_b, _c));
+		assertTrue(_kb.isDifferentFrom(_d, _e));
+		assertFalse(_kb.isType(_d, _B));
+	}
+
+	@Test
+	public void maxCardinalityMerge()
+	{
+		classes(_A, _B);
+		objectProperties(_p);
+
+		_kb.addSubClass(_A, max(_p, 1, TOP));
+
+		_kb.addIndividual(_a);
+		_kb.addIndividual(_b);
+		_kb.addIndividual(_c);
+		_kb.addIndividual(_d);
+		_kb.addIndividual(_e);
+		_kb.addType(_a, _A);
+		_kb.addPropertyValue(_p, _a, _b);
+		_kb.addPropertyValue(_p, _a, _c);
+		_kb.addType(_b, _B);
+		_kb.addType(_e, _B);
+
+		assertTrue(_kb.isConsistent());
+
+		assertTrue(_kb.isSameAs(_b, _c));
+		assertTrue(_kb.isType(_c, _B));
+		assertFalse(_kb.isType(_d, _B));
+	}
+
+	@Test
+	public void sharedDerivedLiteral()
+	{
+		classes(_A);
+		dataProperties(_s);
+
+		_kb.addSubClass(_A, hasValue(_s, literal("x")));
+
+		_kb.addIndividual(_a);
+		_kb.addIndividual(_b);
+		_kb.addIndividual(_c);
+		_kb.addType(_a, _A);
+		_kb.addType(_c, _A);
+		_kb.addPropertyValue(_s, _b, literal("x"));
+
+		assertTrue(_kb.isConsistent());
+
+		// the literal derived in the components of a and c is the asserted value of b
+		final Literal x = _kb.getABox().getLiteral(literal("x"));
+		assertEquals(3, x.getInEdges().size());
+		for (final Edge edge : x.getInEdges())
+			assertSame(x, edge.getTo());
+
+		for (final ATermAppl ind : new ATermAppl[] { _a, _b, _c })
+			assertEquals(Collections.singletonList(literal("x")), _kb.getDataPropertyValues(_s, ind));
+	}
+
+	@Test
+	public void definedDatatype()
+	{
+		classes(_A);
+		dataProperties(_s);
+
+		_kb.addDatatypeDefinition(_D, restrict(INTEGER, minInclusive(literal(18))));
+		_kb.addSubClass(_A, all(_s, _D));
+
+		_kb.addIndividual(_a);
+		_kb.addIndividual(_b);
+		_kb.addType(_a, _A);
+		_kb.addPropertyValue(_s, _a, literal(20));
+		_kb.addType(_b, _A);
+		_kb.addPropertyValue(_s, _b, literal(5));
+
+		assertFalse(_kb.isConsistent());
+	}
+
+	@Test
+	public void topObjectProperty()
+	{
+		classes(_A, _B);
+
+		_kb.addSubClass(_A, all(ATermUtils.TOP_OBJECT_PROPERTY, _B));
+
+		_kb.addIndividual(_a);
+		_kb.addIndividual(_b);
+		_kb.addType(_a, _A);
+		_kb.addType(_b, not(_B));
+
+		assertFalse(_kb.isConsistent());
+	}
+
+	@Test
+	public void threadedComponents()
+	{
+		final boolean useThreadedKernel = OpenlletOptions.USE_THREADED_KERNEL;
+		OpenlletOptions.USE_THREADED_KERNEL = true;
+		try
+		{
+			classes(_A, _B, _C);
+			objectProperties(_p);
+
+			_kb.addSubClass(_A, some(_p, and(_B, some(_p, _C))));
+
+			for (int i = 0; i < 100; i++)
+			{
+				final ATermAppl x = term("x" + i);
+				_kb.addIndividual(x);
+				_kb.addType(x, _A);
+			}
+
+			assertTrue(_kb.isConsistent());
+
+			for (int i = 0; i < 100; i++)
+				assertTrue(_kb.isType(term("x" + i), some(_p, some(_p, _C))));
+
+			assertEquals(100, _kb.getInstances(_A).size());
+		}
+		finally
+		{
+			OpenlletOptions.USE_THREADED_KERNEL = useThreadedKernel;
+		}
+	}
+}
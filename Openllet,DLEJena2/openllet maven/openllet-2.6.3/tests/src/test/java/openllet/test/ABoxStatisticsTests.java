@@ -0,0 +1,164 @@
+package openllet.test;
+
+import static openllet.core.utils.TermFactory.TOP;
+import static openllet.core.utils.TermFactory.literal;
+import static openllet.core.utils.TermFactory.term;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import junit.framework.JUnit4TestAdapter;
+import openllet.aterm.ATermAppl;
+import openllet.core.OpenlletOptions;
+import openllet.core.utils.ABoxStatistics;
+import openllet.core.utils.ABoxStatistics.PropertyStatistics;
+import openllet.core.utils.SizeEstimate;
+import org.junit.Test;
+
+/**
+ * The statistics of the ABox that are collected when the knowledge base is realized, see {@link OpenlletOptions#USE_ABOX_STATISTICS}.
+ */
+public class ABoxStatisticsTests extends AbstractKBTests
+{
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(ABoxStatisticsTests.class);
+	}
+
+	private void createKB()
+	{
+		classes(_A, _B, _C);
+		objectProperties(_p, _q, _r);
+		dataProperties(_s);
+
+		_kb.addSubClass(_B, _A);
+		_kb.addSubProperty(_q, _p);
+		_kb.addInverseProperty(_r, _p);
+
+		// x0 has 1 q value, x1 has 2, ..., x4 has 5
+		for (int i = 0; i < 5; i++)
+		{
+			final ATermAppl x = term("x" + i);
+			_kb.addIndividual(x);
+			_kb.addType(x, _B);
+			_kb.addPropertyValue(_s, x, literal(i % 2));
+			for (int j = 0; j <= i; j++)
+			{
+				final ATermAppl y = term("y" + j);
+				_kb.addIndividual(y);
+				_kb.addPropertyValue(_q, x, y);
+			}
+		}
+		_kb.addType(term("y0"), _A);
+	}
+
+	@Test
+	public void collectedOnRealization()
+	{
+		createKB();
+
+		assertFalse(_kb.getABoxStatistics().isPresent());
+
+		_kb.realize();
+
+		final ABoxStatistics statistics = _kb.getABoxStatistics().get();
+
+		assertEquals(6, statistics.getInstanceCount(_A, false));
+		assertEquals(1, statistics.getInstanceCount(_A, true));
+		assertEquals(5, statistics.getInstanceCount(_B, false));
+		assertEquals(0, statistics.getInstanceCount(_C, false));
+		assertEquals(10, statistics.getInstanceCount(TOP, false));
+
+		final PropertyStatistics q = statistics.getPropertyStatistics(_q);
+		assertEquals(15, q.getPairCount());
+		assertEquals(5, q.getSubjectCount());
+		assertEquals(5, q.getObjectCount());
+		assertEquals(3, q.getObjectCount(term("x2")));
+		assertEquals(5, q.getSubjectCount(term("y0")));
+		assertArrayEquals(new int[] { 1, 2, 2 }, Arrays.copyOf(q.getFanOutHistogram(), 3));
+
+		// the values of the sub property and of the inverse property
+		assertEquals(15, statistics.getPropertyStatistics(_p).getPairCount());
+		final PropertyStatistics r = statistics.getPropertyStatistics(_r);
+		assertEquals(15, r.getPairCount());
+		assertEquals(5, r.getSubjectCount());
+		assertEquals(3.0, r.avgObjectsPerSubject(), 0);
+
+		final PropertyStatistics s = statistics.getPropertyStatistics(_s);
+		assertEquals(5, s.getPairCount());
+		assertEquals(2, s.getObjectCount());
+	}
+
+	@Test
+	public void sizeEstimateUsesStatistics()
+	{
+		createKB();
+		_kb.realize();
+
+		final SizeEstimate estimate = _kb.getSizeEstimate();
+		estimate.computeAll();
+
+		assertEquals(6, estimate.size(_A));
+		assertEquals(5, estimate.size(_B));
+		assertEquals(15, estimate.size(_q));
+		assertEquals(3.0, estimate.avg(_q), 0);
+		assertEquals(3.0, estimate.avg(_r), 0);
+		assertEquals(3, estimate.classesPerInstance(term("x3"), false));
+		assertEquals(1, estimate.classesPerInstance(term("x3"), true));
+	}
+
+	@Test
+	public void updatedOnABoxChanges()
+	{
+		createKB();
+		_kb.realize();
+
+		final ABoxStatistics statistics = _kb.getABoxStatistics().get();
+
+		_kb.addIndividual(term("x5"));
+		_kb.addType(term("x5"), _B);
+		_kb.addPropertyValue(_q, term("x5"), term("y0"));
+		_kb.addPropertyValue(_q, term("x4"), term("y0"));
+		_kb.removePropertyValue(_q, term("x0"), term("y0"));
+
+		assertTrue(_kb.getABoxStatistics().isPresent());
+		assertEquals(7, statistics.getInstanceCount(_A, false));
+		assertEquals(6, statistics.getInstanceCount(_B, false));
+		assertEquals(15, statistics.getPropertyStatistics(_q).getPairCount());
+		assertEquals(5, statistics.getPropertyStatistics(_q).getSubjectCount());
+		assertEquals(5, statistics.getPropertyStatistics(_q).getSubjectCount(term("y0")));
+
+		// only the removed type is decremented, until the statistics are collected again
+		_kb.removeType(term("x5"), _B);
+		assertEquals(5, statistics.getInstanceCount(_B, false));
+		assertEquals(7, statistics.getInstanceCount(_A, false));
+
+		_kb.realize();
+		assertEquals(6, _kb.getABoxStatistics().get().getInstanceCount(_A, false));
+
+		_kb.addSubClass(_C, _B);
+		_kb.prepare();
+		assertFalse(_kb.getABoxStatistics().isPresent());
+	}
+
+	@Test
+	public void disabledStatistics()
+	{
+		final boolean useStatistics = OpenlletOptions.USE_ABOX_STATISTICS;
+		OpenlletOptions.USE_ABOX_STATISTICS = false;
+		try
+		{
+			createKB();
+			_kb.realize();
+
+			assertFalse(_kb.getABoxStatistics().isPresent());
+			assertEquals(6, _kb.getSizeEstimate().size(_A));
+		}
+		finally
+		{
+			OpenlletOptions.USE_ABOX_STATISTICS = useStatistics;
+		}
+	}
+}
@@ -15,19 +15,24 @@ import static openllet.test.JenaStatementsChecker.addStatements;
 import static openllet.test.JenaStatementsChecker.assertPropertyValues;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.logging.Filter;
 import java.util.logging.Logger;
 import junit.framework.JUnit4TestAdapter;
 import openllet.aterm.ATermAppl;
 import openllet.core.KnowledgeBase;
+import openllet.core.KnowledgeBaseImplReadWriteSync;
 import openllet.core.OpenlletOptions;
 import openllet.core.datatypes.DatatypeReasoner;
 import openllet.core.datatypes.DatatypeReasonerImpl;
@@ -38,9 +43,12 @@ import openllet.jena.ModelExtractor;
 import openllet.jena.PelletInfGraph;
 import openllet.jena.PelletReasoner;
 import openllet.jena.PelletReasonerFactory;
+import openllet.jena.graph.loader.DefaultGraphLoader;
+import openllet.jena.graph.query.RealizedFactsIndex;
 import openllet.jena.vocabulary.OWL2;
 import openllet.shared.tools.Log;
 import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.compose.Union;
 import org.apache.jena.ontology.AnnotationProperty;
 import org.apache.jena.ontology.DatatypeProperty;
@@ -65,6 +73,8 @@ import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.rdf.model.StmtIterator;
 import org.apache.jena.rdf.model.impl.StatementImpl;
 import org.apache.jena.reasoner.Reasoner;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.vocabulary.OWL;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
@@ -3151,6 +3161,180 @@ public class JenaTests
 		assertTrue(inferences.contains(a, RDF.type, D));
 	}
 
+	@Test
+	public void testStreamingExtractor()
+	{
+		final String ns = "urn:test:";
+
+		final Model rawModel = ModelFactory.createDefaultModel();
+
+		final Resource C = rawModel.createResource(ns + "C");
+		final Resource D = rawModel.createResource(ns + "D");
+		final Property p = rawModel.createProperty(ns + "p");
+
+		rawModel.add(C, RDFS.subClassOf, D);
+		rawModel.add(p, RDFS.range, C);
+		for (int i = 0; i < 2500; i++)
+			rawModel.add(rawModel.createResource(ns + "a" + i), p, rawModel.createResource(ns + "b" + i));
+
+		final OntModel model = ModelFactory.createOntologyModel(PelletReasonerFactory.THE_SPEC, rawModel);
+
+		final ModelExtractor extractor = new ModelExtractor(model);
+		final Model inferences = extractor.extractModel();
+		assertTrue(inferences.contains(rawModel.createResource(ns + "b2499"), RDF.type, C));
+
+		final ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+		extractor.extractStatements(sequential, Lang.NTRIPLES);
+		final ByteArrayOutputStream ordered = new ByteArrayOutputStream();
+		extractor.extractStatements(ordered, Lang.NTRIPLES, 4, true);
+
+		assertEquals(sequential.toString(), ordered.toString());
+		final Model read = ModelFactory.createDefaultModel();
+		RDFDataMgr.read(read, new ByteArrayInputStream(sequential.toByteArray()), Lang.NTRIPLES);
+		assertTrue(read.isIsomorphicWith(inferences));
+
+		final ByteArrayOutputStream unordered = new ByteArrayOutputStream();
+		extractor.extractStatements(unordered, Lang.RDFTHRIFT, 4, false);
+
+		final Model readBinary = ModelFactory.createDefaultModel();
+		RDFDataMgr.read(readBinary, new ByteArrayInputStream(unordered.toByteArray()), Lang.RDFTHRIFT);
+		assertTrue(readBinary.isIsomorphicWith(inferences));
+
+		// the individuals are only extracted by several threads from a knowledge base that supports concurrent queries
+		final KnowledgeBase syncKB = new KnowledgeBaseImplReadWriteSync();
+		final DefaultGraphLoader loader = new DefaultGraphLoader();
+		loader.setKB(syncKB);
+		loader.load(Collections.singleton(rawModel.getGraph()));
+		final ModelExtractor syncExtractor = new ModelExtractor(syncKB);
+
+		final ByteArrayOutputStream syncSequential = new ByteArrayOutputStream();
+		syncExtractor.extractStatements(syncSequential, Lang.NTRIPLES);
+		final ByteArrayOutputStream syncOrdered = new ByteArrayOutputStream();
+		syncExtractor.extractStatements(syncOrdered, Lang.NTRIPLES, 4, true);
+		assertEquals(syncSequential.toString(), syncOrdered.toString());
+
+		final ByteArrayOutputStream syncUnordered = new ByteArrayOutputStream();
+		syncExtractor.extractStatements(syncUnordered, Lang.NTRIPLES, 4, false);
+		final Model readSync = ModelFactory.createDefaultModel();
+		RDFDataMgr.read(readSync, new ByteArrayInputStream(syncUnordered.toByteArray()), Lang.NTRIPLES);
+		assertTrue(readSync.isIsomorphicWith(inferences));
+	}
+
+	@Test
+	public void testParallelGraphLoading()
+	{
+		final String ns = "urn:test:";
+
+		final Model rawModel = ModelFactory.createDefaultModel();
+
+		final Resource C = rawModel.createResource(ns + "C");
+		final Resource D = rawModel.createResource(ns + "D");
+		final Property p = rawModel.createProperty(ns + "p");
+		final Property q = rawModel.createProperty(ns + "q");
+
+		rawModel.add(C, RDF.type, OWL.Class);
+		rawModel.add(C, RDFS.subClassOf, D);
+		rawModel.add(p, RDF.type, OWL.ObjectProperty);
+		rawModel.add(p, RDFS.range, C);
+		rawModel.add(q, RDF.type, OWL.DatatypeProperty);
+		for (int i = 0; i < 25000; i++)
+		{
+			final Resource a = rawModel.createResource(ns + "a" + i);
+			rawModel.add(a, p, rawModel.createResource(ns + "a" + (i + 1) % 25000));
+			rawModel.add(a, q, rawModel.createTypedLiteral(i % 100));
+			if (i % 2 == 0)
+				rawModel.add(a, RDF.type, D);
+		}
+
+		final KnowledgeBase sequential = ((PelletInfGraph) ModelFactory.createOntologyModel(PelletReasonerFactory.THE_SPEC, rawModel).getGraph()).getPreparedKB();
+
+		final int threads = OpenlletOptions.GRAPH_LOADER_THREADS;
+		OpenlletOptions.GRAPH_LOADER_THREADS = 4;
+		try
+		{
+			final KnowledgeBase parallel = ((PelletInfGraph) ModelFactory.createOntologyModel(PelletReasonerFactory.THE_SPEC, rawModel).getGraph()).getPreparedKB();
+
+			assertEquals(sequential.getIndividuals(), parallel.getIndividuals());
+			assertTrue(parallel.isObjectProperty(ATermUtils.makeTermAppl(ns + "p")));
+
+			final ATermAppl a = ATermUtils.makeTermAppl(ns + "a42");
+			assertEquals(sequential.getTypes(a), parallel.getTypes(a));
+			assertEquals(sequential.getPropertyValues(ATermUtils.makeTermAppl(ns + "q"), a), parallel.getPropertyValues(ATermUtils.makeTermAppl(ns + "q"), a));
+			assertEquals(25000, parallel.getInstances(ATermUtils.makeTermAppl(ns + "C"), true).size());
+			assertEquals(25000, parallel.getInstances(ATermUtils.makeTermAppl(ns + "D")).size());
+		}
+		finally
+		{
+			OpenlletOptions.GRAPH_LOADER_THREADS = threads;
+		}
+	}
+
+	@Test
+	public void testRealizedFactsIndex()
+	{
+		final String ns = "urn:test:";
+
+		final OntModel model = ModelFactory.createOntologyModel(PelletReasonerFactory.THE_SPEC);
+
+		final OntClass C = model.createClass(ns + "C");
+		final OntClass D = model.createClass(ns + "D");
+		final ObjectProperty p = model.createObjectProperty(ns + "p");
+		final ObjectProperty q = model.createObjectProperty(ns + "q");
+		final DatatypeProperty r = model.createDatatypeProperty(ns + "r");
+
+		C.addSuperClass(D);
+		q.addInverseOf(p);
+		p.addRange(C);
+
+		final List<Individual> individuals = new ArrayList<>();
+		for (int i = 0; i < 20; i++)
+		{
+			final Individual a = model.createIndividual(ns + "a" + i, OWL.Thing);
+			a.addLiteral(r, model.createTypedLiteral(i % 3));
+			individuals.add(a);
+		}
+		for (int i = 0; i < 20; i += 2)
+			individuals.get(i).addProperty(p, individuals.get(i + 1));
+
+		final Individual a0 = individuals.get(0);
+		final Individual a1 = individuals.get(1);
+		final RDFNode[][] patterns = { //
+				{ null, RDF.type, null }, { null, RDF.type, D }, { a1, RDF.type, null }, //
+				{ null, p, null }, { null, q, null }, { null, r, null }, //
+				{ a0, p, null }, { a1, q, null }, { null, q, a0 }, { a0, r, null } //
+		};
+
+		final List<Set<Statement>> expected = new ArrayList<>();
+		for (final RDFNode[] pattern : patterns)
+			expected.add(model.listStatements((Resource) pattern[0], (Property) pattern[1], pattern[2]).toSet());
+
+		assertEquals(10, expected.get(1).size());
+		assertEquals(10, expected.get(4).size());
+
+		final boolean useIndex = OpenlletOptions.USE_REALIZED_FACTS_INDEX;
+		OpenlletOptions.USE_REALIZED_FACTS_INDEX = true;
+		try
+		{
+			final PelletInfGraph graph = (PelletInfGraph) model.getGraph();
+			final RealizedFactsIndex index = graph.getRealizedFactsIndex().get();
+			assertTrue(graph.isRealized());
+
+			for (int i = 0; i < patterns.length; i++)
+				assertEquals(expected.get(i), model.listStatements((Resource) patterns[i][0], (Property) patterns[i][1], patterns[i][2]).toSet());
+			assertSame(index, graph.getRealizedFactsIndex().get());
+
+			a0.addProperty(p, individuals.get(2));
+			assertTrue(model.contains(individuals.get(2), q, a0));
+			assertTrue(model.contains(individuals.get(2), RDF.type, D));
+			assertEquals(11, model.listStatements(null, RDF.type, D).toSet().size());
+			assertTrue(graph.getRealizedFactsIndex().get() != index);
+		}
+		finally
+		{
+			OpenlletOptions.USE_REALIZED_FACTS_INDEX = useIndex;
+		}
+	}
+
 	@Test
 	public void testSubmodelUpdate1()
 	{
@@ -3405,4 +3589,72 @@ public class JenaTests
 		assertTrue(graph.isClassified());
 	}
 
+	@Test
+	@SuppressWarnings("deprecation")
+	public void incrementalDeductionsGraph()
+	{
+		final boolean returnDeductions = OpenlletOptions.RETURN_DEDUCTIONS_GRAPH;
+		OpenlletOptions.RETURN_DEDUCTIONS_GRAPH = true;
+		try
+		{
+			final OntModel model = ModelFactory.createOntologyModel(PelletReasonerFactory.THE_SPEC);
+			final PelletInfGraph graph = (PelletInfGraph) model.getGraph();
+			// the individual statements are updated incrementally, the other ones are not affected by the ABox changes
+			graph.setDeductionsSelector(ModelExtractor.StatementType.ALL_INDIVIDUAL_STATEMENTS);
+
+			final OntClass A = model.createClass(_base + "A");
+			final OntClass B = model.createClass(_base + "B");
+			final ObjectProperty p = model.createObjectProperty(_base + "p");
+			A.addSuperClass(B);
+			p.addRange(A);
+
+			final Individual a = model.createIndividual(_base + "a", A);
+			final Individual b = model.createIndividual(_base + "b", OWL.Thing);
+			final Individual c = model.createIndividual(_base + "c", OWL.Thing);
+
+			final Graph deductions = graph.getDeductionsGraph();
+			assertTrue(deductions.contains(a.asNode(), RDF.type.asNode(), B.asNode()));
+			assertFalse(deductions.contains(b.asNode(), RDF.type.asNode(), B.asNode()));
+			assertFalse(deductions.contains(c.asNode(), p.asNode(), b.asNode()));
+			final int size = deductions.size();
+
+			// the addition is processed incrementally, so the same graph is updated
+			model.add(c, p, b);
+
+			assertSame(deductions, graph.getDeductionsGraph());
+			assertTrue(deductions.size() > size);
+			assertTrue(deductions.contains(b.asNode(), RDF.type.asNode(), B.asNode()));
+			assertTrue(deductions.contains(b.asNode(), RDF.type.asNode(), A.asNode()));
+			assertTrue(deductions.contains(c.asNode(), p.asNode(), b.asNode()));
+			assertFalse(deductions.contains(c.asNode(), RDF.type.asNode(), A.asNode()));
+
+			model.add(b, p, c);
+
+			assertSame(deductions, graph.getDeductionsGraph());
+			assertTrue(deductions.contains(c.asNode(), RDF.type.asNode(), A.asNode()));
+			assertTrue(deductions.contains(a.asNode(), RDF.type.asNode(), B.asNode()));
+
+			final Model extracted = ModelFactory.createDefaultModel();
+			graph.extractDeductions(extracted.getGraph()::add);
+			assertTrue(extracted.getGraph().isIsomorphicWith(deductions));
+
+			// the removal reloads the KB, so the deductions are extracted again
+			model.remove(b, p, c);
+
+			final Graph updated = graph.getDeductionsGraph();
+			assertFalse(updated.contains(b.asNode(), p.asNode(), c.asNode()));
+			assertFalse(updated.contains(c.asNode(), RDF.type.asNode(), A.asNode()));
+			assertTrue(updated.contains(b.asNode(), RDF.type.asNode(), A.asNode()));
+			assertTrue(updated.contains(a.asNode(), RDF.type.asNode(), B.asNode()));
+
+			model.remove(a, RDF.type, A);
+
+			assertFalse(graph.getDeductionsGraph().contains(a.asNode(), RDF.type.asNode(), B.asNode()));
+			assertTrue(graph.getDeductionsGraph().contains(b.asNode(), RDF.type.asNode(), B.asNode()));
+		}
+		finally
+		{
+			OpenlletOptions.RETURN_DEDUCTIONS_GRAPH = returnDeductions;
+		}
+	}
 }
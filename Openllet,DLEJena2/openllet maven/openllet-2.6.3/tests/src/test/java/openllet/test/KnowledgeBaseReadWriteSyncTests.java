@@ -0,0 +1,138 @@
+package openllet.test;
+
+import static openllet.core.utils.TermFactory.hasValue;
+import static openllet.core.utils.TermFactory.literal;
+import static openllet.core.utils.TermFactory.or;
+import static openllet.core.utils.TermFactory.some;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import junit.framework.JUnit4TestAdapter;
+import openllet.core.KnowledgeBaseImplReadWriteSync;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Concurrent queries on a {@link KnowledgeBaseImplReadWriteSync}.
+ */
+public class KnowledgeBaseReadWriteSyncTests extends AbstractKBTests
+{
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(KnowledgeBaseReadWriteSyncTests.class);
+	}
+
+	@Override
+	@Before
+	public void initializeKB()
+	{
+		_kb = new KnowledgeBaseImplReadWriteSync();
+	}
+
+	private void createKB()
+	{
+		classes(_A, _B, _C);
+		objectProperties(_p);
+		dataProperties(_s);
+		individuals(_a, _b, _c, _d, _e);
+
+		_kb.addSubClass(_B, _A);
+		_kb.addType(_a, _B);
+		_kb.addType(_b, _A);
+		_kb.addPropertyValue(_p, _a, _b);
+		_kb.addPropertyValue(_s, _a, literal("x"));
+
+		// The value of p for c depends on a non-deterministic choice, so it is checked with the tableau.
+		_kb.addType(_c, or(hasValue(_p, _d), hasValue(_p, _e)));
+	}
+
+	private static void runConcurrently(final Callable<Void> query) throws Exception
+	{
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try
+		{
+			final List<Future<Void>> futures = new ArrayList<>();
+			for (int i = 0; i < 32; i++)
+				futures.add(executor.submit(query));
+			for (final Future<Void> future : futures)
+				future.get();
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void concurrentQueriesAfterRealization() throws Exception
+	{
+		createKB();
+		_kb.realize();
+
+		runConcurrently(() ->
+		{
+			for (int i = 0; i < 100; i++)
+			{
+				assertEquals(singletonSets(_B), _kb.getTypes(_a, true));
+				assertEquals(new HashSet<>(Arrays.asList(_a, _b)), _kb.getInstances(_A));
+				assertEquals(Collections.singleton(_a), _kb.getInstances(_B, true));
+				assertTrue(_kb.isType(_a, _A));
+				assertFalse(_kb.isType(_b, _B));
+				assertEquals(singletonSets(_B), _kb.getSubClasses(_A, true));
+				assertEquals(Collections.singletonList(_b), _kb.getPropertyValues(_p, _a));
+				assertEquals(Collections.singletonList(literal("x")), _kb.getPropertyValues(_s, _a));
+			}
+			return null;
+		});
+	}
+
+	@Test
+	public void concurrentQueriesNeedingTableau() throws Exception
+	{
+		createKB();
+		_kb.realize();
+
+		runConcurrently(() ->
+		{
+			for (int i = 0; i < 10; i++)
+			{
+				assertTrue(_kb.getPropertyValues(_p, _c).isEmpty());
+				assertTrue(_kb.isType(_a, some(_p, _A)));
+				assertFalse(_kb.isType(_b, some(_p, _A)));
+			}
+			return null;
+		});
+	}
+
+	@Test
+	public void changesAfterRealization() throws Exception
+	{
+		createKB();
+		_kb.realize();
+
+		assertEquals(Collections.singleton(_a), _kb.getInstances(_B));
+
+		_kb.addType(_b, _B);
+		assertFalse(_kb.isRealized());
+
+		runConcurrently(() ->
+		{
+			assertEquals(new HashSet<>(Arrays.asList(_a, _b)), _kb.getInstances(_B));
+			assertTrue(_kb.isType(_b, _B));
+			return null;
+		});
+
+		_kb.realize();
+		assertEquals(new HashSet<>(Arrays.asList(_a, _b)), _kb.getInstances(_B));
+	}
+}
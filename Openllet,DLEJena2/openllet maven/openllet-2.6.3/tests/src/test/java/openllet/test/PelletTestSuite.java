@@ -23,6 +23,7 @@ import openllet.test.rbox.RBoxTestSuite;
 import openllet.test.rules.RulesTestSuite;
 import openllet.test.tbox.TBoxTests;
 import openllet.test.transtree.TransTreeTestSuite;
+import openllet.test.utils.DependencySetTest;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.rules.TestName;
@@ -37,6 +38,10 @@ import org.junit.runners.Suite.SuiteClasses;
 		MergeTests.class, //
 		RBoxTestSuite.class, //
 		BlockingTests.class, //
+		ABoxComponentsTests.class, //
+		ABoxStatisticsTests.class, //
+		KnowledgeBaseReadWriteSyncTests.class, //
+		ThreadedKernelTests.class, //
 		CacheSafetyTests.class, //
 		JenaTests.class, //
 		OWLAPITests.class, //
@@ -61,6 +66,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		ClassificationTestSuite.class, //
 		ModularityTestSuite.class, //
 		LiteralComparisonTest.class, //
+		DependencySetTest.class, //
 		// CLI Tests must go last, since some of them muck with PelletOptions!
 		openllet.test.CLITests.class })
 public class PelletTestSuite
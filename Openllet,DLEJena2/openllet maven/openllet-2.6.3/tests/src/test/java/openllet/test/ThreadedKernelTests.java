@@ -0,0 +1,166 @@
+package openllet.test;
+
+import static openllet.core.utils.TermFactory.and;
+import static openllet.core.utils.TermFactory.not;
+import static openllet.core.utils.TermFactory.or;
+import static openllet.core.utils.TermFactory.some;
+import static openllet.core.utils.TermFactory.term;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import junit.framework.JUnit4TestAdapter;
+import openllet.aterm.ATermAppl;
+import openllet.core.KnowledgeBase;
+import openllet.core.KnowledgeBaseImpl;
+import openllet.core.OpenlletOptions;
+import openllet.jena.JenaLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Reasoning with {@link OpenlletOptions#USE_THREADED_KERNEL} gives the same results as the single-threaded kernel.
+ */
+public class ThreadedKernelTests extends AbstractKBTests
+{
+	public static junit.framework.Test suite()
+	{
+		return new JUnit4TestAdapter(ThreadedKernelTests.class);
+	}
+
+	private boolean _useThreadedKernel;
+
+	@Before
+	public void saveThreadedKernel()
+	{
+		_useThreadedKernel = OpenlletOptions.USE_THREADED_KERNEL;
+	}
+
+	@After
+	public void restoreThreadedKernel()
+	{
+		OpenlletOptions.USE_THREADED_KERNEL = _useThreadedKernel;
+	}
+
+	/**
+	 * The consistency, the direct super classes of every class and the direct types of every individual.
+	 */
+	private static Map<ATermAppl, Set<Set<ATermAppl>>> results(final KnowledgeBase kb)
+	{
+		final Map<ATermAppl, Set<Set<ATermAppl>>> results = new HashMap<>();
+		if (!kb.isConsistent())
+			return results;
+
+		kb.realize();
+		for (final ATermAppl c : kb.getClasses())
+			results.put(c, kb.getSuperClasses(c, true));
+		for (final ATermAppl ind : kb.getIndividuals())
+			results.put(ind, kb.getTypes(ind, true));
+		return results;
+	}
+
+	private static void assertSameResults(final Consumer<KnowledgeBase> loader)
+	{
+		OpenlletOptions.USE_THREADED_KERNEL = false;
+		final KnowledgeBase expectedKB = new KnowledgeBaseImpl();
+		loader.accept(expectedKB);
+		final Map<ATermAppl, Set<Set<ATermAppl>>> expected = results(expectedKB);
+		final boolean consistent = expectedKB.isConsistent();
+
+		OpenlletOptions.USE_THREADED_KERNEL = true;
+		final KnowledgeBase actualKB = new KnowledgeBaseImpl();
+		loader.accept(actualKB);
+		assertEquals(consistent, actualKB.isConsistent());
+		assertEquals(expected, results(actualKB));
+	}
+
+	private static void assertSameResults(final String file)
+	{
+		OpenlletOptions.USE_THREADED_KERNEL = false;
+		final KnowledgeBase expectedKB = new JenaLoader().createKB(file);
+		final Map<ATermAppl, Set<Set<ATermAppl>>> expected = results(expectedKB);
+		final boolean consistent = expectedKB.isConsistent();
+
+		OpenlletOptions.USE_THREADED_KERNEL = true;
+		final KnowledgeBase actualKB = new JenaLoader().createKB(file);
+		assertEquals(consistent, actualKB.isConsistent());
+		assertEquals(expected, results(actualKB));
+	}
+
+	@Test
+	public void unfoldingWithBacktracking()
+	{
+		assertSameResults(kb ->
+		{
+			for (final ATermAppl c : new ATermAppl[] { _A, _B, _C, _D, _E, _F })
+				kb.addClass(c);
+			kb.addObjectProperty(_p);
+
+			kb.addSubClass(_A, and(_B, or(_C, _D)));
+			kb.addSubClass(_C, and(_E, some(_p, _F)));
+			kb.addSubClass(_D, _E);
+			kb.addSubClass(_F, not(_E));
+			kb.addSubClass(_B, or(_F, _E));
+
+			for (int i = 0; i < 20; i++)
+			{
+				final ATermAppl x = term("x" + i);
+				kb.addIndividual(x);
+				kb.addType(x, i % 3 == 0 ? _A : i % 3 == 1 ? _B : _C);
+				if (i % 4 == 0)
+					kb.addType(x, not(_D));
+				if (i > 0)
+					kb.addPropertyValue(_p, term("x" + (i - 1)), x);
+			}
+		});
+	}
+
+	@Test
+	public void inconsistentKB()
+	{
+		assertSameResults(kb ->
+		{
+			kb.addClass(_A);
+			kb.addClass(_B);
+			kb.addClass(_C);
+			kb.addSubClass(_A, and(_B, _C));
+			kb.addDisjointClass(_B, _C);
+			kb.addIndividual(_a);
+			kb.addType(_a, _A);
+		});
+
+		OpenlletOptions.USE_THREADED_KERNEL = true;
+		final KnowledgeBase kb = new KnowledgeBaseImpl();
+		kb.addClass(_A);
+		kb.addClass(_B);
+		kb.addSubClass(_A, not(_B));
+		kb.addIndividual(_a);
+		kb.addType(_a, _A);
+		assertTrue(kb.isConsistent());
+		kb.addType(_a, _B);
+		assertFalse(kb.isConsistent());
+	}
+
+	@Test
+	public void family()
+	{
+		assertSameResults(base + "family.owl");
+	}
+
+	@Test
+	public void food()
+	{
+		assertSameResults(base + "food.owl");
+	}
+
+	@Test
+	public void pizza()
+	{
+		assertSameResults(base + "pizza.owl");
+	}
+}
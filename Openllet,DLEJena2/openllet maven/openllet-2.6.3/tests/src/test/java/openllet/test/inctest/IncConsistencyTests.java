@@ -37,7 +37,9 @@ import openllet.core.KnowledgeBase;
 import openllet.core.KnowledgeBase.ChangeType;
 import openllet.core.KnowledgeBaseImpl;
 import openllet.core.OpenlletOptions;
+import openllet.core.boxes.abox.Individual;
 import openllet.core.datatypes.Datatypes;
+import openllet.core.exceptions.UnsupportedFeatureException;
 import openllet.core.rules.model.AtomIVariable;
 import openllet.core.rules.model.ClassAtom;
 import openllet.core.rules.model.IndividualPropertyAtom;
@@ -47,6 +49,7 @@ import openllet.core.utils.ATermUtils;
 import openllet.core.utils.Bool;
 import openllet.core.utils.SetUtils;
 import openllet.core.utils.Timer;
+import openllet.core.utils.intset.IntSetFactory;
 import openllet.test.AbstractKBTests;
 import org.junit.After;
 import org.junit.Before;
@@ -784,6 +787,35 @@ public class IncConsistencyTests extends AbstractKBTests
 		assertTrue(_kb.getABox().getIndividual(_mary).hasRNeighbor(_kb.getRBox().getRole(_owns)));
 	}
 
+	@Test
+	public void removeBranchRenumbersSharedDepends()
+	{
+		assumeThat(OpenlletOptions.USE_INCREMENTAL_DELETION, is(true));
+
+		classes(_A, _B, _C, _D, _E, _F, _G);
+		final ATermAppl x1 = term("x1"), x2 = term("x2"), x3 = term("x3");
+		individuals(x1, x2, x3);
+
+		_kb.addSubClass(_F, _G);
+
+		_kb.addType(x1, or(_A, _B));
+		_kb.addType(x2, or(_C, _D));
+		_kb.addType(x3, or(_E, _F));
+		_kb.addType(x3, not(_E));
+
+		assertTrue(_kb.isConsistent());
+
+		_kb.removeType(x1, or(_A, _B));
+		assertTrue(_kb.isConsistent());
+
+		// G is derived from F so their dependency sets share the same branch set, and both depend on the disjunction of x3 that is now the branch 2
+		final Individual ind = _kb.getABox().getIndividual(x3);
+		assertEquals(IntSetFactory.create(0, 2), ind.getDepends(_F).getDepends());
+		assertEquals(IntSetFactory.create(0, 2), ind.getDepends(_G).getDepends());
+		assertEquals(3, ind.getDepends(_F).getBranch());
+		assertEquals(3, ind.getDepends(_G).getBranch());
+	}
+
 	@Test
 	public void testUpdatedIndividuals()
 	{
@@ -1996,6 +2028,46 @@ public class IncConsistencyTests extends AbstractKBTests
 		assertTrue(kb.isType(b, B));
 	}
 
+	@Test
+	public void addAssertions()
+	{
+		_kb.addClass(_person);
+		_kb.addClass(_dog);
+		_kb.addClass(_cat);
+		_kb.addDisjointClass(_dog, _cat);
+		_kb.addObjectProperty(_owns);
+		_kb.addDomain(_owns, _person);
+		_kb.addDatatypeProperty(_ssn);
+
+		_kb.addAssertions(Arrays.asList(ATermUtils.makeTypeAtom(_robert, _person), ATermUtils.makePropAtom(_owns, _mary, _victor), ATermUtils.makeTypeAtom(_victor, _dog)));
+
+		assertTrue(_kb.isConsistent());
+		assertTrue(_kb.isType(_mary, _person));
+		assertEquals(SetUtils.create(_robert, _mary, _victor), _kb.getIndividuals());
+
+		final ATermAppl literal = ATermUtils.makePlainLiteral("xxx");
+		_kb.addAssertions(Arrays.asList(ATermUtils.makePropAtom(_owns, _john, _bill), ATermUtils.makePropAtom(_ssn, _john, literal), ATermUtils.makeSameAs(_bill, _victor), ATermUtils.makeDifferent(_john, _mary)));
+
+		assertTrue(_kb.isConsistent());
+		assertTrue(_kb.isType(_john, _person));
+		assertTrue(_kb.isType(_bill, _dog));
+		assertTrue(_kb.isDifferentFrom(_john, _mary));
+		assertEquals(Bool.TRUE, _kb.hasKnownPropertyValue(_john, _ssn, literal));
+
+		_kb.addAssertions(singletonList(ATermUtils.makeTypeAtom(_bill, _cat)));
+
+		assertFalse(_kb.isConsistent());
+	}
+
+	@Test(expected = UnsupportedFeatureException.class)
+	public void addNonAssertions()
+	{
+		_kb.addClass(_person);
+		_kb.addClass(_animal);
+
+		_kb.addAssertions(singletonList(ATermUtils.makeSub(_person, _animal)));
+	}
+
 	@Test
 	public void aboxChangeWithRules()
 	{
@@ -45,6 +45,7 @@ import static openllet.owlapi.SWRL.rule;
 import static openllet.owlapi.SWRL.variable;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
@@ -60,6 +61,7 @@ import openllet.aterm.ATermAppl;
 import openllet.core.KnowledgeBase;
 import openllet.core.KnowledgeBaseImpl;
 import openllet.core.OpenlletOptions;
+import openllet.core.boxes.abox.ABox;
 import openllet.core.boxes.rbox.Role;
 import openllet.core.exceptions.TimeoutException;
 import openllet.core.utils.ATermUtils;
@@ -1649,4 +1651,26 @@ public class OWLAPITests extends AbstractOWLAPITests
 		ont.removeAxiom(OWL.subClassOf(OWL.Class(ns + "a_INDIVIDUAL"), OWL.not(OWL.Class(ns + "a_SETORCOLLECTION"))));
 		assertFalse(reasoner.isConsistent());
 	}
+
+	@Test
+	public void testClassAxiomRemovalWithoutReload()
+	{
+		createReasoner(OWL.declaration(_A), OWL.declaration(_B), OWL.declaration(_C), OWL.subClassOf(_A, _B), OWL.equivalentClasses(_B, _C), OWL.classAssertion(_a, _A));
+
+		assertTrue(_reasoner.isEntailed(OWL.classAssertion(_a, _C)));
+
+		// the class axioms are removed from the TBox without clearing the KB
+		final ABox abox = _reasoner.getKB().getABox();
+		assertTrue(processRemove(OWL.equivalentClasses(_B, _C)));
+		assertFalse(_reasoner.isEntailed(OWL.classAssertion(_a, _C)));
+		assertTrue(_reasoner.isEntailed(OWL.classAssertion(_a, _B)));
+
+		assertTrue(processRemove(OWL.subClassOf(_A, _B)));
+		assertFalse(_reasoner.isEntailed(OWL.classAssertion(_a, _B)));
+		assertTrue(_reasoner.isEntailed(OWL.classAssertion(_a, _A)));
+		assertSame(abox, _reasoner.getKB().getABox());
+
+		assertTrue(processAdd(OWL.subClassOf(_A, _C)));
+		assertTrue(_reasoner.isEntailed(OWL.classAssertion(_a, _C)));
+	}
 }
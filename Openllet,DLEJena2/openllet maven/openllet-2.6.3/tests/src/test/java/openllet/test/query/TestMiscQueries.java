@@ -6,7 +6,10 @@ import static openllet.core.utils.TermFactory.BOTTOM_OBJECT_PROPERTY;
 import static openllet.core.utils.TermFactory.TOP;
 import static openllet.core.utils.TermFactory.TOP_DATA_PROPERTY;
 import static openllet.core.utils.TermFactory.TOP_OBJECT_PROPERTY;
+import static openllet.core.utils.TermFactory.and;
 import static openllet.core.utils.TermFactory.literal;
+import static openllet.core.utils.TermFactory.not;
+import static openllet.core.utils.TermFactory.or;
 import static openllet.core.utils.TermFactory.var;
 import static openllet.query.sparqldl.model.QueryAtomFactory.DatatypeAtom;
 import static openllet.query.sparqldl.model.QueryAtomFactory.DomainAtom;
@@ -14,12 +17,25 @@ import static openllet.query.sparqldl.model.QueryAtomFactory.InverseOfAtom;
 import static openllet.query.sparqldl.model.QueryAtomFactory.ObjectPropertyAtom;
 import static openllet.query.sparqldl.model.QueryAtomFactory.PropertyValueAtom;
 import static openllet.query.sparqldl.model.QueryAtomFactory.RangeAtom;
-
+import static openllet.query.sparqldl.model.QueryAtomFactory.SubClassOfAtom;
+import static openllet.query.sparqldl.model.QueryAtomFactory.TypeAtom;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import openllet.aterm.ATermAppl;
+import openllet.core.KnowledgeBaseImplReadWriteSync;
 import openllet.core.OpenlletOptions;
 import openllet.core.datatypes.Datatypes;
+import openllet.core.exceptions.UnsupportedQueryException;
 import openllet.core.utils.ATermUtils;
 import openllet.core.utils.Namespaces;
+import openllet.query.sparqldl.engine.QueryEngine;
 import openllet.query.sparqldl.model.Query;
 import openllet.query.sparqldl.parser.ARQParser;
 import org.junit.Test;
@@ -184,4 +200,133 @@ public class TestMiscQueries extends AbstractQueryTest
 		testQuery(query, new ATermAppl[][] { { _r }, { TOP_OBJECT_PROPERTY }, { BOTTOM_OBJECT_PROPERTY } });
 
 	}
+
+	@Test
+	public void maxResultsQuery()
+	{
+		classes(_A, _B);
+		objectProperties(_p);
+
+		for (int i = 0; i < 20; i++)
+		{
+			final ATermAppl ind = ATermUtils.makeTermAppl("ind" + i);
+			_kb.addIndividual(ind);
+			_kb.addType(ind, _A);
+			_kb.addPropertyValue(_p, ind, ind);
+		}
+
+		final Query query = query(select(x, y), where(TypeAtom(x, _A), PropertyValueAtom(x, _p, y)));
+		assertEquals(20, QueryEngine.exec(query).size());
+
+		query.setMaxResults(5);
+		assertEquals(5, QueryEngine.exec(query).size());
+
+		final Query product = query(select(x, y), where(TypeAtom(x, _A), TypeAtom(y, _A)));
+		product.setMaxResults(7);
+		// the bound is applied to the components of the query, not to their cross product
+		assertTrue(QueryEngine.exec(product).size() >= 7);
+
+		testQuery(ask(TypeAtom(x, _B)), false);
+	}
+
+	@Test
+	public void threadedComponentsQuery()
+	{
+		// the components are executed by the calling thread since this knowledge base is not thread safe
+		threadedComponents();
+	}
+
+	@Test
+	public void threadedComponentsQueryReadWriteSync()
+	{
+		_kb = new KnowledgeBaseImplReadWriteSync();
+		threadedComponents();
+	}
+
+	private void threadedComponents()
+	{
+		classes(_A, _B, _C);
+		objectProperties(_p);
+
+		_kb.addSubClass(_A, _B);
+		for (int i = 0; i < 10; i++)
+		{
+			final ATermAppl ind = ATermUtils.makeTermAppl("ind" + i);
+			_kb.addIndividual(ind);
+			_kb.addType(ind, i % 2 == 0 ? _A : _C);
+		}
+
+		final ATermAppl[][] answers = new ATermAppl[25][];
+		for (int i = 0; i < 5; i++)
+			for (int j = 0; j < 5; j++)
+				answers[i * 5 + j] = new ATermAppl[] { ATermUtils.makeTermAppl("ind" + 2 * i), ATermUtils.makeTermAppl("ind" + (2 * j + 1)) };
+
+		final boolean useThreadedKernel = OpenlletOptions.USE_THREADED_KERNEL;
+		OpenlletOptions.USE_THREADED_KERNEL = true;
+		try
+		{
+			final Query query = query(select(x, y), where(TypeAtom(x, _B), TypeAtom(y, _C)));
+			assertEquals(2, QueryEngine.split(query).size());
+			testQuery(query, answers);
+		}
+		finally
+		{
+			OpenlletOptions.USE_THREADED_KERNEL = useThreadedKernel;
+		}
+	}
+
+	@Test
+	public void threadedComponentFailure()
+	{
+		_kb = new KnowledgeBaseImplReadWriteSync();
+
+		// the satisfiability of the pigeonhole class takes a time that grows exponentially with the number of holes
+		final int holes = 9;
+		final ATermAppl[][] inHole = new ATermAppl[holes + 1][holes];
+		for (int i = 0; i <= holes; i++)
+			for (int j = 0; j < holes; j++)
+			{
+				inHole[i][j] = ATermUtils.makeTermAppl("P" + i + "_" + j);
+				_kb.addClass(inHole[i][j]);
+			}
+		final List<ATermAppl> conditions = new ArrayList<>();
+		for (int i = 0; i <= holes; i++)
+			conditions.add(or(inHole[i]));
+		for (int j = 0; j < holes; j++)
+			for (int i = 0; i <= holes; i++)
+				for (int k = i + 1; k <= holes; k++)
+					conditions.add(not(and(inHole[i][j], inHole[k][j])));
+		classes(_A);
+		_kb.addEquivalentClass(_A, and(conditions.toArray(new ATermAppl[0])));
+
+		final boolean useThreadedKernel = OpenlletOptions.USE_THREADED_KERNEL;
+		OpenlletOptions.USE_THREADED_KERNEL = true;
+		try
+		{
+			// the first component fails at once, while the second one classifies the knowledge base
+			final Query query = query(select(x, y), where(DatatypeAtom(x, Datatypes.INTEGER), SubClassOfAtom(y, BOTTOM)));
+			final List<Query> components = QueryEngine.split(query);
+			assertEquals(2, components.size());
+			assertEquals(Collections.singletonList(x), components.get(0).getResultVars());
+
+			final long start = System.currentTimeMillis();
+			try
+			{
+				QueryEngine.exec(query);
+				fail("A datatype atom that is not ground is not supported");
+			}
+			catch (final UnsupportedQueryException e)
+			{
+				// expected
+			}
+			assertTrue(System.currentTimeMillis() - start < 20000);
+
+			// no component is still running on the knowledge base
+			assertTrue(ForkJoinPool.commonPool().awaitQuiescence(1, TimeUnit.SECONDS));
+		}
+		finally
+		{
+			OpenlletOptions.USE_THREADED_KERNEL = useThreadedKernel;
+		}
+	}
 }
@@ -3,23 +3,39 @@ package openllet.test.query;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import openllet.core.OpenlletOptions;
 import openllet.jena.PelletReasoner;
 import openllet.jena.PelletReasonerFactory;
 import openllet.query.sparqldl.jena.SparqlDLExecutionFactory;
 import openllet.test.PelletTestSuite;
+import org.apache.jena.ontology.OntClass;
+import org.apache.jena.ontology.OntModel;
 import org.apache.jena.query.ARQ;
+import org.apache.jena.query.QueryCancelledException;
 import org.apache.jena.query.QueryExecution;
 import org.apache.jena.query.QueryExecutionFactory;
 import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.QuerySolutionMap;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.InfModel;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.sparql.core.Var;
 import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -307,4 +323,225 @@ public class TestMiscSPARQL
 
 		assertTrue(results.getRowNumber() == 4);
 	}
+
+	private static InfModel createNumberedModel(final int count)
+	{
+		final PelletReasoner aReasoner = PelletReasonerFactory.theInstance().create();
+		final InfModel aModel = ModelFactory.createInfModel(aReasoner, ModelFactory.createDefaultModel());
+
+		final String ns = "http://example.org/test#";
+		final Resource aClass = aModel.createResource(ns + "C", OWL.Class);
+		final Property aProperty = aModel.createProperty(ns + "number");
+		aModel.add(aProperty, RDF.type, OWL.DatatypeProperty);
+		for (int i = 0; i < count; i++)
+		{
+			final Resource ind = aModel.createResource(ns + "ind" + i, aClass);
+			ind.addLiteral(aProperty, (long) (i * 7 % count));
+		}
+
+		return aModel;
+	}
+
+	private static List<String> select(final InfModel model, final String query)
+	{
+		final ResultSet results = SparqlDLExecutionFactory.create(QueryFactory.create(query), model).execSelect();
+		final List<String> rows = new ArrayList<>();
+		while (results.hasNext())
+			rows.add(results.next().toString());
+		return rows;
+	}
+
+	@Test
+	public void testLimitAndAsk()
+	{
+		final InfModel aModel = createNumberedModel(50);
+		final String prefix = "PREFIX : <http://example.org/test#>\n";
+
+		assertEquals(50, select(aModel, prefix + "SELECT ?x ?n WHERE { ?x a :C . ?x :number ?n }").size());
+		assertEquals(3, select(aModel, prefix + "SELECT ?x ?n WHERE { ?x a :C . ?x :number ?n } LIMIT 3").size());
+		assertEquals(3, select(aModel, prefix + "SELECT ?x ?n WHERE { ?x a :C . ?x :number ?n } OFFSET 47 LIMIT 10").size());
+
+		assertTrue(SparqlDLExecutionFactory.create(QueryFactory.create(prefix + "ASK { ?x a :C }"), aModel).execAsk());
+		assertFalse(SparqlDLExecutionFactory.create(QueryFactory.create(prefix + "ASK { :ind0 :number ?n . ?n a :C }"), aModel).execAsk());
+	}
+
+	@Test
+	public void testOrderByLimit()
+	{
+		final InfModel aModel = createNumberedModel(50);
+		final String query = "PREFIX : <http://example.org/test#>\n" + "SELECT ?x ?n WHERE { ?x a :C . ?x :number ?n } ORDER BY DESC(?n) ?x";
+
+		final List<String> all = select(aModel, query);
+		assertEquals(50, all.size());
+
+		assertEquals(all.subList(0, 5), select(aModel, query + " LIMIT 5"));
+		assertEquals(all.subList(10, 13), select(aModel, query + " OFFSET 10 LIMIT 3"));
+		assertEquals(all.subList(45, 50), select(aModel, query + " OFFSET 45 LIMIT 20"));
+	}
+
+	@Test
+	public void testTimeoutAndAbort()
+	{
+		final InfModel aModel = createNumberedModel(50);
+		final String query = "PREFIX : <http://example.org/test#>\n" + "SELECT ?x ?n WHERE { ?x a :C . ?x :number ?n }";
+
+		final QueryExecution aborted = SparqlDLExecutionFactory.create(QueryFactory.create(query), aModel);
+		aborted.abort();
+		try
+		{
+			aborted.execSelect();
+			fail("An aborted query should not be executed");
+		}
+		catch (final QueryCancelledException e)
+		{
+			// expected
+		}
+
+		final QueryExecution qe = SparqlDLExecutionFactory.create(QueryFactory.create(query), aModel);
+		qe.setTimeout(2, TimeUnit.MINUTES);
+		assertEquals(-1, qe.getTimeout1());
+		assertEquals(120000, qe.getTimeout2());
+		qe.setTimeout(1000, 60000);
+		assertEquals(1000, qe.getTimeout1());
+		assertEquals(60000, qe.getTimeout2());
+
+		final ResultSet results = qe.execSelect();
+		while (results.hasNext())
+			results.next();
+		assertEquals(50, results.getRowNumber());
+
+		// aborting a finished query does not affect the following ones
+		qe.abort();
+		assertEquals(50, select(aModel, query).size());
+	}
+
+	/**
+	 * @return a model whose class Hard encodes the pigeonhole problem with the given number of holes, so the satisfiability check of Hard takes a time
+	 *         that grows exponentially with the number of holes.
+	 */
+	private static OntModel createPigeonholeModel(final int holes)
+	{
+		final OntModel model = ModelFactory.createOntologyModel(PelletReasonerFactory.THE_SPEC);
+		final String ns = "http://example.org/test#";
+
+		final OntClass[][] inHole = new OntClass[holes + 1][holes];
+		for (int i = 0; i <= holes; i++)
+			for (int j = 0; j < holes; j++)
+				inHole[i][j] = model.createClass(ns + "P" + i + "_" + j);
+
+		final List<RDFNode> conditions = new ArrayList<>();
+		for (int i = 0; i <= holes; i++)
+			conditions.add(model.createUnionClass(null, model.createList(inHole[i])));
+		for (int j = 0; j < holes; j++)
+			for (int i = 0; i <= holes; i++)
+				for (int k = i + 1; k <= holes; k++)
+					conditions.add(model.createComplementClass(null, model.createIntersectionClass(null, model.createList(new RDFNode[] { inHole[i][j], inHole[k][j] }))));
+		model.createIntersectionClass(ns + "Hard", model.createList(conditions.iterator()));
+
+		return model;
+	}
+
+	private static final String HARD_QUERY = "PREFIX : <http://example.org/test#>\n" + "PREFIX rdfs: <http://www.w3.org/2000/01/rdf-schema#>\n"
+			+ "PREFIX owl: <http://www.w3.org/2002/07/owl#>\n" + "ASK { :Hard rdfs:subClassOf owl:Nothing }";
+
+	@Test
+	public void testAbortRunningQuery() throws Exception
+	{
+		final OntModel model = createPigeonholeModel(9);
+		final QueryExecution qe = SparqlDLExecutionFactory.create(QueryFactory.create(HARD_QUERY), model);
+
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try
+		{
+			final Future<Boolean> result = executor.submit(qe::execAsk);
+			Thread.sleep(500);
+			assertFalse("The query should still be running", result.isDone());
+
+			final long start = System.currentTimeMillis();
+			qe.abort();
+			try
+			{
+				result.get(30, TimeUnit.SECONDS);
+				fail("An aborted query should not return a result");
+			}
+			catch (final ExecutionException e)
+			{
+				assertTrue(e.getCause().toString(), e.getCause() instanceof QueryCancelledException);
+			}
+			assertTrue(System.currentTimeMillis() - start < 10000);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testQueryTimeout()
+	{
+		final OntModel model = createPigeonholeModel(9);
+		final QueryExecution qe = SparqlDLExecutionFactory.create(QueryFactory.create(HARD_QUERY), model);
+		qe.setTimeout(500);
+
+		final long start = System.currentTimeMillis();
+		try
+		{
+			qe.execAsk();
+			fail("The query should time out");
+		}
+		catch (final QueryCancelledException e)
+		{
+			// expected
+		}
+		final long elapsed = System.currentTimeMillis() - start;
+		assertTrue("Timed out after " + elapsed + " ms", elapsed >= 500 && elapsed < 10000);
+
+		// the knowledge base is not interrupted for the following queries
+		assertEquals(1, select(createNumberedModel(1), "SELECT ?x WHERE { ?x a <http://example.org/test#C> }").size());
+		final QueryExecution easy = SparqlDLExecutionFactory.create(QueryFactory.create("ASK { <http://example.org/test#P0_0> a <http://www.w3.org/2002/07/owl#Class> }"), model);
+		assertTrue(easy.execAsk());
+	}
+
+	private static List<String> select(final InfModel model, final String query, final QuerySolutionMap binding)
+	{
+		final QueryExecution qe = SparqlDLExecutionFactory.create(QueryFactory.create(query), model);
+		qe.setInitialBinding(binding);
+		final ResultSet results = qe.execSelect();
+		final List<String> rows = new ArrayList<>();
+		while (results.hasNext())
+			rows.add(results.next().toString());
+		return rows;
+	}
+
+	@Test
+	public void testRepeatedParameterizedQueries()
+	{
+		final InfModel aModel = createNumberedModel(50);
+		final String ns = "http://example.org/test#";
+		final String query = "PREFIX : <" + ns + ">\n" + "SELECT ?c ?n WHERE { ?x a ?c . ?x :number ?n }";
+
+		final QuerySolutionMap binding = new QuerySolutionMap();
+		for (int i = 1; i < 4; i++)
+		{
+			final String value = "\"" + i * 7 + "\"";
+			binding.add("x", aModel.getResource(ns + "ind" + i));
+			final List<String> rows = select(aModel, query, binding);
+			assertFalse(rows.isEmpty());
+			assertTrue(rows.stream().allMatch(row -> row.contains(value)));
+			assertTrue(rows.stream().anyMatch(row -> row.contains(ns + "C>")));
+		}
+
+		final String byNumber = "PREFIX : <" + ns + ">\n" + "SELECT ?x WHERE { ?x :number ?n }";
+		final QuerySolutionMap number = new QuerySolutionMap();
+		number.add("n", aModel.createTypedLiteral(21L));
+		assertEquals(1, select(aModel, byNumber, number).size());
+		assertEquals(1, select(aModel, byNumber, number).size());
+
+		// the cached queries and plans are not reused once the knowledge base changes
+		aModel.getResource(ns + "ind50").addLiteral(aModel.getProperty(ns + "number"), 21L);
+		assertEquals(2, select(aModel, byNumber, number).size());
+
+		number.add("n", aModel.createTypedLiteral(99L));
+		assertEquals(0, select(aModel, byNumber, number).size());
+	}
 }
@@ -58,4 +58,69 @@ public class ConceptCacheTest extends TestCase
 		assertTrue(_cache.containsKey(_np4));
 
 	}
+
+	public void testCounters()
+	{
+		final ConceptCacheLRU cache = (ConceptCacheLRU) _cache;
+
+		cache.put(_p1, _DUMMY);
+		cache.put(_np1, _DUMMY);
+		cache.put(_np2, _DUMMY);
+		cache.put(_np3, _DUMMY);
+
+		assertNotNull(cache.get(_p1));
+		assertNotNull(cache.get(_np1));
+		assertNull(cache.get(_p2));
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(0, cache.getEvictionCount());
+
+		cache.put(_np4, _DUMMY);
+		assertEquals(1, cache.getEvictionCount());
+		assertFalse(cache.containsKey(_np2));
+	}
+
+	public void testSetMaxSize()
+	{
+		_cache.setMaxSize(1);
+
+		_cache.put(_p1, _DUMMY);
+		_cache.put(_p2, _DUMMY);
+		_cache.put(_np1, _DUMMY);
+		_cache.put(_np2, _DUMMY);
+
+		assertEquals(3, _cache.size());
+		assertTrue(_cache.containsKey(_p1));
+		assertTrue(_cache.containsKey(_np2));
+		assertFalse(_cache.containsKey(_np1));
+	}
+
+	public void testConcurrentAccess() throws InterruptedException
+	{
+		final int count = 1000;
+		final ATermAppl[] terms = new ATermAppl[count];
+		for (int i = 0; i < count; i++)
+			terms[i] = ATermUtils.makeAnd(_p1, ATermUtils.makeTermAppl("c" + i));
+
+		final Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++)
+		{
+			threads[t] = new Thread(() ->
+			{
+				for (int i = 0; i < count; i++)
+				{
+					_cache.put(terms[i], _DUMMY);
+					_cache.get(terms[(i * 7) % count]);
+				}
+			});
+			threads[t].start();
+		}
+		for (final Thread thread : threads)
+			thread.join();
+
+		// an insertion racing with an eviction is evicted by the next insertion
+		_cache.put(_np1, _DUMMY);
+		assertTrue(_cache.size() <= 3);
+		assertEquals(threads.length * count, ((ConceptCacheLRU) _cache).getHitCount() + ((ConceptCacheLRU) _cache).getMissCount());
+	}
 }
@@ -0,0 +1,79 @@
+package openllet.test.utils;
+
+import junit.framework.TestCase;
+import openllet.core.DependencySet;
+import openllet.core.utils.intset.IntSet;
+import openllet.core.utils.intset.IntSetFactory;
+
+public class DependencySetTest extends TestCase
+{
+	public void testCanonicalSingletons()
+	{
+		assertSame(new DependencySet(3).getDepends(), new DependencySet(3).getDepends());
+		assertSame(DependencySet.ZERO, DependencySet.INDEPENDENT.getDepends());
+		assertTrue(DependencySet.EMPTY.getDepends().isEmpty());
+	}
+
+	public void testUnionSharesContainingOperand()
+	{
+		final DependencySet ds1 = new DependencySet(2);
+		ds1.add(5);
+		final DependencySet ds2 = new DependencySet(5);
+
+		assertSame(ds1.getDepends(), ds1.union(ds2, false).getDepends());
+		assertSame(ds1.getDepends(), ds2.union(ds1, false).getDepends());
+		assertSame(ds1.getDepends(), ds1.union(DependencySet.EMPTY, false).getDepends());
+
+		final DependencySet union = ds2.union(new DependencySet(7), false);
+		assertEquals(IntSetFactory.create(5, 7), union.getDepends());
+	}
+
+	public void testModifyingSharedSet()
+	{
+		final DependencySet ds1 = new DependencySet(4);
+		final DependencySet ds2 = ds1.union(DependencySet.EMPTY, false);
+		final DependencySet copy = ds1.copy(1);
+
+		ds2.add(6);
+		copy.remove(4);
+
+		assertEquals(IntSetFactory.create(4), ds1.getDepends());
+		assertEquals(IntSetFactory.create(4, 6), ds2.getDepends());
+		assertTrue(copy.getDepends().isEmpty());
+		assertEquals(IntSetFactory.create(4), new DependencySet(4).getDepends());
+
+		ds1.add(8);
+		assertEquals(IntSetFactory.create(4, 8), ds1.getDepends());
+		assertEquals(IntSetFactory.create(4, 6), ds2.getDepends());
+	}
+
+	public void testRenumber()
+	{
+		final DependencySet ds = new DependencySet(4).copy(4);
+		ds.add(1);
+		ds.add(2);
+		final DependencySet shared = ds.union(DependencySet.EMPTY, false);
+
+		final DependencySet renumbered = ds.renumber(2);
+		assertEquals(3, renumbered.getBranch());
+		assertEquals(IntSetFactory.create(1, 3), renumbered.getDepends());
+		assertEquals(IntSetFactory.create(1, 2, 4), ds.getDepends());
+		assertEquals(IntSetFactory.create(1, 2, 4), shared.getDepends());
+		assertEquals(IntSetFactory.create(4), new DependencySet(4).getDepends());
+
+		assertSame(DependencySet.INDEPENDENT, DependencySet.INDEPENDENT.renumber(1));
+		assertSame(renumbered, renumbered.renumber(4));
+	}
+
+	public void testContainsAll()
+	{
+		final IntSet set = IntSetFactory.create(1, 3, 5, 7);
+
+		assertTrue(set.containsAll(IntSetFactory.create()));
+		assertTrue(set.containsAll(IntSetFactory.create(3, 7)));
+		assertTrue(set.containsAll(set));
+		assertFalse(set.containsAll(IntSetFactory.create(3, 4)));
+		assertFalse(set.containsAll(IntSetFactory.create(1, 3, 5, 7, 9)));
+		assertFalse(IntSetFactory.create().containsAll(IntSetFactory.create(0)));
+	}
+}